@@ -0,0 +1,110 @@
+package com.waterballsa.backend.benchmark;
+
+import com.waterballsa.backend.dto.CatalogSearchResponse;
+import com.waterballsa.backend.dto.ChapterDto;
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.dto.LessonDto;
+import com.waterballsa.backend.entity.LessonType;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository.PublishedCatalog;
+import com.waterballsa.backend.service.CatalogGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the in-memory catalog search index on a synthetic catalog of mixed Chinese
+ * and English text, and the cost of rebuilding the snapshot with and without reusing
+ * the previous index.
+ *
+ * Each curriculum has five chapters of ten lessons. No database is needed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogSearchIndexBenchmark {
+
+    private static final String[] SUBJECTS = {"Spring Boot", "React", "Kubernetes", "軟體設計", "設計模式", "資料庫",
+            "微服務架構", "測試驅動開發"};
+    private static final String[] LEVELS = {"入門", "實戰", "進階", "Masterclass", "Bootcamp"};
+    private static final int CHAPTERS_PER_CURRICULUM = 5;
+    private static final int LESSONS_PER_CHAPTER = 10;
+
+    @Param({"100", "1000"})
+    public int curriculums;
+
+    @Param({"spring", "設計模式", "kubernetes 實戰"})
+    public String term;
+
+    private PublishedCatalog catalog;
+    private CatalogGraph graph;
+
+    @Setup
+    public void setUp() {
+        catalog = syntheticCatalog(curriculums);
+        graph = CatalogGraph.build(catalog);
+    }
+
+    @Benchmark
+    public CatalogSearchResponse search() {
+        return graph.search(term, 10);
+    }
+
+    /**
+     * Full snapshot rebuild after a change, reusing the unchanged index entries.
+     */
+    @Benchmark
+    public CatalogGraph rebuildIncremental() {
+        return CatalogGraph.build(catalog, graph);
+    }
+
+    /**
+     * Full snapshot rebuild tokenizing every document.
+     */
+    @Benchmark
+    public CatalogGraph rebuildFromScratch() {
+        return CatalogGraph.build(catalog);
+    }
+
+    private static PublishedCatalog syntheticCatalog(int count) {
+        List<CurriculumDto> curriculumDtos = new ArrayList<>();
+        List<ChapterDto> chapterDtos = new ArrayList<>();
+        List<LessonDto> lessonDtos = new ArrayList<>();
+        long chapterId = 0;
+        long lessonId = 0;
+        for (int i = 1; i <= count; i++) {
+            curriculumDtos.add(CurriculumDto.builder()
+                    .id((long) i)
+                    .title(SUBJECTS[i % SUBJECTS.length] + " " + LEVELS[(i / SUBJECTS.length) % LEVELS.length] + " #" + i)
+                    .description("本課程帶你學習 " + SUBJECTS[(i * 7) % SUBJECTS.length] + "，適合想要 "
+                            + LEVELS[(i * 3) % LEVELS.length] + " 的工程師。 A hands-on course on "
+                            + SUBJECTS[(i * 5) % SUBJECTS.length] + ".")
+                    .instructorName("Instructor " + (i % 50))
+                    .price(new BigDecimal("49.00"))
+                    .isPublished(true)
+                    .build());
+            for (int c = 0; c < CHAPTERS_PER_CURRICULUM; c++) {
+                chapterId++;
+                chapterDtos.add(ChapterDto.builder()
+                        .id(chapterId).curriculumId((long) i).title("Chapter " + c).orderIndex(c).isPublished(true)
+                        .build());
+                for (int l = 0; l < LESSONS_PER_CHAPTER; l++) {
+                    lessonId++;
+                    lessonDtos.add(LessonDto.builder()
+                            .id(lessonId).chapterId(chapterId)
+                            .title(SUBJECTS[(int) (lessonId % SUBJECTS.length)] + " 第 " + l + " 課")
+                            .description("Lesson " + l + " of chapter " + c + "，" + LEVELS[l % LEVELS.length])
+                            .lessonType(LessonType.VIDEO).orderIndex(l).durationMinutes(10)
+                            .isFreePreview(false).isPublished(true)
+                            .build());
+                }
+            }
+        }
+        return new PublishedCatalog(1L, curriculumDtos, chapterDtos, lessonDtos);
+    }
+}
@@ -0,0 +1,123 @@
+package com.waterballsa.backend.benchmark;
+
+import com.waterballsa.backend.WaterBallSaApplication;
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.repository.CatalogSearchRepository;
+import com.waterballsa.backend.repository.CurriculumRepository;
+import com.waterballsa.backend.repository.CurriculumRow;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of curriculum search on a synthetic catalog of mixed Chinese and English titles.
+ *
+ * Compares the LIKE query behind {@code GET /api/curriculums/search}
+ * ({@link CurriculumRepository#searchPublishedCurriculums}, including its count query)
+ * with the ranked full-text search of {@link CatalogSearchRepository#searchCurriculums}
+ * on the GIN-indexed search vectors. Both return the first ten results. The suggest and
+ * stats refreshes are off, as they would otherwise reload the synthetic catalog during
+ * measurement.
+ *
+ * Needs a Postgres database, by default the one from docker-compose; override with
+ * -Dbench.datasource.url, -Dbench.datasource.username and -Dbench.datasource.password.
+ * Migrations are applied on startup; the synthetic curriculums are marked by their
+ * instructor and deleted afterwards.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurriculumSearchBenchmark {
+
+    private static final int CURRICULUMS = 100_000;
+    private static final String INSTRUCTOR = "Search Benchmark";
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    private static final String INSERT_CURRICULUMS = """
+            INSERT INTO curriculums (title, description, instructor_name, price, is_published, published_at)
+            SELECT subjects[1 + i % 8] || ' ' || levels[1 + (i / 8) % 5] || ' #' || i,
+                   '本課程帶你學習 ' || subjects[1 + (i * 7) % 8] || '，適合想要 ' || levels[1 + (i * 3) % 5]
+                       || ' 的工程師。 A hands-on course on ' || subjects[1 + (i * 5) % 8] || '.',
+                   ?, 49.00, true, CURRENT_TIMESTAMP
+            FROM generate_series(1, ?) AS i,
+                 (SELECT ARRAY['Spring Boot', 'React', 'Kubernetes', '軟體設計', '設計模式', '資料庫',
+                               '微服務架構', '測試驅動開發'] AS subjects,
+                         ARRAY['入門', '實戰', '進階', 'Masterclass', 'Bootcamp'] AS levels) AS vocabulary
+            """;
+
+    @Param({"spring", "設計模式", "kubernetes 實戰"})
+    public String term;
+
+    private ConfigurableApplicationContext context;
+    private CurriculumRepository curriculumRepository;
+    private CatalogSearchRepository catalogSearchRepository;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(WaterBallSaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + System.getProperty("bench.datasource.url",
+                                "jdbc:postgresql://localhost:5433/waterballsa"),
+                        "--spring.datasource.username=" + System.getProperty("bench.datasource.username", "postgres"),
+                        "--spring.datasource.password=" + System.getProperty("bench.datasource.password", "postgres"),
+                        "--spring.jpa.show-sql=false",
+                        "--catalog.snapshot.enabled=false",
+                        "--catalog.suggest.enabled=false",
+                        "--catalog.stats.enabled=false",
+                        "--jwt.secret=benchmark-secret-key-with-at-least-256-bits-of-entropy",
+                        "--spring.security.oauth2.client.registration.google.client-id=benchmark",
+                        "--spring.security.oauth2.client.registration.google.client-secret=benchmark",
+                        "--logging.level.com.waterballsa=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.springframework.web=WARN"
+                );
+        curriculumRepository = context.getBean(CurriculumRepository.class);
+        catalogSearchRepository = context.getBean(CatalogSearchRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        deleteCurriculums();
+        jdbcTemplate.update(INSERT_CURRICULUMS, INSTRUCTOR, CURRICULUMS);
+        jdbcTemplate.execute("ANALYZE curriculums");
+    }
+
+    @TearDown
+    public void tearDown() {
+        deleteCurriculums();
+        context.close();
+    }
+
+    /**
+     * LIKE path: case-insensitive substring match on title and description, plus a count.
+     */
+    @Benchmark
+    public Page<CurriculumRow> likeSearch() {
+        return curriculumRepository.searchPublishedCurriculums(term, FIRST_PAGE);
+    }
+
+    /**
+     * Full-text path: ranked match on the GIN-indexed search vector.
+     */
+    @Benchmark
+    public List<CurriculumDto> fullTextSearch() {
+        return catalogSearchRepository.searchCurriculums(term, 10);
+    }
+
+    private void deleteCurriculums() {
+        jdbcTemplate.update("DELETE FROM curriculums WHERE instructor_name = ?", INSTRUCTOR);
+    }
+}
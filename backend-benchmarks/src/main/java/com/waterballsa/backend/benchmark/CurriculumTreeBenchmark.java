@@ -0,0 +1,120 @@
+package com.waterballsa.backend.benchmark;
+
+import com.waterballsa.backend.WaterBallSaApplication;
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.repository.CurriculumRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of loading a curriculum tree (curriculum, chapters and lessons) from Postgres.
+ *
+ * Compares the entity path (fetch join on chapters, then one lazy lesson query per
+ * chapter in {@link CurriculumDto#fromWithChapters}) with the single JSON aggregation
+ * query of {@link CurriculumRepository#findPublishedTreeById}. Lessons are spread over
+ * chapters of ten.
+ *
+ * Needs a Postgres database, by default the one from docker-compose; override with
+ * -Dbench.datasource.url, -Dbench.datasource.username and -Dbench.datasource.password.
+ * Migrations are applied on startup and the benchmark curriculum is deleted afterwards.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurriculumTreeBenchmark {
+
+    private static final int LESSONS_PER_CHAPTER = 10;
+
+    @Param({"5", "50", "500"})
+    public int lessons;
+
+    private ConfigurableApplicationContext context;
+    private CurriculumRepository curriculumRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private JdbcTemplate jdbcTemplate;
+    private long curriculumId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(WaterBallSaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + System.getProperty("bench.datasource.url",
+                                "jdbc:postgresql://localhost:5433/waterballsa"),
+                        "--spring.datasource.username=" + System.getProperty("bench.datasource.username", "postgres"),
+                        "--spring.datasource.password=" + System.getProperty("bench.datasource.password", "postgres"),
+                        "--spring.jpa.show-sql=false",
+                        "--jwt.secret=benchmark-secret-key-with-at-least-256-bits-of-entropy",
+                        "--spring.security.oauth2.client.registration.google.client-id=benchmark",
+                        "--spring.security.oauth2.client.registration.google.client-secret=benchmark",
+                        "--logging.level.com.waterballsa=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.springframework.web=WARN"
+                );
+        curriculumRepository = context.getBean(CurriculumRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        curriculumId = insertCurriculum(lessons);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM curriculums WHERE id = ?", curriculumId);
+        context.close();
+    }
+
+    /**
+     * Entity path: fetch join on chapters plus a lazy lesson query per chapter.
+     */
+    @Benchmark
+    public CurriculumDto entityConversion() {
+        return readOnlyTransaction.execute(status -> CurriculumDto.fromWithChapters(
+                curriculumRepository.findPublishedByIdWithChapters(curriculumId).orElseThrow()));
+    }
+
+    /**
+     * JSON aggregation path: one query returning the whole document.
+     */
+    @Benchmark
+    public CurriculumDto jsonAggregation() {
+        return curriculumRepository.findPublishedTreeById(curriculumId).orElseThrow();
+    }
+
+    private long insertCurriculum(int lessonCount) {
+        Long id = jdbcTemplate.queryForObject(
+                "INSERT INTO curriculums (title, description, instructor_name, price, is_published, published_at) "
+                        + "VALUES (?, 'Benchmark curriculum', 'Benchmark', 49.00, true, CURRENT_TIMESTAMP) RETURNING id",
+                Long.class, "Benchmark " + lessonCount + " lessons");
+
+        int chapters = (lessonCount + LESSONS_PER_CHAPTER - 1) / LESSONS_PER_CHAPTER;
+        for (int chapter = 0; chapter < chapters; chapter++) {
+            Long chapterId = jdbcTemplate.queryForObject(
+                    "INSERT INTO chapters (curriculum_id, title, order_index, is_published) "
+                            + "VALUES (?, ?, ?, true) RETURNING id",
+                    Long.class, id, "Chapter " + chapter, chapter);
+            int lessonsInChapter = Math.min(LESSONS_PER_CHAPTER, lessonCount - chapter * LESSONS_PER_CHAPTER);
+            for (int lesson = 0; lesson < lessonsInChapter; lesson++) {
+                jdbcTemplate.update(
+                        "INSERT INTO lessons (chapter_id, title, lesson_type, content_url, order_index, "
+                                + "duration_minutes, is_published, content_metadata) "
+                                + "VALUES (?, ?, 'VIDEO', 'https://example.com/video.mp4', ?, 10, true, "
+                                + "'{\"resolution\": \"1080p\"}'::jsonb)",
+                        chapterId, "Lesson " + lesson, lesson);
+            }
+        }
+        return id;
+    }
+}
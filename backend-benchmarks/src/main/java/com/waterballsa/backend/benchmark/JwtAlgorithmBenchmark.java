@@ -0,0 +1,75 @@
+package com.waterballsa.backend.benchmark;
+
+import com.waterballsa.backend.config.JwtProperties;
+import com.waterballsa.backend.security.JwtPrincipal;
+import com.waterballsa.backend.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing and verification throughput of the supported JWT algorithms.
+ *
+ * HS256 uses the shared HMAC secret; ES256 and EdDSA use an asymmetric key from the
+ * key ring, which lets other services verify tokens with only the public key.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAlgorithmBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-with-at-least-256-bits-of-entropy";
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        if (!"HS256".equals(algorithm)) {
+            properties.setKeys(List.of(signingKey(algorithm, generateKeyPair(algorithm))));
+            properties.setActiveKeyId(algorithm);
+        }
+        jwtUtil = new JwtUtil(properties);
+        token = jwtUtil.generateAccessToken(42L, "bench@waterballsa.com");
+    }
+
+    @Benchmark
+    public JwtPrincipal verify() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtUtil.generateAccessToken(42L, "bench@waterballsa.com");
+    }
+
+    private static KeyPair generateKeyPair(String algorithm) throws Exception {
+        if ("ES256".equals(algorithm)) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        }
+        return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+    }
+
+    private static JwtProperties.SigningKey signingKey(String id, KeyPair keyPair) {
+        JwtProperties.SigningKey key = new JwtProperties.SigningKey();
+        key.setId(id);
+        key.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        key.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        return key;
+    }
+}
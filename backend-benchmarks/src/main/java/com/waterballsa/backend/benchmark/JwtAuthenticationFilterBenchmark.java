@@ -0,0 +1,69 @@
+package com.waterballsa.backend.benchmark;
+
+import com.waterballsa.backend.config.JwtProperties;
+import com.waterballsa.backend.config.RevocationProperties;
+import com.waterballsa.backend.security.InMemoryRevocationStore;
+import com.waterballsa.backend.security.JwtAuthenticationFilter;
+import com.waterballsa.backend.security.TokenRevocationService;
+import com.waterballsa.backend.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link JwtAuthenticationFilter} on a single request, outside the security chain.
+ *
+ * Covers a request with a valid bearer token, which is verified, checked against the
+ * revocation filter and turned into an Authentication, and an anonymous request, which
+ * only passes through.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-with-at-least-256-bits-of-entropy";
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        JwtUtil jwtUtil = new JwtUtil(properties);
+        TokenRevocationService revocationService =
+                new TokenRevocationService(new InMemoryRevocationStore(), new RevocationProperties(), properties);
+        filter = new JwtAuthenticationFilter(jwtUtil, revocationService);
+        authorization = "Bearer " + jwtUtil.generateAccessToken(42L, "bench@waterballsa.com", jwtUtil.newFamilyId());
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/purchases");
+        request.addHeader("Authorization", authorization);
+        return doFilter(request);
+    }
+
+    @Benchmark
+    public Authentication anonymousRequest() throws Exception {
+        return doFilter(new MockHttpServletRequest("GET", "/api/curriculums"));
+    }
+
+    private Authentication doFilter(MockHttpServletRequest request) throws Exception {
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.waterballsa.backend.benchmark;
+
+import com.waterballsa.backend.config.JwtProperties;
+import com.waterballsa.backend.security.JwtPrincipal;
+import com.waterballsa.backend.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT authentication in JwtAuthenticationFilter.
+ *
+ * Compares the previous filter path (validateToken + extractUserId + extractEmail, each
+ * rebuilding the HMAC key and parser and re-checking the signature) with a single
+ * {@link JwtUtil#verify(String)} call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-with-at-least-256-bits-of-entropy";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        jwtUtil = new JwtUtil(properties);
+        token = jwtUtil.generateAccessToken(42L, "bench@waterballsa.com");
+    }
+
+    /**
+     * Filter path before the change: three full parses per request.
+     */
+    @Benchmark
+    public void legacyThreeParses(Blackhole blackhole) {
+        blackhole.consume(legacyParse().getExpiration());
+        blackhole.consume(legacyParse().get("userId", Long.class));
+        blackhole.consume(legacyParse().getSubject());
+    }
+
+    /**
+     * Filter path after the change: one parse producing the principal.
+     */
+    @Benchmark
+    public JwtPrincipal verifyOnce() {
+        return jwtUtil.verify(token);
+    }
+
+    private Claims legacyParse() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
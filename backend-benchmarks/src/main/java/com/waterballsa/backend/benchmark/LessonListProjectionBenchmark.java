@@ -0,0 +1,173 @@
+package com.waterballsa.backend.benchmark;
+
+import com.waterballsa.backend.WaterBallSaApplication;
+import com.waterballsa.backend.dto.LessonDto;
+import com.waterballsa.backend.entity.Lesson;
+import com.waterballsa.backend.entity.LessonType;
+import com.waterballsa.backend.repository.LessonRepository;
+import com.waterballsa.backend.repository.LessonRow;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of listing lessons on a 10,000-lesson catalog, as behind {@code GET /api/lessons/type/{type}}.
+ *
+ * Compares loading managed {@link Lesson} entities and converting them with
+ * {@link LessonDto#from} (the listing before projections) with the {@link LessonRow}
+ * projections of {@link LessonRepository#findByLessonTypeAndIsPublishedTrue} and of
+ * {@link LessonRepository#findSummariesByType}, which leaves out the description and the
+ * JSONB content metadata. Every path runs the same count query in one read-only
+ * transaction, as the service's database fallback does. The catalog snapshot and the query
+ * cache are off so that every call reaches the database, and so are the suggest and stats
+ * refreshes, which would otherwise rebuild from the synthetic lessons during measurement.
+ *
+ * Every synthetic lesson has a description of about 1 KB and a few metadata keys. Run with
+ * {@code -prof gc} to compare allocation per listing alongside latency.
+ *
+ * Needs a Postgres database, by default the one from docker-compose; override with
+ * -Dbench.datasource.url, -Dbench.datasource.username and -Dbench.datasource.password.
+ * Migrations are applied on startup and the benchmark curriculum is deleted afterwards.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LessonListProjectionBenchmark {
+
+    private static final int LESSONS = 10_000;
+    private static final int LESSONS_PER_CHAPTER = 100;
+
+    private static final String INSERT_CHAPTERS = """
+            INSERT INTO chapters (curriculum_id, title, order_index, is_published)
+            SELECT ?, 'Chapter ' || i, i, true
+            FROM generate_series(0, ? - 1) AS i
+            """;
+
+    private static final String INSERT_LESSONS = """
+            INSERT INTO lessons (chapter_id, title, description, lesson_type, content_url, order_index,
+                                 duration_minutes, is_published, content_metadata)
+            SELECT ch.id, 'Lesson ' || i, repeat('Lesson notes with examples and exercises. ', 24),
+                   'SURVEY', 'https://example.com/lesson/' || i, i, 10, true,
+                   jsonb_build_object('resolution', '1080p', 'subtitles', jsonb_build_array('zh-TW', 'en'),
+                                      'questions', i % 20, 'attachments', jsonb_build_array('slides.pdf'))
+            FROM chapters ch, generate_series(0, ? - 1) AS i
+            WHERE ch.curriculum_id = ?
+            """;
+
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private LessonRepository lessonRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private JdbcTemplate jdbcTemplate;
+    private Pageable firstPage;
+    private long curriculumId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(WaterBallSaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + System.getProperty("bench.datasource.url",
+                                "jdbc:postgresql://localhost:5433/waterballsa"),
+                        "--spring.datasource.username=" + System.getProperty("bench.datasource.username", "postgres"),
+                        "--spring.datasource.password=" + System.getProperty("bench.datasource.password", "postgres"),
+                        "--spring.jpa.show-sql=false",
+                        "--catalog.snapshot.enabled=false",
+                        "--catalog.suggest.enabled=false",
+                        "--catalog.stats.enabled=false",
+                        "--catalog.entity-cache.enabled=false",
+                        "--jwt.secret=benchmark-secret-key-with-at-least-256-bits-of-entropy",
+                        "--spring.security.oauth2.client.registration.google.client-id=benchmark",
+                        "--spring.security.oauth2.client.registration.google.client-secret=benchmark",
+                        "--logging.level.com.waterballsa=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.springframework.web=WARN"
+                );
+        lessonRepository = context.getBean(LessonRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        firstPage = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.ASC, "orderIndex", "id"));
+
+        curriculumId = jdbcTemplate.queryForObject(
+                "INSERT INTO curriculums (title, description, instructor_name, price, is_published, published_at) "
+                        + "VALUES ('Projection Benchmark', 'Benchmark curriculum', 'Benchmark', 49.00, true, "
+                        + "CURRENT_TIMESTAMP) RETURNING id",
+                Long.class);
+        jdbcTemplate.update(INSERT_CHAPTERS, curriculumId, LESSONS / LESSONS_PER_CHAPTER);
+        jdbcTemplate.update(INSERT_LESSONS, LESSONS_PER_CHAPTER, curriculumId);
+        jdbcTemplate.execute("ANALYZE lessons");
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM curriculums WHERE id = ?", curriculumId);
+        context.close();
+    }
+
+    /**
+     * Entity path: managed lessons in the persistence context, converted to DTOs.
+     */
+    @Benchmark
+    public Page<LessonDto> entities() {
+        return readOnlyTransaction.execute(status -> {
+            List<LessonDto> content = entityManager.createQuery(
+                            "SELECT l FROM Lesson l WHERE l.lessonType = :lessonType AND l.isPublished = true "
+                                    + "ORDER BY l.orderIndex ASC, l.id ASC", Lesson.class)
+                    .setParameter("lessonType", LessonType.SURVEY)
+                    .setMaxResults(pageSize)
+                    .getResultList()
+                    .stream()
+                    .map(LessonDto::from)
+                    .toList();
+            Long total = entityManager.createQuery(
+                            "SELECT COUNT(l) FROM Lesson l WHERE l.lessonType = :lessonType AND l.isPublished = true",
+                            Long.class)
+                    .setParameter("lessonType", LessonType.SURVEY)
+                    .getSingleResult();
+            return new PageImpl<>(content, firstPage, total);
+        });
+    }
+
+    /**
+     * Full projection: every column, without managed entities.
+     */
+    @Benchmark
+    public Page<LessonDto> fullProjection() {
+        return readOnlyTransaction.execute(status ->
+                lessonRepository.findByLessonTypeAndIsPublishedTrue(LessonType.SURVEY, firstPage)
+                        .map(LessonRow::toDto));
+    }
+
+    /**
+     * Summary projection: no description and no content metadata.
+     */
+    @Benchmark
+    public Page<LessonDto> summaryProjection() {
+        return readOnlyTransaction.execute(status ->
+                lessonRepository.findSummariesByType(LessonType.SURVEY, firstPage)
+                        .map(LessonRow::toDto));
+    }
+}
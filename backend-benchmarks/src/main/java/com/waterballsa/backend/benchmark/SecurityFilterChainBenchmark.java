@@ -0,0 +1,162 @@
+package com.waterballsa.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waterballsa.backend.config.JwtProperties;
+import com.waterballsa.backend.config.RateLimitProperties;
+import com.waterballsa.backend.config.RevocationProperties;
+import com.waterballsa.backend.config.SecurityConfig;
+import com.waterballsa.backend.security.InMemoryRateLimiter;
+import com.waterballsa.backend.security.InMemoryRevocationStore;
+import com.waterballsa.backend.security.JwtAuthenticationEntryPoint;
+import com.waterballsa.backend.security.JwtAuthenticationFilter;
+import com.waterballsa.backend.security.RateLimitFilter;
+import com.waterballsa.backend.security.RateLimitGroup;
+import com.waterballsa.backend.security.TokenRevocationService;
+import com.waterballsa.backend.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of the Spring Security filter chain built by {@link SecurityConfig}.
+ *
+ * Runs the real "springSecurityFilterChain" with the JWT, rate-limit, CORS and
+ * authorization filters against mock requests, without the servlet container and
+ * controllers. Rate limits are raised so that no request is rejected.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityFilterChainBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-with-at-least-256-bits-of-entropy";
+
+    private AnnotationConfigWebApplicationContext context;
+    private Filter filterChain;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.register(SecurityBeans.class, SecurityConfig.class);
+        context.refresh();
+
+        filterChain = context.getBean("springSecurityFilterChain", Filter.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        authorization = "Bearer " + jwtUtil.generateAccessToken(42L, "bench@waterballsa.com", jwtUtil.newFamilyId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Authenticated request to a protected endpoint.
+     */
+    @Benchmark
+    public int authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = request("GET", "/api/purchases");
+        request.addHeader("Authorization", authorization);
+        return doFilter(request);
+    }
+
+    /**
+     * Anonymous request to a public catalog endpoint.
+     */
+    @Benchmark
+    public int anonymousPublicRequest() throws Exception {
+        return doFilter(request("GET", "/api/curriculums"));
+    }
+
+    /**
+     * Anonymous request to a protected endpoint, rejected with 401.
+     */
+    @Benchmark
+    public int anonymousRejectedRequest() throws Exception {
+        return doFilter(request("GET", "/api/purchases"));
+    }
+
+    /**
+     * Request as the DispatcherServlet mapped to "/" sees it, where the servlet path
+     * is the whole path within the application.
+     */
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+
+    private int doFilter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filterChain.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    /**
+     * Beans {@link SecurityConfig} depends on, built the same way as in the application.
+     * Registered explicitly rather than annotated {@code @Configuration}: the benchmarks
+     * that start the whole application scan this package, and would pick these beans up.
+     */
+    @EnableWebMvc
+    static class SecurityBeans {
+
+        @Bean
+        JwtProperties jwtProperties() {
+            JwtProperties properties = new JwtProperties();
+            properties.setSecret(SECRET);
+            return properties;
+        }
+
+        @Bean
+        JwtUtil jwtUtil(JwtProperties jwtProperties) {
+            return new JwtUtil(jwtProperties);
+        }
+
+        @Bean
+        TokenRevocationService tokenRevocationService(JwtProperties jwtProperties) {
+            return new TokenRevocationService(new InMemoryRevocationStore(), new RevocationProperties(), jwtProperties);
+        }
+
+        @Bean
+        JwtAuthenticationFilter jwtAuthenticationFilter(JwtUtil jwtUtil, TokenRevocationService tokenRevocationService) {
+            return new JwtAuthenticationFilter(jwtUtil, tokenRevocationService);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+
+        @Bean
+        JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint(ObjectMapper objectMapper) {
+            return new JwtAuthenticationEntryPoint(objectMapper);
+        }
+
+        @Bean
+        RateLimitFilter rateLimitFilter(ObjectMapper objectMapper) {
+            RateLimitProperties properties = new RateLimitProperties();
+            EnumMap<RateLimitGroup, RateLimitProperties.Limit> groups = new EnumMap<>(RateLimitGroup.class);
+            for (RateLimitGroup group : RateLimitGroup.values()) {
+                groups.put(group, new RateLimitProperties.Limit(Integer.MAX_VALUE, Duration.ofSeconds(1)));
+            }
+            properties.setGroups(groups);
+            return new RateLimitFilter(new InMemoryRateLimiter(), properties, objectMapper, new SimpleMeterRegistry());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.waterballsa.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waterballsa.backend.service.RedisCurriculumStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Selects the second-level curriculum tree cache.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "catalog.cache", name = "l2", havingValue = "redis")
+public class CatalogCacheConfig {
+
+    /**
+     * Listener container for cache invalidations between instances.
+     *
+     * @return Redis message listener container
+     */
+    @Bean
+    public RedisMessageListenerContainer catalogCacheListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * Redis curriculum tree store shared by all instances.
+     *
+     * @return Redis store
+     */
+    @Bean
+    public RedisCurriculumStore redisCurriculumStore(StringRedisTemplate redisTemplate,
+                                                     RedisMessageListenerContainer catalogCacheListenerContainer,
+                                                     ObjectMapper objectMapper,
+                                                     CatalogCacheProperties properties) {
+        return new RedisCurriculumStore(redisTemplate, catalogCacheListenerContainer, objectMapper, properties.getL2Ttl());
+    }
+}
@@ -0,0 +1,41 @@
+package com.waterballsa.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the curriculum tree cache.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "catalog.cache")
+@Data
+public class CatalogCacheProperties {
+
+    /**
+     * Whether curriculum trees are cached at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of curriculum trees held in memory by each instance.
+     */
+    private int maxEntries = 1000;
+
+    /**
+     * How long a curriculum tree stays in the in-memory cache.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Second-level cache shared by all instances: "none" or "redis".
+     */
+    private String l2 = "none";
+
+    /**
+     * How long a curriculum tree stays in the second-level cache.
+     */
+    private Duration l2Ttl = Duration.ofHours(1);
+}
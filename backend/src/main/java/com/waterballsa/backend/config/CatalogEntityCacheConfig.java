@@ -0,0 +1,95 @@
+package com.waterballsa.backend.config;
+
+import com.waterballsa.backend.entity.CatalogCacheRegions;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Configures the Hibernate second-level cache of the catalog entities on JCache, backed by
+ * an on-heap Ehcache per instance.
+ *
+ * Every region in {@link CatalogCacheRegions} is created here with its own size and TTL,
+ * and Hibernate fails to start if an entity asks for any other region. When disabled,
+ * Hibernate runs without second-level and query caches.
+ */
+@Configuration
+public class CatalogEntityCacheConfig {
+
+    /**
+     * Cache manager holding the catalog regions.
+     *
+     * @return JCache cache manager, closed with the application context
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "catalog.entity-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager catalogEntityCacheManager(CatalogEntityCacheProperties properties) {
+        CacheConfiguration<Object, Object> entities = cacheConfiguration(properties.getMaxEntries(), properties.getTtl());
+        CacheConfiguration<Object, Object> listings =
+                cacheConfiguration(properties.getQueryMaxEntries(), properties.getQueryTtl());
+        CacheConfiguration<Object, Object> timestamps = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(1000))
+                .withExpiry(ExpiryPolicyBuilder.noExpiration())
+                .build();
+
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        // Providers share cache managers by URI, so each application context gets its own
+        return provider.getCacheManager(URI.create("urn:waterballsa:catalog-entity-cache:" + UUID.randomUUID()),
+                ConfigurationBuilder.newConfigurationBuilder()
+                        .withCache(CatalogCacheRegions.CURRICULUM, entities)
+                        .withCache(CatalogCacheRegions.CHAPTER, entities)
+                        .withCache(CatalogCacheRegions.LESSON, entities)
+                        .withCache(CatalogCacheRegions.CURRICULUM_CHAPTERS, entities)
+                        .withCache(CatalogCacheRegions.CHAPTER_LESSONS, entities)
+                        .withCache(CatalogCacheRegions.LISTINGS, listings)
+                        .withCache(CatalogCacheRegions.DEFAULT_QUERY_RESULTS, listings)
+                        .withCache(CatalogCacheRegions.UPDATE_TIMESTAMPS, timestamps)
+                        .withClassLoader(getClass().getClassLoader())
+                        .build());
+    }
+
+    /**
+     * Points Hibernate at the catalog cache manager, or turns its caches off.
+     *
+     * @return Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer catalogEntityCacheCustomizer(CatalogEntityCacheProperties properties,
+                                                                      ObjectProvider<CacheManager> catalogEntityCacheManager) {
+        return hibernateProperties -> {
+            boolean enabled = properties.isEnabled();
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, properties.isStatisticsEnabled());
+            if (enabled) {
+                hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                hibernateProperties.put(ConfigSettings.CACHE_MANAGER, catalogEntityCacheManager.getObject());
+                hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            }
+        };
+    }
+
+    private static CacheConfiguration<Object, Object> cacheConfiguration(int maxEntries, Duration ttl) {
+        return CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl))
+                .build();
+    }
+}
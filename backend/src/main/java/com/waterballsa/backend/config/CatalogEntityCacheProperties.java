@@ -0,0 +1,55 @@
+package com.waterballsa.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the Hibernate second-level cache of curriculums, chapters
+ * and lessons, and the query cache of the published listings.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "catalog.entity-cache")
+@Data
+public class CatalogEntityCacheProperties {
+
+    /**
+     * Whether catalog entities, their collections and the published listings are cached
+     * by Hibernate.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of entries held by each entity and collection region.
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * How long an entity or collection stays cached. A safety net for changes the
+     * version check misses.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of listing query results held.
+     */
+    private int queryMaxEntries = 1000;
+
+    /**
+     * How long a listing query result stays cached.
+     */
+    private Duration queryTtl = Duration.ofMinutes(1);
+
+    /**
+     * How often the catalog version is checked for changes made by another instance or
+     * outside JPA, which empty the cache.
+     */
+    private Duration versionCheckInterval = Duration.ofSeconds(30);
+
+    /**
+     * Whether Hibernate collects statistics, exported as {@code hibernate.*} metrics.
+     */
+    private boolean statisticsEnabled = true;
+}
@@ -0,0 +1,37 @@
+package com.waterballsa.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for HTTP caching of public catalog responses.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "catalog.http-cache")
+@Data
+public class CatalogHttpCacheProperties {
+
+    /**
+     * Whether catalog GET responses are cached pre-serialized and served with ETags.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Cache-Control max-age sent with catalog responses; browsers and CDNs revalidate
+     * with If-None-Match once it has passed.
+     */
+    private Duration maxAge = Duration.ofMinutes(1);
+
+    /**
+     * Maximum number of distinct catalog responses (URL and query string) held in memory.
+     */
+    private int maxEntries = 2000;
+
+    /**
+     * Responses with a larger body are served but not cached.
+     */
+    private int maxBodyBytes = 1024 * 1024;
+}
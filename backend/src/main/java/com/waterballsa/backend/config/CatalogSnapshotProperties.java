@@ -0,0 +1,27 @@
+package com.waterballsa.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-memory catalog snapshot.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "catalog.snapshot")
+@Data
+public class CatalogSnapshotProperties {
+
+    /**
+     * Whether catalog reads are served from the snapshot. When disabled, or until the
+     * first snapshot is built, reads go to the database.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How often the catalog version in the database is compared with the snapshot's.
+     */
+    private Duration versionCheckInterval = Duration.ofSeconds(30);
+}
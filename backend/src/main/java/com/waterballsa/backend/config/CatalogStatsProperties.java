@@ -0,0 +1,34 @@
+package com.waterballsa.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-memory catalog stats behind the count and duration
+ * endpoints.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "catalog.stats")
+@Data
+public class CatalogStatsProperties {
+
+    /**
+     * Whether counts and durations are served from memory; when disabled they are
+     * aggregated by the database per request.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How often the loaded stats are checked against the current catalog version.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(10);
+
+    /**
+     * How often the stats tables are recomputed from the catalog tables to repair and
+     * report drift.
+     */
+    private Duration consistencyCheckInterval = Duration.ofHours(1);
+}
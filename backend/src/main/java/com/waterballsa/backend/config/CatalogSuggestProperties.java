@@ -0,0 +1,32 @@
+package com.waterballsa.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for typeahead suggestions.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "catalog.suggest")
+@Data
+public class CatalogSuggestProperties {
+
+    /**
+     * Whether suggestions are served; when disabled the endpoint returns no suggestions.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How often the suggestion trie is checked against the current catalog version.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(10);
+
+    /**
+     * How long purchase counts used for ranking are kept before the trie is rebuilt with
+     * fresh counts, even if the catalog has not changed.
+     */
+    private Duration popularityTtl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,48 @@
+package com.waterballsa.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waterballsa.backend.security.FileGoogleSigningKeySource;
+import com.waterballsa.backend.security.GoogleSigningKeySource;
+import com.waterballsa.backend.security.HttpGoogleSigningKeySource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+/**
+ * Selects where Google ID token signing keys are loaded from.
+ */
+@Configuration
+public class GoogleJwksConfig {
+
+    /**
+     * Loads signing keys from Google's JWKS endpoint (default).
+     *
+     * @return HTTP signing key source
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "google.jwks", name = "source", havingValue = "http", matchIfMissing = true)
+    public GoogleSigningKeySource httpGoogleSigningKeySource(GoogleJwksProperties properties, ObjectMapper objectMapper) {
+        return new HttpGoogleSigningKeySource(
+                URI.create(properties.getUri()),
+                properties.getTimeout(),
+                properties.getDefaultTtl(),
+                objectMapper);
+    }
+
+    /**
+     * Loads signing keys from a local JWKS file.
+     *
+     * @return file signing key source
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "google.jwks", name = "source", havingValue = "file")
+    public GoogleSigningKeySource fileGoogleSigningKeySource(GoogleJwksProperties properties, ObjectMapper objectMapper) {
+        return new FileGoogleSigningKeySource(
+                Path.of(properties.getFile()),
+                properties.getDefaultTtl(),
+                objectMapper);
+    }
+}
@@ -0,0 +1,56 @@
+package com.waterballsa.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the Google ID token signing-key cache.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "google.jwks")
+@Data
+public class GoogleJwksProperties {
+
+    /**
+     * Where signing keys are loaded from: "http" (Google JWKS endpoint) or "file".
+     */
+    private String source = "http";
+
+    /**
+     * Google JWKS endpoint.
+     */
+    private String uri = "https://www.googleapis.com/oauth2/v3/certs";
+
+    /**
+     * JWKS file used when source is "file".
+     */
+    private String file;
+
+    /**
+     * How long before key expiry the background refresh runs.
+     */
+    private Duration refreshAhead = Duration.ofMinutes(5);
+
+    /**
+     * Delay before retrying a failed refresh.
+     */
+    private Duration retryInterval = Duration.ofSeconds(30);
+
+    /**
+     * Key lifetime used when the source does not provide one.
+     */
+    private Duration defaultTtl = Duration.ofHours(1);
+
+    /**
+     * HTTP connect and read timeout for the JWKS endpoint.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+
+    /**
+     * Allowed clock skew when checking token issue and expiry times.
+     */
+    private Duration allowedClockSkew = Duration.ofMinutes(5);
+}
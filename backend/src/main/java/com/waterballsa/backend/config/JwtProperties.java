@@ -4,6 +4,10 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration properties for JWT token management.
  */
@@ -14,9 +18,31 @@ public class JwtProperties {
 
     /**
      * Secret key for signing JWT tokens (minimum 256 bits).
+     * When asymmetric keys are configured, only used to verify tokens issued without a key ID,
+     * and only while {@link #acceptLegacyHmac} is set.
      */
     private String secret;
 
+    /**
+     * Whether tokens without a key ID, signed with the HMAC secret, are still accepted once
+     * asymmetric keys are configured (default: false). Turn it on only for the switch from
+     * the secret to keys, until the last HMAC refresh token has expired; while on, anyone
+     * holding the secret can mint valid tokens.
+     */
+    private boolean acceptLegacyHmac = false;
+
+    /**
+     * ID of the asymmetric key used to sign new tokens. Tokens are signed with the HMAC
+     * secret when no keys are configured.
+     */
+    private String activeKeyId;
+
+    /**
+     * Asymmetric signing keys (Ed25519 or EC P-256). Keys other than the active one are
+     * verification-only, so tokens signed before a rotation stay valid.
+     */
+    private List<SigningKey> keys = new ArrayList<>();
+
     /**
      * Access token expiration time in milliseconds (default: 15 minutes).
      */
@@ -26,4 +52,47 @@ public class JwtProperties {
      * Refresh token expiration time in milliseconds (default: 7 days).
      */
     private Long refreshTokenExpiration = 604800000L;
+
+    /**
+     * Cache of verified token claims, keyed by token digest.
+     */
+    private VerifiedCache verifiedCache = new VerifiedCache();
+
+    @Data
+    public static class SigningKey {
+
+        /**
+         * Key ID written to the "kid" token header.
+         */
+        private String id;
+
+        /**
+         * PKCS#8 private key, PEM or base64 DER. Only required for the active key.
+         */
+        private String privateKey;
+
+        /**
+         * X.509 public key, PEM or base64 DER.
+         */
+        private String publicKey;
+    }
+
+    @Data
+    public static class VerifiedCache {
+
+        /**
+         * Whether verified tokens are cached (default: disabled).
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of cached tokens.
+         */
+        private int maxEntries = 10000;
+
+        /**
+         * Maximum time a verified token is cached; never longer than the token's expiration.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+    }
 }
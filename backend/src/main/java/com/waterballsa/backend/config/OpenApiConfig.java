@@ -1,5 +1,6 @@
 package com.waterballsa.backend.config;
 
+import com.waterballsa.backend.security.AuthenticatedUser;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
@@ -7,6 +8,7 @@ import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -19,6 +21,11 @@ import java.util.List;
 @Configuration
 public class OpenApiConfig {
 
+    static {
+        // @AuthenticatedUser parameters come from the security context, not the request
+        SpringDocUtils.getConfig().addAnnotationsToIgnore(AuthenticatedUser.class);
+    }
+
     @Value("${server.port:8080}")
     private int serverPort;
 
@@ -0,0 +1,53 @@
+package com.waterballsa.backend.config;
+
+import com.waterballsa.backend.security.InMemoryRateLimiter;
+import com.waterballsa.backend.security.RateLimitFilter;
+import com.waterballsa.backend.security.RateLimiter;
+import com.waterballsa.backend.security.RedisRateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Rate limiter backend selection and filter registration.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    /**
+     * In-memory token buckets (default).
+     *
+     * @return in-memory rate limiter
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "rate-limit", name = "backend", havingValue = "memory", matchIfMissing = true)
+    public RateLimiter inMemoryRateLimiter() {
+        return new InMemoryRateLimiter();
+    }
+
+    /**
+     * Token buckets shared through Redis.
+     *
+     * @return Redis rate limiter
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "rate-limit", name = "backend", havingValue = "redis")
+    public RateLimiter redisRateLimiter(StringRedisTemplate redisTemplate) {
+        return new RedisRateLimiter(redisTemplate);
+    }
+
+    /**
+     * Keeps the rate limit filter out of the servlet filter chain; it runs inside the
+     * security filter chain, after authentication, so it can key buckets by user.
+     *
+     * @return disabled registration
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
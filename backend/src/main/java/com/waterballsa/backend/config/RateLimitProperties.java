@@ -0,0 +1,76 @@
+package com.waterballsa.backend.config;
+
+import com.waterballsa.backend.security.RateLimitGroup;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for API rate limiting.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+@Data
+public class RateLimitProperties {
+
+    /**
+     * Whether requests are rate limited.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Limit for API routes outside the configured groups, per client per hour.
+     */
+    private int requestsPerHour = 1000;
+
+    /**
+     * Bucket storage: "memory" (single node) or "redis" (shared by all nodes).
+     */
+    private String backend = "memory";
+
+    /**
+     * Limits per route group, applied per authenticated user or per client IP.
+     */
+    private Map<RateLimitGroup, Limit> groups = new EnumMap<>(Map.of(
+            RateLimitGroup.AUTH, new Limit(20, Duration.ofMinutes(1)),
+            RateLimitGroup.CHECKOUT, new Limit(30, Duration.ofMinutes(1)),
+            RateLimitGroup.PROGRESS, new Limit(120, Duration.ofMinutes(1)),
+            RateLimitGroup.CATALOG, new Limit(300, Duration.ofMinutes(1))
+    ));
+
+    /**
+     * Gets the limit for a route group, falling back to requests-per-hour.
+     *
+     * @param group the route group
+     * @return the limit to enforce
+     */
+    public Limit getLimit(RateLimitGroup group) {
+        Limit limit = groups.get(group);
+        return limit != null ? limit : new Limit(requestsPerHour, Duration.ofHours(1));
+    }
+
+    /**
+     * Token bucket limit: up to {@code capacity} requests at once, refilled evenly over {@code period}.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        /**
+         * Maximum burst size.
+         */
+        private int capacity;
+
+        /**
+         * Time to refill an empty bucket.
+         */
+        private Duration period;
+    }
+}
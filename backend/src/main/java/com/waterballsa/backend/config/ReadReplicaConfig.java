@@ -0,0 +1,100 @@
+package com.waterballsa.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Splits database access between the primary and a read replica.
+ *
+ * Replaces the auto-configured data source with two Hikari pools and a
+ * {@link ReplicaRoutingDataSource} in front of them. JPA, JdbcTemplate and Flyway all use
+ * the routing data source; anything outside a read-only transaction, including migrations,
+ * goes to the primary. Only active with {@code read-replica.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    /**
+     * Pool of the primary, configured by {@code spring.datasource}.
+     *
+     * @return primary pool
+     */
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Pool of the replica, configured by {@code read-replica}. Credentials and driver
+     * default to the primary's.
+     *
+     * @return replica pool
+     */
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties(prefix = "read-replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties dataSourceProperties,
+                                              ReadReplicaProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        dataSource.setJdbcUrl(properties.getUrl());
+        dataSource.setUsername(properties.getUsername() != null
+                ? properties.getUsername() : dataSourceProperties.determineUsername());
+        dataSource.setPassword(properties.getPassword() != null
+                ? properties.getPassword() : dataSourceProperties.determinePassword());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Replication lag guard.
+     *
+     * @return lag monitor
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               ReadReplicaProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, properties.getMaxLag(), meterRegistry);
+    }
+
+    /**
+     * The application's data source: routes each connection when it is first used.
+     *
+     * @return routing data source behind a lazy connection proxy
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 ReadReplicaProperties properties,
+                                 MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaLagMonitor, properties, meterRegistry);
+        routing.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(routing);
+        // Postgres defaults; otherwise the proxy opens a connection at startup to read them
+        lazy.setDefaultAutoCommit(true);
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return lazy;
+    }
+}
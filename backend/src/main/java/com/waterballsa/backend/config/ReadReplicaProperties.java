@@ -0,0 +1,59 @@
+package com.waterballsa.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for routing read-only transactions to a read replica.
+ * Pool settings of the replica are bound from {@code read-replica.hikari}, like
+ * {@code spring.datasource.hikari} for the primary.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "read-replica")
+@Data
+public class ReadReplicaProperties {
+
+    /**
+     * Whether read-only transactions go to the replica. When disabled, every connection
+     * comes from the single primary pool.
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URL of the replica.
+     */
+    private String url;
+
+    /**
+     * Replica login user, defaults to the primary's.
+     */
+    private String username;
+
+    /**
+     * Replica login password, defaults to the primary's.
+     */
+    private String password;
+
+    /**
+     * Largest replication lag at which read-only transactions still go to the replica.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How often the replication lag is measured.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * How long after committing a write a user's read-only transactions stay on the primary.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+
+    /**
+     * Maximum number of recent writers remembered for the read-your-writes window.
+     */
+    private int maxTrackedWriters = 10000;
+}
@@ -0,0 +1,98 @@
+package com.waterballsa.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Measures how far the read replica lags behind the primary.
+ *
+ * The replica is only used while the last measurement succeeded and was within the
+ * configured maximum lag. A replica that has replayed everything it received counts as
+ * not lagging, even if the primary has been idle for a while; otherwise the lag is the
+ * age of the last replayed transaction. A replica whose WAL receiver is not streaming has
+ * an unknown lag, since it has replayed everything it received but may be missing what
+ * the primary wrote since. Until the first measurement succeeds, reads stay on the
+ * primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+            END
+            """;
+
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.maxLag = maxLag;
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replication lag of the read replica in seconds, NaN when unknown")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes the first measurement.
+     */
+    @PostConstruct
+    public void start() {
+        checkLag();
+    }
+
+    /**
+     * Measures the replication lag. Failures are logged and keep reads on the primary
+     * until a later measurement succeeds.
+     */
+    @Scheduled(fixedDelayString = "${read-replica.lag-check-interval:PT5S}")
+    public void checkLag() {
+        boolean wasUsable = isReplicaUsable();
+        try {
+            Double lag = replica.queryForObject(LAG_QUERY, Double.class);
+            lagSeconds = lag != null ? Math.max(0, lag) : Double.NaN;
+            if (wasUsable && Double.isNaN(lagSeconds)) {
+                log.warn("Read replica is not streaming from the primary, reading from the primary");
+            } else if (wasUsable && !isReplicaUsable()) {
+                log.warn("Read replica lag {}s exceeds {}, reading from the primary", lagSeconds, maxLag);
+            } else if (!wasUsable && isReplicaUsable()) {
+                log.info("Read replica lag {}s is within {}, reading from the replica", lagSeconds, maxLag);
+            }
+        } catch (RuntimeException e) {
+            lagSeconds = Double.NaN;
+            log.warn("Failed to measure read replica lag, reading from the primary: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Whether read-only transactions may go to the replica.
+     *
+     * @return true if the last measurement succeeded and was within the maximum lag
+     */
+    public boolean isReplicaUsable() {
+        double lag = lagSeconds;
+        return !Double.isNaN(lag) && lag * 1000 <= maxLag.toMillis();
+    }
+
+    /**
+     * Last measured lag.
+     *
+     * @return lag in seconds, NaN if unknown
+     */
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+}
@@ -0,0 +1,132 @@
+package com.waterballsa.backend.config;
+
+import com.waterballsa.backend.security.JwtPrincipal;
+import com.waterballsa.backend.util.BoundedExpiringCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends connections of read-only transactions to the read replica and all others to the
+ * primary.
+ *
+ * The target is chosen when a connection is first used, so this data source must sit behind
+ * a {@link LazyConnectionDataSourceProxy}: the transaction manager opens its connection
+ * before the transaction is marked read-only. A read-only transaction still goes to the
+ * primary when:
+ * <ul>
+ *   <li>the {@link ReplicaLagMonitor} reports the replica as lagging or unreachable, or</li>
+ *   <li>the authenticated user committed a write within the read-your-writes window, so
+ *       they see their own purchase or progress even if the replica has not replayed it.</li>
+ * </ul>
+ * Recent writers are remembered per instance; a user's next request landing on another
+ * instance is only covered by the lag guard. Only read-write transactions count as writes:
+ * a connection used outside a transaction, such as a snapshot fallback read, goes to the
+ * primary without pinning the user there.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Lookup keys of the two targets.
+     */
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final long readYourWritesWindowMillis;
+    private final BoundedExpiringCache<Long, Boolean> recentWriters;
+    private final Counter writes;
+    private final Counter nonTransactional;
+    private final Counter replicaReads;
+    private final Counter laggingReads;
+    private final Counter recentWriterReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesWindowMillis = properties.getReadYourWritesWindow().toMillis();
+        this.recentWriters = new BoundedExpiringCache<>(properties.getMaxTrackedWriters());
+        this.writes = routingCounter(meterRegistry, Target.PRIMARY, "write");
+        this.nonTransactional = routingCounter(meterRegistry, Target.PRIMARY, "no-transaction");
+        this.replicaReads = routingCounter(meterRegistry, Target.REPLICA, "read-only");
+        this.laggingReads = routingCounter(meterRegistry, Target.PRIMARY, "replica-lagging");
+        this.recentWriterReads = routingCounter(meterRegistry, Target.PRIMARY, "read-your-writes");
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                nonTransactional.increment();
+                return Target.PRIMARY;
+            }
+            writes.increment();
+            if (userId != null) {
+                recordWrite(userId);
+            }
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            laggingReads.increment();
+            return Target.PRIMARY;
+        }
+        if (userId != null && recentWriters.get(userId) != null) {
+            recentWriterReads.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    /**
+     * Starts the user's read-your-writes window when the transaction commits.
+     */
+    private void recordWrite(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markRecentWriter(userId);
+            }
+        });
+    }
+
+    private void markRecentWriter(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE, System.currentTimeMillis() + readYourWritesWindowMillis);
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return jwtPrincipal.getUserId();
+        }
+        return principal instanceof Long userId ? userId : null;
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, Target target, String reason) {
+        return Counter.builder("datasource.routing.connections")
+                .description("Connections handed out by the replica routing data source")
+                .tag("target", target.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.waterballsa.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for refresh-token rotation and token revocation.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth.revocation")
+@Data
+public class RevocationProperties {
+
+    /**
+     * Revocation store: "memory" (single instance) or "redis" (shared).
+     */
+    private String store = "memory";
+
+    /**
+     * Number of revoked families the Bloom filter is sized for.
+     */
+    private long bloomExpectedInsertions = 100000;
+
+    /**
+     * Target false-positive rate of the Bloom filter.
+     */
+    private double bloomFalsePositiveRate = 0.01;
+
+    /**
+     * How often the Bloom filter is rebuilt to drop expired revocations.
+     */
+    private Duration bloomRebuildInterval = Duration.ofHours(1);
+
+    /**
+     * How often the in-memory store drops entries for expired tokens.
+     */
+    private Duration purgeInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,54 @@
+package com.waterballsa.backend.config;
+
+import com.waterballsa.backend.security.InMemoryRevocationStore;
+import com.waterballsa.backend.security.RedisRevocationStore;
+import com.waterballsa.backend.security.RevocationStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Selects the token revocation store.
+ */
+@Configuration
+public class RevocationStoreConfig {
+
+    /**
+     * In-memory revocation store (default).
+     *
+     * @return in-memory store
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "auth.revocation", name = "store", havingValue = "memory", matchIfMissing = true)
+    public RevocationStore inMemoryRevocationStore() {
+        return new InMemoryRevocationStore();
+    }
+
+    /**
+     * Listener container for revocation broadcasts between instances.
+     *
+     * @return Redis message listener container
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "auth.revocation", name = "store", havingValue = "redis")
+    public RedisMessageListenerContainer revocationListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * Redis revocation store shared by all instances.
+     *
+     * @return Redis store
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "auth.revocation", name = "store", havingValue = "redis")
+    public RevocationStore redisRevocationStore(StringRedisTemplate redisTemplate,
+                                                RedisMessageListenerContainer revocationListenerContainer) {
+        return new RedisRevocationStore(redisTemplate, revocationListenerContainer);
+    }
+}
@@ -2,6 +2,7 @@ package com.waterballsa.backend.config;
 
 import com.waterballsa.backend.security.JwtAuthenticationEntryPoint;
 import com.waterballsa.backend.security.JwtAuthenticationFilter;
+import com.waterballsa.backend.security.RateLimitFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,6 +26,7 @@ import java.util.List;
  *
  * Configures:
  * - JWT-based authentication
+ * - Per-client rate limiting
  * - CORS settings
  * - Public and protected endpoints
  * - Stateless session management
@@ -37,6 +39,7 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
+    private final RateLimitFilter rateLimitFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -52,6 +55,7 @@ public class SecurityConfig {
                         // Public read access to curriculums (browse without auth)
                         .requestMatchers(HttpMethod.GET, "/api/curriculums/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/chapters/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/search").permitAll()
 
                         // Public read access to lessons (but ownership will be checked by service layer)
                         .requestMatchers(HttpMethod.GET, "/api/lessons/**").permitAll()
@@ -71,7 +75,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
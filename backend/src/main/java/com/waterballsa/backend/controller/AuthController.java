@@ -4,7 +4,10 @@ import com.waterballsa.backend.dto.AuthRequest;
 import com.waterballsa.backend.dto.AuthResponse;
 import com.waterballsa.backend.dto.RefreshTokenRequest;
 import com.waterballsa.backend.dto.UserDto;
+import com.waterballsa.backend.security.AuthenticatedUser;
+import com.waterballsa.backend.security.JwtPrincipal;
 import com.waterballsa.backend.service.AuthenticationService;
+import com.waterballsa.backend.util.JwtUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -12,9 +15,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.Map;
+
 /**
  * REST controller for authentication endpoints.
  *
@@ -22,6 +29,8 @@ import org.springframework.web.bind.annotation.*;
  * - Google OAuth login
  * - JWT token refresh
  * - Current user retrieval
+ * - Logout
+ * - Token verification key publication
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -31,6 +40,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthenticationService authenticationService;
+    private final JwtUtil jwtUtil;
 
     @PostMapping("/google")
     @Operation(summary = "Authenticate with Google OAuth",
@@ -48,10 +58,10 @@ public class AuthController {
 
     @PostMapping("/refresh")
     @Operation(summary = "Refresh access token",
-               description = "Get a new access token using a valid refresh token")
+               description = "Exchange a refresh token for new access and refresh tokens. Each refresh token can be used once.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Token refreshed successfully"),
-            @ApiResponse(responseCode = "401", description = "Invalid or expired refresh token")
+            @ApiResponse(responseCode = "401", description = "Invalid, expired, revoked or reused refresh token")
     })
     public ResponseEntity<AuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
         log.info("Token refresh request received");
@@ -66,26 +76,37 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "User information retrieved"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
-    public ResponseEntity<UserDto> getCurrentUser(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<UserDto> getCurrentUser(@AuthenticatedUser Long userId) {
         log.info("Get current user request received");
 
-        // Extract token from "Bearer <token>" format
-        String token = authHeader.substring(7);
-        UserDto user = authenticationService.getCurrentUser(token);
+        UserDto user = authenticationService.getCurrentUser(userId);
 
         return ResponseEntity.ok(user);
     }
 
+    @GetMapping("/jwks")
+    @Operation(summary = "Get token verification keys",
+               description = "JSON Web Key Set of the public keys that verify access and refresh tokens")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Key set retrieved")
+    })
+    public ResponseEntity<Map<String, ?>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(10)).cachePublic())
+                .body(jwtUtil.getPublicJwks());
+    }
+
     @PostMapping("/logout")
     @Operation(summary = "Logout",
-               description = "Logout the current user (client should discard tokens)")
+               description = "Revoke the access and refresh tokens of the current login")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Logged out successfully")
     })
-    public ResponseEntity<Void> logout() {
+    public ResponseEntity<Void> logout(@AuthenticatedUser(required = false) JwtPrincipal principal) {
         log.info("Logout request received");
-        // In a stateless JWT setup, logout is handled on the client side by discarding tokens
-        // For enhanced security, you could implement a token blacklist using Redis
+        if (principal != null) {
+            authenticationService.logout(principal);
+        }
         return ResponseEntity.ok().build();
     }
 }
@@ -0,0 +1,234 @@
+package com.waterballsa.backend.controller;
+
+import com.waterballsa.backend.config.CatalogHttpCacheProperties;
+import com.waterballsa.backend.security.RateLimitGroup;
+import com.waterballsa.backend.service.CatalogGraph;
+import com.waterballsa.backend.service.CatalogSnapshot;
+import com.waterballsa.backend.util.BoundedExpiringCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves public catalog GET responses from pre-serialized byte arrays.
+ *
+ * Responses of the curriculum, chapter, lesson and search endpoints only change when
+ * the catalog does, so the first 200 response for a URL is kept as identity and gzip bytes
+ * together with the {@link CatalogSnapshot} version it was rendered from. Later requests
+ * for the same URL and version are answered from those bytes without running the
+ * controller or Jackson. Responses carry a strong ETag derived from the catalog version
+ * and content coding, and a request whose If-None-Match still matches the current
+ * version gets 304 in place of a 200 body. Only a cacheable 200 response for the exact
+ * URL is ever turned into 304, so a conditional request for a missing resource still
+ * reaches the controller and gets its 404.
+ *
+ * Only requests in the {@link RateLimitGroup#CATALOG} group are cached; per-user routes
+ * under the same paths, such as progress and order preview, belong to other groups.
+ * Typeahead suggestions are left out: they are cheap to compute, rank by purchases
+ * rather than catalog version, and one entry per keystroke would crowd out the rest.
+ * Registered as a plain servlet filter, so it runs after the security filter chain,
+ * including rate limiting. Nothing is cached while the snapshot is disabled or not built.
+ */
+@Component
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final long ENTRY_TTL_MILLIS = Duration.ofHours(1).toMillis();
+    private static final String SUGGEST_PATH = "/api/curriculums/suggest";
+
+    private final CatalogSnapshot catalogSnapshot;
+    private final CatalogHttpCacheProperties properties;
+    private final BoundedExpiringCache<String, CachedResponse> responses;
+    private final String cacheControl;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter notModified;
+
+    public CatalogResponseCacheFilter(CatalogSnapshot catalogSnapshot,
+                                      CatalogHttpCacheProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.catalogSnapshot = catalogSnapshot;
+        this.properties = properties;
+        this.responses = new BoundedExpiringCache<>(properties.getMaxEntries());
+        this.cacheControl = "public, max-age=" + properties.getMaxAge().toSeconds();
+        this.hits = responseCounter(meterRegistry, "hit");
+        this.misses = responseCounter(meterRegistry, "miss");
+        this.notModified = responseCounter(meterRegistry, "not_modified");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled()
+                || RateLimitGroup.resolve(request.getMethod(), request.getRequestURI()) != RateLimitGroup.CATALOG
+                || request.getRequestURI().equals(SUGGEST_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long version = catalog.version();
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        boolean unchanged = matchesVersion(request.getHeader(HttpHeaders.IF_NONE_MATCH), version);
+
+        String key = cacheKey(request);
+        CachedResponse cached = responses.get(key);
+        if (cached != null && cached.version() == version) {
+            (unchanged ? notModified : hits).increment();
+            respond(response, cached, gzip, unchanged);
+            return;
+        }
+
+        misses.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        cached = toCachedResponse(wrapper, version);
+        if (cached == null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        responses.put(key, cached, System.currentTimeMillis() + ENTRY_TTL_MILLIS);
+        respond(response, cached, gzip, unchanged);
+    }
+
+    private void respond(HttpServletResponse response, CachedResponse cached, boolean gzip, boolean unchanged)
+            throws IOException {
+        if (unchanged) {
+            writeCacheHeaders(response, cached.version(), gzip);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        write(response, cached, gzip);
+    }
+
+    /**
+     * Keeps a successful JSON response, unless the catalog changed while it was rendered
+     * and the body may not match the version.
+     */
+    private CachedResponse toCachedResponse(ContentCachingResponseWrapper wrapper, long version) {
+        String contentType = wrapper.getContentType();
+        byte[] body = wrapper.getContentAsByteArray();
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK
+                || contentType == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                || body.length > properties.getMaxBodyBytes()
+                || catalog == null
+                || catalog.version() != version) {
+            return null;
+        }
+        return new CachedResponse(version, contentType, body, gzip(body));
+    }
+
+    private void write(HttpServletResponse response, CachedResponse cached, boolean gzip) throws IOException {
+        byte[] body = gzip ? cached.gzipBody() : cached.body();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        writeCacheHeaders(response, cached.version(), gzip);
+        if (gzip) {
+            // Tomcat leaves responses that already have a Content-Encoding alone
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void writeCacheHeaders(HttpServletResponse response, long version, boolean gzip) {
+        response.setHeader(HttpHeaders.ETAG, etag(version, gzip));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    /**
+     * Builds the ETag of a representation; gzip and identity bodies are different
+     * representations, so they get different strong ETags.
+     */
+    static String etag(long version, boolean gzip) {
+        return "\"catalog-" + version + (gzip ? "-gzip\"" : "\"");
+    }
+
+    /**
+     * Checks an If-None-Match header against the current version, using the weak
+     * comparison HTTP requires for GET. Only consulted for a URL with a 200 response, which
+     * is what makes {@code *} match.
+     */
+    static boolean matchesVersion(String ifNoneMatch, long version) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag(version, false)) || candidate.equals(etag(version, true))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static String cacheKey(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query != null ? request.getRequestURI() + "?" + query : request.getRequestURI();
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to gzip catalog response", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static Counter responseCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("catalog.http.responses")
+                .description("Catalog GET responses by how they were served")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Pre-serialized catalog response.
+     */
+    private record CachedResponse(long version, String contentType, byte[] body, byte[] gzipBody) {
+    }
+}
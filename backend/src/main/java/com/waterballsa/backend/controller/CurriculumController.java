@@ -1,11 +1,21 @@
 package com.waterballsa.backend.controller;
 
+import com.waterballsa.backend.dto.BatchResponse;
+import com.waterballsa.backend.dto.CatalogBrowseResponse;
+import com.waterballsa.backend.dto.CourseOutlineDto;
 import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.dto.CursorPage;
+import com.waterballsa.backend.dto.FieldSet;
 import com.waterballsa.backend.dto.OrderPreviewResponse;
+import com.waterballsa.backend.dto.SuggestionDto;
 import com.waterballsa.backend.entity.DifficultyLevel;
+import com.waterballsa.backend.exception.BadRequestException;
+import com.waterballsa.backend.security.AuthenticatedUser;
+import com.waterballsa.backend.service.CatalogFacetIndex.Facet;
+import com.waterballsa.backend.service.CourseOutlineService;
 import com.waterballsa.backend.service.CurriculumService;
+import com.waterballsa.backend.service.CurriculumSuggestService;
 import com.waterballsa.backend.service.PurchaseService;
-import com.waterballsa.backend.util.JwtUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -20,10 +30,19 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * REST controller for curriculum endpoints.
  *
  * Provides public access to browse and view curriculums.
+ *
+ * Listings are paged by page number by default. Requests with a {@code cursor} parameter
+ * are paged by cursor instead: newest first, without a total count, and as fast at the
+ * end of the catalog as at the start. An empty cursor asks for the first slice.
+ * {@code fields=summary} leaves the descriptions out of the listing.
  */
 @RestController
 @RequestMapping("/api/curriculums")
@@ -32,15 +51,22 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Curriculums", description = "Curriculum management endpoints")
 public class CurriculumController {
 
+    /**
+     * Largest page of a faceted browse.
+     */
+    static final int MAX_BROWSE_SIZE = 100;
+
     private final CurriculumService curriculumService;
     private final PurchaseService purchaseService;
-    private final JwtUtil jwtUtil;
+    private final CurriculumSuggestService curriculumSuggestService;
+    private final CourseOutlineService courseOutlineService;
 
     @GetMapping
     @Operation(summary = "Get all curriculums",
                description = "Retrieve all published curriculums with pagination")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved curriculums")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved curriculums"),
+            @ApiResponse(responseCode = "400", description = "Invalid fields")
     })
     public ResponseEntity<Page<CurriculumDto>> getAllCurriculums(
             @Parameter(description = "Page number (0-indexed)")
@@ -50,18 +76,97 @@ public class CurriculumController {
             @Parameter(description = "Sort field")
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @Parameter(description = "Sort direction (asc/desc)")
-            @RequestParam(defaultValue = "desc") String direction
+            @RequestParam(defaultValue = "desc") String direction,
+            @Parameter(description = "Fields to return (full/summary)")
+            @RequestParam(defaultValue = "full") String fields
     ) {
-        log.info("GET /api/curriculums - page: {}, size: {}", page, size);
+        log.info("GET /api/curriculums - page: {}, size: {}, fields: {}", page, size, fields);
 
         Sort.Direction sortDirection = direction.equalsIgnoreCase("asc") ?
                 Sort.Direction.ASC : Sort.Direction.DESC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
 
-        Page<CurriculumDto> curriculums = curriculumService.getAllPublishedCurriculums(pageable);
+        Page<CurriculumDto> curriculums = curriculumService.getAllPublishedCurriculums(pageable, FieldSet.parse(fields));
         return ResponseEntity.ok(curriculums);
     }
 
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get all curriculums by cursor",
+               description = "Retrieve published curriculums newest first, one slice at a time. "
+                       + "Send an empty cursor for the first slice and nextCursor for the ones after it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved curriculums"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or fields")
+    })
+    public ResponseEntity<CursorPage<CurriculumDto>> getAllCurriculumsByCursor(
+            @Parameter(description = "Cursor from the previous slice, empty for the first slice")
+            @RequestParam(defaultValue = "") String cursor,
+            @Parameter(description = "Slice size")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Fields to return (full/summary)")
+            @RequestParam(defaultValue = "full") String fields
+    ) {
+        log.info("GET /api/curriculums - cursor: {}, size: {}, fields: {}", cursor, size, fields);
+        return ResponseEntity.ok(curriculumService.getPublishedCurriculumsAfter(cursor, size, FieldSet.parse(fields)));
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get curriculums by IDs",
+               description = "Retrieve up to " + BatchResponse.MAX_IDS + " published curriculums without chapters "
+                       + "in one request, in request order. IDs not found are listed in missingIds")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Curriculums retrieved"),
+            @ApiResponse(responseCode = "400", description = "Too many IDs")
+    })
+    public ResponseEntity<BatchResponse<CurriculumDto>> getCurriculumsByIds(
+            @Parameter(description = "Comma-separated curriculum IDs")
+            @RequestParam List<Long> ids
+    ) {
+        log.info("GET /api/curriculums/batch - {} ids", ids.size());
+        return ResponseEntity.ok(curriculumService.getCurriculumsByIds(ids));
+    }
+
+    @GetMapping("/browse")
+    @Operation(summary = "Browse curriculums by facets",
+               description = "Filter published curriculums by any combination of difficulty, price (free/paid), "
+                       + "instructor, lesson type and duration (short/medium/long), newest first. Values of one "
+                       + "facet match any of them; facets match all. The response counts the curriculums of "
+                       + "every facet value")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved curriculums"),
+            @ApiResponse(responseCode = "400", description = "Invalid facet value or page size")
+    })
+    public ResponseEntity<CatalogBrowseResponse> browseCurriculums(
+            @Parameter(description = "Difficulty levels")
+            @RequestParam(required = false) List<String> difficulty,
+            @Parameter(description = "free and/or paid")
+            @RequestParam(required = false) List<String> price,
+            @Parameter(description = "Instructor names, exact")
+            @RequestParam(required = false) List<String> instructor,
+            @Parameter(description = "Lesson types the curriculum has")
+            @RequestParam(required = false) List<String> lessonType,
+            @Parameter(description = "Duration buckets: short (under 10h), medium (10-30h), long (30h+)")
+            @RequestParam(required = false) List<String> duration,
+            @Parameter(description = "Page number (0-indexed)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size, at most " + MAX_BROWSE_SIZE)
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        log.info("GET /api/curriculums/browse - difficulty: {}, price: {}, instructor: {}, lessonType: {}, "
+                + "duration: {}, page: {}, size: {}", difficulty, price, instructor, lessonType, duration, page, size);
+        if (page < 0 || size < 1 || size > MAX_BROWSE_SIZE) {
+            throw new BadRequestException("Invalid page " + page + " or size " + size
+                    + " (page must be at least 0 and size between 1 and " + MAX_BROWSE_SIZE + ")");
+        }
+        Map<Facet, List<String>> parameters = new EnumMap<>(Facet.class);
+        parameters.put(Facet.DIFFICULTY, difficulty);
+        parameters.put(Facet.PRICE, price);
+        parameters.put(Facet.INSTRUCTOR, instructor);
+        parameters.put(Facet.LESSON_TYPE, lessonType);
+        parameters.put(Facet.DURATION, duration);
+        return ResponseEntity.ok(curriculumService.browseCurriculums(parameters, PageRequest.of(page, size)));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get curriculum by ID",
                description = "Retrieve a specific curriculum with its chapters")
@@ -78,6 +183,24 @@ public class CurriculumController {
         return ResponseEntity.ok(curriculum);
     }
 
+    @GetMapping("/{id}/outline")
+    @Operation(summary = "Get course outline",
+               description = "Retrieve the published chapters and lessons of a curriculum with the authenticated "
+                       + "user's ownership, lesson progress and chapter completion")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Course outline retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "404", description = "Curriculum not found")
+    })
+    public ResponseEntity<CourseOutlineDto> getCourseOutline(
+            @AuthenticatedUser Long userId,
+            @Parameter(description = "Curriculum ID")
+            @PathVariable Long id
+    ) {
+        log.info("GET /api/curriculums/{}/outline", id);
+        return ResponseEntity.ok(courseOutlineService.getOutline(userId, id));
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search curriculums",
                description = "Search curriculums by title or description")
@@ -96,6 +219,24 @@ public class CurriculumController {
         return ResponseEntity.ok(curriculums);
     }
 
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest as you type",
+               description = "Get curriculum titles, instructor names and lesson titles with a word starting "
+                       + "with the typed text, most purchased first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully")
+    })
+    public ResponseEntity<List<SuggestionDto>> suggest(
+            @Parameter(description = "Text typed so far")
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of suggestions (at most 10)")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        // Called on every keystroke, so logged at debug level
+        log.debug("GET /api/curriculums/suggest?q={}", q);
+        return ResponseEntity.ok(curriculumSuggestService.suggest(q, limit));
+    }
+
     @GetMapping("/difficulty/{level}")
     @Operation(summary = "Filter by difficulty",
                description = "Get curriculums filtered by difficulty level")
@@ -115,6 +256,24 @@ public class CurriculumController {
         return ResponseEntity.ok(curriculums);
     }
 
+    @GetMapping(value = "/difficulty/{level}", params = "cursor")
+    @Operation(summary = "Filter by difficulty by cursor",
+               description = "Get curriculums of a difficulty level newest first, one slice at a time")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved curriculums"),
+            @ApiResponse(responseCode = "400", description = "Invalid difficulty level or cursor")
+    })
+    public ResponseEntity<CursorPage<CurriculumDto>> getCurriculumsByDifficultyByCursor(
+            @Parameter(description = "Difficulty level (BEGINNER, INTERMEDIATE, ADVANCED, EXPERT)")
+            @PathVariable DifficultyLevel level,
+            @Parameter(description = "Cursor from the previous slice, empty for the first slice")
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        log.info("GET /api/curriculums/difficulty/{} - cursor: {}", level, cursor);
+        return ResponseEntity.ok(curriculumService.getCurriculumsByDifficultyAfter(level, cursor, size));
+    }
+
     @GetMapping("/instructor/{name}")
     @Operation(summary = "Filter by instructor",
                description = "Get curriculums by instructor name")
@@ -149,6 +308,22 @@ public class CurriculumController {
         return ResponseEntity.ok(curriculums);
     }
 
+    @GetMapping(value = "/free", params = "cursor")
+    @Operation(summary = "Get free curriculums by cursor",
+               description = "Retrieve free curriculums (price = 0) newest first, one slice at a time")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved free curriculums"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<CursorPage<CurriculumDto>> getFreeCurriculumsByCursor(
+            @Parameter(description = "Cursor from the previous slice, empty for the first slice")
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        log.info("GET /api/curriculums/free - cursor: {}", cursor);
+        return ResponseEntity.ok(curriculumService.getFreeCurriculumsAfter(cursor, size));
+    }
+
     @GetMapping("/count")
     @Operation(summary = "Count curriculums",
                description = "Get total count of published curriculums")
@@ -171,16 +346,12 @@ public class CurriculumController {
             @ApiResponse(responseCode = "409", description = "User already owns this curriculum")
     })
     public ResponseEntity<OrderPreviewResponse> getOrderPreview(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticatedUser Long userId,
             @Parameter(description = "Curriculum ID")
             @PathVariable Long id
     ) {
         log.info("GET /api/curriculums/{}/order-preview", id);
 
-        // Extract user ID from JWT token
-        String token = authHeader.substring(7); // Remove "Bearer " prefix
-        Long userId = jwtUtil.extractUserId(token);
-
         OrderPreviewResponse response = purchaseService.getOrderPreview(id, userId);
 
         return ResponseEntity.ok(response);
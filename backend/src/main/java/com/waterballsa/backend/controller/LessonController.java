@@ -1,5 +1,7 @@
 package com.waterballsa.backend.controller;
 
+import com.waterballsa.backend.dto.BatchResponse;
+import com.waterballsa.backend.dto.FieldSet;
 import com.waterballsa.backend.dto.LessonDto;
 import com.waterballsa.backend.entity.LessonType;
 import com.waterballsa.backend.service.LessonService;
@@ -23,6 +25,8 @@ import java.util.List;
  * REST controller for lesson endpoints.
  *
  * Provides public access to browse and view lessons.
+ * {@code fields=summary} leaves descriptions and content metadata out of the chapter
+ * and type listings.
  */
 @RestController
 @RequestMapping("/api/lessons")
@@ -33,6 +37,22 @@ public class LessonController {
 
     private final LessonService lessonService;
 
+    @GetMapping("/batch")
+    @Operation(summary = "Get lessons by IDs",
+               description = "Retrieve up to " + BatchResponse.MAX_IDS + " published lessons in one request, "
+                       + "in request order. IDs not found are listed in missingIds")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lessons retrieved"),
+            @ApiResponse(responseCode = "400", description = "Too many IDs")
+    })
+    public ResponseEntity<BatchResponse<LessonDto>> getLessonsByIds(
+            @Parameter(description = "Comma-separated lesson IDs")
+            @RequestParam List<Long> ids
+    ) {
+        log.info("GET /api/lessons/batch - {} ids", ids.size());
+        return ResponseEntity.ok(lessonService.getLessonsByIds(ids));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get lesson by ID",
                description = "Retrieve a specific lesson")
@@ -53,14 +73,17 @@ public class LessonController {
     @Operation(summary = "Get lessons by chapter",
                description = "Retrieve all published lessons for a chapter")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved lessons")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved lessons"),
+            @ApiResponse(responseCode = "400", description = "Invalid fields")
     })
     public ResponseEntity<List<LessonDto>> getLessonsByChapter(
             @Parameter(description = "Chapter ID")
-            @PathVariable Long chapterId
+            @PathVariable Long chapterId,
+            @Parameter(description = "Fields to return (full/summary)")
+            @RequestParam(defaultValue = "full") String fields
     ) {
         log.info("GET /api/lessons/chapter/{}", chapterId);
-        List<LessonDto> lessons = lessonService.getLessonsByChapter(chapterId);
+        List<LessonDto> lessons = lessonService.getLessonsByChapter(chapterId, FieldSet.parse(fields));
         return ResponseEntity.ok(lessons);
     }
 
@@ -99,17 +122,19 @@ public class LessonController {
                description = "Retrieve lessons filtered by type (VIDEO, ARTICLE, SURVEY)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved lessons"),
-            @ApiResponse(responseCode = "400", description = "Invalid lesson type")
+            @ApiResponse(responseCode = "400", description = "Invalid lesson type or fields")
     })
     public ResponseEntity<Page<LessonDto>> getLessonsByType(
             @Parameter(description = "Lesson type")
             @PathVariable LessonType type,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Fields to return (full/summary)")
+            @RequestParam(defaultValue = "full") String fields
     ) {
         log.info("GET /api/lessons/type/{}", type);
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "orderIndex"));
-        Page<LessonDto> lessons = lessonService.getLessonsByType(type, pageable);
+        Page<LessonDto> lessons = lessonService.getLessonsByType(type, pageable, FieldSet.parse(fields));
         return ResponseEntity.ok(lessons);
     }
 
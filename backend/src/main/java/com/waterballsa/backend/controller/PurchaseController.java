@@ -1,11 +1,12 @@
 package com.waterballsa.backend.controller;
 
+import com.waterballsa.backend.dto.CursorPage;
 import com.waterballsa.backend.dto.OrderPreviewResponse;
 import com.waterballsa.backend.dto.OwnershipCheckResponse;
 import com.waterballsa.backend.dto.PurchaseRequest;
 import com.waterballsa.backend.dto.PurchaseResponse;
+import com.waterballsa.backend.security.AuthenticatedUser;
 import com.waterballsa.backend.service.PurchaseService;
-import com.waterballsa.backend.util.JwtUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -29,6 +30,9 @@ import org.springframework.web.bind.annotation.*;
  * - Creating purchases (simplified mock payment in Phase 2)
  * - Checking curriculum ownership
  * - Retrieving purchase history
+ *
+ * Purchase history is paged by page number by default, or by cursor when the request has
+ * a {@code cursor} parameter (empty for the first slice).
  */
 @RestController
 @RequestMapping("/api/purchases")
@@ -38,7 +42,6 @@ import org.springframework.web.bind.annotation.*;
 public class PurchaseController {
 
     private final PurchaseService purchaseService;
-    private final JwtUtil jwtUtil;
 
     @PostMapping
     @Operation(summary = "Create a purchase",
@@ -51,15 +54,11 @@ public class PurchaseController {
             @ApiResponse(responseCode = "409", description = "User already owns this curriculum")
     })
     public ResponseEntity<PurchaseResponse> createPurchase(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticatedUser Long userId,
             @Valid @RequestBody PurchaseRequest request
     ) {
         log.info("POST /api/purchases - curriculum: {}", request.getCurriculumId());
 
-        // Extract user ID from JWT token
-        String token = authHeader.substring(7); // Remove "Bearer " prefix
-        Long userId = jwtUtil.extractUserId(token);
-
         PurchaseResponse response = purchaseService.createPurchase(userId, request);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -73,7 +72,7 @@ public class PurchaseController {
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     public ResponseEntity<Page<PurchaseResponse>> getMyPurchases(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticatedUser Long userId,
             @Parameter(description = "Page number (0-indexed)")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size")
@@ -85,10 +84,6 @@ public class PurchaseController {
     ) {
         log.info("GET /api/purchases/my-purchases - page: {}, size: {}", page, size);
 
-        // Extract user ID from JWT token
-        String token = authHeader.substring(7);
-        Long userId = jwtUtil.extractUserId(token);
-
         Sort.Direction sortDirection = direction.equalsIgnoreCase("asc") ?
                 Sort.Direction.ASC : Sort.Direction.DESC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
@@ -98,6 +93,29 @@ public class PurchaseController {
         return ResponseEntity.ok(purchases);
     }
 
+    @GetMapping(value = "/my-purchases", params = "cursor")
+    @Operation(summary = "Get user's purchases by cursor",
+               description = "Retrieve the authenticated user's purchases newest first, one slice at a time. "
+                       + "Send an empty cursor for the first slice and nextCursor for the ones after it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Purchases retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<CursorPage<PurchaseResponse>> getMyPurchasesByCursor(
+            @AuthenticatedUser Long userId,
+            @Parameter(description = "Cursor from the previous slice, empty for the first slice")
+            @RequestParam(defaultValue = "") String cursor,
+            @Parameter(description = "Slice size")
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        log.info("GET /api/purchases/my-purchases - cursor: {}, size: {}", cursor, size);
+
+        CursorPage<PurchaseResponse> purchases = purchaseService.getUserPurchasesAfter(userId, cursor, size);
+
+        return ResponseEntity.ok(purchases);
+    }
+
     @GetMapping("/check-ownership/{curriculumId}")
     @Operation(summary = "Check curriculum ownership",
                description = "Check if the authenticated user owns a specific curriculum")
@@ -107,16 +125,12 @@ public class PurchaseController {
             @ApiResponse(responseCode = "404", description = "Curriculum not found")
     })
     public ResponseEntity<OwnershipCheckResponse> checkOwnership(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticatedUser Long userId,
             @Parameter(description = "Curriculum ID")
             @PathVariable Long curriculumId
     ) {
         log.info("GET /api/purchases/check-ownership/{}", curriculumId);
 
-        // Extract user ID from JWT token
-        String token = authHeader.substring(7);
-        Long userId = jwtUtil.extractUserId(token);
-
         OwnershipCheckResponse response = purchaseService.checkOwnership(userId, curriculumId);
 
         return ResponseEntity.ok(response);
@@ -132,16 +146,12 @@ public class PurchaseController {
             @ApiResponse(responseCode = "404", description = "Purchase not found")
     })
     public ResponseEntity<PurchaseResponse> getPurchaseById(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticatedUser Long userId,
             @Parameter(description = "Purchase ID")
             @PathVariable Long id
     ) {
         log.info("GET /api/purchases/{}", id);
 
-        // Extract user ID from JWT token
-        String token = authHeader.substring(7);
-        Long userId = jwtUtil.extractUserId(token);
-
         PurchaseResponse response = purchaseService.getPurchaseById(id, userId);
 
         return ResponseEntity.ok(response);
@@ -155,7 +165,7 @@ public class PurchaseController {
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     public ResponseEntity<Page<PurchaseResponse>> getCompletedPurchases(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticatedUser Long userId,
             @Parameter(description = "Page number (0-indexed)")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size")
@@ -163,10 +173,6 @@ public class PurchaseController {
     ) {
         log.info("GET /api/purchases/completed - page: {}, size: {}", page, size);
 
-        // Extract user ID from JWT token
-        String token = authHeader.substring(7);
-        Long userId = jwtUtil.extractUserId(token);
-
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "purchasedAt"));
 
         Page<PurchaseResponse> purchases = purchaseService.getCompletedPurchases(userId, pageable);
@@ -174,6 +180,29 @@ public class PurchaseController {
         return ResponseEntity.ok(purchases);
     }
 
+    @GetMapping(value = "/completed", params = "cursor")
+    @Operation(summary = "Get completed purchases by cursor",
+               description = "Retrieve the authenticated user's completed purchases, most recently purchased "
+                       + "first, one slice at a time")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Completed purchases retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<CursorPage<PurchaseResponse>> getCompletedPurchasesByCursor(
+            @AuthenticatedUser Long userId,
+            @Parameter(description = "Cursor from the previous slice, empty for the first slice")
+            @RequestParam(defaultValue = "") String cursor,
+            @Parameter(description = "Slice size")
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        log.info("GET /api/purchases/completed - cursor: {}, size: {}", cursor, size);
+
+        CursorPage<PurchaseResponse> purchases = purchaseService.getCompletedPurchasesAfter(userId, cursor, size);
+
+        return ResponseEntity.ok(purchases);
+    }
+
     @PostMapping("/{id}/complete")
     @Operation(summary = "Complete a pending purchase",
                description = "Complete payment for a pending purchase (Phase 2: mock payment always succeeds)")
@@ -184,16 +213,12 @@ public class PurchaseController {
             @ApiResponse(responseCode = "404", description = "Purchase not found")
     })
     public ResponseEntity<PurchaseResponse> completePurchase(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticatedUser Long userId,
             @Parameter(description = "Purchase ID")
             @PathVariable Long id
     ) {
         log.info("POST /api/purchases/{}/complete", id);
 
-        // Extract user ID from JWT token
-        String token = authHeader.substring(7);
-        Long userId = jwtUtil.extractUserId(token);
-
         PurchaseResponse response = purchaseService.completePurchase(id, userId);
 
         return ResponseEntity.ok(response);
@@ -0,0 +1,45 @@
+package com.waterballsa.backend.controller;
+
+import com.waterballsa.backend.dto.CatalogSearchResponse;
+import com.waterballsa.backend.service.CatalogSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for catalog search.
+ *
+ * Provides public, ranked full-text search over curriculums and lessons.
+ */
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Search", description = "Catalog search endpoints")
+public class SearchController {
+
+    private final CatalogSearchService catalogSearchService;
+
+    @GetMapping
+    @Operation(summary = "Search the catalog",
+               description = "Full-text search over published curriculums and lessons, ranked by relevance. "
+                       + "Supports Chinese, English and mixed queries; English words match by prefix.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed successfully")
+    })
+    public ResponseEntity<CatalogSearchResponse> search(
+            @Parameter(description = "Search text")
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of curriculums and of lessons (at most 50)")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        log.info("GET /api/search?q={}", q);
+        return ResponseEntity.ok(catalogSearchService.search(q, limit));
+    }
+}
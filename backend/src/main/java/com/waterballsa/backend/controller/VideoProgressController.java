@@ -2,6 +2,7 @@ package com.waterballsa.backend.controller;
 
 import com.waterballsa.backend.dto.SaveProgressRequest;
 import com.waterballsa.backend.dto.VideoProgressDto;
+import com.waterballsa.backend.security.AuthenticatedUser;
 import com.waterballsa.backend.service.VideoProgressService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,7 +12,6 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -35,9 +35,7 @@ public class VideoProgressController {
     public ResponseEntity<VideoProgressDto> saveProgress(
             @Parameter(description = "Lesson ID") @PathVariable Long lessonId,
             @Valid @RequestBody SaveProgressRequest request,
-            Authentication authentication) {
-
-        Long userId = (Long) authentication.getPrincipal();
+            @AuthenticatedUser Long userId) {
 
         VideoProgressDto progress = videoProgressService.saveProgress(userId, lessonId, request);
         return ResponseEntity.ok(progress);
@@ -52,9 +50,7 @@ public class VideoProgressController {
     })
     public ResponseEntity<VideoProgressDto> getProgress(
             @Parameter(description = "Lesson ID") @PathVariable Long lessonId,
-            Authentication authentication) {
-
-        Long userId = (Long) authentication.getPrincipal();
+            @AuthenticatedUser Long userId) {
 
         VideoProgressDto progress = videoProgressService.getProgress(userId, lessonId);
 
@@ -73,11 +69,10 @@ public class VideoProgressController {
     })
     public ResponseEntity<List<VideoProgressDto>> getChapterProgress(
             @Parameter(description = "Chapter ID") @PathVariable Long chapterId,
-            Authentication authentication) {
-
-        Long userId = (Long) authentication.getPrincipal();
+            @AuthenticatedUser Long userId) {
 
         List<VideoProgressDto> progressList = videoProgressService.getChapterProgress(userId, chapterId);
         return ResponseEntity.ok(progressList);
     }
+
 }
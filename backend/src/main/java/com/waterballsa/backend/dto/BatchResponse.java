@@ -0,0 +1,77 @@
+package com.waterballsa.backend.dto;
+
+import com.waterballsa.backend.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Result of looking up several catalog items by ID in one request.
+ *
+ * Items are in the order their IDs were requested, each once. IDs that do not exist or
+ * are not published are listed in {@code missingIds}, also in request order.
+ *
+ * @param <T> the item type
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchResponse<T> {
+
+    /**
+     * Maximum number of IDs in one batch request.
+     */
+    public static final int MAX_IDS = 200;
+
+    @Builder.Default
+    private List<T> items = new ArrayList<>();
+
+    @Builder.Default
+    private List<Long> missingIds = new ArrayList<>();
+
+    /**
+     * Validates requested IDs and removes duplicates, keeping the first occurrence.
+     *
+     * @param ids the requested IDs
+     * @return distinct IDs in request order
+     * @throws BadRequestException if more than {@value #MAX_IDS} IDs are requested
+     */
+    public static Set<Long> distinctIds(List<Long> ids) {
+        if (ids.size() > MAX_IDS) {
+            throw new BadRequestException("At most " + MAX_IDS + " ids can be requested at once, got " + ids.size());
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        return distinct;
+    }
+
+    /**
+     * Creates a batch response in request order.
+     *
+     * @param ids distinct IDs in request order
+     * @param found the items found, keyed by ID
+     * @param <T> the item type
+     * @return batch response
+     */
+    public static <T> BatchResponse<T> of(Set<Long> ids, Map<Long, T> found) {
+        List<T> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            T item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BatchResponse<>(items, missingIds);
+    }
+}
@@ -0,0 +1,52 @@
+package com.waterballsa.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a faceted catalog browse, newest first, with the facet counts of the filter.
+ *
+ * {@code facets} maps each facet's request parameter to its values and, for each value,
+ * the number of curriculums that would match if that value were selected instead of the
+ * other values of the same facet. Values with no matches are left out unless selected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogBrowseResponse {
+
+    @Builder.Default
+    private List<CurriculumDto> content = new ArrayList<>();
+
+    private int page;
+
+    private int size;
+
+    private long totalElements;
+
+    private int totalPages;
+
+    @Builder.Default
+    private Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+
+    /**
+     * Creates a browse response from a page of matches.
+     *
+     * @param page the page of matching curriculums
+     * @param facets facet counts keyed by request parameter
+     * @return browse response
+     */
+    public static CatalogBrowseResponse of(Page<CurriculumDto> page, Map<String, Map<String, Integer>> facets) {
+        return new CatalogBrowseResponse(new ArrayList<>(page.getContent()), page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages(), facets);
+    }
+}
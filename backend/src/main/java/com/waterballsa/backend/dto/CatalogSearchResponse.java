@@ -0,0 +1,48 @@
+package com.waterballsa.backend.dto;
+
+import com.waterballsa.backend.entity.LessonType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response for a catalog search: matching curriculums and lessons, best match first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogSearchResponse {
+
+    private String query;
+
+    @Builder.Default
+    private List<CurriculumDto> curriculums = new ArrayList<>();
+
+    @Builder.Default
+    private List<LessonHit> lessons = new ArrayList<>();
+
+    /**
+     * A matching lesson with enough of its curriculum to link to it.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class LessonHit {
+
+        private Long id;
+        private Long chapterId;
+        private Long curriculumId;
+        private String curriculumTitle;
+        private String title;
+        private String description;
+        private LessonType lessonType;
+        private Integer durationMinutes;
+        private Boolean isFreePreview;
+    }
+}
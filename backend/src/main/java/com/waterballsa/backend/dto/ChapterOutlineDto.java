@@ -0,0 +1,32 @@
+package com.waterballsa.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A chapter in a learner's course outline, with the learner's completion.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChapterOutlineDto {
+
+    private Long id;
+    private String title;
+    private String description;
+    private Integer orderIndex;
+    private Integer estimatedDurationHours;
+    private int totalLessons;
+    private int completedLessons;
+    private int completionPercentage;
+    private Boolean isCompleted;
+
+    @Builder.Default
+    private List<LessonOutlineDto> lessons = new ArrayList<>();
+}
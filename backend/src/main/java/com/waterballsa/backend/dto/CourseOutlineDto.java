@@ -0,0 +1,33 @@
+package com.waterballsa.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything a course page needs for a logged-in learner: the curriculum, whether the
+ * learner owns it, and its published chapters and lessons with the learner's progress.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseOutlineDto {
+
+    /**
+     * The curriculum, without chapters; they are in {@code chapters}.
+     */
+    private CurriculumDto curriculum;
+
+    private OwnershipCheckResponse ownership;
+    private int totalLessons;
+    private int completedLessons;
+    private int completionPercentage;
+
+    @Builder.Default
+    private List<ChapterOutlineDto> chapters = new ArrayList<>();
+}
@@ -0,0 +1,55 @@
+package com.waterballsa.backend.dto;
+
+import com.waterballsa.backend.util.KeysetCursor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One slice of a listing paged by cursor instead of page number.
+ *
+ * There is no total count; clients keep requesting with {@code nextCursor} until
+ * {@code hasNext} is false.
+ *
+ * @param <T> the item type
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+
+    @Builder.Default
+    private List<T> content = new ArrayList<>();
+
+    private int size;
+
+    private boolean hasNext;
+
+    /**
+     * Cursor of the next slice, null on the last one.
+     */
+    private String nextCursor;
+
+    /**
+     * Creates a cursor page from a slice, taking the next cursor from its last item.
+     *
+     * @param slice the slice
+     * @param cursorOf gets the position of an item
+     * @param <T> the item type
+     * @return cursor page
+     */
+    public static <T> CursorPage<T> of(Slice<T> slice, Function<T, KeysetCursor> cursorOf) {
+        List<T> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? cursorOf.apply(content.get(content.size() - 1)).encode()
+                : null;
+        return new CursorPage<>(new ArrayList<>(content), slice.getSize(), slice.hasNext(), nextCursor);
+    }
+}
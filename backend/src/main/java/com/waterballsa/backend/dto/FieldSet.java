@@ -0,0 +1,68 @@
+package com.waterballsa.backend.dto;
+
+import com.waterballsa.backend.exception.BadRequestException;
+
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * Fields returned by a catalog listing.
+ */
+public enum FieldSet {
+
+    /**
+     * Every field.
+     */
+    FULL,
+
+    /**
+     * Every field except the large ones: curriculum and lesson descriptions and lesson
+     * content metadata. Meant for list views that only show titles and badges.
+     */
+    SUMMARY;
+
+    /**
+     * Parses the {@code fields} request parameter.
+     *
+     * @param value the parameter value, case-insensitive; blank means {@link #FULL}
+     * @return the field set
+     * @throws BadRequestException if the value names no field set
+     */
+    public static FieldSet parse(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        try {
+            return valueOf(value.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid fields: " + value + " (expected full or summary)", e);
+        }
+    }
+
+    /**
+     * Clears the fields this set leaves out.
+     *
+     * @param curriculum a curriculum DTO owned by the caller
+     * @return the same DTO
+     */
+    public CurriculumDto apply(CurriculumDto curriculum) {
+        if (this == SUMMARY) {
+            curriculum.setDescription(null);
+        }
+        return curriculum;
+    }
+
+    /**
+     * Clears the fields this set leaves out.
+     *
+     * @param lesson a lesson DTO owned by the caller
+     * @return the same DTO
+     */
+    public LessonDto apply(LessonDto lesson) {
+        if (this == SUMMARY) {
+            lesson.setDescription(null);
+            lesson.setContentMetadata(new HashMap<>());
+        }
+        return lesson;
+    }
+}
@@ -0,0 +1,34 @@
+package com.waterballsa.backend.dto;
+
+import com.waterballsa.backend.entity.LessonType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A lesson in a learner's course outline, with the learner's progress.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LessonOutlineDto {
+
+    private Long id;
+    private String title;
+    private LessonType lessonType;
+    private Integer orderIndex;
+    private Integer durationMinutes;
+    private Boolean isFreePreview;
+
+    /**
+     * Whether the learner can open the lesson: they own the curriculum or it is a free preview.
+     */
+    private boolean accessible;
+
+    /**
+     * The learner's progress, null if they have not started the lesson.
+     */
+    private VideoProgressDto progress;
+}
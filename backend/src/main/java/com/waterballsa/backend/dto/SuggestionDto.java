@@ -0,0 +1,38 @@
+package com.waterballsa.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a typeahead suggestion.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionDto {
+
+    private String text;
+    private Type type;
+
+    /**
+     * Curriculum the suggestion leads to; null for instructors.
+     */
+    private Long curriculumId;
+
+    /**
+     * Lesson the suggestion leads to; only set for lessons.
+     */
+    private Long lessonId;
+
+    /**
+     * What a suggestion names.
+     */
+    public enum Type {
+        CURRICULUM,
+        INSTRUCTOR,
+        LESSON
+    }
+}
@@ -0,0 +1,35 @@
+package com.waterballsa.backend.entity;
+
+/**
+ * Hibernate second-level cache regions of the catalog entities.
+ *
+ * Every region is created up front by the cache configuration, which refuses to start
+ * if Hibernate asks for one that is missing here.
+ */
+public final class CatalogCacheRegions {
+
+    public static final String CURRICULUM = "catalog.curriculum";
+    public static final String CHAPTER = "catalog.chapter";
+    public static final String LESSON = "catalog.lesson";
+    public static final String CURRICULUM_CHAPTERS = "catalog.curriculum.chapters";
+    public static final String CHAPTER_LESSONS = "catalog.chapter.lessons";
+
+    /**
+     * Query cache region of the published listings.
+     */
+    public static final String LISTINGS = "catalog.listings";
+
+    /**
+     * Hibernate's last-modified time of every table, checked before a cached query
+     * result is used. Must outlive every query result, so it never expires.
+     */
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    /**
+     * Hibernate's default query cache region, for cacheable queries without a region.
+     */
+    public static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+
+    private CatalogCacheRegions() {
+    }
+}
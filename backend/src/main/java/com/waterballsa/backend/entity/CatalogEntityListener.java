@@ -0,0 +1,45 @@
+package com.waterballsa.backend.entity;
+
+import com.waterballsa.backend.event.CatalogChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener that publishes a {@link CatalogChangedEvent} whenever a curriculum,
+ * chapter or lesson row is written through the entity manager, including
+ * {@link Curriculum#publish()} and {@link Curriculum#unpublish()}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onCatalogChanged(Object entity) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(curriculumIdOf(entity)));
+    }
+
+    /**
+     * Resolves the curriculum an entity belongs to. Chapters and lessons detached from
+     * their parent (e.g. by orphan removal) no longer know it and affect every curriculum.
+     */
+    private static Long curriculumIdOf(Object entity) {
+        if (entity instanceof Curriculum curriculum) {
+            return curriculum.getId();
+        }
+        if (entity instanceof Chapter chapter) {
+            return chapter.getCurriculum() != null ? chapter.getCurriculum().getId() : null;
+        }
+        if (entity instanceof Lesson lesson && lesson.getChapter() != null) {
+            return curriculumIdOf(lesson.getChapter());
+        }
+        return null;
+    }
+}
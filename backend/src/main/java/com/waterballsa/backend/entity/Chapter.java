@@ -9,6 +9,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -33,7 +35,9 @@ import java.util.List;
                 @UniqueConstraint(name = "chapters_unique_order_per_curriculum",
                         columnNames = {"curriculum_id", "order_index"})
         })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, CatalogEntityListener.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCacheRegions.CHAPTER)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -74,6 +78,7 @@ public class Chapter {
     // Relationships
     @OneToMany(mappedBy = "chapter", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @OrderBy("orderIndex ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCacheRegions.CHAPTER_LESSONS)
     @Builder.Default
     private List<Lesson> lessons = new ArrayList<>();
 
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -29,7 +31,9 @@ import java.util.List;
         @Index(name = "idx_curriculums_difficulty_level", columnList = "difficulty_level"),
         @Index(name = "idx_curriculums_instructor_name", columnList = "instructor_name")
 })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, CatalogEntityListener.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCacheRegions.CURRICULUM)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -85,6 +89,7 @@ public class Curriculum {
     // Relationships
     @OneToMany(mappedBy = "curriculum", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @OrderBy("orderIndex ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCacheRegions.CURRICULUM_CHAPTERS)
     @Builder.Default
     private List<Chapter> chapters = new ArrayList<>();
 
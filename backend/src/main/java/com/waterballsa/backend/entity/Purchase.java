@@ -36,7 +36,10 @@ import java.time.LocalDateTime;
         @Index(name = "idx_purchases_user_curriculum_status",
                columnList = "user_id,curriculum_id,status"),
         @Index(name = "idx_purchases_purchased_at", columnList = "purchased_at"),
-        @Index(name = "idx_purchases_created_at", columnList = "created_at")
+        @Index(name = "idx_purchases_created_at", columnList = "created_at"),
+        @Index(name = "idx_purchases_user_created_at", columnList = "user_id,created_at DESC,id DESC"),
+        @Index(name = "idx_purchases_user_status_purchased_at",
+               columnList = "user_id,status,purchased_at DESC,id DESC")
     }
 )
 @EntityListeners(AuditingEntityListener.class)
@@ -29,7 +29,7 @@ import java.time.LocalDateTime;
         @Index(name = "idx_users_email", columnList = "email"),
         @Index(name = "idx_users_global_rank", columnList = "global_rank")
 })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, UserEntityListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,19 @@
+package com.waterballsa.backend.event;
+
+/**
+ * Published when a curriculum, or one of its chapters or lessons, is created, updated or deleted.
+ *
+ * @param curriculumId the ID of the affected curriculum, or null if it is unknown and
+ *                     every curriculum must be treated as changed
+ */
+public record CatalogChangedEvent(Long curriculumId) {
+
+    /**
+     * Event for a change that cannot be attributed to a single curriculum.
+     *
+     * @return event affecting every curriculum
+     */
+    public static CatalogChangedEvent all() {
+        return new CatalogChangedEvent(null);
+    }
+}
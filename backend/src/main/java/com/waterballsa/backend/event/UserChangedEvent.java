@@ -0,0 +1,9 @@
+package com.waterballsa.backend.event;
+
+/**
+ * Published when a user's persisted state (profile, EXP, level, rank or last login) changes.
+ *
+ * @param userId the ID of the changed user
+ */
+public record UserChangedEvent(Long userId) {
+}
@@ -0,0 +1,30 @@
+package com.waterballsa.backend.repository;
+
+import com.waterballsa.backend.entity.CatalogCacheRegions;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a published-listing query, and its count query, as cached in the
+ * {@link CatalogCacheRegions#LISTINGS} query cache region.
+ *
+ * Hibernate drops a cached result as soon as one of the queried tables is written through
+ * JPA. Only queries with a small set of distinct parameters belong here; cursor and
+ * free-text queries would fill the region with results that are rarely read again.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCacheRegions.LISTINGS)
+})
+public @interface CachedListing {
+}
@@ -0,0 +1,87 @@
+package com.waterballsa.backend.repository;
+
+import com.waterballsa.backend.dto.CatalogSearchResponse.LessonHit;
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.entity.LessonType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Ranked full-text search over published curriculums and lessons.
+ *
+ * Matches against the generated search_vector columns and their GIN indexes. Queries are
+ * built by the catalog_search_query database function, which handles mixed Chinese and
+ * English input; see the V19 migration.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogSearchRepository {
+
+    private static final String CURRICULUMS_QUERY = """
+            SELECT id, title, description, thumbnail_url, instructor_name, price, currency,
+                   difficulty_level, estimated_duration_hours, is_published, published_at, created_at
+            FROM curriculums
+            WHERE is_published = true
+              AND search_vector @@ catalog_search_query(?)
+            ORDER BY ts_rank(search_vector, catalog_search_query(?)) DESC, id
+            LIMIT ?
+            """;
+
+    private static final String LESSONS_QUERY = """
+            SELECT l.id, l.chapter_id, ch.curriculum_id, c.title AS curriculum_title, l.title, l.description,
+                   l.lesson_type, l.duration_minutes, l.is_free_preview
+            FROM lessons l
+            JOIN chapters ch ON ch.id = l.chapter_id
+            JOIN curriculums c ON c.id = ch.curriculum_id
+            WHERE l.is_published = true
+              AND ch.is_published = true
+              AND c.is_published = true
+              AND l.search_vector @@ catalog_search_query(?)
+            ORDER BY ts_rank(l.search_vector, catalog_search_query(?)) DESC, l.id
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Searches published curriculums by title, description and instructor.
+     *
+     * @param query search text, Chinese, English or both
+     * @param limit maximum number of results
+     * @return matching curriculums, best match first
+     */
+    public List<CurriculumDto> searchCurriculums(String query, int limit) {
+        return jdbcTemplate.query(CURRICULUMS_QUERY,
+                (rs, rowNum) -> CatalogSnapshotRepository.mapCurriculum(rs), query, query, limit);
+    }
+
+    /**
+     * Searches published lessons of published chapters and curriculums by title and description.
+     *
+     * @param query search text, Chinese, English or both
+     * @param limit maximum number of results
+     * @return matching lessons, best match first
+     */
+    public List<LessonHit> searchLessons(String query, int limit) {
+        return jdbcTemplate.query(LESSONS_QUERY, (rs, rowNum) -> mapLessonHit(rs), query, query, limit);
+    }
+
+    private static LessonHit mapLessonHit(ResultSet rs) throws SQLException {
+        return LessonHit.builder()
+                .id(rs.getLong("id"))
+                .chapterId(rs.getLong("chapter_id"))
+                .curriculumId(rs.getLong("curriculum_id"))
+                .curriculumTitle(rs.getString("curriculum_title"))
+                .title(rs.getString("title"))
+                .description(rs.getString("description"))
+                .lessonType(LessonType.valueOf(rs.getString("lesson_type")))
+                .durationMinutes(rs.getObject("duration_minutes", Integer.class))
+                .isFreePreview(rs.getBoolean("is_free_preview"))
+                .build();
+    }
+}
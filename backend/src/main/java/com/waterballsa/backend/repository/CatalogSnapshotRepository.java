@@ -0,0 +1,172 @@
+package com.waterballsa.backend.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.waterballsa.backend.dto.ChapterDto;
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.dto.LessonDto;
+import com.waterballsa.backend.entity.DifficultyLevel;
+import com.waterballsa.backend.entity.LessonType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the published catalog for the in-memory catalog snapshot.
+ *
+ * Loads every published curriculum with all of its chapters and lessons in three
+ * queries, plus the catalog version that database triggers bump on every change.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogSnapshotRepository {
+
+    private static final String VERSION_QUERY = "SELECT version FROM catalog_version WHERE id = 1";
+
+    private static final String CURRICULUMS_QUERY = """
+            SELECT id, title, description, thumbnail_url, instructor_name, price, currency,
+                   difficulty_level, estimated_duration_hours, is_published, published_at, created_at
+            FROM curriculums
+            WHERE is_published = true
+            ORDER BY id
+            """;
+
+    private static final String CHAPTERS_QUERY = """
+            SELECT ch.id, ch.curriculum_id, ch.title, ch.description, ch.order_index, ch.is_published,
+                   ch.estimated_duration_hours, ch.created_at
+            FROM chapters ch
+            JOIN curriculums c ON c.id = ch.curriculum_id
+            WHERE c.is_published = true
+            ORDER BY ch.curriculum_id, ch.order_index
+            """;
+
+    private static final String LESSONS_QUERY = """
+            SELECT l.id, l.chapter_id, l.title, l.description, l.lesson_type, l.content_url, l.order_index,
+                   l.duration_minutes, l.is_free_preview, l.is_published, l.created_at,
+                   l.content_metadata::text AS content_metadata
+            FROM lessons l
+            JOIN chapters ch ON ch.id = l.chapter_id
+            JOIN curriculums c ON c.id = ch.curriculum_id
+            WHERE c.is_published = true
+            ORDER BY l.chapter_id, l.order_index
+            """;
+
+    private static final ObjectMapper METADATA_MAPPER = JsonMapper.builder().build();
+    private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Gets the current catalog version.
+     *
+     * @return catalog version
+     */
+    public long findVersion() {
+        Long version = jdbcTemplate.queryForObject(VERSION_QUERY, Long.class);
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * Loads the published catalog and its version from one consistent database snapshot.
+     *
+     * @return published curriculums with all of their chapters and lessons, ordered by order index
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public PublishedCatalog loadPublishedCatalog() {
+        long version = findVersion();
+        List<CurriculumDto> curriculums = jdbcTemplate.query(CURRICULUMS_QUERY, (rs, rowNum) -> mapCurriculum(rs));
+        List<ChapterDto> chapters = jdbcTemplate.query(CHAPTERS_QUERY, (rs, rowNum) -> mapChapter(rs));
+        List<LessonDto> lessons = jdbcTemplate.query(LESSONS_QUERY, (rs, rowNum) -> mapLesson(rs));
+        return new PublishedCatalog(version, curriculums, chapters, lessons);
+    }
+
+    static CurriculumDto mapCurriculum(ResultSet rs) throws SQLException {
+        String difficultyLevel = rs.getString("difficulty_level");
+        return CurriculumDto.builder()
+                .id(rs.getLong("id"))
+                .title(rs.getString("title"))
+                .description(rs.getString("description"))
+                .thumbnailUrl(rs.getString("thumbnail_url"))
+                .instructorName(rs.getString("instructor_name"))
+                .price(rs.getBigDecimal("price"))
+                .currency(rs.getString("currency"))
+                .difficultyLevel(difficultyLevel != null ? DifficultyLevel.valueOf(difficultyLevel) : null)
+                .estimatedDurationHours(rs.getObject("estimated_duration_hours", Integer.class))
+                .isPublished(rs.getBoolean("is_published"))
+                .publishedAt(toLocalDateTime(rs.getTimestamp("published_at")))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .build();
+    }
+
+    private static ChapterDto mapChapter(ResultSet rs) throws SQLException {
+        return ChapterDto.builder()
+                .id(rs.getLong("id"))
+                .curriculumId(rs.getLong("curriculum_id"))
+                .title(rs.getString("title"))
+                .description(rs.getString("description"))
+                .orderIndex(rs.getInt("order_index"))
+                .isPublished(rs.getBoolean("is_published"))
+                .estimatedDurationHours(rs.getObject("estimated_duration_hours", Integer.class))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .build();
+    }
+
+    private static LessonDto mapLesson(ResultSet rs) throws SQLException {
+        return LessonDto.builder()
+                .id(rs.getLong("id"))
+                .chapterId(rs.getLong("chapter_id"))
+                .title(rs.getString("title"))
+                .description(rs.getString("description"))
+                .lessonType(LessonType.valueOf(rs.getString("lesson_type")))
+                .contentUrl(rs.getString("content_url"))
+                .orderIndex(rs.getInt("order_index"))
+                .durationMinutes(rs.getObject("duration_minutes", Integer.class))
+                .isFreePreview(rs.getBoolean("is_free_preview"))
+                .isPublished(rs.getBoolean("is_published"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .contentMetadata(parseMetadata(rs.getLong("id"), rs.getString("content_metadata")))
+                .build();
+    }
+
+    private static Map<String, Object> parseMetadata(long lessonId, String json) {
+        if (json == null) {
+            return new HashMap<>();
+        }
+        try {
+            return METADATA_MAPPER.readValue(json, METADATA_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed content metadata for lesson " + lessonId, e);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * Published catalog rows as read from the database.
+     *
+     * @param version catalog version the rows belong to
+     * @param curriculums published curriculums
+     * @param chapters chapters of published curriculums, published or not
+     * @param lessons lessons of published curriculums, published or not
+     */
+    public record PublishedCatalog(long version,
+                                   List<CurriculumDto> curriculums,
+                                   List<ChapterDto> chapters,
+                                   List<LessonDto> lessons) {
+    }
+}
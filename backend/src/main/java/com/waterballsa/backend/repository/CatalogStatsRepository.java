@@ -0,0 +1,105 @@
+package com.waterballsa.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Reads and repairs the curriculum_stats and chapter_stats tables, which database
+ * triggers keep up to date with every catalog change.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogStatsRepository {
+
+    private static final String VERSION_QUERY = "SELECT version FROM catalog_version WHERE id = 1";
+
+    private static final String CURRICULUM_STATS_QUERY = """
+            SELECT curriculum_id, is_published, published_chapter_count, total_duration_minutes
+            FROM curriculum_stats
+            """;
+
+    private static final String CHAPTER_STATS_QUERY = """
+            SELECT chapter_id, published_lesson_count
+            FROM chapter_stats
+            """;
+
+    private static final String REBUILD_QUERY = "SELECT chapter_drift, curriculum_drift FROM rebuild_catalog_stats()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Loads every stats row and the catalog version from one consistent database snapshot.
+     *
+     * @return stats of every curriculum and chapter, published or not
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public LoadedStats loadStats() {
+        Long version = jdbcTemplate.queryForObject(VERSION_QUERY, Long.class);
+        List<CurriculumStats> curriculums = jdbcTemplate.query(CURRICULUM_STATS_QUERY, (rs, rowNum) ->
+                new CurriculumStats(rs.getLong("curriculum_id"), rs.getBoolean("is_published"),
+                        rs.getInt("published_chapter_count"), rs.getLong("total_duration_minutes")));
+        List<ChapterStats> chapters = jdbcTemplate.query(CHAPTER_STATS_QUERY, (rs, rowNum) ->
+                new ChapterStats(rs.getLong("chapter_id"), rs.getInt("published_lesson_count")));
+        return new LoadedStats(version != null ? version : 0L, curriculums, chapters);
+    }
+
+    /**
+     * Recomputes the stats tables from the catalog tables, fixing rows that drifted.
+     *
+     * @return number of missing or wrong rows that were repaired
+     */
+    @Transactional
+    public Drift rebuild() {
+        return jdbcTemplate.queryForObject(REBUILD_QUERY, (rs, rowNum) ->
+                new Drift(rs.getInt("chapter_drift"), rs.getInt("curriculum_drift")));
+    }
+
+    /**
+     * Stats of one curriculum.
+     *
+     * @param curriculumId the curriculum ID
+     * @param published whether the curriculum is published
+     * @param publishedChapterCount number of published chapters
+     * @param totalDurationMinutes minutes of published lessons
+     */
+    public record CurriculumStats(long curriculumId, boolean published, int publishedChapterCount,
+                                  long totalDurationMinutes) {
+    }
+
+    /**
+     * Stats of one chapter.
+     *
+     * @param chapterId the chapter ID
+     * @param publishedLessonCount number of published lessons
+     */
+    public record ChapterStats(long chapterId, int publishedLessonCount) {
+    }
+
+    /**
+     * Stats rows as read from the database.
+     *
+     * @param version catalog version the rows belong to
+     * @param curriculums stats of every curriculum
+     * @param chapters stats of every chapter
+     */
+    public record LoadedStats(long version, List<CurriculumStats> curriculums, List<ChapterStats> chapters) {
+    }
+
+    /**
+     * Stats rows a rebuild found missing or wrong.
+     *
+     * @param chapters drifted chapter_stats rows
+     * @param curriculums drifted curriculum_stats rows
+     */
+    public record Drift(int chapters, int curriculums) {
+
+        public int total() {
+            return chapters + curriculums;
+        }
+    }
+}
@@ -4,11 +4,14 @@ import com.waterballsa.backend.entity.Curriculum;
 import com.waterballsa.backend.entity.DifficultyLevel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,9 +22,15 @@ import java.util.Optional;
  * - Finding published curriculums
  * - Filtering by difficulty level
  * - Searching by title or instructor
+ * - Cursor-paged listings, newest first, that seek past the last row instead of counting
+ * - Loading whole curriculum trees in one query ({@link CurriculumTreeLoader})
+ *
+ * List queries select read-only {@link CurriculumRow}s instead of managed entities; the
+ * summary variants leave out the description. Published listings marked
+ * {@link CachedListing} are served from the Hibernate query cache.
  */
 @Repository
-public interface CurriculumRepository extends JpaRepository<Curriculum, Long> {
+public interface CurriculumRepository extends JpaRepository<Curriculum, Long>, CurriculumTreeLoader {
 
     /**
      * Finds all published curriculums.
@@ -29,7 +38,21 @@ public interface CurriculumRepository extends JpaRepository<Curriculum, Long> {
      * @param pageable pagination information
      * @return page of published curriculums
      */
-    Page<Curriculum> findByIsPublishedTrue(Pageable pageable);
+    @CachedListing
+    @Query(value = "SELECT " + CurriculumRow.SELECT + " FROM Curriculum c WHERE c.isPublished = true",
+           countQuery = "SELECT COUNT(c) FROM Curriculum c WHERE c.isPublished = true")
+    Page<CurriculumRow> findByIsPublishedTrue(Pageable pageable);
+
+    /**
+     * Finds all published curriculums without their descriptions.
+     *
+     * @param pageable pagination information
+     * @return page of published curriculum summaries
+     */
+    @CachedListing
+    @Query(value = "SELECT " + CurriculumRow.SUMMARY_SELECT + " FROM Curriculum c WHERE c.isPublished = true",
+           countQuery = "SELECT COUNT(c) FROM Curriculum c WHERE c.isPublished = true")
+    Page<CurriculumRow> findPublishedSummaries(Pageable pageable);
 
     /**
      * Finds all published curriculums by difficulty level.
@@ -38,8 +61,127 @@ public interface CurriculumRepository extends JpaRepository<Curriculum, Long> {
      * @param pageable pagination information
      * @return page of matching curriculums
      */
-    Page<Curriculum> findByIsPublishedTrueAndDifficultyLevel(
-            DifficultyLevel difficultyLevel, Pageable pageable);
+    @CachedListing
+    @Query(value = "SELECT " + CurriculumRow.SELECT + " FROM Curriculum c " +
+                   "WHERE c.isPublished = true AND c.difficultyLevel = :difficultyLevel",
+           countQuery = "SELECT COUNT(c) FROM Curriculum c " +
+                   "WHERE c.isPublished = true AND c.difficultyLevel = :difficultyLevel")
+    Page<CurriculumRow> findByIsPublishedTrueAndDifficultyLevel(
+            @Param("difficultyLevel") DifficultyLevel difficultyLevel, Pageable pageable);
+
+    /**
+     * Finds the first slice of published curriculums, newest first.
+     *
+     * @param pageable slice size; the offset and sort are ignored
+     * @return slice of published curriculums
+     */
+    @CachedListing
+    @Query("SELECT " + CurriculumRow.SELECT + " FROM Curriculum c WHERE c.isPublished = true " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<CurriculumRow> findPublishedSlice(Pageable pageable);
+
+    /**
+     * Finds the published curriculums after a cursor, newest first.
+     *
+     * @param createdAt creation time of the last curriculum of the previous slice
+     * @param id ID of the last curriculum of the previous slice
+     * @param pageable slice size; the offset and sort are ignored
+     * @return slice of published curriculums
+     */
+    @Query("SELECT " + CurriculumRow.SELECT + " FROM Curriculum c WHERE c.isPublished = true " +
+           "AND c.createdAt <= :createdAt AND (c.createdAt < :createdAt OR c.id < :id) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<CurriculumRow> findPublishedSliceBefore(
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Finds the first slice of published curriculums without their descriptions, newest first.
+     *
+     * @param pageable slice size; the offset and sort are ignored
+     * @return slice of published curriculum summaries
+     */
+    @CachedListing
+    @Query("SELECT " + CurriculumRow.SUMMARY_SELECT + " FROM Curriculum c WHERE c.isPublished = true " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<CurriculumRow> findPublishedSummarySlice(Pageable pageable);
+
+    /**
+     * Finds every published curriculum, newest first.
+     *
+     * @return all published curriculums
+     */
+    @CachedListing
+    @Query("SELECT " + CurriculumRow.SELECT + " FROM Curriculum c WHERE c.isPublished = true " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CurriculumRow> findAllPublishedNewestFirst();
+
+    /**
+     * Finds the published curriculums after a cursor without their descriptions, newest first.
+     *
+     * @param createdAt creation time of the last curriculum of the previous slice
+     * @param id ID of the last curriculum of the previous slice
+     * @param pageable slice size; the offset and sort are ignored
+     * @return slice of published curriculum summaries
+     */
+    @Query("SELECT " + CurriculumRow.SUMMARY_SELECT + " FROM Curriculum c WHERE c.isPublished = true " +
+           "AND c.createdAt <= :createdAt AND (c.createdAt < :createdAt OR c.id < :id) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<CurriculumRow> findPublishedSummarySliceBefore(
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Finds the first slice of published curriculums of a difficulty level, newest first.
+     *
+     * @param difficultyLevel the difficulty level
+     * @param pageable slice size; the offset and sort are ignored
+     * @return slice of matching curriculums
+     */
+    @CachedListing
+    @Query("SELECT " + CurriculumRow.SELECT + " FROM Curriculum c WHERE c.isPublished = true AND c.difficultyLevel = :difficultyLevel " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<CurriculumRow> findPublishedSliceByDifficulty(
+            @Param("difficultyLevel") DifficultyLevel difficultyLevel, Pageable pageable);
+
+    /**
+     * Finds the published curriculums of a difficulty level after a cursor, newest first.
+     *
+     * @param difficultyLevel the difficulty level
+     * @param createdAt creation time of the last curriculum of the previous slice
+     * @param id ID of the last curriculum of the previous slice
+     * @param pageable slice size; the offset and sort are ignored
+     * @return slice of matching curriculums
+     */
+    @Query("SELECT " + CurriculumRow.SELECT + " FROM Curriculum c WHERE c.isPublished = true AND c.difficultyLevel = :difficultyLevel " +
+           "AND c.createdAt <= :createdAt AND (c.createdAt < :createdAt OR c.id < :id) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<CurriculumRow> findPublishedSliceByDifficultyBefore(
+            @Param("difficultyLevel") DifficultyLevel difficultyLevel,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Finds the first slice of free published curriculums, newest first.
+     *
+     * @param pageable slice size; the offset and sort are ignored
+     * @return slice of free published curriculums
+     */
+    @CachedListing
+    @Query("SELECT " + CurriculumRow.SELECT + " FROM Curriculum c WHERE c.isPublished = true AND c.price = 0 " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<CurriculumRow> findFreeSlice(Pageable pageable);
+
+    /**
+     * Finds the free published curriculums after a cursor, newest first.
+     *
+     * @param createdAt creation time of the last curriculum of the previous slice
+     * @param id ID of the last curriculum of the previous slice
+     * @param pageable slice size; the offset and sort are ignored
+     * @return slice of free published curriculums
+     */
+    @Query("SELECT " + CurriculumRow.SELECT + " FROM Curriculum c WHERE c.isPublished = true AND c.price = 0 " +
+           "AND c.createdAt <= :createdAt AND (c.createdAt < :createdAt OR c.id < :id) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<CurriculumRow> findFreeSliceBefore(
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 
     /**
      * Finds a published curriculum by ID with its chapters and lessons.
@@ -53,6 +195,15 @@ public interface CurriculumRepository extends JpaRepository<Curriculum, Long> {
            "WHERE c.id = :id AND c.isPublished = true")
     Optional<Curriculum> findPublishedByIdWithChapters(@Param("id") Long id);
 
+    /**
+     * Finds published curriculums by ID in one query.
+     *
+     * @param ids the curriculum IDs
+     * @return the published curriculums among them, in no particular order
+     */
+    @Query("SELECT " + CurriculumRow.SELECT + " FROM Curriculum c WHERE c.id IN :ids AND c.isPublished = true")
+    List<CurriculumRow> findPublishedByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Finds curriculum by ID (without eager loading chapters or lessons).
      * Use this method when you need to fetch curriculum data only,
@@ -61,7 +212,7 @@ public interface CurriculumRepository extends JpaRepository<Curriculum, Long> {
      * @param id the curriculum ID
      * @return an Optional containing the curriculum if found
      */
-    @Query("SELECT c FROM Curriculum c WHERE c.id = :id")
+    @Query("SELECT " + CurriculumRow.SELECT + " FROM Curriculum c WHERE c.id = :id")
     Optional<Curriculum> findByIdWithoutRelations(@Param("id") Long id);
 
     /**
@@ -71,8 +222,12 @@ public interface CurriculumRepository extends JpaRepository<Curriculum, Long> {
      * @param pageable pagination information
      * @return page of matching curriculums
      */
-    Page<Curriculum> findByIsPublishedTrueAndInstructorNameContainingIgnoreCase(
-            String instructorName, Pageable pageable);
+    @Query(value = "SELECT " + CurriculumRow.SELECT + " FROM Curriculum c WHERE c.isPublished = true AND " +
+                   "LOWER(c.instructorName) LIKE LOWER(CONCAT('%', :instructorName, '%'))",
+           countQuery = "SELECT COUNT(c) FROM Curriculum c WHERE c.isPublished = true AND " +
+                   "LOWER(c.instructorName) LIKE LOWER(CONCAT('%', :instructorName, '%'))")
+    Page<CurriculumRow> findByIsPublishedTrueAndInstructorNameContainingIgnoreCase(
+            @Param("instructorName") String instructorName, Pageable pageable);
 
     /**
      * Searches curriculums by title or description (case-insensitive).
@@ -81,10 +236,13 @@ public interface CurriculumRepository extends JpaRepository<Curriculum, Long> {
      * @param pageable pagination information
      * @return page of matching published curriculums
      */
-    @Query("SELECT c FROM Curriculum c WHERE c.isPublished = true AND " +
-           "(LOWER(c.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(c.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    Page<Curriculum> searchPublishedCurriculums(@Param("searchTerm") String searchTerm, Pageable pageable);
+    @Query(value = "SELECT " + CurriculumRow.SELECT + " FROM Curriculum c WHERE c.isPublished = true AND " +
+                   "(LOWER(c.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(c.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))",
+           countQuery = "SELECT COUNT(c) FROM Curriculum c WHERE c.isPublished = true AND " +
+                   "(LOWER(c.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(c.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+    Page<CurriculumRow> searchPublishedCurriculums(@Param("searchTerm") String searchTerm, Pageable pageable);
 
     /**
      * Finds free curriculums (price = 0).
@@ -92,8 +250,10 @@ public interface CurriculumRepository extends JpaRepository<Curriculum, Long> {
      * @param pageable pagination information
      * @return page of free published curriculums
      */
-    @Query("SELECT c FROM Curriculum c WHERE c.isPublished = true AND c.price = 0")
-    Page<Curriculum> findFreeCurriculums(Pageable pageable);
+    @CachedListing
+    @Query(value = "SELECT " + CurriculumRow.SELECT + " FROM Curriculum c WHERE c.isPublished = true AND c.price = 0",
+           countQuery = "SELECT COUNT(c) FROM Curriculum c WHERE c.isPublished = true AND c.price = 0")
+    Page<CurriculumRow> findFreeCurriculums(Pageable pageable);
 
     /**
      * Counts all published curriculums.
@@ -108,5 +268,6 @@ public interface CurriculumRepository extends JpaRepository<Curriculum, Long> {
      * @param instructorName the instructor name
      * @return list of curriculums by this instructor
      */
-    List<Curriculum> findByInstructorName(String instructorName);
+    @Query("SELECT " + CurriculumRow.SELECT + " FROM Curriculum c WHERE c.instructorName = :instructorName")
+    List<CurriculumRow> findByInstructorName(@Param("instructorName") String instructorName);
 }
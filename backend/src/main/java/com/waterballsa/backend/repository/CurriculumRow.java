@@ -0,0 +1,75 @@
+package com.waterballsa.backend.repository;
+
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.entity.DifficultyLevel;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only curriculum row selected by the list queries of {@link CurriculumRepository}.
+ *
+ * Rows are built by a JPQL constructor expression, so listing curriculums neither loads
+ * managed entities into the persistence context nor dirty-checks them at flush. The
+ * summary constructor, selected by {@link #SUMMARY_SELECT}, leaves out the TEXT
+ * description.
+ */
+public record CurriculumRow(Long id,
+                            String title,
+                            String description,
+                            String thumbnailUrl,
+                            String instructorName,
+                            BigDecimal price,
+                            String currency,
+                            DifficultyLevel difficultyLevel,
+                            Integer estimatedDurationHours,
+                            Boolean isPublished,
+                            LocalDateTime publishedAt,
+                            LocalDateTime createdAt) {
+
+    /**
+     * Select clause for full rows of a query over {@code Curriculum c}.
+     */
+    static final String SELECT = "new com.waterballsa.backend.repository.CurriculumRow("
+            + "c.id, c.title, c.description, c.thumbnailUrl, c.instructorName, c.price, c.currency, "
+            + "c.difficultyLevel, c.estimatedDurationHours, c.isPublished, c.publishedAt, c.createdAt)";
+
+    /**
+     * Select clause for summary rows of a query over {@code Curriculum c}.
+     */
+    static final String SUMMARY_SELECT = "new com.waterballsa.backend.repository.CurriculumRow("
+            + "c.id, c.title, c.thumbnailUrl, c.instructorName, c.price, c.currency, "
+            + "c.difficultyLevel, c.estimatedDurationHours, c.isPublished, c.publishedAt, c.createdAt)";
+
+    /**
+     * Creates a summary row without the description.
+     */
+    public CurriculumRow(Long id, String title, String thumbnailUrl, String instructorName, BigDecimal price,
+                         String currency, DifficultyLevel difficultyLevel, Integer estimatedDurationHours,
+                         Boolean isPublished, LocalDateTime publishedAt, LocalDateTime createdAt) {
+        this(id, title, null, thumbnailUrl, instructorName, price, currency, difficultyLevel,
+                estimatedDurationHours, isPublished, publishedAt, createdAt);
+    }
+
+    /**
+     * Converts the row to a curriculum DTO without chapters, like {@link CurriculumDto#from}.
+     *
+     * @return CurriculumDto instance
+     */
+    public CurriculumDto toDto() {
+        return CurriculumDto.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .thumbnailUrl(thumbnailUrl)
+                .instructorName(instructorName)
+                .price(price)
+                .currency(currency)
+                .difficultyLevel(difficultyLevel)
+                .estimatedDurationHours(estimatedDurationHours)
+                .isPublished(isPublished)
+                .publishedAt(publishedAt)
+                .createdAt(createdAt)
+                .build();
+    }
+}
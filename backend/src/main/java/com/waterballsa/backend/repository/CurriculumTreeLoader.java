@@ -0,0 +1,20 @@
+package com.waterballsa.backend.repository;
+
+import com.waterballsa.backend.dto.CurriculumDto;
+
+import java.util.Optional;
+
+/**
+ * Loads whole curriculum trees (curriculum, chapters and lessons) as DTOs.
+ */
+public interface CurriculumTreeLoader {
+
+    /**
+     * Finds a published curriculum with its chapters and lessons, ordered by order index,
+     * in a single query and without loading managed entities.
+     *
+     * @param id the curriculum ID
+     * @return an Optional containing the curriculum tree if found and published
+     */
+    Optional<CurriculumDto> findPublishedTreeById(Long id);
+}
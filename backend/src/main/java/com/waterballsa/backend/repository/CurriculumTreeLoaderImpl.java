@@ -0,0 +1,93 @@
+package com.waterballsa.backend.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.waterballsa.backend.dto.CurriculumDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link CurriculumTreeLoader} built on Postgres JSON aggregation.
+ *
+ * The database assembles the curriculum document with nested {@code json_agg} calls
+ * ordered by {@code order_index}, so a tree of any size costs one round trip instead of
+ * one query per chapter, and the JSON maps straight onto the DTOs.
+ */
+@RequiredArgsConstructor
+public class CurriculumTreeLoaderImpl implements CurriculumTreeLoader {
+
+    private static final String TREE_QUERY = """
+            SELECT json_build_object(
+                'id', c.id,
+                'title', c.title,
+                'description', c.description,
+                'thumbnailUrl', c.thumbnail_url,
+                'instructorName', c.instructor_name,
+                'price', c.price,
+                'currency', c.currency,
+                'difficultyLevel', c.difficulty_level,
+                'estimatedDurationHours', c.estimated_duration_hours,
+                'isPublished', c.is_published,
+                'publishedAt', c.published_at,
+                'createdAt', c.created_at,
+                'chapters', COALESCE((
+                    SELECT json_agg(json_build_object(
+                        'id', ch.id,
+                        'curriculumId', ch.curriculum_id,
+                        'title', ch.title,
+                        'description', ch.description,
+                        'orderIndex', ch.order_index,
+                        'isPublished', ch.is_published,
+                        'estimatedDurationHours', ch.estimated_duration_hours,
+                        'createdAt', ch.created_at,
+                        'lessons', COALESCE((
+                            SELECT json_agg(json_build_object(
+                                'id', l.id,
+                                'chapterId', l.chapter_id,
+                                'title', l.title,
+                                'description', l.description,
+                                'lessonType', l.lesson_type,
+                                'contentUrl', l.content_url,
+                                'orderIndex', l.order_index,
+                                'durationMinutes', l.duration_minutes,
+                                'isFreePreview', l.is_free_preview,
+                                'isPublished', l.is_published,
+                                'createdAt', l.created_at,
+                                'contentMetadata', COALESCE(l.content_metadata, '{}'::jsonb)
+                            ) ORDER BY l.order_index)
+                            FROM lessons l
+                            WHERE l.chapter_id = ch.id
+                        ), '[]'::json)
+                    ) ORDER BY ch.order_index)
+                    FROM chapters ch
+                    WHERE ch.curriculum_id = c.id
+                ), '[]'::json)
+            )::text
+            FROM curriculums c
+            WHERE c.id = ? AND c.is_published = true
+            """;
+
+    private static final ObjectMapper TREE_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<CurriculumDto> findPublishedTreeById(Long id) {
+        List<String> documents = jdbcTemplate.queryForList(TREE_QUERY, String.class, id);
+        if (documents.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(TREE_MAPPER.readValue(documents.get(0), CurriculumDto.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed curriculum tree for curriculum " + id, e);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +20,10 @@ import java.util.Optional;
  * - Finding lessons by chapter
  * - Filtering by lesson type
  * - Free preview queries (Phase 2)
+ *
+ * List queries select read-only {@link LessonRow}s instead of managed entities; the
+ * summary variants leave out the description and content metadata. Published listings
+ * marked {@link CachedListing} are served from the Hibernate query cache.
  */
 @Repository
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
@@ -29,7 +34,9 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
      * @param chapterId the chapter ID
      * @return list of lessons ordered by sequence
      */
-    List<Lesson> findByChapterIdOrderByOrderIndexAsc(Long chapterId);
+    @Query("SELECT " + LessonRow.SELECT + " FROM Lesson l WHERE l.chapter.id = :chapterId " +
+           "ORDER BY l.orderIndex ASC")
+    List<LessonRow> findByChapterIdOrderByOrderIndexAsc(@Param("chapterId") Long chapterId);
 
     /**
      * Finds all published lessons for a chapter.
@@ -37,7 +44,21 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
      * @param chapterId the chapter ID
      * @return list of published lessons ordered by sequence
      */
-    List<Lesson> findByChapterIdAndIsPublishedTrueOrderByOrderIndexAsc(Long chapterId);
+    @CachedListing
+    @Query("SELECT " + LessonRow.SELECT + " FROM Lesson l WHERE l.chapter.id = :chapterId " +
+           "AND l.isPublished = true ORDER BY l.orderIndex ASC")
+    List<LessonRow> findByChapterIdAndIsPublishedTrueOrderByOrderIndexAsc(@Param("chapterId") Long chapterId);
+
+    /**
+     * Finds all published lessons for a chapter without their descriptions and content metadata.
+     *
+     * @param chapterId the chapter ID
+     * @return list of published lesson summaries ordered by sequence
+     */
+    @CachedListing
+    @Query("SELECT " + LessonRow.SUMMARY_SELECT + " FROM Lesson l WHERE l.chapter.id = :chapterId " +
+           "AND l.isPublished = true ORDER BY l.orderIndex ASC")
+    List<LessonRow> findPublishedSummariesByChapter(@Param("chapterId") Long chapterId);
 
     /**
      * Finds a published lesson by ID.
@@ -47,15 +68,25 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
      */
     Optional<Lesson> findByIdAndIsPublishedTrue(Long id);
 
+    /**
+     * Finds published lessons by ID in one query.
+     *
+     * @param ids the lesson IDs
+     * @return the published lessons among them, in no particular order
+     */
+    @Query("SELECT " + LessonRow.SELECT + " FROM Lesson l WHERE l.id IN :ids AND l.isPublished = true")
+    List<LessonRow> findPublishedByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Finds all free preview lessons for a curriculum.
      *
      * @param curriculumId the curriculum ID
      * @return list of free preview lessons
      */
-    @Query("SELECT l FROM Lesson l JOIN l.chapter ch WHERE ch.curriculum.id = :curriculumId " +
+    @CachedListing
+    @Query("SELECT " + LessonRow.SELECT + " FROM Lesson l JOIN l.chapter ch WHERE ch.curriculum.id = :curriculumId " +
            "AND l.isFreePreview = true AND l.isPublished = true")
-    List<Lesson> findFreePreviewLessonsByCurriculum(@Param("curriculumId") Long curriculumId);
+    List<LessonRow> findFreePreviewLessonsByCurriculum(@Param("curriculumId") Long curriculumId);
 
     /**
      * Finds lessons by type.
@@ -64,7 +95,24 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
      * @param pageable pagination information
      * @return page of lessons of the specified type
      */
-    Page<Lesson> findByLessonTypeAndIsPublishedTrue(LessonType lessonType, Pageable pageable);
+    @CachedListing
+    @Query(value = "SELECT " + LessonRow.SELECT + " FROM Lesson l " +
+                   "WHERE l.lessonType = :lessonType AND l.isPublished = true",
+           countQuery = "SELECT COUNT(l) FROM Lesson l WHERE l.lessonType = :lessonType AND l.isPublished = true")
+    Page<LessonRow> findByLessonTypeAndIsPublishedTrue(@Param("lessonType") LessonType lessonType, Pageable pageable);
+
+    /**
+     * Finds lessons by type without their descriptions and content metadata.
+     *
+     * @param lessonType the lesson type
+     * @param pageable pagination information
+     * @return page of lesson summaries of the specified type
+     */
+    @CachedListing
+    @Query(value = "SELECT " + LessonRow.SUMMARY_SELECT + " FROM Lesson l " +
+                   "WHERE l.lessonType = :lessonType AND l.isPublished = true",
+           countQuery = "SELECT COUNT(l) FROM Lesson l WHERE l.lessonType = :lessonType AND l.isPublished = true")
+    Page<LessonRow> findSummariesByType(@Param("lessonType") LessonType lessonType, Pageable pageable);
 
     /**
      * Counts lessons in a chapter.
@@ -97,9 +145,10 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
      * @param curriculumId the curriculum ID
      * @return list of video lessons
      */
-    @Query("SELECT l FROM Lesson l JOIN l.chapter ch WHERE ch.curriculum.id = :curriculumId " +
+    @CachedListing
+    @Query("SELECT " + LessonRow.SELECT + " FROM Lesson l JOIN l.chapter ch WHERE ch.curriculum.id = :curriculumId " +
            "AND l.lessonType = 'VIDEO' AND l.isPublished = true ORDER BY ch.orderIndex, l.orderIndex")
-    List<Lesson> findVideoLessonsByCurriculum(@Param("curriculumId") Long curriculumId);
+    List<LessonRow> findVideoLessonsByCurriculum(@Param("curriculumId") Long curriculumId);
 
     /**
      * Calculates total duration of all published lessons in a curriculum.
@@ -111,10 +160,32 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
            "WHERE ch.curriculum.id = :curriculumId AND l.isPublished = true")
     Long calculateTotalDurationByCurriculum(@Param("curriculumId") Long curriculumId);
 
+    /**
+     * Finds the lesson types of every published curriculum, counting only published lessons
+     * of published chapters.
+     *
+     * @return one row per curriculum and lesson type
+     */
+    @CachedListing
+    @Query("SELECT DISTINCT ch.curriculum.id AS curriculumId, l.lessonType AS lessonType FROM Lesson l " +
+           "JOIN l.chapter ch WHERE l.isPublished = true AND ch.isPublished = true " +
+           "AND ch.curriculum.isPublished = true")
+    List<CurriculumLessonType> findPublishedLessonTypes();
+
     /**
      * Deletes all lessons for a chapter.
      *
      * @param chapterId the chapter ID
      */
     void deleteByChapterId(Long chapterId);
+
+    /**
+     * A lesson type used in a curriculum.
+     */
+    interface CurriculumLessonType {
+
+        Long getCurriculumId();
+
+        LessonType getLessonType();
+    }
 }
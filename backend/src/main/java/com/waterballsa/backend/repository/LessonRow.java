@@ -0,0 +1,77 @@
+package com.waterballsa.backend.repository;
+
+import com.waterballsa.backend.dto.LessonDto;
+import com.waterballsa.backend.entity.LessonType;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read-only lesson row selected by the list queries of {@link LessonRepository}.
+ *
+ * Rows are built by a JPQL constructor expression, so listing lessons neither loads
+ * managed entities into the persistence context nor dirty-checks them at flush. The
+ * summary constructor, selected by {@link #SUMMARY_SELECT}, leaves out the TEXT
+ * description and the JSONB content metadata, which is otherwise parsed into a map for
+ * every row.
+ */
+public record LessonRow(Long id,
+                        Long chapterId,
+                        String title,
+                        String description,
+                        LessonType lessonType,
+                        String contentUrl,
+                        Integer orderIndex,
+                        Integer durationMinutes,
+                        Boolean isFreePreview,
+                        Boolean isPublished,
+                        LocalDateTime createdAt,
+                        Map<String, Object> contentMetadata) {
+
+    /**
+     * Select clause for full rows of a query over {@code Lesson l}.
+     */
+    static final String SELECT = "new com.waterballsa.backend.repository.LessonRow("
+            + "l.id, l.chapter.id, l.title, l.description, l.lessonType, l.contentUrl, l.orderIndex, "
+            + "l.durationMinutes, l.isFreePreview, l.isPublished, l.createdAt, l.contentMetadata)";
+
+    /**
+     * Select clause for summary rows of a query over {@code Lesson l}.
+     */
+    static final String SUMMARY_SELECT = "new com.waterballsa.backend.repository.LessonRow("
+            + "l.id, l.chapter.id, l.title, l.lessonType, l.contentUrl, l.orderIndex, "
+            + "l.durationMinutes, l.isFreePreview, l.isPublished, l.createdAt)";
+
+    /**
+     * Creates a summary row without the description and content metadata.
+     */
+    public LessonRow(Long id, Long chapterId, String title, LessonType lessonType, String contentUrl,
+                     Integer orderIndex, Integer durationMinutes, Boolean isFreePreview, Boolean isPublished,
+                     LocalDateTime createdAt) {
+        this(id, chapterId, title, null, lessonType, contentUrl, orderIndex, durationMinutes, isFreePreview,
+                isPublished, createdAt, null);
+    }
+
+    /**
+     * Converts the row to a lesson DTO, like {@link LessonDto#from}.
+     *
+     * @return LessonDto instance
+     */
+    public LessonDto toDto() {
+        return LessonDto.builder()
+                .id(id)
+                .chapterId(chapterId)
+                .title(title)
+                .description(description)
+                .lessonType(lessonType)
+                .contentUrl(contentUrl)
+                .orderIndex(orderIndex)
+                .durationMinutes(durationMinutes)
+                .isFreePreview(isFreePreview)
+                .isPublished(isPublished)
+                .createdAt(createdAt)
+                .contentMetadata(contentMetadata != null ? contentMetadata : new HashMap<>())
+                .build();
+    }
+}
@@ -4,11 +4,14 @@ import com.waterballsa.backend.entity.Purchase;
 import com.waterballsa.backend.entity.PurchaseStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,7 +20,7 @@ import java.util.Optional;
  * Provides database access methods for purchase management including:
  * - Finding purchases by user and curriculum
  * - Checking ownership
- * - Retrieving purchase history
+ * - Retrieving purchase history, by page or by cursor
  */
 @Repository
 public interface PurchaseRepository extends JpaRepository<Purchase, Long> {
@@ -72,6 +75,78 @@ public interface PurchaseRepository extends JpaRepository<Purchase, Long> {
         @Param("status") PurchaseStatus status,
         Pageable pageable);
 
+    /**
+     * Finds the first slice of a user's purchases, newest first.
+     *
+     * @param userId the user ID
+     * @param pageable slice size; the offset and sort are ignored
+     * @return slice of the user's purchases
+     */
+    @Query("SELECT p FROM Purchase p " +
+           "LEFT JOIN FETCH p.curriculum c " +
+           "WHERE p.user.id = :userId " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<Purchase> findSliceByUserIdWithCurriculum(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Finds a user's purchases after a cursor, newest first.
+     *
+     * @param userId the user ID
+     * @param createdAt creation time of the last purchase of the previous slice
+     * @param id ID of the last purchase of the previous slice
+     * @param pageable slice size; the offset and sort are ignored
+     * @return slice of the user's purchases
+     */
+    @Query("SELECT p FROM Purchase p " +
+           "LEFT JOIN FETCH p.curriculum c " +
+           "WHERE p.user.id = :userId " +
+           "AND p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<Purchase> findSliceByUserIdWithCurriculumBefore(
+        @Param("userId") Long userId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable);
+
+    /**
+     * Finds the first slice of a user's purchases with a status, most recently purchased first.
+     *
+     * @param userId the user ID
+     * @param status the purchase status (should be COMPLETED)
+     * @param pageable slice size; the offset and sort are ignored
+     * @return slice of the user's purchases
+     */
+    @Query("SELECT p FROM Purchase p " +
+           "LEFT JOIN FETCH p.curriculum c " +
+           "WHERE p.user.id = :userId AND p.status = :status AND p.purchasedAt IS NOT NULL " +
+           "ORDER BY p.purchasedAt DESC, p.id DESC")
+    Slice<Purchase> findSliceByUserIdAndStatus(
+        @Param("userId") Long userId,
+        @Param("status") PurchaseStatus status,
+        Pageable pageable);
+
+    /**
+     * Finds a user's purchases with a status after a cursor, most recently purchased first.
+     *
+     * @param userId the user ID
+     * @param status the purchase status (should be COMPLETED)
+     * @param purchasedAt purchase time of the last purchase of the previous slice
+     * @param id ID of the last purchase of the previous slice
+     * @param pageable slice size; the offset and sort are ignored
+     * @return slice of the user's purchases
+     */
+    @Query("SELECT p FROM Purchase p " +
+           "LEFT JOIN FETCH p.curriculum c " +
+           "WHERE p.user.id = :userId AND p.status = :status " +
+           "AND p.purchasedAt <= :purchasedAt AND (p.purchasedAt < :purchasedAt OR p.id < :id) " +
+           "ORDER BY p.purchasedAt DESC, p.id DESC")
+    Slice<Purchase> findSliceByUserIdAndStatusBefore(
+        @Param("userId") Long userId,
+        @Param("status") PurchaseStatus status,
+        @Param("purchasedAt") LocalDateTime purchasedAt,
+        @Param("id") Long id,
+        Pageable pageable);
+
     /**
      * Finds a completed purchase by user ID and curriculum ID with curriculum details.
      *
@@ -105,4 +180,25 @@ public interface PurchaseRepository extends JpaRepository<Purchase, Long> {
      * @return count of purchases
      */
     long countByCurriculumIdAndStatus(Long curriculumId, PurchaseStatus status);
+
+    /**
+     * Counts purchases of every curriculum in one query; the grouped form of
+     * {@link #countByCurriculumIdAndStatus}.
+     *
+     * @param status the purchase status (should be COMPLETED)
+     * @return purchase counts of curriculums with at least one purchase
+     */
+    @Query("SELECT p.curriculum.id AS curriculumId, COUNT(p) AS purchaseCount FROM Purchase p " +
+           "WHERE p.status = :status GROUP BY p.curriculum.id")
+    List<CurriculumPurchaseCount> countByStatusGroupByCurriculum(@Param("status") PurchaseStatus status);
+
+    /**
+     * Purchase count of one curriculum.
+     */
+    interface CurriculumPurchaseCount {
+
+        Long getCurriculumId();
+
+        long getPurchaseCount();
+    }
 }
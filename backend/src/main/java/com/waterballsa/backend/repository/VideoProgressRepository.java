@@ -25,6 +25,12 @@ public interface VideoProgressRepository extends JpaRepository<VideoProgress, Lo
     @Query("SELECT vp FROM VideoProgress vp WHERE vp.user.id = :userId AND vp.lesson.chapter.id = :chapterId")
     List<VideoProgress> findByUserIdAndLesson_ChapterId(@Param("userId") Long userId, @Param("chapterId") Long chapterId);
 
+    /**
+     * Find all progress records for a user in a curriculum, in a single query
+     */
+    @Query("SELECT vp FROM VideoProgress vp WHERE vp.user.id = :userId AND vp.lesson.chapter.curriculum.id = :curriculumId")
+    List<VideoProgress> findByUserIdAndCurriculumId(@Param("userId") Long userId, @Param("curriculumId") Long curriculumId);
+
     /**
      * Upsert progress using PostgreSQL's INSERT ON CONFLICT
      * This ensures atomic updates and avoids race conditions
@@ -0,0 +1,29 @@
+package com.waterballsa.backend.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the authenticated user into a controller method parameter.
+ *
+ * Supported parameter types:
+ * - {@code Long}: the authenticated user's ID
+ * - {@link JwtPrincipal}: the verified token set by {@link JwtAuthenticationFilter}
+ *
+ * The value is read from the SecurityContext, so the Authorization header is never parsed again.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AuthenticatedUser {
+
+    /**
+     * Whether an authenticated user is required.
+     * When true, a missing authentication results in 401 Unauthorized;
+     * when false, {@code null} is injected instead.
+     */
+    boolean required() default true;
+}
@@ -0,0 +1,64 @@
+package com.waterballsa.backend.security;
+
+import com.waterballsa.backend.exception.UnauthorizedException;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link AuthenticatedUser} parameters from the SecurityContext.
+ *
+ * Relies on the principal stored by {@link JwtAuthenticationFilter}, so controllers get the
+ * user ID without re-verifying the JWT signature.
+ */
+@Component
+public class AuthenticatedUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        if (!parameter.hasParameterAnnotation(AuthenticatedUser.class)) {
+            return false;
+        }
+        Class<?> type = parameter.getParameterType();
+        return Long.class.equals(type) || JwtPrincipal.class.equals(type);
+    }
+
+    @Override
+    public Object resolveArgument(
+            MethodParameter parameter,
+            ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest,
+            WebDataBinderFactory binderFactory
+    ) {
+        AuthenticatedUser annotation = parameter.getParameterAnnotation(AuthenticatedUser.class);
+        Object value = resolve(parameter.getParameterType());
+
+        if (value == null && annotation != null && annotation.required()) {
+            throw new UnauthorizedException("Authentication is required to access this resource");
+        }
+
+        return value;
+    }
+
+    private Object resolve(Class<?> type) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return JwtPrincipal.class.equals(type) ? jwtPrincipal : jwtPrincipal.getUserId();
+        }
+        if (principal instanceof Long userId && Long.class.equals(type)) {
+            return userId;
+        }
+        return null;
+    }
+}
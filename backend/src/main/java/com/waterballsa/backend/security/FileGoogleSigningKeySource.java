@@ -0,0 +1,32 @@
+package com.waterballsa.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Loads Google signing keys from a local JWKS file.
+ *
+ * Used for offline environments and tests; the file is re-read on every refresh.
+ */
+public class FileGoogleSigningKeySource implements GoogleSigningKeySource {
+
+    private final Path path;
+    private final Duration ttl;
+    private final ObjectMapper objectMapper;
+
+    public FileGoogleSigningKeySource(Path path, Duration ttl, ObjectMapper objectMapper) {
+        this.path = path;
+        this.ttl = ttl;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public GoogleSigningKeys load() throws IOException {
+        return GoogleSigningKeys.fromJwks(objectMapper.readTree(Files.readString(path)), Instant.now().plus(ttl));
+    }
+}
@@ -0,0 +1,148 @@
+package com.waterballsa.backend.security;
+
+import com.waterballsa.backend.config.GoogleJwksProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory cache of Google ID token signing keys.
+ *
+ * Keys are loaded at startup and reloaded in the background shortly before they
+ * expire, so token verification never waits on the key endpoint once warm. If a
+ * refresh fails the previous keys stay in use and the refresh is retried. A token
+ * signed with an unknown key ID triggers at most one reload per retry interval to
+ * pick up keys rotated ahead of schedule.
+ */
+@Component
+@Slf4j
+public class GoogleKeyRing {
+
+    private final GoogleSigningKeySource keySource;
+    private final GoogleJwksProperties properties;
+    private final AtomicReference<GoogleSigningKeys> currentKeys = new AtomicReference<>();
+    private final Object loadLock = new Object();
+
+    private volatile long lastLoadAttemptMillis;
+    private ScheduledExecutorService scheduler;
+
+    public GoogleKeyRing(GoogleSigningKeySource keySource, GoogleJwksProperties properties) {
+        this.keySource = keySource;
+        this.properties = properties;
+    }
+
+    /**
+     * Warms the key ring and starts the background refresh.
+     */
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "google-key-ring-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresh();
+    }
+
+    /**
+     * Stops the background refresh.
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the signing key for a key ID.
+     *
+     * @param keyId the key ID from the token header
+     * @return public key, or null if no such key is published
+     * @throws UncheckedIOException if no keys have been loaded and loading fails
+     */
+    public PublicKey getKey(String keyId) {
+        GoogleSigningKeys keys = currentKeys.get();
+        if (keys == null) {
+            keys = loadIfUnchanged(null, true);
+        }
+
+        PublicKey key = keys.get(keyId);
+        if (key == null && keyId != null && canReloadForUnknownKey()) {
+            log.info("Unknown Google signing key {}, reloading keys", keyId);
+            key = loadIfUnchanged(keys, false).get(keyId);
+        }
+        return key;
+    }
+
+    /**
+     * Loads keys on the caller's thread unless another thread replaced the keys first.
+     *
+     * @param seen keys observed by the caller
+     * @param required whether a failure must be thrown rather than keeping the old keys
+     * @return the newest keys
+     */
+    private GoogleSigningKeys loadIfUnchanged(GoogleSigningKeys seen, boolean required) {
+        synchronized (loadLock) {
+            GoogleSigningKeys keys = currentKeys.get();
+            if (keys != seen) {
+                return keys;
+            }
+            try {
+                return load();
+            } catch (IOException e) {
+                if (required) {
+                    throw new UncheckedIOException("Failed to load Google signing keys", e);
+                }
+                log.warn("Failed to reload Google signing keys: {}", e.getMessage());
+                return keys;
+            }
+        }
+    }
+
+    private GoogleSigningKeys load() throws IOException {
+        lastLoadAttemptMillis = System.currentTimeMillis();
+        GoogleSigningKeys keys = keySource.load();
+        currentKeys.set(keys);
+        log.debug("Loaded {} Google signing keys, expiring at {}", keys.keys().size(), keys.expiresAt());
+        return keys;
+    }
+
+    private void refresh() {
+        Duration nextRefresh;
+        try {
+            GoogleSigningKeys keys;
+            synchronized (loadLock) {
+                keys = load();
+            }
+            Duration untilExpiry = Duration.between(Instant.now(), keys.expiresAt());
+            nextRefresh = untilExpiry.minus(properties.getRefreshAhead());
+            if (nextRefresh.compareTo(properties.getRetryInterval()) < 0) {
+                nextRefresh = properties.getRetryInterval();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to refresh Google signing keys, retrying in {}: {}",
+                    properties.getRetryInterval(), e.getMessage());
+            nextRefresh = properties.getRetryInterval();
+        }
+
+        if (scheduler != null && !scheduler.isShutdown()) {
+            scheduler.schedule(this::refresh, nextRefresh.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private boolean canReloadForUnknownKey() {
+        return System.currentTimeMillis() - lastLoadAttemptMillis >= properties.getRetryInterval().toMillis();
+    }
+}
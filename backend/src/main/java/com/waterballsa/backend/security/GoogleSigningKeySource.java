@@ -0,0 +1,21 @@
+package com.waterballsa.backend.security;
+
+import java.io.IOException;
+
+/**
+ * Supplies the public keys Google uses to sign ID tokens.
+ *
+ * Implementations may fetch keys over HTTP, read them from a file, or return
+ * in-process keys for tests. {@link GoogleKeyRing} caches whatever is returned.
+ */
+@FunctionalInterface
+public interface GoogleSigningKeySource {
+
+    /**
+     * Loads the current signing keys.
+     *
+     * @return signing keys and the time they should be refreshed by
+     * @throws IOException if the keys cannot be loaded
+     */
+    GoogleSigningKeys load() throws IOException;
+}
@@ -0,0 +1,75 @@
+package com.waterballsa.backend.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of Google signing keys indexed by key ID ("kid").
+ *
+ * @param keys public keys by key ID
+ * @param expiresAt time after which the keys should be reloaded
+ */
+public record GoogleSigningKeys(Map<String, PublicKey> keys, Instant expiresAt) {
+
+    public GoogleSigningKeys {
+        keys = Map.copyOf(keys);
+    }
+
+    /**
+     * Gets the key with the given key ID.
+     *
+     * @param keyId the key ID from the token header
+     * @return public key, or null if unknown
+     */
+    public PublicKey get(String keyId) {
+        return keyId != null ? keys.get(keyId) : null;
+    }
+
+    /**
+     * Builds signing keys from a JWKS document. Only RSA keys are kept.
+     *
+     * @param jwks parsed JWKS document
+     * @param expiresAt time after which the keys should be reloaded
+     * @return signing keys
+     * @throws IOException if the document is not a valid JWKS
+     */
+    public static GoogleSigningKeys fromJwks(JsonNode jwks, Instant expiresAt) throws IOException {
+        JsonNode keyNodes = jwks.path("keys");
+        if (!keyNodes.isArray()) {
+            throw new IOException("JWKS document has no keys array");
+        }
+
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (JsonNode key : keyNodes) {
+            if (!"RSA".equals(key.path("kty").asText())) {
+                continue;
+            }
+            keys.put(key.path("kid").asText(), toRsaPublicKey(key));
+        }
+        if (keys.isEmpty()) {
+            throw new IOException("JWKS document has no RSA keys");
+        }
+        return new GoogleSigningKeys(keys, expiresAt);
+    }
+
+    private static PublicKey toRsaPublicKey(JsonNode key) throws IOException {
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            BigInteger modulus = new BigInteger(1, decoder.decode(key.path("n").asText()));
+            BigInteger exponent = new BigInteger(1, decoder.decode(key.path("e").asText()));
+            return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, exponent));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IOException("Invalid RSA key " + key.path("kid").asText(), e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.waterballsa.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loads Google signing keys from the JWKS endpoint.
+ *
+ * The key lifetime is taken from the Cache-Control max-age of the response, which
+ * Google sets to match its key rotation schedule.
+ */
+@Slf4j
+public class HttpGoogleSigningKeySource implements GoogleSigningKeySource {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final HttpClient httpClient;
+    private final URI uri;
+    private final Duration timeout;
+    private final Duration defaultTtl;
+    private final ObjectMapper objectMapper;
+
+    public HttpGoogleSigningKeySource(URI uri, Duration timeout, Duration defaultTtl, ObjectMapper objectMapper) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+        this.uri = uri;
+        this.timeout = timeout;
+        this.defaultTtl = defaultTtl;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public GoogleSigningKeys load() throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .GET()
+                .build();
+
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching Google signing keys", e);
+        }
+
+        if (response.statusCode() != 200) {
+            throw new IOException("Google JWKS endpoint returned HTTP " + response.statusCode());
+        }
+
+        Duration ttl = response.headers()
+                .firstValue("Cache-Control")
+                .map(this::parseMaxAge)
+                .orElse(defaultTtl);
+        log.debug("Fetched Google signing keys, valid for {}", ttl);
+
+        return GoogleSigningKeys.fromJwks(objectMapper.readTree(response.body()), Instant.now().plus(ttl));
+    }
+
+    private Duration parseMaxAge(String cacheControl) {
+        Matcher matcher = MAX_AGE.matcher(cacheControl);
+        return matcher.find() ? Duration.ofSeconds(Long.parseLong(matcher.group(1))) : defaultTtl;
+    }
+}
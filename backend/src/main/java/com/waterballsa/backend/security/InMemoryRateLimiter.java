@@ -0,0 +1,93 @@
+package com.waterballsa.backend.security;
+
+import com.waterballsa.backend.config.RateLimitProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Single-node rate limiter with lock-free token buckets.
+ *
+ * Each bucket holds an immutable state that is replaced with compare-and-set, so
+ * concurrent requests for the same client never block each other.
+ */
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+
+    public InMemoryRateLimiter() {
+        this(System::nanoTime);
+    }
+
+    InMemoryRateLimiter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public RateLimitResult tryConsume(String key, RateLimitProperties.Limit limit) {
+        long now = nanoClock.getAsLong();
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(limit, now)).tryConsume(now);
+    }
+
+    /**
+     * Drops buckets that have refilled completely, since they are equivalent to new ones.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.cleanup-interval:PT1M}")
+    public void evictIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    /**
+     * Number of buckets currently tracked.
+     *
+     * @return bucket count
+     */
+    int size() {
+        return buckets.size();
+    }
+
+    private static final class TokenBucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private final AtomicReference<State> state;
+
+        private TokenBucket(RateLimitProperties.Limit limit, long now) {
+            this.capacity = limit.getCapacity();
+            this.tokensPerNano = capacity / limit.getPeriod().toNanos();
+            this.state = new AtomicReference<>(new State(capacity, now));
+        }
+
+        private RateLimitResult tryConsume(long now) {
+            while (true) {
+                State current = state.get();
+                double tokens = current.tokensAt(now, capacity, tokensPerNano);
+                if (tokens < 1) {
+                    long retryAfterNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+                    return new RateLimitResult(false, 0, TimeUnit.NANOSECONDS.toMillis(retryAfterNanos) + 1);
+                }
+                State next = new State(tokens - 1, Math.max(now, current.updatedAt));
+                if (state.compareAndSet(current, next)) {
+                    return new RateLimitResult(true, (long) next.tokens, 0);
+                }
+            }
+        }
+
+        private boolean isFull(long now) {
+            return state.get().tokensAt(now, capacity, tokensPerNano) >= capacity;
+        }
+    }
+
+    private record State(double tokens, long updatedAt) {
+
+        double tokensAt(long now, double capacity, double tokensPerNano) {
+            long elapsed = Math.max(0, now - updatedAt);
+            return Math.min(capacity, tokens + elapsed * tokensPerNano);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.waterballsa.backend.security;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Single-instance revocation store backed by concurrent maps.
+ *
+ * Suitable for development and single-node deployments; revocations are lost on restart.
+ */
+public class InMemoryRevocationStore implements RevocationStore {
+
+    private final Map<String, Instant> usedTokens = new ConcurrentHashMap<>();
+    private final Map<String, Instant> revokedFamilies = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public boolean markUsed(String tokenId, Instant expiresAt) {
+        return usedTokens.putIfAbsent(tokenId, expiresAt) == null;
+    }
+
+    @Override
+    public void revokeFamily(String familyId, Instant expiresAt) {
+        revokedFamilies.merge(familyId, expiresAt, (current, next) -> next.isAfter(current) ? next : current);
+        listeners.forEach(listener -> listener.accept(familyId));
+    }
+
+    @Override
+    public boolean isFamilyRevoked(String familyId) {
+        Instant expiresAt = revokedFamilies.get(familyId);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    @Override
+    public void forEachRevokedFamily(Consumer<String> consumer) {
+        revokedFamilies.keySet().forEach(consumer);
+    }
+
+    @Override
+    public void addRevocationListener(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Drops entries whose tokens have expired.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.purge-interval:PT10M}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        usedTokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        revokedFamilies.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    }
+}
@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -17,22 +18,28 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
 
 /**
  * JWT Authentication Filter that intercepts requests and validates JWT tokens.
  *
  * This filter:
  * 1. Extracts JWT token from Authorization header
- * 2. Validates the token
- * 3. Sets authentication in Spring Security context
+ * 2. Verifies the token once (signature and expiration)
+ * 3. Rejects tokens whose family has been revoked
+ * 4. Sets a {@link JwtPrincipal} as the authenticated principal in Spring Security context
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final List<GrantedAuthority> USER_AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
 
     @Override
     protected void doFilterInternal(
@@ -44,24 +51,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
-                Long userId = jwtUtil.extractUserId(jwt);
-                String email = jwtUtil.extractEmail(jwt);
-
-                // Create authentication object with user details
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userId,
-                                null,
-                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
-                        );
-
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                // Set authentication in security context
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (jwt != null) {
+                JwtPrincipal principal = jwtUtil.verify(jwt);
 
-                log.debug("Set authentication for user: {}", email);
+                if (tokenRevocationService.isRevoked(principal)) {
+                    log.debug("Rejected revoked token for user: {}", principal.getEmail());
+                } else {
+                    authenticate(principal, request);
+                }
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
@@ -70,6 +67,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Sets the verified token as the authenticated principal of the current request.
+     *
+     * @param principal the verified token
+     * @param request the HTTP request
+     */
+    private void authenticate(JwtPrincipal principal, HttpServletRequest request) {
+        // Create authentication object with the verified token as principal
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(
+                        principal,
+                        null,
+                        USER_AUTHORITIES
+                );
+
+        authentication.setDetails(authenticationDetailsSource.buildDetails(request));
+
+        // Set authentication in security context
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        log.debug("Set authentication for user: {}", principal.getEmail());
+    }
+
     /**
      * Extracts JWT token from Authorization header.
      *
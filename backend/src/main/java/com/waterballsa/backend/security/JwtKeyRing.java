@@ -0,0 +1,163 @@
+package com.waterballsa.backend.security;
+
+import com.waterballsa.backend.config.JwtProperties;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.KeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keys used to sign and verify JWT tokens.
+ *
+ * With asymmetric keys configured, new tokens are signed by the active key (EdDSA for
+ * Ed25519 keys, ES256 for EC P-256 keys) and carry its ID in the "kid" header. Every
+ * configured public key can verify tokens, so a new key and the keys it replaces are
+ * valid side by side during rotation. Tokens without a "kid" are rejected, unless
+ * {@code jwt.accept-legacy-hmac} is set to keep tokens issued with the HMAC secret before
+ * the switch valid.
+ */
+public final class JwtKeyRing {
+
+    private static final List<String> KEY_ALGORITHMS = List.of("Ed25519", "EC");
+
+    private final String activeKeyId;
+    private final Key signingKey;
+    private final Map<String, PublicKey> publicKeys;
+    private final SecretKey hmacKey;
+
+    private JwtKeyRing(String activeKeyId, Key signingKey, Map<String, PublicKey> publicKeys, SecretKey hmacKey) {
+        this.activeKeyId = activeKeyId;
+        this.signingKey = signingKey;
+        this.publicKeys = Collections.unmodifiableMap(publicKeys);
+        this.hmacKey = hmacKey;
+    }
+
+    /**
+     * Builds the key ring from configuration.
+     *
+     * @param properties JWT configuration
+     * @return key ring
+     * @throws IllegalStateException if the keys are misconfigured
+     */
+    public static JwtKeyRing from(JwtProperties properties) {
+        SecretKey hmacKey = StringUtils.hasText(properties.getSecret())
+                ? Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8))
+                : null;
+
+        if (properties.getKeys().isEmpty()) {
+            if (hmacKey == null) {
+                throw new IllegalStateException("Either jwt.secret or jwt.keys must be configured");
+            }
+            return new JwtKeyRing(null, hmacKey, Map.of(), hmacKey);
+        }
+
+        SecretKey legacyKey = properties.isAcceptLegacyHmac() ? hmacKey : null;
+        Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+        PrivateKey activePrivateKey = null;
+        for (JwtProperties.SigningKey key : properties.getKeys()) {
+            if (!StringUtils.hasText(key.getId()) || !StringUtils.hasText(key.getPublicKey())) {
+                throw new IllegalStateException("Every entry in jwt.keys needs an id and a public-key");
+            }
+            publicKeys.put(key.getId(), (PublicKey) decode(key.getPublicKey(), false));
+            if (key.getId().equals(properties.getActiveKeyId()) && StringUtils.hasText(key.getPrivateKey())) {
+                activePrivateKey = (PrivateKey) decode(key.getPrivateKey(), true);
+            }
+        }
+        if (activePrivateKey == null) {
+            throw new IllegalStateException("jwt.active-key-id must name a key in jwt.keys with a private-key");
+        }
+        return new JwtKeyRing(properties.getActiveKeyId(), activePrivateKey, publicKeys, legacyKey);
+    }
+
+    /**
+     * Gets the ID of the signing key, or null when signing with the HMAC secret.
+     *
+     * @return active key ID
+     */
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * Gets the key new tokens are signed with.
+     *
+     * @return private key, or the HMAC secret key
+     */
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Gets the published verification keys by key ID.
+     *
+     * @return public keys, empty when signing with the HMAC secret
+     */
+    public Map<String, PublicKey> getPublicKeys() {
+        return publicKeys;
+    }
+
+    /**
+     * Publishes the verification keys as a JSON Web Key Set, so other services can
+     * verify tokens without sharing a secret.
+     *
+     * @return JWK set of all public keys
+     */
+    public JwkSet toJwkSet() {
+        var builder = Jwks.set();
+        publicKeys.forEach((keyId, key) -> builder.add(Jwks.builder().key(key).id(keyId).build()));
+        return builder.build();
+    }
+
+    /**
+     * Finds the key that verifies a token.
+     *
+     * @param keyId the "kid" token header, or null
+     * @return verification key
+     * @throws SecurityException if no key matches
+     */
+    public Key verificationKey(String keyId) {
+        if (keyId == null) {
+            if (hmacKey == null) {
+                throw new SecurityException("Token has no key ID");
+            }
+            return hmacKey;
+        }
+        PublicKey key = publicKeys.get(keyId);
+        if (key == null) {
+            throw new SecurityException("Unknown signing key: " + keyId);
+        }
+        return key;
+    }
+
+    private static Key decode(String encoded, boolean isPrivate) {
+        String base64 = encoded.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        byte[] der = Base64.getDecoder().decode(base64);
+        KeySpec spec = isPrivate ? new PKCS8EncodedKeySpec(der) : new X509EncodedKeySpec(der);
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                KeyFactory keyFactory = KeyFactory.getInstance(algorithm);
+                return isPrivate ? keyFactory.generatePrivate(spec) : keyFactory.generatePublic(spec);
+            } catch (GeneralSecurityException e) {
+                // Not a key of this algorithm, try the next one
+            }
+        }
+        throw new IllegalStateException("Unsupported JWT key; expected an Ed25519 or EC P-256 key");
+    }
+}
@@ -0,0 +1,95 @@
+package com.waterballsa.backend.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Verified JWT token stored as the Spring Security principal.
+ *
+ * Instances are only created after the token signature and expiration have been
+ * checked, so downstream code can read the claims without parsing the token again.
+ */
+@Getter
+public final class JwtPrincipal implements Principal {
+
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+    public static final String CLAIM_FAMILY_ID = "fid";
+
+    private final Long userId;
+    private final String email;
+    private final String tokenType;
+    private final String tokenId;
+    private final String familyId;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+    private final Claims claims;
+
+    private JwtPrincipal(Claims claims) {
+        this.claims = claims;
+        this.userId = claims.get("userId", Long.class);
+        this.email = claims.getSubject();
+        this.tokenType = claims.get("type", String.class);
+        this.tokenId = claims.getId();
+        this.familyId = claims.get(CLAIM_FAMILY_ID, String.class);
+        this.issuedAt = toInstant(claims.getIssuedAt());
+        this.expiresAt = toInstant(claims.getExpiration());
+    }
+
+    /**
+     * Wraps the claims of a token whose signature has already been verified.
+     *
+     * @param claims verified token claims
+     * @return JwtPrincipal instance
+     */
+    public static JwtPrincipal from(Claims claims) {
+        return new JwtPrincipal(claims);
+    }
+
+    /**
+     * Checks if this is an access token.
+     *
+     * @return true if token type is access
+     */
+    public boolean isAccessToken() {
+        return TYPE_ACCESS.equals(tokenType);
+    }
+
+    /**
+     * Checks if this is a refresh token.
+     *
+     * @return true if token type is refresh
+     */
+    public boolean isRefreshToken() {
+        return TYPE_REFRESH.equals(tokenType);
+    }
+
+    /**
+     * Checks if the token has expired at the given instant.
+     *
+     * @param now the instant to check against
+     * @return true if token is expired
+     */
+    public boolean isExpiredAt(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return "JwtPrincipal(userId=" + userId + ", email=" + email + ", tokenType=" + tokenType
+                + ", expiresAt=" + expiresAt + ")";
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+}
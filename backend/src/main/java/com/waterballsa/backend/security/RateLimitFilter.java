@@ -0,0 +1,126 @@
+package com.waterballsa.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waterballsa.backend.config.RateLimitProperties;
+import com.waterballsa.backend.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Rate Limit Filter that enforces per-client token buckets on API routes.
+ *
+ * This filter runs after {@link JwtAuthenticationFilter}, so authenticated requests are
+ * limited per user and anonymous requests per client IP. Each route group
+ * ({@link RateLimitGroup}) has its own bucket per client. Rejected requests get a
+ * 429 Too Many Requests response with a Retry-After header and are counted in
+ * {@code ratelimit.rejections}.
+ *
+ * The client IP is {@link HttpServletRequest#getRemoteAddr()}. Behind the reverse proxy
+ * that is the proxy's address unless {@code server.forward-headers-strategy} lets the
+ * server take the client address from X-Forwarded-For.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<RateLimitGroup, Counter> rejections = new EnumMap<>(RateLimitGroup.class);
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            rejections.put(group, Counter.builder("ratelimit.rejections")
+                    .description("Requests rejected with 429 by the rate limiter")
+                    .tag("group", group.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RateLimitGroup group = RateLimitGroup.resolve(request.getMethod(), request.getRequestURI());
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String client = resolveClient(request);
+        RateLimitProperties.Limit limit = properties.getLimit(group);
+        RateLimiter.RateLimitResult result = rateLimiter.tryConsume(group.name() + ":" + client, limit);
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(limit.getCapacity()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(result.remaining()));
+
+        if (!result.allowed()) {
+            rejections.get(group).increment();
+            log.debug("Rate limit exceeded for {} on {} routes", client, group);
+            writeTooManyRequests(request, response, result.retryAfterMillis());
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Identifies the client by user ID when authenticated, otherwise by IP address.
+     *
+     * @param request the HTTP request
+     * @return client key
+     */
+    private String resolveClient(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return "user:" + principal.getUserId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void writeTooManyRequests(HttpServletRequest request, HttpServletResponse response,
+                                      long retryAfterMillis) throws IOException {
+        long retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+
+        ErrorResponse errorResponse = ErrorResponse.of(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                "Rate limit exceeded, retry after " + retryAfterSeconds + " seconds",
+                request.getRequestURI()
+        );
+
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,52 @@
+package com.waterballsa.backend.security;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+/**
+ * Route groups that share a rate limit.
+ */
+public enum RateLimitGroup {
+
+    AUTH(null, List.of("/api/auth/**")),
+    PROGRESS(null, List.of("/api/lessons/*/progress", "/api/lessons/chapters/*/progress",
+            "/api/curriculums/*/outline")),
+    CHECKOUT(null, List.of("/api/purchases/**", "/api/coupons/**", "/api/curriculums/*/order-preview")),
+    CATALOG(HttpMethod.GET, List.of("/api/curriculums/**", "/api/chapters/**", "/api/lessons/**", "/api/search")),
+    DEFAULT(null, List.of("/api/**"));
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final HttpMethod method;
+    private final List<String> patterns;
+
+    RateLimitGroup(HttpMethod method, List<String> patterns) {
+        this.method = method;
+        this.patterns = patterns;
+    }
+
+    /**
+     * Finds the group for a request; the first matching group wins.
+     *
+     * @param method the HTTP method
+     * @param path the request path
+     * @return the matching group, or null if the path is not rate limited
+     */
+    public static RateLimitGroup resolve(String method, String path) {
+        for (RateLimitGroup group : values()) {
+            if (group.matches(method, path)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private boolean matches(String requestMethod, String path) {
+        if (method != null && !method.matches(requestMethod)) {
+            return false;
+        }
+        return patterns.stream().anyMatch(pattern -> PATH_MATCHER.match(pattern, path));
+    }
+}
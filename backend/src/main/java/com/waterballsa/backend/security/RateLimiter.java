@@ -0,0 +1,28 @@
+package com.waterballsa.backend.security;
+
+import com.waterballsa.backend.config.RateLimitProperties;
+
+/**
+ * Token bucket rate limiter.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes one token from the bucket identified by the key.
+     *
+     * @param key bucket key, e.g. route group plus user or IP
+     * @param limit capacity and refill period of the bucket
+     * @return whether the request is allowed, with remaining tokens and retry delay
+     */
+    RateLimitResult tryConsume(String key, RateLimitProperties.Limit limit);
+
+    /**
+     * Outcome of a rate limit check.
+     *
+     * @param allowed whether the request may proceed
+     * @param remaining whole tokens left in the bucket
+     * @param retryAfterMillis time until the next token is available when rejected
+     */
+    record RateLimitResult(boolean allowed, long remaining, long retryAfterMillis) {
+    }
+}
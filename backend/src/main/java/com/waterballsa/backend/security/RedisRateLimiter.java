@@ -0,0 +1,53 @@
+package com.waterballsa.backend.security;
+
+import com.waterballsa.backend.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Cluster-wide rate limiter keeping token buckets in Redis.
+ *
+ * Each check runs one Lua script, so refilling and taking a token is atomic across
+ * all nodes and costs a single round trip. If Redis is unavailable, requests are
+ * allowed rather than failing the API.
+ */
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/token_bucket.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public RateLimitResult tryConsume(String key, RateLimitProperties.Limit limit) {
+        try {
+            List<?> result = redisTemplate.execute(
+                    TOKEN_BUCKET_SCRIPT,
+                    List.of(KEY_PREFIX + key),
+                    String.valueOf(limit.getCapacity()),
+                    String.valueOf(limit.getPeriod().toMillis()));
+            if (result == null || result.size() < 3) {
+                return new RateLimitResult(true, limit.getCapacity(), 0);
+            }
+            return new RateLimitResult(
+                    ((Number) result.get(0)).longValue() == 1,
+                    ((Number) result.get(1)).longValue(),
+                    ((Number) result.get(2)).longValue());
+        } catch (RuntimeException e) {
+            log.warn("Rate limit check failed, allowing request: {}", e.getMessage());
+            return new RateLimitResult(true, limit.getCapacity(), 0);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.waterballsa.backend.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Revocation store shared by all instances through Redis.
+ *
+ * Used refresh tokens and revoked families are stored as keys that expire with the
+ * tokens. Revocations are also published on a channel so every instance can update
+ * its local Bloom filter immediately.
+ */
+@Slf4j
+public class RedisRevocationStore implements RevocationStore {
+
+    static final String USED_TOKEN_PREFIX = "auth:refresh:used:";
+    static final String REVOKED_FAMILY_PREFIX = "auth:family:revoked:";
+    static final String REVOCATION_CHANNEL = "auth:family:revocations";
+
+    private final StringRedisTemplate redisTemplate;
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    public RedisRevocationStore(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer) {
+        this.redisTemplate = redisTemplate;
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String familyId = new String(message.getBody(), StandardCharsets.UTF_8);
+            listeners.forEach(listener -> listener.accept(familyId));
+        }, new ChannelTopic(REVOCATION_CHANNEL));
+    }
+
+    @Override
+    public boolean markUsed(String tokenId, Instant expiresAt) {
+        Boolean firstUse = redisTemplate.opsForValue()
+                .setIfAbsent(USED_TOKEN_PREFIX + tokenId, "1", ttlUntil(expiresAt));
+        return Boolean.TRUE.equals(firstUse);
+    }
+
+    @Override
+    public void revokeFamily(String familyId, Instant expiresAt) {
+        redisTemplate.opsForValue().set(REVOKED_FAMILY_PREFIX + familyId, "1", ttlUntil(expiresAt));
+        redisTemplate.convertAndSend(REVOCATION_CHANNEL, familyId);
+    }
+
+    @Override
+    public boolean isFamilyRevoked(String familyId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(REVOKED_FAMILY_PREFIX + familyId));
+    }
+
+    @Override
+    public void forEachRevokedFamily(Consumer<String> consumer) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(REVOKED_FAMILY_PREFIX + "*")
+                .count(1000)
+                .build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(key -> consumer.accept(key.substring(REVOKED_FAMILY_PREFIX.length())));
+        }
+    }
+
+    @Override
+    public void addRevocationListener(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    private Duration ttlUntil(Instant expiresAt) {
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        return ttl.isNegative() || ttl.isZero() ? Duration.ofSeconds(1) : ttl;
+    }
+}
@@ -0,0 +1,53 @@
+package com.waterballsa.backend.security;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Storage for refresh-token use and token family revocations.
+ *
+ * A token family is the chain of access and refresh tokens issued from one login;
+ * every token in it carries the same family ID. Entries only need to be kept until
+ * the tokens they refer to expire.
+ */
+public interface RevocationStore {
+
+    /**
+     * Atomically records that a refresh token has been used.
+     *
+     * @param tokenId the refresh token ID (jti)
+     * @param expiresAt when the refresh token expires
+     * @return true if this is the first use, false if the token was used before
+     */
+    boolean markUsed(String tokenId, Instant expiresAt);
+
+    /**
+     * Revokes every token in a family.
+     *
+     * @param familyId the token family ID
+     * @param expiresAt when the last token of the family expires
+     */
+    void revokeFamily(String familyId, Instant expiresAt);
+
+    /**
+     * Checks whether a token family has been revoked.
+     *
+     * @param familyId the token family ID
+     * @return true if revoked
+     */
+    boolean isFamilyRevoked(String familyId);
+
+    /**
+     * Passes every currently revoked family ID to the consumer.
+     *
+     * @param consumer receiver of revoked family IDs
+     */
+    void forEachRevokedFamily(Consumer<String> consumer);
+
+    /**
+     * Registers a listener called when any instance revokes a family.
+     *
+     * @param listener receiver of newly revoked family IDs
+     */
+    void addRevocationListener(Consumer<String> listener);
+}
@@ -0,0 +1,129 @@
+package com.waterballsa.backend.security;
+
+import com.waterballsa.backend.config.JwtProperties;
+import com.waterballsa.backend.config.RevocationProperties;
+import com.waterballsa.backend.exception.UnauthorizedException;
+import com.waterballsa.backend.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Refresh-token rotation and token family revocation.
+ *
+ * Revocation checks run on every authenticated request, so they go through a local
+ * Bloom filter of revoked family IDs first; only families the filter reports as
+ * possibly revoked are looked up in the {@link RevocationStore}. The filter is fed
+ * by revocations from all instances and rebuilt periodically to drop expired ones.
+ */
+@Component
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevocationStore revocationStore;
+    private final RevocationProperties properties;
+    private final JwtProperties jwtProperties;
+    private final AtomicReference<BloomFilter> revokedFamilies;
+
+    public TokenRevocationService(RevocationStore revocationStore,
+                                  RevocationProperties properties,
+                                  JwtProperties jwtProperties) {
+        this.revocationStore = revocationStore;
+        this.properties = properties;
+        this.jwtProperties = jwtProperties;
+        this.revokedFamilies = new AtomicReference<>(newFilter());
+        revocationStore.addRevocationListener(familyId -> revokedFamilies.get().add(familyId));
+    }
+
+    /**
+     * Seeds the Bloom filter with revocations made before this instance started.
+     */
+    @PostConstruct
+    public void init() {
+        rebuildFilter();
+    }
+
+    /**
+     * Checks whether the token's family has been revoked.
+     *
+     * @param principal verified token
+     * @return true if the token must no longer be accepted
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        String familyId = principal.getFamilyId();
+        if (familyId == null || !revokedFamilies.get().mightContain(familyId)) {
+            return false;
+        }
+        return revocationStore.isFamilyRevoked(familyId);
+    }
+
+    /**
+     * Consumes a refresh token so it cannot be used again.
+     *
+     * If the token was already used, it has been stolen or replayed, so its whole
+     * family is revoked.
+     *
+     * @param refreshToken verified refresh token
+     * @throws UnauthorizedException if the token's family is revoked or the token was reused
+     */
+    public void consumeRefreshToken(JwtPrincipal refreshToken) {
+        if (isRevoked(refreshToken)) {
+            throw new UnauthorizedException("Refresh token has been revoked");
+        }
+        if (refreshToken.getTokenId() == null) {
+            // Issued before rotation was introduced; it cannot be tracked
+            return;
+        }
+        if (!revocationStore.markUsed(refreshToken.getTokenId(), refreshToken.getExpiresAt())) {
+            log.warn("Refresh token reuse detected for user {}, revoking token family", refreshToken.getUserId());
+            revokeFamily(refreshToken.getFamilyId());
+            throw new UnauthorizedException("Refresh token has already been used");
+        }
+    }
+
+    /**
+     * Revokes the token family the given token belongs to.
+     *
+     * @param principal verified token
+     */
+    public void revoke(JwtPrincipal principal) {
+        revokeFamily(principal.getFamilyId());
+    }
+
+    /**
+     * Rebuilds the Bloom filter from the store, dropping expired revocations.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.bloom-rebuild-interval:PT1H}",
+               initialDelayString = "${auth.revocation.bloom-rebuild-interval:PT1H}")
+    public void rebuildFilter() {
+        try {
+            BloomFilter filter = newFilter();
+            revocationStore.forEachRevokedFamily(filter::add);
+            revokedFamilies.set(filter);
+            // Pick up revocations stored while the first scan was running
+            revocationStore.forEachRevokedFamily(filter::add);
+        } catch (RuntimeException e) {
+            // A failed rebuild keeps the current filter, which still covers every revocation
+            log.warn("Failed to rebuild revoked token filter: {}", e.getMessage());
+        }
+    }
+
+    private void revokeFamily(String familyId) {
+        if (familyId == null) {
+            return;
+        }
+        // Any token of the family expires at most one refresh-token lifetime from now
+        Instant expiresAt = Instant.now().plusMillis(jwtProperties.getRefreshTokenExpiration());
+        revokedFamilies.get().add(familyId);
+        revocationStore.revokeFamily(familyId, expiresAt);
+        log.info("Revoked token family {}", familyId);
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(properties.getBloomExpectedInsertions(), properties.getBloomFalsePositiveRate());
+    }
+}
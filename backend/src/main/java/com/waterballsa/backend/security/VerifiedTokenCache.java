@@ -0,0 +1,101 @@
+package com.waterballsa.backend.security;
+
+import com.waterballsa.backend.config.JwtProperties;
+import com.waterballsa.backend.util.BoundedExpiringCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+
+/**
+ * Cache of verified JWT principals, enabled with {@code jwt.verified-cache.enabled=true}.
+ *
+ * Clients reuse the same access token for its whole lifetime, so repeated requests
+ * (e.g. player heartbeats) can skip signature verification. Entries are keyed by the
+ * SHA-256 digest of the token, so raw tokens are never retained, and each entry
+ * expires at the earlier of the configured TTL and the token's own expiration.
+ */
+@Component
+@ConditionalOnProperty(prefix = "jwt.verified-cache", name = "enabled", havingValue = "true")
+@Slf4j
+public class VerifiedTokenCache {
+
+    private final BoundedExpiringCache<TokenDigest, JwtPrincipal> cache;
+    private final long ttlMillis;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        JwtProperties.VerifiedCache config = jwtProperties.getVerifiedCache();
+        this.cache = new BoundedExpiringCache<>(config.getMaxEntries());
+        this.ttlMillis = config.getTtl().toMillis();
+        this.hits = Counter.builder("jwt.verified.cache.requests")
+                .description("Verified token cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("jwt.verified.cache.requests")
+                .description("Verified token cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("jwt.verified.cache.size", cache, BoundedExpiringCache::size)
+                .description("Verified tokens currently cached")
+                .register(meterRegistry);
+        log.info("Verified token cache enabled (maxEntries={}, ttl={})", config.getMaxEntries(), config.getTtl());
+    }
+
+    /**
+     * Gets the cached principal for a token.
+     *
+     * @param token the raw JWT token
+     * @return cached principal, or null if the token has not been verified recently
+     */
+    public JwtPrincipal get(String token) {
+        JwtPrincipal principal = cache.get(TokenDigest.of(token));
+        if (principal == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return principal;
+    }
+
+    /**
+     * Caches a freshly verified principal until the earlier of the TTL and its expiration.
+     *
+     * @param token the raw JWT token
+     * @param principal the verified principal
+     */
+    public void put(String token, JwtPrincipal principal) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        Instant tokenExpiry = principal.getExpiresAt();
+        if (tokenExpiry != null) {
+            expiresAt = Math.min(expiresAt, tokenExpiry.toEpochMilli());
+        }
+        cache.put(TokenDigest.of(token), principal, expiresAt);
+    }
+
+    /**
+     * SHA-256 digest of a token, held as four longs for cheap hashing and equality.
+     */
+    private record TokenDigest(long h0, long h1, long h2, long h3) {
+
+        static TokenDigest of(String token) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256")
+                        .digest(token.getBytes(StandardCharsets.US_ASCII));
+                ByteBuffer buffer = ByteBuffer.wrap(digest);
+                return new TokenDigest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
@@ -6,6 +6,8 @@ import com.waterballsa.backend.dto.UserDto;
 import com.waterballsa.backend.entity.User;
 import com.waterballsa.backend.exception.UnauthorizedException;
 import com.waterballsa.backend.repository.UserRepository;
+import com.waterballsa.backend.security.JwtPrincipal;
+import com.waterballsa.backend.security.TokenRevocationService;
 import com.waterballsa.backend.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,7 +21,8 @@ import java.time.LocalDateTime;
  *
  * Provides methods for:
  * - Google OAuth login
- * - JWT token refresh
+ * - JWT token refresh with refresh-token rotation
+ * - Logout by revoking the token family
  * - User registration/login
  */
 @Service
@@ -31,10 +34,14 @@ public class AuthenticationService {
     private final GoogleOAuthService googleOAuthService;
     private final JwtUtil jwtUtil;
     private final JwtProperties jwtProperties;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserSnapshotCache userSnapshotCache;
+    private final LastLoginRecorder lastLoginRecorder;
 
     /**
      * Authenticates a user with Google OAuth ID token.
-     * Creates a new user if they don't exist, or updates existing user's last login.
+     * Creates a new user if they don't exist. The last login time is recorded
+     * asynchronously by {@link LastLoginRecorder}, so existing users are not written.
      *
      * @param googleIdToken the Google ID token from frontend
      * @return AuthResponse with JWT tokens and user info
@@ -49,13 +56,16 @@ public class AuthenticationService {
         User user = userRepository.findByGoogleId(googleUserInfo.getGoogleId())
                 .orElseGet(() -> createNewUser(googleUserInfo));
 
-        // Update last login time
-        user.updateLastLogin();
-        user = userRepository.save(user);
+        // Record last login time; it is written in the next batch
+        LocalDateTime loginAt = LocalDateTime.now();
+        lastLoginRecorder.record(user.getId(), loginAt);
+        UserDto userDto = UserDto.from(user);
+        userDto.setLastLoginAt(loginAt);
 
-        // Generate JWT tokens
-        String accessToken = jwtUtil.generateAccessToken(user.getId(), user.getEmail());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getId(), user.getEmail());
+        // Generate JWT tokens in a new token family
+        String familyId = jwtUtil.newFamilyId();
+        String accessToken = jwtUtil.generateAccessToken(user.getId(), user.getEmail(), familyId);
+        String refreshToken = jwtUtil.generateRefreshToken(user.getId(), user.getEmail(), familyId);
 
         log.info("User authenticated successfully: {}", user.getEmail());
 
@@ -63,59 +73,66 @@ public class AuthenticationService {
                 accessToken,
                 refreshToken,
                 jwtProperties.getAccessTokenExpiration(),
-                UserDto.from(user)
+                userDto
         );
     }
 
     /**
      * Refreshes access token using a valid refresh token.
      *
+     * The refresh token is single-use: a new refresh token in the same token family is
+     * returned, and presenting an already used refresh token revokes the whole family.
+     *
      * @param refreshToken the refresh token
-     * @return AuthResponse with new access token
-     * @throws UnauthorizedException if refresh token is invalid
+     * @return AuthResponse with new access and refresh tokens
+     * @throws UnauthorizedException if refresh token is invalid, revoked or reused
      */
-    @Transactional(readOnly = true)
     public AuthResponse refreshAccessToken(String refreshToken) {
-        // Validate refresh token
-        jwtUtil.validateRefreshToken(refreshToken);
-
-        // Extract user info from token
-        Long userId = jwtUtil.extractUserId(refreshToken);
-        String email = jwtUtil.extractEmail(refreshToken);
+        // Validate refresh token and extract user info in a single parse
+        JwtPrincipal principal = jwtUtil.validateRefreshToken(refreshToken);
 
         // Verify user still exists
-        User user = userRepository.findById(userId)
+        UserDto user = userSnapshotCache.find(principal.getUserId())
                 .orElseThrow(() -> new UnauthorizedException("User not found"));
 
-        // Generate new access token
-        String newAccessToken = jwtUtil.generateAccessToken(user.getId(), user.getEmail());
+        // Mark the refresh token as used before issuing its successor
+        tokenRevocationService.consumeRefreshToken(principal);
+
+        // Legacy tokens without a family start a new one
+        String familyId = principal.getFamilyId() != null ? principal.getFamilyId() : jwtUtil.newFamilyId();
+        String newAccessToken = jwtUtil.generateAccessToken(user.getId(), user.getEmail(), familyId);
+        String newRefreshToken = jwtUtil.generateRefreshToken(user.getId(), user.getEmail(), familyId);
 
         log.info("Access token refreshed for user: {}", user.getEmail());
 
         return AuthResponse.of(
                 newAccessToken,
-                refreshToken, // Keep same refresh token
+                newRefreshToken,
                 jwtProperties.getAccessTokenExpiration(),
-                UserDto.from(user)
+                user
         );
     }
 
     /**
-     * Gets current user information from JWT token.
+     * Logs out by revoking every access and refresh token issued from the same login.
      *
-     * @param token the JWT access token
-     * @return UserDto with user information
-     * @throws UnauthorizedException if token is invalid or user not found
+     * @param principal the verified access token of the current request
      */
-    @Transactional(readOnly = true)
-    public UserDto getCurrentUser(String token) {
-        jwtUtil.validateToken(token);
+    public void logout(JwtPrincipal principal) {
+        tokenRevocationService.revoke(principal);
+        log.info("User logged out: {}", principal.getEmail());
+    }
 
-        Long userId = jwtUtil.extractUserId(token);
-        User user = userRepository.findById(userId)
+    /**
+     * Gets current user information for an authenticated user.
+     *
+     * @param userId the user ID from the verified access token
+     * @return UserDto with user information
+     * @throws UnauthorizedException if user not found
+     */
+    public UserDto getCurrentUser(Long userId) {
+        return userSnapshotCache.find(userId)
                 .orElseThrow(() -> new UnauthorizedException("User not found"));
-
-        return UserDto.from(user);
     }
 
     /**
@@ -0,0 +1,85 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.config.CatalogEntityCacheProperties;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the Hibernate second-level and query caches of the catalog consistent with the
+ * database.
+ *
+ * Writes through JPA on this instance update or invalidate the cached entries themselves.
+ * Writes made by another instance or outside JPA are only noticed by the periodic check of
+ * the {@code catalog_version} row, bumped by database triggers; when it changes, every
+ * region is emptied.
+ */
+@Component
+@Slf4j
+public class CatalogEntityCache {
+
+    private static final long UNKNOWN_VERSION = -1L;
+
+    private final CatalogEntityCacheProperties properties;
+    private final CatalogSnapshotRepository catalogSnapshotRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final AtomicLong version = new AtomicLong(UNKNOWN_VERSION);
+    private final Counter evictions;
+
+    public CatalogEntityCache(CatalogEntityCacheProperties properties,
+                              CatalogSnapshotRepository catalogSnapshotRepository,
+                              EntityManagerFactory entityManagerFactory,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.catalogSnapshotRepository = catalogSnapshotRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.evictions = Counter.builder("catalog.entity-cache.evictions")
+                .description("Times the catalog entity and query caches were emptied after a catalog version change")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the catalog version the empty cache starts from.
+     */
+    @PostConstruct
+    public void start() {
+        checkVersion();
+    }
+
+    /**
+     * Empties the cache if the catalog version changed since the last check. Failures are
+     * logged; entries then expire by TTL until a later check succeeds.
+     */
+    @Scheduled(fixedDelayString = "${catalog.entity-cache.version-check-interval:PT30S}")
+    public void checkVersion() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            long current = catalogSnapshotRepository.findVersion();
+            long previous = version.getAndSet(current);
+            if (previous != UNKNOWN_VERSION && previous != current) {
+                log.debug("Catalog version changed from {} to {}, emptying the entity cache", previous, current);
+                evictAll();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to check the catalog version: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Empties every entity, collection and query cache region.
+     */
+    public void evictAll() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        evictions.increment();
+    }
+}
@@ -0,0 +1,413 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.entity.DifficultyLevel;
+import com.waterballsa.backend.entity.LessonType;
+import com.waterballsa.backend.exception.BadRequestException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+/**
+ * Bitmap index of published curriculums by facet value, for faceted browsing.
+ *
+ * Curriculums are numbered by position, newest first, and every facet value keeps a bitmap
+ * of the positions that have it. A filter ORs the selected values within a facet and ANDs
+ * the facets together, so filtering is a handful of bitwise operations and the matches come
+ * out already in listing order. Facet counts follow the usual disjunctive rule: the count
+ * of a value is the number of matches if that value were selected instead of the other
+ * values of its own facet, with every other facet's selection kept.
+ *
+ * Positions are dense, so plain {@link BitSet}s take one bit per curriculum and need no
+ * compression. The index is immutable and safe to share between threads.
+ */
+public final class CatalogFacetIndex {
+
+    /**
+     * Value of {@link Facet#PRICE} for free curriculums.
+     */
+    public static final String FREE = "FREE";
+
+    /**
+     * Value of {@link Facet#PRICE} for paid curriculums.
+     */
+    public static final String PAID = "PAID";
+
+    /**
+     * Facets a curriculum can be filtered by, with the request parameter of each.
+     */
+    public enum Facet {
+        /** Difficulty level. */
+        DIFFICULTY("difficulty"),
+        /** {@link #FREE} or {@link #PAID}. */
+        PRICE("price"),
+        /** Instructor name, exact. */
+        INSTRUCTOR("instructor"),
+        /** Type of at least one published lesson in a published chapter. */
+        LESSON_TYPE("lessonType"),
+        /** {@link DurationBucket} of the estimated duration. */
+        DURATION("duration");
+
+        private final String parameter;
+
+        Facet(String parameter) {
+            this.parameter = parameter;
+        }
+
+        public String parameter() {
+            return parameter;
+        }
+
+        /**
+         * Gets the values of this facet in listing order.
+         *
+         * @return every value, or an empty list for instructors, whose values are open
+         */
+        public List<String> knownValues() {
+            return switch (this) {
+                case DIFFICULTY -> names(DifficultyLevel.values());
+                case PRICE -> List.of(FREE, PAID);
+                case INSTRUCTOR -> List.of();
+                case LESSON_TYPE -> names(LessonType.values());
+                case DURATION -> names(DurationBucket.values());
+            };
+        }
+
+        /**
+         * Parses a request parameter value of this facet.
+         *
+         * @param value the value, case-insensitive except for instructor names
+         * @return the value as indexed
+         * @throws BadRequestException if the facet has no such value
+         */
+        public String parseValue(String value) {
+            String stripped = value.strip();
+            if (this == INSTRUCTOR) {
+                return stripped;
+            }
+            String upper = stripped.toUpperCase(Locale.ROOT);
+            if (!knownValues().contains(upper)) {
+                throw new BadRequestException("Invalid " + parameter + ": " + value + " (expected one of "
+                        + String.join(", ", knownValues()).toLowerCase(Locale.ROOT) + ")");
+            }
+            return upper;
+        }
+    }
+
+    /**
+     * Ranges of estimated duration. Curriculums without an estimate are in none.
+     */
+    public enum DurationBucket {
+        /** Under 10 hours. */
+        SHORT(0, 10),
+        /** 10 to under 30 hours. */
+        MEDIUM(10, 30),
+        /** 30 hours or more. */
+        LONG(30, Integer.MAX_VALUE);
+
+        private final int minHours;
+        private final int maxHoursExclusive;
+
+        DurationBucket(int minHours, int maxHoursExclusive) {
+            this.minHours = minHours;
+            this.maxHoursExclusive = maxHoursExclusive;
+        }
+
+        /**
+         * Finds the bucket of an estimated duration.
+         *
+         * @param hours estimated hours, may be null
+         * @return the bucket, or null without an estimate
+         */
+        public static DurationBucket of(Integer hours) {
+            if (hours == null) {
+                return null;
+            }
+            for (DurationBucket bucket : values()) {
+                if (hours >= bucket.minHours && hours < bucket.maxHoursExclusive) {
+                    return bucket;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final int size;
+    private final Map<Facet, Map<String, BitSet>> bitmaps;
+
+    private CatalogFacetIndex(int size, Map<Facet, Map<String, BitSet>> bitmaps) {
+        this.size = size;
+        this.bitmaps = bitmaps;
+    }
+
+    /**
+     * Starts an index; curriculums must be added newest first.
+     *
+     * @return index builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Parses the facet request parameters into selections. Blank values are ignored.
+     *
+     * @param parameters request parameter values per facet, each may be null
+     * @return selected values per facet
+     * @throws BadRequestException if a value is not valid for its facet
+     */
+    public static Map<Facet, Set<String>> parseSelections(Map<Facet, List<String>> parameters) {
+        Map<Facet, Set<String>> selections = new EnumMap<>(Facet.class);
+        parameters.forEach((facet, values) -> {
+            Set<String> selected = new LinkedHashSet<>();
+            if (values != null) {
+                for (String value : values) {
+                    if (value != null && !value.isBlank()) {
+                        selected.add(facet.parseValue(value));
+                    }
+                }
+            }
+            selections.put(facet, selected);
+        });
+        return selections;
+    }
+
+    /**
+     * Gets the number of indexed curriculums.
+     *
+     * @return curriculum count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Filters the curriculums and counts every facet value.
+     *
+     * @param selections selected values per facet; facets without values are not filtered
+     * @return matching positions, newest first, with facet counts
+     */
+    public Result filter(Map<Facet, Set<String>> selections) {
+        Map<Facet, BitSet> selected = new EnumMap<>(Facet.class);
+        for (Map.Entry<Facet, Set<String>> selection : selections.entrySet()) {
+            if (!selection.getValue().isEmpty()) {
+                selected.put(selection.getKey(), union(selection.getKey(), selection.getValue()));
+            }
+        }
+
+        Map<Facet, Map<String, Integer>> counts = new EnumMap<>(Facet.class);
+        for (Facet facet : Facet.values()) {
+            BitSet others = all();
+            selected.forEach((other, matches) -> {
+                if (other != facet) {
+                    others.and(matches);
+                }
+            });
+            Set<String> chosen = selections.getOrDefault(facet, Set.of());
+            Map<String, Integer> facetCounts = new LinkedHashMap<>();
+            bitmaps.get(facet).forEach((value, positions) -> {
+                BitSet matches = (BitSet) others.clone();
+                matches.and(positions);
+                int count = matches.cardinality();
+                if (count > 0 || chosen.contains(value)) {
+                    facetCounts.put(value, count);
+                }
+            });
+            for (String value : chosen) {
+                facetCounts.putIfAbsent(value, 0);
+            }
+            counts.put(facet, facetCounts);
+        }
+
+        BitSet matches = all();
+        selected.values().forEach(matches::and);
+        return new Result(matches, counts);
+    }
+
+    /**
+     * Gets a rough estimate of the heap held by this index.
+     *
+     * @return estimated size in bytes
+     */
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (Map<String, BitSet> values : bitmaps.values()) {
+            for (BitSet positions : values.values()) {
+                // Map entry and BitSet header, plus its words
+                bytes += 64 + positions.size() / 8;
+            }
+        }
+        return bytes;
+    }
+
+    private BitSet union(Facet facet, Set<String> values) {
+        BitSet union = new BitSet(size);
+        Map<String, BitSet> facetBitmaps = bitmaps.get(facet);
+        for (String value : values) {
+            BitSet positions = facetBitmaps.get(value);
+            if (positions != null) {
+                union.or(positions);
+            }
+        }
+        return union;
+    }
+
+    private BitSet all() {
+        BitSet all = new BitSet(size);
+        all.set(0, size);
+        return all;
+    }
+
+    /**
+     * Matches of a filter with the counts of every facet value.
+     *
+     * @param matches positions of the matching curriculums
+     * @param facetCounts per facet, the number of matches of each value; values with no
+     *                    matches are left out unless selected
+     */
+    public record Result(BitSet matches, Map<Facet, Map<String, Integer>> facetCounts) {
+
+        /**
+         * Gets the number of matching curriculums.
+         *
+         * @return match count
+         */
+        public int count() {
+            return matches.cardinality();
+        }
+
+        /**
+         * Gets one page of the matches.
+         *
+         * @param pageable page number and size; the order is always newest first
+         * @param itemAt gets the item at a position of the index
+         * @param <T> the item type
+         * @return page of items
+         */
+        public <T> Page<T> page(Pageable pageable, IntFunction<T> itemAt) {
+            List<T> content = new ArrayList<>(Math.min(pageable.getPageSize(), count()));
+            long skip = pageable.getOffset();
+            for (int position = matches.nextSetBit(0);
+                 position >= 0 && content.size() < pageable.getPageSize();
+                 position = matches.nextSetBit(position + 1)) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    content.add(itemAt.apply(position));
+                }
+            }
+            return new PageImpl<>(content, pageable, count());
+        }
+
+        /**
+         * Gets the facet counts keyed by request parameter.
+         *
+         * @return counts per facet parameter and value
+         */
+        public Map<String, Map<String, Integer>> countsByParameter() {
+            Map<String, Map<String, Integer>> byParameter = new LinkedHashMap<>();
+            facetCounts.forEach((facet, counts) -> byParameter.put(facet.parameter(), counts));
+            return byParameter;
+        }
+    }
+
+    /**
+     * Builds an index one curriculum at a time, newest first.
+     */
+    public static final class Builder {
+
+        private final Map<Facet, Map<String, BitSet>> bitmaps = new EnumMap<>(Facet.class);
+        private int size;
+
+        private Builder() {
+            for (Facet facet : Facet.values()) {
+                bitmaps.put(facet, new HashMap<>());
+            }
+        }
+
+        /**
+         * Adds the next curriculum.
+         *
+         * @param difficultyLevel difficulty level, may be null
+         * @param price price, may be null
+         * @param instructorName instructor name, may be null
+         * @param estimatedDurationHours estimated duration, may be null
+         * @param lessonTypes types of its published lessons
+         * @return this builder
+         */
+        public Builder add(DifficultyLevel difficultyLevel, BigDecimal price, String instructorName,
+                           Integer estimatedDurationHours, Collection<LessonType> lessonTypes) {
+            int position = size++;
+            if (difficultyLevel != null) {
+                set(Facet.DIFFICULTY, difficultyLevel.name(), position);
+            }
+            if (price != null) {
+                set(Facet.PRICE, price.signum() == 0 ? FREE : PAID, position);
+            }
+            if (instructorName != null) {
+                set(Facet.INSTRUCTOR, instructorName, position);
+            }
+            DurationBucket bucket = DurationBucket.of(estimatedDurationHours);
+            if (bucket != null) {
+                set(Facet.DURATION, bucket.name(), position);
+            }
+            for (LessonType lessonType : lessonTypes) {
+                set(Facet.LESSON_TYPE, lessonType.name(), position);
+            }
+            return this;
+        }
+
+        /**
+         * Builds the index. Values are listed in declaration order for enum facets and by
+         * name for instructors.
+         *
+         * @return the index
+         */
+        public CatalogFacetIndex build() {
+            Map<Facet, Map<String, BitSet>> ordered = new EnumMap<>(Facet.class);
+            for (Facet facet : Facet.values()) {
+                ordered.put(facet, facet == Facet.INSTRUCTOR
+                        ? new LinkedHashMap<>(new TreeMap<>(bitmaps.get(facet)))
+                        : inOrder(bitmaps.get(facet), facet.knownValues()));
+            }
+            return new CatalogFacetIndex(size, ordered);
+        }
+
+        private void set(Facet facet, String value, int position) {
+            bitmaps.get(facet).computeIfAbsent(value, key -> new BitSet()).set(position);
+        }
+
+        private static Map<String, BitSet> inOrder(Map<String, BitSet> bitmaps, List<String> order) {
+            Map<String, BitSet> ordered = new LinkedHashMap<>();
+            for (String value : order) {
+                BitSet positions = bitmaps.get(value);
+                if (positions != null) {
+                    ordered.put(value, positions);
+                }
+            }
+            return ordered;
+        }
+    }
+
+    private static List<String> names(Enum<?>[] values) {
+        List<String> names = new ArrayList<>(values.length);
+        for (Enum<?> value : values) {
+            names.add(value.name());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,912 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.dto.CatalogBrowseResponse;
+import com.waterballsa.backend.dto.CatalogSearchResponse;
+import com.waterballsa.backend.dto.CatalogSearchResponse.LessonHit;
+import com.waterballsa.backend.dto.ChapterDto;
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.dto.LessonDto;
+import com.waterballsa.backend.entity.DifficultyLevel;
+import com.waterballsa.backend.entity.LessonType;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository.PublishedCatalog;
+import com.waterballsa.backend.util.KeysetCursor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable in-memory copy of the published catalog: every published curriculum with
+ * all of its chapters and lessons.
+ *
+ * Children are kept in arrays ordered by order index, nodes are looked up by ID through
+ * arrays indexed by ID, and strings are interned within the graph so repeated values such
+ * as instructor names, currencies and URLs are held once. Read methods mirror the catalog
+ * repository queries and return new DTOs, so callers may modify what they get back.
+ * Full-text search runs on a {@link CatalogSearchIndex} and faceted browsing on a
+ * {@link CatalogFacetIndex}, both built along with the graph.
+ */
+public final class CatalogGraph {
+
+    private static final Comparator<CurriculumNode> CURRICULUM_ID_ORDER = Comparator.comparingLong(CurriculumNode::id);
+    // Order of cursor-paged listings: created_at DESC, id DESC
+    private static final Comparator<CurriculumNode> CURRICULUM_NEWEST_FIRST = Comparator
+            .comparing(CurriculumNode::createdAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingLong(CurriculumNode::id)
+            .reversed();
+    private static final Comparator<LessonNode> LESSON_ID_ORDER = Comparator.comparingLong(LessonNode::id);
+
+    private static final Map<String, Comparator<CurriculumNode>> CURRICULUM_SORTS = Map.of(
+            "id", CURRICULUM_ID_ORDER,
+            "title", nullsLast(CurriculumNode::title),
+            "description", nullsLast(CurriculumNode::description),
+            "instructorName", nullsLast(CurriculumNode::instructorName),
+            "price", nullsLast(CurriculumNode::price),
+            "currency", nullsLast(CurriculumNode::currency),
+            // Stored as VARCHAR, so the database sorts difficulty levels by name
+            "difficultyLevel", nullsLast(node -> node.difficultyLevel() != null ? node.difficultyLevel().name() : null),
+            "estimatedDurationHours", nullsLast(CurriculumNode::estimatedDurationHours),
+            "publishedAt", nullsLast(CurriculumNode::publishedAt),
+            "createdAt", nullsLast(CurriculumNode::createdAt));
+
+    private static final Map<String, Comparator<LessonNode>> LESSON_SORTS = Map.of(
+            "id", LESSON_ID_ORDER,
+            "title", nullsLast(LessonNode::title),
+            "orderIndex", Comparator.comparingInt(LessonNode::orderIndex),
+            "durationMinutes", nullsLast(LessonNode::durationMinutes),
+            "createdAt", nullsLast(LessonNode::createdAt));
+
+    // Rough per-object sizes (headers, fields, boxed and date values) for the footprint estimate
+    private static final int CURRICULUM_NODE_BYTES = 256;
+    private static final int CHAPTER_NODE_BYTES = 128;
+    private static final int LESSON_NODE_BYTES = 160;
+    private static final int METADATA_ENTRY_BYTES = 48;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final long version;
+    private final CurriculumNode[] curriculums;
+    private final IdIndex<CurriculumNode> curriculumsById;
+    private final IdIndex<ChapterNode> chaptersById;
+    private final IdIndex<LessonNode> lessonsById;
+    private final Map<LessonType, LessonNode[]> publishedLessonsByType;
+    private final CatalogSearchIndex searchIndex;
+    private final CurriculumNode[] curriculumsNewestFirst;
+    private final CatalogFacetIndex facetIndex;
+    private final int chapterCount;
+    private final int lessonCount;
+    private final long estimatedBytes;
+
+    private CatalogGraph(long version, CurriculumNode[] curriculums, List<ChapterNode> chapters,
+                         List<LessonNode> lessons, CatalogSearchIndex searchIndex, long stringBytes) {
+        this.version = version;
+        this.curriculums = curriculums;
+        this.curriculumsById = IdIndex.of(Arrays.asList(curriculums), CurriculumNode::id);
+        this.chaptersById = IdIndex.of(chapters, ChapterNode::id);
+        this.lessonsById = IdIndex.of(lessons, LessonNode::id);
+        this.searchIndex = searchIndex;
+        this.chapterCount = chapters.size();
+        this.lessonCount = lessons.size();
+
+        Map<LessonType, List<LessonNode>> byType = new EnumMap<>(LessonType.class);
+        long metadataBytes = 0;
+        for (LessonNode lesson : lessons) {
+            if (lesson.published()) {
+                byType.computeIfAbsent(lesson.lessonType(), type -> new ArrayList<>()).add(lesson);
+            }
+            metadataBytes += (long) lesson.contentMetadata().size() * METADATA_ENTRY_BYTES;
+        }
+        Map<LessonType, LessonNode[]> publishedByType = new EnumMap<>(LessonType.class);
+        byType.forEach((type, nodes) -> publishedByType.put(type, nodes.toArray(LessonNode[]::new)));
+        this.publishedLessonsByType = publishedByType;
+
+        this.curriculumsNewestFirst = curriculums.clone();
+        Arrays.sort(curriculumsNewestFirst, CURRICULUM_NEWEST_FIRST);
+        this.facetIndex = buildFacetIndex(curriculumsNewestFirst);
+
+        this.estimatedBytes = stringBytes + metadataBytes + searchIndex.estimatedBytes() + facetIndex.estimatedBytes()
+                + (long) curriculums.length * (CURRICULUM_NODE_BYTES + 2 * REFERENCE_BYTES)
+                + (long) chapterCount * (CHAPTER_NODE_BYTES + REFERENCE_BYTES)
+                + (long) lessonCount * (LESSON_NODE_BYTES + 2 * REFERENCE_BYTES)
+                + curriculumsById.estimatedBytes() + chaptersById.estimatedBytes() + lessonsById.estimatedBytes();
+    }
+
+    /**
+     * Builds a graph from the published catalog rows. Chapters and lessons whose parent
+     * is not part of the catalog are dropped.
+     *
+     * @param catalog published catalog rows
+     * @return the catalog graph
+     */
+    public static CatalogGraph build(PublishedCatalog catalog) {
+        return build(catalog, null);
+    }
+
+    /**
+     * Builds a graph from the published catalog rows, reusing the search index entries of
+     * curriculums and lessons whose text has not changed since the previous graph.
+     *
+     * @param catalog published catalog rows
+     * @param previous the graph being replaced, or null
+     * @return the catalog graph
+     */
+    public static CatalogGraph build(PublishedCatalog catalog, CatalogGraph previous) {
+        StringPool strings = new StringPool();
+
+        Map<Long, List<LessonNode>> lessonsByChapter = new HashMap<>();
+        for (LessonDto lesson : catalog.lessons()) {
+            lessonsByChapter.computeIfAbsent(lesson.getChapterId(), id -> new ArrayList<>())
+                    .add(LessonNode.from(lesson, strings));
+        }
+
+        Map<Long, List<ChapterNode>> chaptersByCurriculum = new HashMap<>();
+        for (ChapterDto chapter : catalog.chapters()) {
+            List<LessonNode> chapterLessons = lessonsByChapter.getOrDefault(chapter.getId(), List.of());
+            chaptersByCurriculum.computeIfAbsent(chapter.getCurriculumId(), id -> new ArrayList<>())
+                    .add(ChapterNode.from(chapter, sortedByOrder(chapterLessons, LessonNode::orderIndex)
+                            .toArray(LessonNode[]::new), strings));
+        }
+
+        List<CurriculumNode> curriculums = new ArrayList<>(catalog.curriculums().size());
+        List<ChapterNode> chapters = new ArrayList<>();
+        List<LessonNode> lessons = new ArrayList<>();
+        for (CurriculumDto curriculum : catalog.curriculums()) {
+            List<ChapterNode> curriculumChapters = sortedByOrder(
+                    chaptersByCurriculum.getOrDefault(curriculum.getId(), List.of()), ChapterNode::orderIndex);
+            curriculums.add(CurriculumNode.from(curriculum, curriculumChapters.toArray(ChapterNode[]::new), strings));
+            for (ChapterNode chapter : curriculumChapters) {
+                chapters.add(chapter);
+                Collections.addAll(lessons, chapter.lessons());
+            }
+        }
+        curriculums.sort(CURRICULUM_ID_ORDER);
+
+        return new CatalogGraph(catalog.version(), curriculums.toArray(CurriculumNode[]::new),
+                chapters, lessons, buildSearchIndex(curriculums, chapters, previous), strings.bytes());
+    }
+
+    /**
+     * Indexes every published curriculum and every published lesson of a published chapter.
+     */
+    private static CatalogSearchIndex buildSearchIndex(List<CurriculumNode> curriculums, List<ChapterNode> chapters,
+                                                       CatalogGraph previous) {
+        CatalogSearchIndex.Builder index = CatalogSearchIndex.builder(previous != null ? previous.searchIndex : null);
+        for (CurriculumNode curriculum : curriculums) {
+            CurriculumNode old = previous != null ? previous.curriculumsById.get(curriculum.id()) : null;
+            boolean unchanged = old != null && Objects.equals(old.title(), curriculum.title())
+                    && Objects.equals(old.description(), curriculum.description())
+                    && Objects.equals(old.instructorName(), curriculum.instructorName());
+            index.addCurriculum(curriculum.id(), unchanged, curriculum.title(), curriculum.description(),
+                    curriculum.instructorName());
+        }
+
+        List<LessonNode> searchableLessons = new ArrayList<>();
+        for (ChapterNode chapter : chapters) {
+            if (chapter.published()) {
+                for (LessonNode lesson : chapter.lessons()) {
+                    if (lesson.published()) {
+                        searchableLessons.add(lesson);
+                    }
+                }
+            }
+        }
+        searchableLessons.sort(LESSON_ID_ORDER);
+        for (LessonNode lesson : searchableLessons) {
+            LessonNode old = previous != null ? previous.lessonsById.get(lesson.id()) : null;
+            boolean unchanged = old != null && Objects.equals(old.title(), lesson.title())
+                    && Objects.equals(old.description(), lesson.description());
+            index.addLesson(lesson.id(), unchanged, lesson.title(), lesson.description());
+        }
+        return index.build();
+    }
+
+    /**
+     * Indexes the facets of every curriculum, positions in listing order. Lesson types are
+     * those of published lessons in published chapters.
+     */
+    private static CatalogFacetIndex buildFacetIndex(CurriculumNode[] curriculumsNewestFirst) {
+        CatalogFacetIndex.Builder index = CatalogFacetIndex.builder();
+        for (CurriculumNode curriculum : curriculumsNewestFirst) {
+            Set<LessonType> lessonTypes = EnumSet.noneOf(LessonType.class);
+            for (ChapterNode chapter : curriculum.chapters()) {
+                if (chapter.published()) {
+                    for (LessonNode lesson : chapter.lessons()) {
+                        if (lesson.published() && lesson.lessonType() != null) {
+                            lessonTypes.add(lesson.lessonType());
+                        }
+                    }
+                }
+            }
+            index.add(curriculum.difficultyLevel(), curriculum.price(), curriculum.instructorName(),
+                    curriculum.estimatedDurationHours(), lessonTypes);
+        }
+        return index.build();
+    }
+
+    /**
+     * Gets the catalog version this graph was built from.
+     *
+     * @return catalog version
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Gets a rough estimate of the heap held by this graph.
+     *
+     * @return estimated size in bytes
+     */
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public int curriculumCount() {
+        return curriculums.length;
+    }
+
+    public int chapterCount() {
+        return chapterCount;
+    }
+
+    public int lessonCount() {
+        return lessonCount;
+    }
+
+    /**
+     * Gets a page of published curriculums.
+     *
+     * @param pageable pagination and sort information
+     * @return page of curriculum DTOs without chapters
+     */
+    public Page<CurriculumDto> findCurriculums(Pageable pageable) {
+        return pageOfCurriculums(curriculum -> true, pageable);
+    }
+
+    /**
+     * Gets a published curriculum with all of its chapters and lessons.
+     *
+     * @param id the curriculum ID
+     * @return curriculum DTO with chapters, if published
+     */
+    public Optional<CurriculumDto> findCurriculumTree(long id) {
+        return Optional.ofNullable(curriculumsById.get(id)).map(CurriculumNode::toTreeDto);
+    }
+
+    /**
+     * Gets published curriculums by ID.
+     *
+     * @param ids the curriculum IDs
+     * @return curriculum DTOs without chapters, keyed by ID; unknown IDs are left out
+     */
+    public Map<Long, CurriculumDto> findCurriculumsById(Collection<Long> ids) {
+        Map<Long, CurriculumDto> found = new HashMap<>();
+        for (Long id : ids) {
+            CurriculumNode curriculum = curriculumsById.get(id);
+            if (curriculum != null) {
+                found.put(id, curriculum.toDto());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Searches published curriculums whose title or description contains the term,
+     * ignoring case.
+     *
+     * @param searchTerm the search term
+     * @param pageable pagination and sort information
+     * @return page of matching curriculum DTOs
+     */
+    public Page<CurriculumDto> searchCurriculums(String searchTerm, Pageable pageable) {
+        String term = searchTerm.toLowerCase(Locale.ROOT);
+        return pageOfCurriculums(curriculum -> containsLowerCase(curriculum.title(), term)
+                || containsLowerCase(curriculum.description(), term), pageable);
+    }
+
+    public Page<CurriculumDto> findCurriculumsByDifficulty(DifficultyLevel difficultyLevel, Pageable pageable) {
+        return pageOfCurriculums(curriculum -> curriculum.difficultyLevel() == difficultyLevel, pageable);
+    }
+
+    public Page<CurriculumDto> findCurriculumsByInstructor(String instructorName, Pageable pageable) {
+        String name = instructorName.toLowerCase(Locale.ROOT);
+        return pageOfCurriculums(curriculum -> containsLowerCase(curriculum.instructorName(), name), pageable);
+    }
+
+    public Page<CurriculumDto> findFreeCurriculums(Pageable pageable) {
+        return pageOfCurriculums(curriculum -> curriculum.price() != null && curriculum.price().signum() == 0, pageable);
+    }
+
+    /**
+     * Gets a slice of published curriculums, newest first, like the repository's cursor
+     * queries.
+     *
+     * @param after position of the last curriculum of the previous slice, null for the first slice
+     * @param size slice size
+     * @return slice of curriculum DTOs without chapters
+     */
+    public Slice<CurriculumDto> findCurriculumsAfter(KeysetCursor after, int size) {
+        return sliceOfCurriculums(curriculum -> true, after, size);
+    }
+
+    public Slice<CurriculumDto> findCurriculumsByDifficultyAfter(DifficultyLevel difficultyLevel, KeysetCursor after,
+                                                                 int size) {
+        return sliceOfCurriculums(curriculum -> curriculum.difficultyLevel() == difficultyLevel, after, size);
+    }
+
+    public Slice<CurriculumDto> findFreeCurriculumsAfter(KeysetCursor after, int size) {
+        return sliceOfCurriculums(curriculum -> curriculum.price() != null && curriculum.price().signum() == 0,
+                after, size);
+    }
+
+    public long countCurriculums() {
+        return curriculums.length;
+    }
+
+    /**
+     * Searches published curriculums and the published lessons of published chapters,
+     * ranked by BM25.
+     *
+     * @param query the search text; Latin words match by prefix and CJK text by bigram
+     * @param limit maximum number of curriculums and of lessons
+     * @return matching curriculums without chapters and matching lessons, best match first
+     */
+    public CatalogSearchResponse search(String query, int limit) {
+        CatalogSearchIndex.Hits hits = searchIndex.search(query, limit);
+        List<CurriculumDto> curriculumDtos = new ArrayList<>(hits.curriculumIds().length);
+        for (long id : hits.curriculumIds()) {
+            curriculumDtos.add(curriculumsById.get(id).toDto());
+        }
+        List<LessonHit> lessonHits = new ArrayList<>(hits.lessonIds().length);
+        for (long id : hits.lessonIds()) {
+            LessonNode lesson = lessonsById.get(id);
+            ChapterNode chapter = chaptersById.get(lesson.chapterId());
+            lessonHits.add(lesson.toSearchHit(curriculumsById.get(chapter.curriculumId())));
+        }
+        return CatalogSearchResponse.builder()
+                .query(query)
+                .curriculums(curriculumDtos)
+                .lessons(lessonHits)
+                .build();
+    }
+
+    /**
+     * Filters published curriculums by facets, newest first, and counts every facet value.
+     *
+     * @param selections selected values per facet, as parsed by
+     *                   {@link CatalogFacetIndex#parseSelections(Map)}
+     * @param pageable page number and size; the sort is ignored
+     * @return page of matching curriculum DTOs without chapters, with facet counts
+     */
+    public CatalogBrowseResponse browse(Map<CatalogFacetIndex.Facet, Set<String>> selections, Pageable pageable) {
+        CatalogFacetIndex.Result result = facetIndex.filter(selections);
+        return CatalogBrowseResponse.of(
+                result.page(pageable, position -> curriculumsNewestFirst[position].toDto()),
+                result.countsByParameter());
+    }
+
+    /**
+     * Gets the published chapters of a curriculum.
+     *
+     * @param curriculumId the curriculum ID
+     * @return chapter DTOs without lessons, ordered by order index
+     */
+    public List<ChapterDto> findPublishedChapters(long curriculumId) {
+        CurriculumNode curriculum = curriculumsById.get(curriculumId);
+        if (curriculum == null) {
+            return new ArrayList<>();
+        }
+        List<ChapterDto> chapters = new ArrayList<>(curriculum.chapters().length);
+        for (ChapterNode chapter : curriculum.chapters()) {
+            if (chapter.published()) {
+                chapters.add(chapter.toDto(false));
+            }
+        }
+        return chapters;
+    }
+
+    /**
+     * Gets a published chapter with its published lessons.
+     *
+     * @param id the chapter ID
+     * @return chapter DTO with lessons ordered by order index, if published
+     */
+    public Optional<ChapterDto> findPublishedChapter(long id) {
+        ChapterNode chapter = chaptersById.get(id);
+        if (chapter == null || !chapter.published()) {
+            return Optional.empty();
+        }
+        ChapterDto dto = chapter.toDto(false);
+        dto.setLessons(findPublishedLessons(id));
+        return Optional.of(dto);
+    }
+
+    public long countPublishedChapters(long curriculumId) {
+        CurriculumNode curriculum = curriculumsById.get(curriculumId);
+        if (curriculum == null) {
+            return 0;
+        }
+        return Arrays.stream(curriculum.chapters()).filter(ChapterNode::published).count();
+    }
+
+    /**
+     * Gets the published lessons of a chapter.
+     *
+     * @param chapterId the chapter ID
+     * @return lesson DTOs ordered by order index
+     */
+    public List<LessonDto> findPublishedLessons(long chapterId) {
+        ChapterNode chapter = chaptersById.get(chapterId);
+        if (chapter == null) {
+            return new ArrayList<>();
+        }
+        List<LessonDto> lessons = new ArrayList<>(chapter.lessons().length);
+        for (LessonNode lesson : chapter.lessons()) {
+            if (lesson.published()) {
+                lessons.add(lesson.toDto());
+            }
+        }
+        return lessons;
+    }
+
+    public Optional<LessonDto> findPublishedLesson(long id) {
+        LessonNode lesson = lessonsById.get(id);
+        if (lesson == null || !lesson.published()) {
+            return Optional.empty();
+        }
+        return Optional.of(lesson.toDto());
+    }
+
+    /**
+     * Gets published lessons by ID.
+     *
+     * @param ids the lesson IDs
+     * @return lesson DTOs keyed by ID; unknown and unpublished IDs are left out
+     */
+    public Map<Long, LessonDto> findPublishedLessonsById(Collection<Long> ids) {
+        Map<Long, LessonDto> found = new HashMap<>();
+        for (Long id : ids) {
+            LessonNode lesson = lessonsById.get(id);
+            if (lesson != null && lesson.published()) {
+                found.put(id, lesson.toDto());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Gets the published free preview lessons of a curriculum.
+     *
+     * @param curriculumId the curriculum ID
+     * @return lesson DTOs ordered by chapter, then lesson order index
+     */
+    public List<LessonDto> findFreePreviewLessons(long curriculumId) {
+        return findCurriculumLessons(curriculumId, LessonNode::freePreview);
+    }
+
+    /**
+     * Gets the published video lessons of a curriculum.
+     *
+     * @param curriculumId the curriculum ID
+     * @return lesson DTOs ordered by chapter, then lesson order index
+     */
+    public List<LessonDto> findVideoLessons(long curriculumId) {
+        return findCurriculumLessons(curriculumId, lesson -> lesson.lessonType() == LessonType.VIDEO);
+    }
+
+    public Page<LessonDto> findLessonsByType(LessonType lessonType, Pageable pageable) {
+        LessonNode[] lessons = publishedLessonsByType.getOrDefault(lessonType, new LessonNode[0]);
+        return page(Arrays.asList(lessons), pageable, LESSON_SORTS, LESSON_ID_ORDER, LessonNode::toDto);
+    }
+
+    /**
+     * Sums the duration of the published lessons of a curriculum.
+     *
+     * @param curriculumId the curriculum ID
+     * @return total duration in minutes, 0 if there are none
+     */
+    public long totalDurationMinutes(long curriculumId) {
+        CurriculumNode curriculum = curriculumsById.get(curriculumId);
+        if (curriculum == null) {
+            return 0;
+        }
+        long total = 0;
+        for (ChapterNode chapter : curriculum.chapters()) {
+            for (LessonNode lesson : chapter.lessons()) {
+                if (lesson.published() && lesson.durationMinutes() != null) {
+                    total += lesson.durationMinutes();
+                }
+            }
+        }
+        return total;
+    }
+
+    public long countPublishedLessons(long chapterId) {
+        ChapterNode chapter = chaptersById.get(chapterId);
+        if (chapter == null) {
+            return 0;
+        }
+        return Arrays.stream(chapter.lessons()).filter(LessonNode::published).count();
+    }
+
+    /**
+     * Passes every published curriculum, and every published lesson of its published
+     * chapters, to the visitor.
+     *
+     * @param visitor receives curriculums in ID order, each followed by its lessons
+     */
+    void visitPublished(PublishedVisitor visitor) {
+        for (CurriculumNode curriculum : curriculums) {
+            visitor.curriculum(curriculum.id(), curriculum.title(), curriculum.instructorName());
+            for (ChapterNode chapter : curriculum.chapters()) {
+                if (!chapter.published()) {
+                    continue;
+                }
+                for (LessonNode lesson : chapter.lessons()) {
+                    if (lesson.published()) {
+                        visitor.lesson(lesson.id(), curriculum.id(), lesson.title());
+                    }
+                }
+            }
+        }
+    }
+
+    private Page<CurriculumDto> pageOfCurriculums(Predicate<CurriculumNode> filter, Pageable pageable) {
+        List<CurriculumNode> matches = new ArrayList<>();
+        for (CurriculumNode curriculum : curriculums) {
+            if (filter.test(curriculum)) {
+                matches.add(curriculum);
+            }
+        }
+        return page(matches, pageable, CURRICULUM_SORTS, CURRICULUM_ID_ORDER, CurriculumNode::toDto);
+    }
+
+    private Slice<CurriculumDto> sliceOfCurriculums(Predicate<CurriculumNode> filter, KeysetCursor after, int size) {
+        Pageable pageable = PageRequest.ofSize(size);
+        List<CurriculumNode> matches = new ArrayList<>();
+        for (CurriculumNode curriculum : curriculums) {
+            if (filter.test(curriculum) && (after == null || isAfter(curriculum, after))) {
+                matches.add(curriculum);
+            }
+        }
+        matches.sort(CURRICULUM_NEWEST_FIRST);
+
+        int count = Math.min(size, matches.size());
+        List<CurriculumDto> dtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dtos.add(matches.get(i).toDto());
+        }
+        return new SliceImpl<>(dtos, pageable, matches.size() > size);
+    }
+
+    private static boolean isAfter(CurriculumNode curriculum, KeysetCursor after) {
+        if (curriculum.createdAt() == null) {
+            return false;
+        }
+        int compared = curriculum.createdAt().compareTo(after.sortKey());
+        return compared < 0 || (compared == 0 && curriculum.id() < after.id());
+    }
+
+    private List<LessonDto> findCurriculumLessons(long curriculumId, Predicate<LessonNode> filter) {
+        CurriculumNode curriculum = curriculumsById.get(curriculumId);
+        if (curriculum == null) {
+            return new ArrayList<>();
+        }
+        List<LessonDto> lessons = new ArrayList<>();
+        for (ChapterNode chapter : curriculum.chapters()) {
+            for (LessonNode lesson : chapter.lessons()) {
+                if (lesson.published() && filter.test(lesson)) {
+                    lessons.add(lesson.toDto());
+                }
+            }
+        }
+        return lessons;
+    }
+
+    /**
+     * Sorts the matches as the pageable asks, ties broken by ID, and converts only the
+     * requested page to DTOs.
+     */
+    private static <N, D> Page<D> page(List<N> matches, Pageable pageable, Map<String, Comparator<N>> sorts,
+                                       Comparator<N> idOrder, Function<N, D> toDto) {
+        List<N> sorted = new ArrayList<>(matches);
+        sorted.sort(comparator(pageable.getSort(), sorts, idOrder));
+
+        List<N> content = sorted;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), sorted.size());
+            int to = (int) Math.min((long) from + pageable.getPageSize(), sorted.size());
+            content = sorted.subList(from, to);
+        }
+        List<D> dtos = new ArrayList<>(content.size());
+        for (N node : content) {
+            dtos.add(toDto.apply(node));
+        }
+        return new PageImpl<>(dtos, pageable, sorted.size());
+    }
+
+    private static <N> Comparator<N> comparator(Sort sort, Map<String, Comparator<N>> sorts, Comparator<N> idOrder) {
+        Comparator<N> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<N> property = sorts.get(order.getProperty());
+            if (property == null) {
+                throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            }
+            // Ascending puts nulls last and descending puts them first, as Postgres does
+            property = order.isAscending() ? property : property.reversed();
+            comparator = comparator == null ? property : comparator.thenComparing(property);
+        }
+        return comparator == null ? idOrder : comparator.thenComparing(idOrder);
+    }
+
+    private static <N, K extends Comparable<? super K>> Comparator<N> nullsLast(Function<N, K> key) {
+        return Comparator.comparing(key, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    private static <N> List<N> sortedByOrder(List<N> nodes, ToIntFunction<N> orderIndex) {
+        List<N> sorted = new ArrayList<>(nodes);
+        sorted.sort(Comparator.comparingInt(orderIndex));
+        return sorted;
+    }
+
+    private static boolean containsLowerCase(String value, String lowerCaseTerm) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(lowerCaseTerm);
+    }
+
+    /**
+     * Receives the published curriculums and lessons of a graph.
+     */
+    interface PublishedVisitor {
+
+        void curriculum(long id, String title, String instructorName);
+
+        void lesson(long id, long curriculumId, String title);
+    }
+
+    private record CurriculumNode(long id, String title, String description, String thumbnailUrl,
+                                  String instructorName, BigDecimal price, String currency,
+                                  DifficultyLevel difficultyLevel, Integer estimatedDurationHours,
+                                  LocalDateTime publishedAt, LocalDateTime createdAt, ChapterNode[] chapters) {
+
+        static CurriculumNode from(CurriculumDto dto, ChapterNode[] chapters, StringPool strings) {
+            return new CurriculumNode(dto.getId(), strings.intern(dto.getTitle()), strings.intern(dto.getDescription()),
+                    strings.intern(dto.getThumbnailUrl()), strings.intern(dto.getInstructorName()), dto.getPrice(),
+                    strings.intern(dto.getCurrency()), dto.getDifficultyLevel(), dto.getEstimatedDurationHours(),
+                    dto.getPublishedAt(), dto.getCreatedAt(), chapters);
+        }
+
+        CurriculumDto toDto() {
+            return CurriculumDto.builder()
+                    .id(id)
+                    .title(title)
+                    .description(description)
+                    .thumbnailUrl(thumbnailUrl)
+                    .instructorName(instructorName)
+                    .price(price)
+                    .currency(currency)
+                    .difficultyLevel(difficultyLevel)
+                    .estimatedDurationHours(estimatedDurationHours)
+                    .isPublished(true)
+                    .publishedAt(publishedAt)
+                    .createdAt(createdAt)
+                    .build();
+        }
+
+        CurriculumDto toTreeDto() {
+            CurriculumDto dto = toDto();
+            List<ChapterDto> chapterDtos = new ArrayList<>(chapters.length);
+            for (ChapterNode chapter : chapters) {
+                chapterDtos.add(chapter.toDto(true));
+            }
+            dto.setChapters(chapterDtos);
+            return dto;
+        }
+    }
+
+    private record ChapterNode(long id, long curriculumId, String title, String description, int orderIndex,
+                               boolean published, Integer estimatedDurationHours, LocalDateTime createdAt,
+                               LessonNode[] lessons) {
+
+        static ChapterNode from(ChapterDto dto, LessonNode[] lessons, StringPool strings) {
+            return new ChapterNode(dto.getId(), dto.getCurriculumId(), strings.intern(dto.getTitle()),
+                    strings.intern(dto.getDescription()), dto.getOrderIndex(), Boolean.TRUE.equals(dto.getIsPublished()),
+                    dto.getEstimatedDurationHours(), dto.getCreatedAt(), lessons);
+        }
+
+        ChapterDto toDto(boolean withLessons) {
+            ChapterDto dto = ChapterDto.builder()
+                    .id(id)
+                    .curriculumId(curriculumId)
+                    .title(title)
+                    .description(description)
+                    .orderIndex(orderIndex)
+                    .isPublished(published)
+                    .estimatedDurationHours(estimatedDurationHours)
+                    .createdAt(createdAt)
+                    .build();
+            if (withLessons) {
+                List<LessonDto> lessonDtos = new ArrayList<>(lessons.length);
+                for (LessonNode lesson : lessons) {
+                    lessonDtos.add(lesson.toDto());
+                }
+                dto.setLessons(lessonDtos);
+            }
+            return dto;
+        }
+    }
+
+    private record LessonNode(long id, long chapterId, String title, String description, LessonType lessonType,
+                              String contentUrl, int orderIndex, Integer durationMinutes, boolean freePreview,
+                              boolean published, LocalDateTime createdAt, Map<String, Object> contentMetadata) {
+
+        static LessonNode from(LessonDto dto, StringPool strings) {
+            Map<String, Object> metadata = new LinkedHashMap<>();
+            if (dto.getContentMetadata() != null) {
+                dto.getContentMetadata().forEach((key, value) ->
+                        metadata.put(strings.intern(key), value instanceof String text ? strings.intern(text) : value));
+            }
+            return new LessonNode(dto.getId(), dto.getChapterId(), strings.intern(dto.getTitle()),
+                    strings.intern(dto.getDescription()), dto.getLessonType(), strings.intern(dto.getContentUrl()),
+                    dto.getOrderIndex(), dto.getDurationMinutes(), Boolean.TRUE.equals(dto.getIsFreePreview()),
+                    Boolean.TRUE.equals(dto.getIsPublished()), dto.getCreatedAt(), Collections.unmodifiableMap(metadata));
+        }
+
+        LessonDto toDto() {
+            return LessonDto.builder()
+                    .id(id)
+                    .chapterId(chapterId)
+                    .title(title)
+                    .description(description)
+                    .lessonType(lessonType)
+                    .contentUrl(contentUrl)
+                    .orderIndex(orderIndex)
+                    .durationMinutes(durationMinutes)
+                    .isFreePreview(freePreview)
+                    .isPublished(published)
+                    .createdAt(createdAt)
+                    .contentMetadata(new HashMap<>(contentMetadata))
+                    .build();
+        }
+
+        LessonHit toSearchHit(CurriculumNode curriculum) {
+            return LessonHit.builder()
+                    .id(id)
+                    .chapterId(chapterId)
+                    .curriculumId(curriculum.id())
+                    .curriculumTitle(curriculum.title())
+                    .title(title)
+                    .description(description)
+                    .lessonType(lessonType)
+                    .durationMinutes(durationMinutes)
+                    .isFreePreview(freePreview)
+                    .build();
+        }
+    }
+
+    /**
+     * Lookup by ID. IDs come from sequences and are mostly dense, so nodes sit in an
+     * array indexed by {@code id - minId}; sparse ID ranges fall back to binary search
+     * over sorted IDs.
+     */
+    private static final class IdIndex<T> {
+
+        private static final int MAX_SLOTS_PER_NODE = 4;
+        private static final int MIN_DENSE_SLOTS = 1024;
+
+        private final long minId;
+        private final Object[] slots;
+        private final long[] sortedIds;
+
+        private IdIndex(long minId, Object[] slots, long[] sortedIds) {
+            this.minId = minId;
+            this.slots = slots;
+            this.sortedIds = sortedIds;
+        }
+
+        static <T> IdIndex<T> of(List<T> nodes, ToLongFunction<T> idOf) {
+            if (nodes.isEmpty()) {
+                return new IdIndex<>(0, new Object[0], null);
+            }
+            long minId = Long.MAX_VALUE;
+            long maxId = Long.MIN_VALUE;
+            for (T node : nodes) {
+                minId = Math.min(minId, idOf.applyAsLong(node));
+                maxId = Math.max(maxId, idOf.applyAsLong(node));
+            }
+
+            long span = maxId - minId + 1;
+            if (span <= Math.max(MIN_DENSE_SLOTS, (long) nodes.size() * MAX_SLOTS_PER_NODE)) {
+                Object[] slots = new Object[(int) span];
+                for (T node : nodes) {
+                    slots[(int) (idOf.applyAsLong(node) - minId)] = node;
+                }
+                return new IdIndex<>(minId, slots, null);
+            }
+
+            List<T> sorted = new ArrayList<>(nodes);
+            sorted.sort(Comparator.comparingLong(idOf));
+            long[] ids = new long[sorted.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = idOf.applyAsLong(sorted.get(i));
+            }
+            return new IdIndex<>(0, sorted.toArray(), ids);
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(long id) {
+            if (sortedIds != null) {
+                int index = Arrays.binarySearch(sortedIds, id);
+                return index >= 0 ? (T) slots[index] : null;
+            }
+            long slot = id - minId;
+            return slot >= 0 && slot < slots.length ? (T) slots[(int) slot] : null;
+        }
+
+        long estimatedBytes() {
+            long bytes = ARRAY_HEADER_BYTES + (long) slots.length * REFERENCE_BYTES;
+            return sortedIds != null ? bytes + ARRAY_HEADER_BYTES + sortedIds.length * 8L : bytes;
+        }
+    }
+
+    /**
+     * Interns strings for one graph, so equal values share one instance without
+     * growing the JVM-wide string table.
+     */
+    private static final class StringPool {
+
+        private static final int STRING_OVERHEAD_BYTES = 40;
+
+        private final Map<String, String> pool = new HashMap<>();
+        private long bytes;
+
+        String intern(String value) {
+            if (value == null) {
+                return null;
+            }
+            String pooled = pool.putIfAbsent(value, value);
+            if (pooled != null) {
+                return pooled;
+            }
+            bytes += STRING_OVERHEAD_BYTES + (long) value.length() * (isLatin1(value) ? 1 : 2);
+            return value;
+        }
+
+        long bytes() {
+            return bytes;
+        }
+
+        private static boolean isLatin1(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) > 0xFF) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
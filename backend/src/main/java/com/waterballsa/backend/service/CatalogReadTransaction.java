@@ -0,0 +1,32 @@
+package com.waterballsa.backend.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs the database fallback of a catalog read in one read-only transaction.
+ *
+ * Catalog services answer from the {@link CatalogSnapshot} without a transaction, so a
+ * snapshot hit never checks out a connection; only when they fall back to the repositories
+ * do they go through here. The statements of one read, such as a page and its count, then
+ * see the same database snapshot, and the read is routed to the read replica when one is
+ * configured.
+ */
+@Component
+public class CatalogReadTransaction {
+
+    /**
+     * Runs database reads in a read-only, repeatable-read transaction.
+     *
+     * @param reads the repository calls
+     * @param <T> the result type
+     * @return what the reads return
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public <T> T read(Supplier<T> reads) {
+        return reads.get();
+    }
+}
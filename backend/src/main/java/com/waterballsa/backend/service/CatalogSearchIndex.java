@@ -0,0 +1,428 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.service.SearchTokenizer.QueryTerm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable inverted index over the searchable text of the catalog, scored with BM25.
+ *
+ * Documents are curriculums (title, description, instructor) and lessons (title,
+ * description), tokenized by {@link SearchTokenizer}. Field weights follow ts_rank's
+ * defaults for the weight classes of the database search vectors: title 1.0, description
+ * 0.4, instructor 0.2. Terms are kept sorted so Latin query words can match by prefix.
+ *
+ * Postings of all terms share one int array. Each entry packs the gap to the previous
+ * document ordinal with the weighted term frequency, so a term's postings are a run of
+ * plain ints with no per-posting objects. A forward copy of each document's terms lets
+ * the next build reuse unchanged documents without tokenizing them again.
+ */
+final class CatalogSearchIndex {
+
+    static final int CURRICULUM = 0;
+    static final int LESSON = 1;
+
+    static final int TITLE_WEIGHT = 10;
+    static final int DESCRIPTION_WEIGHT = 4;
+    static final int INSTRUCTOR_WEIGHT = 2;
+
+    private static final int TF_BITS = 8;
+    private static final int MAX_TF = (1 << TF_BITS) - 1;
+    private static final int MAX_ORDINAL = 1 << (Integer.SIZE - 1 - TF_BITS);
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final Hits NO_HITS = new Hits(new long[0], new long[0]);
+
+    private final String[] terms;
+    private final int[] postingOffsets;
+    private final int[] postings;
+    private final int[] forwardOffsets;
+    private final int[] forward;
+    private final long[] documentIds;
+    private final int[] documentLengths;
+    private final float[] lengthNorms;
+    private final int lessonStart;
+
+    private CatalogSearchIndex(String[] terms, int[] postingOffsets, int[] postings, int[] forwardOffsets,
+                               int[] forward, long[] documentIds, int[] documentLengths, int lessonStart) {
+        this.terms = terms;
+        this.postingOffsets = postingOffsets;
+        this.postings = postings;
+        this.forwardOffsets = forwardOffsets;
+        this.forward = forward;
+        this.documentIds = documentIds;
+        this.documentLengths = documentLengths;
+        this.lessonStart = lessonStart;
+        long totalLength = 0;
+        for (int length : documentLengths) {
+            totalLength += length;
+        }
+        float averageLength = documentLengths.length > 0 ? Math.max(1f, (float) totalLength / documentLengths.length) : 1f;
+        this.lengthNorms = new float[documentLengths.length];
+        for (int i = 0; i < documentLengths.length; i++) {
+            lengthNorms[i] = K1 * (1 - B + B * documentLengths[i] / averageLength);
+        }
+    }
+
+    /**
+     * Starts a new index.
+     *
+     * @param previous index whose unchanged documents may be reused, or null
+     * @return builder taking curriculums, then lessons, each in ascending ID order
+     */
+    static Builder builder(CatalogSearchIndex previous) {
+        return new Builder(previous);
+    }
+
+    int documentCount() {
+        return documentIds.length;
+    }
+
+    int termCount() {
+        return terms.length;
+    }
+
+    /**
+     * Finds the documents matching every query term, best BM25 score first, ties broken
+     * by ID.
+     *
+     * @param query the query text
+     * @param limit maximum number of curriculums and of lessons
+     * @return IDs of the best matching curriculums and lessons
+     */
+    Hits search(String query, int limit) {
+        List<QueryTerm> queryTerms = SearchTokenizer.queryTerms(query);
+        int documentCount = documentIds.length;
+        if (queryTerms.isEmpty() || documentCount == 0 || limit <= 0) {
+            return NO_HITS;
+        }
+
+        // Term ranges in the sorted dictionary, ordered rarest first so later terms only
+        // score the few documents still in the running
+        int required = queryTerms.size();
+        int[] froms = new int[required];
+        int[] tos = new int[required];
+        for (int q = 0; q < required; q++) {
+            QueryTerm queryTerm = queryTerms.get(q);
+            int from = Arrays.binarySearch(terms, queryTerm.text());
+            int to;
+            if (queryTerm.prefix()) {
+                from = from >= 0 ? from : -from - 1;
+                to = from;
+                while (to < terms.length && terms[to].startsWith(queryTerm.text())) {
+                    to++;
+                }
+            } else {
+                to = from + 1;
+            }
+            if (from < 0 || from == to) {
+                return NO_HITS;
+            }
+            int i = q;
+            while (i > 0 && postingCount(froms[i - 1], tos[i - 1]) > postingCount(from, to)) {
+                froms[i] = froms[i - 1];
+                tos[i] = tos[i - 1];
+                i--;
+            }
+            froms[i] = from;
+            tos[i] = to;
+        }
+
+        float[] scores = new float[documentCount];
+        int[] matchedTerms = new int[documentCount];
+        for (int q = 0; q < required; q++) {
+            for (int term = froms[q]; term < tos[q]; term++) {
+                score(term, q, scores, matchedTerms);
+            }
+        }
+        return new Hits(top(0, lessonStart, required, limit, scores, matchedTerms),
+                top(lessonStart, documentCount, required, limit, scores, matchedTerms));
+    }
+
+    private int postingCount(int fromTerm, int toTerm) {
+        return postingOffsets[toTerm] - postingOffsets[fromTerm];
+    }
+
+    /**
+     * Adds a term's BM25 contribution to the documents containing it that matched all
+     * earlier query terms, and counts the query term as matched for them.
+     */
+    private void score(int term, int queryTerm, float[] scores, int[] matchedTerms) {
+        int start = postingOffsets[term];
+        int end = postingOffsets[term + 1];
+        int documentFrequency = end - start;
+        float idf = (float) Math.log(1 + (documentIds.length - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        int ordinal = 0;
+        for (int i = start; i < end; i++) {
+            int entry = postings[i];
+            ordinal += entry >>> TF_BITS;
+            if (matchedTerms[ordinal] < queryTerm) {
+                continue;
+            }
+            int tf = entry & MAX_TF;
+            scores[ordinal] += idf * tf * (K1 + 1) / (tf + lengthNorms[ordinal]);
+            matchedTerms[ordinal] = queryTerm + 1;
+        }
+    }
+
+    private long[] top(int from, int to, int required, int limit, float[] scores, int[] matchedTerms) {
+        int[] best = new int[limit];
+        int size = 0;
+        for (int ordinal = from; ordinal < to; ordinal++) {
+            if (matchedTerms[ordinal] != required) {
+                continue;
+            }
+            // Ordinals ascend with IDs, so an equal score never displaces an earlier document
+            if (size == limit && scores[ordinal] <= scores[best[size - 1]]) {
+                continue;
+            }
+            int i = size < limit ? size++ : size - 1;
+            while (i > 0 && scores[best[i - 1]] < scores[ordinal]) {
+                best[i] = best[i - 1];
+                i--;
+            }
+            best[i] = ordinal;
+        }
+        long[] ids = new long[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = documentIds[best[i]];
+        }
+        return ids;
+    }
+
+    /**
+     * Gets a rough estimate of the heap held by this index.
+     *
+     * @return estimated size in bytes
+     */
+    long estimatedBytes() {
+        long termBytes = 0;
+        for (String term : terms) {
+            termBytes += 48 + term.length() * 2L;
+        }
+        return termBytes + 4L * (postingOffsets.length + postings.length + forwardOffsets.length + forward.length
+                + documentLengths.length + lengthNorms.length) + 8L * documentIds.length;
+    }
+
+    private int ordinalOf(int kind, long id) {
+        int from = kind == CURRICULUM ? 0 : lessonStart;
+        int to = kind == CURRICULUM ? lessonStart : documentIds.length;
+        int index = Arrays.binarySearch(documentIds, from, to, id);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * IDs of matching documents, best match first.
+     */
+    record Hits(long[] curriculumIds, long[] lessonIds) {
+    }
+
+    /**
+     * Collects documents and builds the index. Curriculums must all be added before
+     * lessons, and each kind in ascending ID order.
+     */
+    static final class Builder {
+
+        private final CatalogSearchIndex previous;
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private final List<String> terms = new ArrayList<>();
+        private final List<IntList> termPostings = new ArrayList<>();
+        private final IntList forward = new IntList();
+        private final IntList forwardOffsets = new IntList();
+        private final List<Long> documentIds = new ArrayList<>();
+        private final IntList documentLengths = new IntList();
+        private int lessonStart = -1;
+        private int reused;
+
+        private Builder(CatalogSearchIndex previous) {
+            this.previous = previous;
+            forwardOffsets.add(0);
+        }
+
+        /**
+         * Adds a curriculum.
+         *
+         * @param unchanged whether the previous index holds this curriculum with the same text
+         */
+        Builder addCurriculum(long id, boolean unchanged, String title, String description, String instructorName) {
+            if (lessonStart >= 0) {
+                throw new IllegalStateException("Curriculums must be added before lessons");
+            }
+            if (!reuse(CURRICULUM, id, unchanged)) {
+                Map<String, Integer> frequencies = new HashMap<>();
+                addField(frequencies, title, TITLE_WEIGHT);
+                addField(frequencies, description, DESCRIPTION_WEIGHT);
+                addField(frequencies, instructorName, INSTRUCTOR_WEIGHT);
+                addDocument(id, frequencies);
+            }
+            return this;
+        }
+
+        /**
+         * Adds a lesson.
+         *
+         * @param unchanged whether the previous index holds this lesson with the same text
+         */
+        Builder addLesson(long id, boolean unchanged, String title, String description) {
+            if (lessonStart < 0) {
+                lessonStart = documentIds.size();
+            }
+            if (!reuse(LESSON, id, unchanged)) {
+                Map<String, Integer> frequencies = new HashMap<>();
+                addField(frequencies, title, TITLE_WEIGHT);
+                addField(frequencies, description, DESCRIPTION_WEIGHT);
+                addDocument(id, frequencies);
+            }
+            return this;
+        }
+
+        /**
+         * Gets how many documents were copied from the previous index instead of being
+         * tokenized.
+         */
+        int reusedDocuments() {
+            return reused;
+        }
+
+        CatalogSearchIndex build() {
+            int documentCount = documentIds.size();
+            if (lessonStart < 0) {
+                lessonStart = documentCount;
+            }
+
+            String[] sortedTerms = terms.toArray(String[]::new);
+            Arrays.sort(sortedTerms);
+            int[] sortedIdOf = new int[sortedTerms.length];
+            for (int sorted = 0; sorted < sortedTerms.length; sorted++) {
+                sortedIdOf[termIds.get(sortedTerms[sorted])] = sorted;
+            }
+
+            int[] postingOffsets = new int[sortedTerms.length + 1];
+            int postingCount = 0;
+            for (int sorted = 0; sorted < sortedTerms.length; sorted++) {
+                postingOffsets[sorted] = postingCount;
+                postingCount += termPostings.get(termIds.get(sortedTerms[sorted])).size() / 2;
+            }
+            postingOffsets[sortedTerms.length] = postingCount;
+
+            int[] postings = new int[postingCount];
+            for (int sorted = 0; sorted < sortedTerms.length; sorted++) {
+                IntList documents = termPostings.get(termIds.get(sortedTerms[sorted]));
+                int offset = postingOffsets[sorted];
+                int previousOrdinal = 0;
+                for (int i = 0; i < documents.size(); i += 2) {
+                    int ordinal = documents.get(i);
+                    postings[offset++] = (ordinal - previousOrdinal) << TF_BITS | documents.get(i + 1);
+                    previousOrdinal = ordinal;
+                }
+            }
+
+            int[] forwardEntries = forward.toArray();
+            for (int i = 0; i < forwardEntries.length; i++) {
+                int entry = forwardEntries[i];
+                forwardEntries[i] = sortedIdOf[entry >>> TF_BITS] << TF_BITS | (entry & MAX_TF);
+            }
+
+            long[] ids = new long[documentCount];
+            for (int i = 0; i < documentCount; i++) {
+                ids[i] = documentIds.get(i);
+            }
+            return new CatalogSearchIndex(sortedTerms, postingOffsets, postings, forwardOffsets.toArray(),
+                    forwardEntries, ids, documentLengths.toArray(), lessonStart);
+        }
+
+        private boolean reuse(int kind, long id, boolean unchanged) {
+            if (!unchanged || previous == null) {
+                return false;
+            }
+            int ordinal = previous.ordinalOf(kind, id);
+            if (ordinal < 0) {
+                return false;
+            }
+            int document = startDocument(id);
+            for (int i = previous.forwardOffsets[ordinal]; i < previous.forwardOffsets[ordinal + 1]; i++) {
+                int entry = previous.forward[i];
+                addPosting(document, previous.terms[entry >>> TF_BITS], entry & MAX_TF);
+            }
+            documentLengths.add(previous.documentLengths[ordinal]);
+            forwardOffsets.add(forward.size());
+            reused++;
+            return true;
+        }
+
+        private void addDocument(long id, Map<String, Integer> frequencies) {
+            int document = startDocument(id);
+            int length = 0;
+            for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+                int tf = Math.min(frequency.getValue(), MAX_TF);
+                addPosting(document, frequency.getKey(), tf);
+                length += frequency.getValue();
+            }
+            documentLengths.add(length);
+            forwardOffsets.add(forward.size());
+        }
+
+        private int startDocument(long id) {
+            int document = documentIds.size();
+            if (document == MAX_ORDINAL) {
+                throw new IllegalStateException("Search index is limited to " + MAX_ORDINAL + " documents");
+            }
+            documentIds.add(id);
+            return document;
+        }
+
+        private void addPosting(int document, String term, int tf) {
+            Integer termId = termIds.get(term);
+            if (termId == null) {
+                termId = terms.size();
+                if (termId == MAX_ORDINAL) {
+                    throw new IllegalStateException("Search index is limited to " + MAX_ORDINAL + " terms");
+                }
+                termIds.put(term, termId);
+                terms.add(term);
+                termPostings.add(new IntList());
+            }
+            IntList documents = termPostings.get(termId);
+            documents.add(document);
+            documents.add(tf);
+            forward.add(termId << TF_BITS | tf);
+        }
+
+        private static void addField(Map<String, Integer> frequencies, String text, int weight) {
+            SearchTokenizer.indexTerms(text, term -> frequencies.merge(term, weight, Integer::sum));
+        }
+    }
+
+    /**
+     * Growable int array.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.dto.CatalogSearchResponse;
+import com.waterballsa.backend.repository.CatalogSearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for ranked full-text search across the published catalog.
+ *
+ * Searches the in-memory index of the {@link CatalogSnapshot}, falling back to the
+ * database search vectors while the snapshot is disabled or not built.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSearchService {
+
+    static final int MAX_LIMIT = 50;
+
+    private final CatalogSearchRepository catalogSearchRepository;
+    private final CatalogSnapshot catalogSnapshot;
+
+    /**
+     * Searches published curriculums and lessons.
+     *
+     * @param query search text; blank text matches nothing
+     * @param limit maximum number of curriculums and of lessons, capped at {@value #MAX_LIMIT}
+     * @return matching curriculums and lessons, best match first
+     */
+    public CatalogSearchResponse search(String query, int limit) {
+        String text = query != null ? query.strip() : "";
+        if (text.isEmpty()) {
+            return CatalogSearchResponse.builder().query(text).build();
+        }
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        log.debug("Searching catalog for '{}' (limit {})", text, cappedLimit);
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.search(text, cappedLimit);
+        }
+        return CatalogSearchResponse.builder()
+                .query(text)
+                .curriculums(catalogSearchRepository.searchCurriculums(text, cappedLimit))
+                .lessons(catalogSearchRepository.searchLessons(text, cappedLimit))
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.config.CatalogSnapshotProperties;
+import com.waterballsa.backend.event.CatalogChangedEvent;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Holds the current {@link CatalogGraph}, an immutable copy of the published catalog
+ * that catalog reads are served from without touching the database.
+ *
+ * The graph is built at startup and replaced atomically with a freshly built one when a
+ * {@link CatalogChangedEvent} is committed on this instance, or when the periodic check of
+ * the {@code catalog_version} row, bumped by database triggers, sees a change made by
+ * another instance or outside JPA. Readers keep using the old graph until the new one is
+ * complete; if a rebuild fails the old graph stays in place.
+ */
+@Component
+@Slf4j
+public class CatalogSnapshot {
+
+    private final CatalogSnapshotProperties properties;
+    private final CatalogSnapshotRepository repository;
+    private final Executor rebuildExecutor;
+    private final AtomicReference<CatalogGraph> current = new AtomicReference<>();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final Object rebuildLock = new Object();
+    private final Timer rebuildTimer;
+    private final Counter rebuildFailures;
+
+    @Autowired
+    public CatalogSnapshot(CatalogSnapshotProperties properties,
+                           CatalogSnapshotRepository repository,
+                           MeterRegistry meterRegistry) {
+        this(properties, repository, meterRegistry, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Creates a snapshot whose event-driven rebuilds run on the given executor.
+     */
+    CatalogSnapshot(CatalogSnapshotProperties properties,
+                    CatalogSnapshotRepository repository,
+                    MeterRegistry meterRegistry,
+                    Executor rebuildExecutor) {
+        this.properties = properties;
+        this.repository = repository;
+        this.rebuildExecutor = rebuildExecutor;
+        this.rebuildTimer = Timer.builder("catalog.snapshot.rebuild")
+                .description("Time to load the published catalog and build a new snapshot")
+                .register(meterRegistry);
+        this.rebuildFailures = Counter.builder("catalog.snapshot.rebuild.failures")
+                .description("Catalog snapshot rebuilds that failed and kept the previous snapshot")
+                .register(meterRegistry);
+        graphGauge("catalog.snapshot.memory", "Estimated heap held by the catalog snapshot",
+                CatalogGraph::estimatedBytes).baseUnit("bytes").register(meterRegistry);
+        graphGauge("catalog.snapshot.version", "Catalog version the snapshot was built from",
+                CatalogGraph::version).register(meterRegistry);
+        graphGauge("catalog.snapshot.entities", "Catalog entities held by the snapshot",
+                CatalogGraph::curriculumCount).tag("type", "curriculum").register(meterRegistry);
+        graphGauge("catalog.snapshot.entities", "Catalog entities held by the snapshot",
+                CatalogGraph::chapterCount).tag("type", "chapter").register(meterRegistry);
+        graphGauge("catalog.snapshot.entities", "Catalog entities held by the snapshot",
+                CatalogGraph::lessonCount).tag("type", "lesson").register(meterRegistry);
+    }
+
+    /**
+     * Builds the first snapshot. A failure is logged and reads fall back to the database
+     * until a later version check succeeds.
+     */
+    @PostConstruct
+    public void start() {
+        if (properties.isEnabled()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Stops the background rebuild thread.
+     */
+    @PreDestroy
+    public void stop() {
+        if (rebuildExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the current catalog graph.
+     *
+     * @return the graph, or null if the snapshot is disabled or has not been built yet
+     */
+    public CatalogGraph current() {
+        return properties.isEnabled() ? current.get() : null;
+    }
+
+    /**
+     * Rebuilds the snapshot if the catalog version in the database differs from the
+     * snapshot's.
+     */
+    @Scheduled(fixedDelayString = "${catalog.snapshot.version-check-interval:PT30S}")
+    public void checkVersion() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            CatalogGraph graph = current.get();
+            if (graph == null || graph.version() != repository.findVersion()) {
+                refresh();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to check the catalog version: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Schedules a rebuild once a catalog change is committed, or immediately when it was
+     * made outside a transaction. Changes committed while a rebuild is queued share it.
+     *
+     * @param event the catalog change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (properties.isEnabled() && rebuildQueued.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                rebuildQueued.set(false);
+                refresh();
+            });
+        }
+    }
+
+    /**
+     * Loads the published catalog, builds a new graph and swaps it in.
+     *
+     * @return true if a new graph was swapped in
+     */
+    public boolean refresh() {
+        synchronized (rebuildLock) {
+            try {
+                CatalogGraph graph = rebuildTimer.record(
+                        () -> CatalogGraph.build(repository.loadPublishedCatalog(), current.get()));
+                current.set(graph);
+                log.info("Catalog snapshot version {} built: {} curriculums, {} chapters, {} lessons, ~{} KiB",
+                        graph.version(), graph.curriculumCount(), graph.chapterCount(), graph.lessonCount(),
+                        graph.estimatedBytes() / 1024);
+                return true;
+            } catch (RuntimeException e) {
+                rebuildFailures.increment();
+                log.warn("Failed to rebuild the catalog snapshot, keeping the previous one: {}", e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    private Gauge.Builder<AtomicReference<CatalogGraph>> graphGauge(String name, String description,
+                                                                    ToDoubleFunction<CatalogGraph> value) {
+        return Gauge.builder(name, current, reference -> {
+                    CatalogGraph graph = reference.get();
+                    return graph != null ? value.applyAsDouble(graph) : 0;
+                })
+                .description(description);
+    }
+}
@@ -0,0 +1,76 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.repository.CatalogStatsRepository.ChapterStats;
+import com.waterballsa.backend.repository.CatalogStatsRepository.CurriculumStats;
+import com.waterballsa.backend.repository.CatalogStatsRepository.LoadedStats;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable in-memory copy of the curriculum_stats and chapter_stats tables.
+ *
+ * Answers the count and duration endpoints with the same values as the repository
+ * aggregates: unknown IDs count as zero, and unpublished curriculums and chapters still
+ * report their published children.
+ */
+public final class CatalogStats {
+
+    private final long version;
+    private final Map<Long, CurriculumStats> curriculums;
+    private final Map<Long, ChapterStats> chapters;
+    private final long publishedCurriculumCount;
+
+    private CatalogStats(long version, Map<Long, CurriculumStats> curriculums, Map<Long, ChapterStats> chapters,
+                         long publishedCurriculumCount) {
+        this.version = version;
+        this.curriculums = curriculums;
+        this.chapters = chapters;
+        this.publishedCurriculumCount = publishedCurriculumCount;
+    }
+
+    /**
+     * Indexes loaded stats rows by ID.
+     *
+     * @param loaded stats rows and the catalog version they belong to
+     * @return catalog stats
+     */
+    public static CatalogStats of(LoadedStats loaded) {
+        Map<Long, CurriculumStats> curriculums = new HashMap<>(loaded.curriculums().size() * 2);
+        long published = 0;
+        for (CurriculumStats stats : loaded.curriculums()) {
+            curriculums.put(stats.curriculumId(), stats);
+            if (stats.published()) {
+                published++;
+            }
+        }
+        Map<Long, ChapterStats> chapters = new HashMap<>(loaded.chapters().size() * 2);
+        for (ChapterStats stats : loaded.chapters()) {
+            chapters.put(stats.chapterId(), stats);
+        }
+        return new CatalogStats(loaded.version(), curriculums, chapters, published);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public long countPublishedCurriculums() {
+        return publishedCurriculumCount;
+    }
+
+    public long countPublishedChapters(long curriculumId) {
+        CurriculumStats stats = curriculums.get(curriculumId);
+        return stats != null ? stats.publishedChapterCount() : 0;
+    }
+
+    public long totalDurationMinutes(long curriculumId) {
+        CurriculumStats stats = curriculums.get(curriculumId);
+        return stats != null ? stats.totalDurationMinutes() : 0;
+    }
+
+    public long countPublishedLessons(long chapterId) {
+        ChapterStats stats = chapters.get(chapterId);
+        return stats != null ? stats.publishedLessonCount() : 0;
+    }
+}
@@ -0,0 +1,157 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.config.CatalogStatsProperties;
+import com.waterballsa.backend.event.CatalogChangedEvent;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository;
+import com.waterballsa.backend.repository.CatalogStatsRepository;
+import com.waterballsa.backend.repository.CatalogStatsRepository.Drift;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link CatalogStats}, the counts and durations behind the count and
+ * duration endpoints, so they are served from memory instead of aggregated per request.
+ *
+ * Database triggers keep the stats tables up to date in the same transaction as every
+ * catalog change, which also bumps {@code catalog_version}. The in-memory copy is reloaded
+ * once a {@link CatalogChangedEvent} is committed on this instance, or when the periodic
+ * version check sees a change made elsewhere. A slower consistency check recomputes the
+ * tables from the catalog, counts and logs the rows that had drifted, and reloads.
+ */
+@Service
+@Slf4j
+public class CatalogStatsService {
+
+    private final CatalogStatsProperties properties;
+    private final CatalogStatsRepository repository;
+    private final CatalogSnapshotRepository catalogSnapshotRepository;
+    private final AtomicReference<CatalogStats> current = new AtomicReference<>();
+    private final Object loadLock = new Object();
+    private final Timer loadTimer;
+    private final Counter driftedRows;
+
+    public CatalogStatsService(CatalogStatsProperties properties,
+                               CatalogStatsRepository repository,
+                               CatalogSnapshotRepository catalogSnapshotRepository,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.repository = repository;
+        this.catalogSnapshotRepository = catalogSnapshotRepository;
+        this.loadTimer = Timer.builder("catalog.stats.load")
+                .description("Time to load the catalog stats tables into memory")
+                .register(meterRegistry);
+        this.driftedRows = Counter.builder("catalog.stats.drift")
+                .description("Catalog stats rows the consistency check found missing or wrong and repaired")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the stats. A failure is logged and counts fall back to the database until a
+     * later version check succeeds.
+     */
+    @PostConstruct
+    public void start() {
+        if (properties.isEnabled()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Gets the current stats.
+     *
+     * @return the stats, or null if disabled or not loaded yet
+     */
+    public CatalogStats current() {
+        return properties.isEnabled() ? current.get() : null;
+    }
+
+    /**
+     * Reloads the stats if the catalog version in the database differs from theirs.
+     */
+    @Scheduled(fixedDelayString = "${catalog.stats.refresh-interval:PT10S}")
+    public void checkVersion() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            CatalogStats stats = current.get();
+            if (stats == null || stats.version() != catalogSnapshotRepository.findVersion()) {
+                refresh();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to check the catalog version: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads the stats once a catalog change is committed, or immediately when it was
+     * made outside a transaction. The tables are small, so this runs on the calling thread.
+     *
+     * @param event the catalog change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (properties.isEnabled()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Recomputes the stats tables from the catalog tables and reloads them. Drift means a
+     * change bypassed the triggers, for example a TRUNCATE.
+     *
+     * @return the rows that had drifted, or null if disabled or the check failed
+     */
+    @Scheduled(fixedDelayString = "${catalog.stats.consistency-check-interval:PT1H}",
+               initialDelayString = "${catalog.stats.consistency-check-interval:PT1H}")
+    public Drift checkConsistency() {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        try {
+            Drift drift = repository.rebuild();
+            if (drift.total() > 0) {
+                driftedRows.increment(drift.total());
+                log.warn("Catalog stats had drifted and were repaired: {} chapter rows, {} curriculum rows",
+                        drift.chapters(), drift.curriculums());
+            } else {
+                log.debug("Catalog stats are consistent");
+            }
+            // Another instance may have repaired the tables first, so reload either way
+            refresh();
+            return drift;
+        } catch (RuntimeException e) {
+            log.warn("Failed to check the catalog stats: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Loads the stats tables and swaps the new stats in.
+     *
+     * @return true if new stats were swapped in
+     */
+    public boolean refresh() {
+        synchronized (loadLock) {
+            try {
+                CatalogStats stats = loadTimer.record(() -> CatalogStats.of(repository.loadStats()));
+                current.set(stats);
+                log.debug("Catalog stats version {} loaded: {} published curriculums",
+                        stats.version(), stats.countPublishedCurriculums());
+                return true;
+            } catch (RuntimeException e) {
+                log.warn("Failed to load the catalog stats, keeping the previous ones: {}", e.getMessage());
+                return false;
+            }
+        }
+    }
+}
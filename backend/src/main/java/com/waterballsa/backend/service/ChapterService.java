@@ -7,7 +7,6 @@ import com.waterballsa.backend.repository.ChapterRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -18,6 +17,12 @@ import java.util.stream.Collectors;
  * Handles business logic for:
  * - Retrieving chapters by curriculum
  * - Getting chapter details with lessons
+ *
+ * Reads are served from the {@link CatalogSnapshot}; the repository is only queried while
+ * the snapshot is disabled or not built yet, in a {@link CatalogReadTransaction}.
+ *
+ * Counts and durations come from the {@link CatalogStatsService} first, which keeps the
+ * maintained stats tables in memory.
  */
 @Service
 @RequiredArgsConstructor
@@ -25,6 +30,9 @@ import java.util.stream.Collectors;
 public class ChapterService {
 
     private final ChapterRepository chapterRepository;
+    private final CatalogSnapshot catalogSnapshot;
+    private final CatalogStatsService catalogStatsService;
+    private final CatalogReadTransaction catalogReadTransaction;
 
     /**
      * Retrieves all published chapters for a curriculum.
@@ -32,13 +40,17 @@ public class ChapterService {
      * @param curriculumId the curriculum ID
      * @return list of chapter DTOs ordered by sequence
      */
-    @Transactional(readOnly = true)
     public List<ChapterDto> getChaptersByCurriculum(Long curriculumId) {
         log.debug("Fetching chapters for curriculum ID: {}", curriculumId);
-        return chapterRepository.findByCurriculumIdAndIsPublishedTrueOrderByOrderIndexAsc(curriculumId)
-                .stream()
-                .map(ChapterDto::from)
-                .collect(Collectors.toList());
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.findPublishedChapters(curriculumId);
+        }
+        return catalogReadTransaction.read(() ->
+                chapterRepository.findByCurriculumIdAndIsPublishedTrueOrderByOrderIndexAsc(curriculumId)
+                        .stream()
+                        .map(ChapterDto::from)
+                        .collect(Collectors.toList()));
     }
 
     /**
@@ -48,13 +60,18 @@ public class ChapterService {
      * @return chapter DTO with lessons
      * @throws ResourceNotFoundException if chapter not found or not published
      */
-    @Transactional(readOnly = true)
     public ChapterDto getChapterById(Long id) {
         log.debug("Fetching chapter with ID: {}", id);
-        Chapter chapter = chapterRepository.findPublishedByIdWithLessons(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Chapter", "id", id));
-
-        return ChapterDto.fromWithLessons(chapter);
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.findPublishedChapter(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Chapter", "id", id));
+        }
+        return catalogReadTransaction.read(() -> {
+            Chapter chapter = chapterRepository.findPublishedByIdWithLessons(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Chapter", "id", id));
+            return ChapterDto.fromWithLessons(chapter);
+        });
     }
 
     /**
@@ -63,8 +80,15 @@ public class ChapterService {
      * @param curriculumId the curriculum ID
      * @return total count
      */
-    @Transactional(readOnly = true)
     public long countChaptersByCurriculum(Long curriculumId) {
-        return chapterRepository.countByCurriculumIdAndIsPublishedTrue(curriculumId);
+        CatalogStats stats = catalogStatsService.current();
+        if (stats != null) {
+            return stats.countPublishedChapters(curriculumId);
+        }
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.countPublishedChapters(curriculumId);
+        }
+        return catalogReadTransaction.read(() -> chapterRepository.countByCurriculumIdAndIsPublishedTrue(curriculumId));
     }
 }
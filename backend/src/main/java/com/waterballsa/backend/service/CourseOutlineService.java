@@ -0,0 +1,161 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.dto.ChapterDto;
+import com.waterballsa.backend.dto.ChapterOutlineDto;
+import com.waterballsa.backend.dto.CourseOutlineDto;
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.dto.LessonDto;
+import com.waterballsa.backend.dto.LessonOutlineDto;
+import com.waterballsa.backend.dto.OwnershipCheckResponse;
+import com.waterballsa.backend.dto.VideoProgressDto;
+import com.waterballsa.backend.entity.PurchaseStatus;
+import com.waterballsa.backend.repository.PurchaseRepository;
+import com.waterballsa.backend.repository.VideoProgressRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for building a learner's course outline.
+ *
+ * The outline replaces the separate curriculum, ownership and per-chapter progress calls of
+ * a course page. It is built from a fixed number of reads whatever the size of the
+ * curriculum: the tree from {@link CurriculumService} (the catalog snapshot or the tree
+ * cache, one query on a miss), at most one purchase lookup, and one query for the
+ * learner's progress in every lesson of the curriculum.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CourseOutlineService {
+
+    private final CurriculumService curriculumService;
+    private final PurchaseRepository purchaseRepository;
+    private final VideoProgressRepository videoProgressRepository;
+
+    /**
+     * Builds the outline of a published curriculum for a learner.
+     * Only published chapters and lessons are included, ordered by order index.
+     *
+     * @param userId the learner's user ID
+     * @param curriculumId the curriculum ID
+     * @return course outline with ownership, per-lesson progress and per-chapter completion
+     * @throws com.waterballsa.backend.exception.ResourceNotFoundException if curriculum not found or not published
+     */
+    @Transactional(readOnly = true)
+    public CourseOutlineDto getOutline(Long userId, Long curriculumId) {
+        log.debug("Building course outline of curriculum {} for user {}", curriculumId, userId);
+
+        CurriculumDto tree = curriculumService.getCurriculumById(curriculumId);
+        OwnershipCheckResponse ownership = checkOwnership(userId, tree);
+        Map<Long, VideoProgressDto> progressByLesson = videoProgressRepository
+                .findByUserIdAndCurriculumId(userId, curriculumId)
+                .stream()
+                .map(VideoProgressDto::from)
+                .collect(Collectors.toMap(VideoProgressDto::getLessonId, Function.identity()));
+
+        List<ChapterOutlineDto> chapters = new ArrayList<>();
+        int totalLessons = 0;
+        int completedLessons = 0;
+        for (ChapterDto chapter : tree.getChapters()) {
+            if (!Boolean.TRUE.equals(chapter.getIsPublished())) {
+                continue;
+            }
+            ChapterOutlineDto outline = toChapterOutline(chapter, ownership.isOwns(), progressByLesson);
+            totalLessons += outline.getTotalLessons();
+            completedLessons += outline.getCompletedLessons();
+            chapters.add(outline);
+        }
+
+        return CourseOutlineDto.builder()
+                .curriculum(withoutChapters(tree))
+                .ownership(ownership)
+                .totalLessons(totalLessons)
+                .completedLessons(completedLessons)
+                .completionPercentage(percentage(completedLessons, totalLessons))
+                .chapters(chapters)
+                .build();
+    }
+
+    /**
+     * Same rules as {@link PurchaseService#checkOwnership}, with the price taken from the
+     * curriculum tree instead of loading the curriculum again.
+     */
+    private OwnershipCheckResponse checkOwnership(Long userId, CurriculumDto curriculum) {
+        if (curriculum.getPrice().compareTo(BigDecimal.ZERO) == 0) {
+            return OwnershipCheckResponse.owned(null, null);
+        }
+        return purchaseRepository.findCompletedPurchase(userId, curriculum.getId(), PurchaseStatus.COMPLETED)
+                .map(purchase -> OwnershipCheckResponse.owned(purchase.getId(), purchase.getPurchasedAt()))
+                .orElseGet(OwnershipCheckResponse::notOwned);
+    }
+
+    private ChapterOutlineDto toChapterOutline(ChapterDto chapter, boolean owns,
+                                               Map<Long, VideoProgressDto> progressByLesson) {
+        List<LessonOutlineDto> lessons = new ArrayList<>();
+        int completed = 0;
+        for (LessonDto lesson : chapter.getLessons()) {
+            if (!Boolean.TRUE.equals(lesson.getIsPublished())) {
+                continue;
+            }
+            VideoProgressDto progress = progressByLesson.get(lesson.getId());
+            if (progress != null && Boolean.TRUE.equals(progress.getIsCompleted())) {
+                completed++;
+            }
+            lessons.add(LessonOutlineDto.builder()
+                    .id(lesson.getId())
+                    .title(lesson.getTitle())
+                    .lessonType(lesson.getLessonType())
+                    .orderIndex(lesson.getOrderIndex())
+                    .durationMinutes(lesson.getDurationMinutes())
+                    .isFreePreview(lesson.getIsFreePreview())
+                    .accessible(owns || Boolean.TRUE.equals(lesson.getIsFreePreview()))
+                    .progress(progress)
+                    .build());
+        }
+        return ChapterOutlineDto.builder()
+                .id(chapter.getId())
+                .title(chapter.getTitle())
+                .description(chapter.getDescription())
+                .orderIndex(chapter.getOrderIndex())
+                .estimatedDurationHours(chapter.getEstimatedDurationHours())
+                .totalLessons(lessons.size())
+                .completedLessons(completed)
+                .completionPercentage(percentage(completed, lessons.size()))
+                .isCompleted(!lessons.isEmpty() && completed == lessons.size())
+                .lessons(lessons)
+                .build();
+    }
+
+    /**
+     * Copies the curriculum fields of a tree, leaving out its chapters.
+     */
+    private static CurriculumDto withoutChapters(CurriculumDto tree) {
+        return CurriculumDto.builder()
+                .id(tree.getId())
+                .title(tree.getTitle())
+                .description(tree.getDescription())
+                .thumbnailUrl(tree.getThumbnailUrl())
+                .instructorName(tree.getInstructorName())
+                .price(tree.getPrice())
+                .currency(tree.getCurrency())
+                .difficultyLevel(tree.getDifficultyLevel())
+                .estimatedDurationHours(tree.getEstimatedDurationHours())
+                .isPublished(tree.getIsPublished())
+                .publishedAt(tree.getPublishedAt())
+                .createdAt(tree.getCreatedAt())
+                .build();
+    }
+
+    private static int percentage(int completed, int total) {
+        return total == 0 ? 0 : completed * 100 / total;
+    }
+}
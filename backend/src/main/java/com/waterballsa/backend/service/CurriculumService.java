@@ -1,16 +1,34 @@
 package com.waterballsa.backend.service;
 
+import com.waterballsa.backend.dto.BatchResponse;
+import com.waterballsa.backend.dto.CatalogBrowseResponse;
 import com.waterballsa.backend.dto.CurriculumDto;
-import com.waterballsa.backend.entity.Curriculum;
+import com.waterballsa.backend.dto.CursorPage;
+import com.waterballsa.backend.dto.FieldSet;
 import com.waterballsa.backend.entity.DifficultyLevel;
+import com.waterballsa.backend.entity.LessonType;
 import com.waterballsa.backend.exception.ResourceNotFoundException;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository;
 import com.waterballsa.backend.repository.CurriculumRepository;
+import com.waterballsa.backend.repository.CurriculumRow;
+import com.waterballsa.backend.repository.LessonRepository;
+import com.waterballsa.backend.repository.LessonRepository.CurriculumLessonType;
+import com.waterballsa.backend.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing curriculums.
@@ -19,6 +37,15 @@ import org.springframework.transaction.annotation.Transactional;
  * - Browsing and searching curriculums
  * - Retrieving curriculum details
  * - Filtering by difficulty and instructor
+ * - Cursor-paged listings, newest first, without a count query
+ * - Faceted browsing with facet counts, on a {@link CatalogFacetIndex}
+ *
+ * Reads are served from the {@link CatalogSnapshot} without touching the database. The
+ * repository is only queried while the snapshot is disabled or not built yet, in a
+ * {@link CatalogReadTransaction}; the methods themselves are not transactional, so a
+ * snapshot read never checks out a connection.
+ * The published count comes from the {@link CatalogStatsService} first. Repository
+ * listings are read as {@link CurriculumRow} projections, not entities.
  */
 @Service
 @RequiredArgsConstructor
@@ -26,34 +53,102 @@ import org.springframework.transaction.annotation.Transactional;
 public class CurriculumService {
 
     private final CurriculumRepository curriculumRepository;
+    private final LessonRepository lessonRepository;
+    private final CurriculumTreeCache curriculumTreeCache;
+    private final CatalogSnapshot catalogSnapshot;
+    private final CatalogStatsService catalogStatsService;
+    private final CatalogSnapshotRepository catalogSnapshotRepository;
+    private final CatalogReadTransaction catalogReadTransaction;
+    private final AtomicReference<BrowseIndex> browseIndex = new AtomicReference<>();
 
     /**
      * Retrieves all published curriculums with pagination.
      *
      * @param pageable pagination information
+     * @param fields fields to return
      * @return page of curriculum DTOs
      */
-    @Transactional(readOnly = true)
-    public Page<CurriculumDto> getAllPublishedCurriculums(Pageable pageable) {
-        log.debug("Fetching published curriculums, page: {}", pageable.getPageNumber());
-        return curriculumRepository.findByIsPublishedTrue(pageable)
-                .map(CurriculumDto::from);
+    public Page<CurriculumDto> getAllPublishedCurriculums(Pageable pageable, FieldSet fields) {
+        log.debug("Fetching published curriculums, page: {}, fields: {}", pageable.getPageNumber(), fields);
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.findCurriculums(pageable).map(fields::apply);
+        }
+        return catalogReadTransaction.read(() -> (fields == FieldSet.SUMMARY
+                ? curriculumRepository.findPublishedSummaries(pageable)
+                : curriculumRepository.findByIsPublishedTrue(pageable))
+                .map(CurriculumRow::toDto));
+    }
+
+    /**
+     * Retrieves a slice of published curriculums, newest first.
+     *
+     * @param cursor cursor from the previous slice, blank for the first slice
+     * @param size slice size
+     * @param fields fields to return
+     * @return slice of curriculum DTOs with the cursor of the next slice
+     */
+    public CursorPage<CurriculumDto> getPublishedCurriculumsAfter(String cursor, int size, FieldSet fields) {
+        KeysetCursor after = KeysetCursor.decode(cursor).orElse(null);
+        log.debug("Fetching published curriculums after cursor {}, fields: {}", after, fields);
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return toCursorPage(catalog.findCurriculumsAfter(after, size).map(fields::apply));
+        }
+        Pageable slice = PageRequest.ofSize(size);
+        boolean summary = fields == FieldSet.SUMMARY;
+        Slice<CurriculumRow> rows = catalogReadTransaction.read(() -> {
+            if (after == null) {
+                return summary
+                        ? curriculumRepository.findPublishedSummarySlice(slice)
+                        : curriculumRepository.findPublishedSlice(slice);
+            }
+            return summary
+                    ? curriculumRepository.findPublishedSummarySliceBefore(after.sortKey(), after.id(), slice)
+                    : curriculumRepository.findPublishedSliceBefore(after.sortKey(), after.id(), slice);
+        });
+        return toCursorPage(rows.map(CurriculumRow::toDto));
     }
 
     /**
      * Retrieves a curriculum by ID with its chapters.
+     * Without a catalog snapshot the tree is served from {@link CurriculumTreeCache}; the
+     * database is only read on a miss.
      *
      * @param id the curriculum ID
      * @return curriculum DTO with chapters
      * @throws ResourceNotFoundException if curriculum not found or not published
      */
-    @Transactional(readOnly = true)
     public CurriculumDto getCurriculumById(Long id) {
-        log.debug("Fetching curriculum with ID: {}", id);
-        Curriculum curriculum = curriculumRepository.findPublishedByIdWithChapters(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Curriculum", "id", id));
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.findCurriculumTree(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Curriculum", "id", id));
+        }
+        return curriculumTreeCache.get(id, () -> catalogReadTransaction.read(() -> loadCurriculumTree(id)));
+    }
 
-        return CurriculumDto.fromWithChapters(curriculum);
+    /**
+     * Retrieves several published curriculums by ID, without chapters.
+     *
+     * @param ids the curriculum IDs, at most {@value BatchResponse#MAX_IDS}
+     * @return curriculum DTOs in request order, with the IDs not found
+     * @throws com.waterballsa.backend.exception.BadRequestException if too many IDs are requested
+     */
+    public BatchResponse<CurriculumDto> getCurriculumsByIds(List<Long> ids) {
+        Set<Long> distinctIds = BatchResponse.distinctIds(ids);
+        log.debug("Fetching {} curriculums by ID", distinctIds.size());
+        if (distinctIds.isEmpty()) {
+            return new BatchResponse<>();
+        }
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return BatchResponse.of(distinctIds, catalog.findCurriculumsById(distinctIds));
+        }
+        Map<Long, CurriculumDto> found = catalogReadTransaction.read(() ->
+                curriculumRepository.findPublishedByIdIn(distinctIds).stream()
+                        .collect(Collectors.toMap(CurriculumRow::id, CurriculumRow::toDto)));
+        return BatchResponse.of(distinctIds, found);
     }
 
     /**
@@ -63,11 +158,14 @@ public class CurriculumService {
      * @param pageable pagination information
      * @return page of matching curriculum DTOs
      */
-    @Transactional(readOnly = true)
     public Page<CurriculumDto> searchCurriculums(String searchTerm, Pageable pageable) {
         log.debug("Searching curriculums with term: {}", searchTerm);
-        return curriculumRepository.searchPublishedCurriculums(searchTerm, pageable)
-                .map(CurriculumDto::from);
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.searchCurriculums(searchTerm, pageable);
+        }
+        return catalogReadTransaction.read(() -> curriculumRepository.searchPublishedCurriculums(searchTerm, pageable)
+                .map(CurriculumRow::toDto));
     }
 
     /**
@@ -77,11 +175,40 @@ public class CurriculumService {
      * @param pageable pagination information
      * @return page of matching curriculum DTOs
      */
-    @Transactional(readOnly = true)
     public Page<CurriculumDto> getCurriculumsByDifficulty(DifficultyLevel difficultyLevel, Pageable pageable) {
         log.debug("Fetching curriculums with difficulty: {}", difficultyLevel);
-        return curriculumRepository.findByIsPublishedTrueAndDifficultyLevel(difficultyLevel, pageable)
-                .map(CurriculumDto::from);
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.findCurriculumsByDifficulty(difficultyLevel, pageable);
+        }
+        return catalogReadTransaction.read(() ->
+                curriculumRepository.findByIsPublishedTrueAndDifficultyLevel(difficultyLevel, pageable)
+                        .map(CurriculumRow::toDto));
+    }
+
+    /**
+     * Retrieves a slice of published curriculums of a difficulty level, newest first.
+     *
+     * @param difficultyLevel the difficulty level
+     * @param cursor cursor from the previous slice, blank for the first slice
+     * @param size slice size
+     * @return slice of matching curriculum DTOs with the cursor of the next slice
+     */
+    public CursorPage<CurriculumDto> getCurriculumsByDifficultyAfter(DifficultyLevel difficultyLevel,
+                                                                     String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor).orElse(null);
+        log.debug("Fetching curriculums with difficulty {} after cursor {}", difficultyLevel, after);
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return toCursorPage(catalog.findCurriculumsByDifficultyAfter(difficultyLevel, after, size));
+        }
+        Pageable slice = PageRequest.ofSize(size);
+        return toCursorPage(catalogReadTransaction.read(() -> after == null
+                ? curriculumRepository.findPublishedSliceByDifficulty(difficultyLevel, slice)
+                        .map(CurriculumRow::toDto)
+                : curriculumRepository.findPublishedSliceByDifficultyBefore(
+                        difficultyLevel, after.sortKey(), after.id(), slice)
+                        .map(CurriculumRow::toDto)));
     }
 
     /**
@@ -91,12 +218,16 @@ public class CurriculumService {
      * @param pageable pagination information
      * @return page of matching curriculum DTOs
      */
-    @Transactional(readOnly = true)
     public Page<CurriculumDto> getCurriculumsByInstructor(String instructorName, Pageable pageable) {
         log.debug("Fetching curriculums by instructor: {}", instructorName);
-        return curriculumRepository.findByIsPublishedTrueAndInstructorNameContainingIgnoreCase(
-                instructorName, pageable)
-                .map(CurriculumDto::from);
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.findCurriculumsByInstructor(instructorName, pageable);
+        }
+        return catalogReadTransaction.read(() ->
+                curriculumRepository.findByIsPublishedTrueAndInstructorNameContainingIgnoreCase(
+                        instructorName, pageable)
+                        .map(CurriculumRow::toDto));
     }
 
     /**
@@ -105,11 +236,108 @@ public class CurriculumService {
      * @param pageable pagination information
      * @return page of free curriculum DTOs
      */
-    @Transactional(readOnly = true)
     public Page<CurriculumDto> getFreeCurriculums(Pageable pageable) {
         log.debug("Fetching free curriculums");
-        return curriculumRepository.findFreeCurriculums(pageable)
-                .map(CurriculumDto::from);
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.findFreeCurriculums(pageable);
+        }
+        return catalogReadTransaction.read(() -> curriculumRepository.findFreeCurriculums(pageable)
+                .map(CurriculumRow::toDto));
+    }
+
+    /**
+     * Retrieves a slice of free curriculums (price = 0), newest first.
+     *
+     * @param cursor cursor from the previous slice, blank for the first slice
+     * @param size slice size
+     * @return slice of free curriculum DTOs with the cursor of the next slice
+     */
+    public CursorPage<CurriculumDto> getFreeCurriculumsAfter(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor).orElse(null);
+        log.debug("Fetching free curriculums after cursor {}", after);
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return toCursorPage(catalog.findFreeCurriculumsAfter(after, size));
+        }
+        Pageable slice = PageRequest.ofSize(size);
+        return toCursorPage(catalogReadTransaction.read(() -> after == null
+                ? curriculumRepository.findFreeSlice(slice).map(CurriculumRow::toDto)
+                : curriculumRepository.findFreeSliceBefore(after.sortKey(), after.id(), slice)
+                        .map(CurriculumRow::toDto)));
+    }
+
+    /**
+     * Filters published curriculums by any combination of facets, newest first, and counts
+     * the curriculums of every facet value. Values of one facet are ORed, facets are ANDed.
+     * Without a catalog snapshot, a facet index is built from the database and reused until
+     * the catalog version changes.
+     *
+     * @param parameters request parameter values per facet
+     * @param pageable page number and size; the sort is ignored
+     * @return page of matching curriculum DTOs with facet counts
+     * @throws com.waterballsa.backend.exception.BadRequestException if a facet value is invalid
+     */
+    public CatalogBrowseResponse browseCurriculums(Map<CatalogFacetIndex.Facet, List<String>> parameters,
+                                                   Pageable pageable) {
+        Map<CatalogFacetIndex.Facet, Set<String>> selections = CatalogFacetIndex.parseSelections(parameters);
+        log.debug("Browsing curriculums with facets: {}", selections);
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.browse(selections, pageable);
+        }
+
+        BrowseIndex fallback = catalogReadTransaction.read(this::currentBrowseIndex);
+        CatalogFacetIndex.Result result = fallback.index().filter(selections);
+        return CatalogBrowseResponse.of(
+                result.page(pageable, position -> fallback.rows().get(position).toDto()),
+                result.countsByParameter());
+    }
+
+    /**
+     * Gets the facet index of the current catalog version, building it from the database
+     * when the version changed. Runs in one repeatable-read transaction, so the version and
+     * the rows it is built from come from the same database snapshot.
+     */
+    private BrowseIndex currentBrowseIndex() {
+        long version = catalogSnapshotRepository.findVersion();
+        BrowseIndex cached = browseIndex.get();
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+
+        List<CurriculumRow> rows = curriculumRepository.findAllPublishedNewestFirst();
+        Map<Long, Set<LessonType>> lessonTypes = new HashMap<>();
+        for (CurriculumLessonType row : lessonRepository.findPublishedLessonTypes()) {
+            lessonTypes.computeIfAbsent(row.getCurriculumId(), id -> EnumSet.noneOf(LessonType.class))
+                    .add(row.getLessonType());
+        }
+        CatalogFacetIndex.Builder index = CatalogFacetIndex.builder();
+        for (CurriculumRow row : rows) {
+            index.add(row.difficultyLevel(), row.price(), row.instructorName(), row.estimatedDurationHours(),
+                    lessonTypes.getOrDefault(row.id(), Set.of()));
+        }
+        BrowseIndex built = new BrowseIndex(version, index.build(), List.copyOf(rows));
+        browseIndex.set(built);
+        log.debug("Built browse facet index of {} curriculums at catalog version {}", rows.size(), version);
+        return built;
+    }
+
+    private static CursorPage<CurriculumDto> toCursorPage(Slice<CurriculumDto> slice) {
+        return CursorPage.of(slice, curriculum -> new KeysetCursor(curriculum.getCreatedAt(), curriculum.getId()));
+    }
+
+    /**
+     * Loads a published curriculum with its chapters and lessons in a single query.
+     *
+     * @param id the curriculum ID
+     * @return curriculum DTO with chapters
+     * @throws ResourceNotFoundException if curriculum not found or not published
+     */
+    private CurriculumDto loadCurriculumTree(Long id) {
+        log.debug("Loading curriculum with ID: {}", id);
+        return curriculumRepository.findPublishedTreeById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Curriculum", "id", id));
     }
 
     /**
@@ -117,8 +345,21 @@ public class CurriculumService {
      *
      * @return total count
      */
-    @Transactional(readOnly = true)
     public long countPublishedCurriculums() {
-        return curriculumRepository.countByIsPublishedTrue();
+        CatalogStats stats = catalogStatsService.current();
+        if (stats != null) {
+            return stats.countPublishedCurriculums();
+        }
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.countCurriculums();
+        }
+        return catalogReadTransaction.read(curriculumRepository::countByIsPublishedTrue);
+    }
+
+    /**
+     * Facet index built from the database, with the curriculum rows by position.
+     */
+    private record BrowseIndex(long version, CatalogFacetIndex index, List<CurriculumRow> rows) {
     }
 }
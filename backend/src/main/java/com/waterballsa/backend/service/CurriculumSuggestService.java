@@ -0,0 +1,138 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.config.CatalogSuggestProperties;
+import com.waterballsa.backend.dto.SuggestionDto;
+import com.waterballsa.backend.entity.PurchaseStatus;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository;
+import com.waterballsa.backend.repository.PurchaseRepository;
+import com.waterballsa.backend.repository.PurchaseRepository.CurriculumPurchaseCount;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service for typeahead suggestions over curriculum titles, instructor names and lesson
+ * titles, ranked by completed purchases.
+ *
+ * Suggestions come from an immutable {@link SuggestionTrie}. A scheduled check rebuilds it
+ * in the background from the current {@link CatalogSnapshot} graph when the catalog
+ * version has changed or the purchase counts have expired, then swaps it in; lookups keep
+ * using the old trie meanwhile. While the snapshot is disabled the published catalog is
+ * loaded for the rebuild instead.
+ */
+@Service
+@Slf4j
+public class CurriculumSuggestService {
+
+    private final CatalogSuggestProperties properties;
+    private final CatalogSnapshot catalogSnapshot;
+    private final CatalogSnapshotRepository catalogSnapshotRepository;
+    private final PurchaseRepository purchaseRepository;
+    private final AtomicReference<SuggestionTrie> current = new AtomicReference<>();
+    private final Timer rebuildTimer;
+    private volatile long popularityLoadedAtMillis;
+
+    public CurriculumSuggestService(CatalogSuggestProperties properties,
+                                    CatalogSnapshot catalogSnapshot,
+                                    CatalogSnapshotRepository catalogSnapshotRepository,
+                                    PurchaseRepository purchaseRepository,
+                                    MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.catalogSnapshot = catalogSnapshot;
+        this.catalogSnapshotRepository = catalogSnapshotRepository;
+        this.purchaseRepository = purchaseRepository;
+        this.rebuildTimer = Timer.builder("catalog.suggest.rebuild")
+                .description("Time to load purchase counts and build a new suggestion trie")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the first trie, after the catalog snapshot it reads from.
+     */
+    @PostConstruct
+    public void start() {
+        refresh();
+    }
+
+    /**
+     * Gets suggestions for the text typed so far.
+     *
+     * @param prefix the text typed so far
+     * @param limit maximum number of suggestions, at most {@value SuggestionTrie#MAX_SUGGESTIONS}
+     * @return suggestions, most purchased first; empty until the first trie is built
+     */
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        SuggestionTrie trie = current.get();
+        if (!properties.isEnabled() || trie == null || prefix == null || limit <= 0) {
+            return List.of();
+        }
+        return trie.suggest(prefix, limit);
+    }
+
+    /**
+     * Rebuilds the trie if the catalog version changed or the purchase counts expired.
+     * Failures are logged and the previous trie stays in place.
+     */
+    @Scheduled(fixedDelayString = "${catalog.suggest.refresh-interval:PT10S}")
+    public void refresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            SuggestionTrie trie = current.get();
+            boolean popularityExpired = System.currentTimeMillis() - popularityLoadedAtMillis
+                    >= properties.getPopularityTtl().toMillis();
+            CatalogGraph graph = catalogSnapshot.current();
+            if (graph == null) {
+                if (trie != null && !popularityExpired && trie.catalogVersion() == catalogSnapshotRepository.findVersion()) {
+                    return;
+                }
+                graph = CatalogGraph.build(catalogSnapshotRepository.loadPublishedCatalog());
+            } else if (trie != null && !popularityExpired && trie.catalogVersion() == graph.version()) {
+                return;
+            }
+            CatalogGraph catalog = graph;
+            SuggestionTrie rebuilt = rebuildTimer.record(() -> build(catalog));
+            current.set(rebuilt);
+            log.debug("Suggestion trie for catalog version {} built: {} suggestions, {} nodes, ~{} KiB",
+                    rebuilt.catalogVersion(), rebuilt.suggestionCount(), rebuilt.nodeCount(),
+                    rebuilt.estimatedBytes() / 1024);
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild the suggestion trie, keeping the previous one: {}", e.getMessage());
+        }
+    }
+
+    private SuggestionTrie build(CatalogGraph graph) {
+        long loadedAt = System.currentTimeMillis();
+        Map<Long, Long> purchases = new HashMap<>();
+        for (CurriculumPurchaseCount count : purchaseRepository.countByStatusGroupByCurriculum(PurchaseStatus.COMPLETED)) {
+            purchases.put(count.getCurriculumId(), count.getPurchaseCount());
+        }
+
+        SuggestionTrie.Builder builder = SuggestionTrie.builder(graph.version());
+        graph.visitPublished(new CatalogGraph.PublishedVisitor() {
+            @Override
+            public void curriculum(long id, String title, String instructorName) {
+                long popularity = purchases.getOrDefault(id, 0L);
+                builder.addCurriculum(id, title, popularity);
+                builder.addInstructor(instructorName, popularity);
+            }
+
+            @Override
+            public void lesson(long id, long curriculumId, String title) {
+                builder.addLesson(id, curriculumId, title, purchases.getOrDefault(curriculumId, 0L));
+            }
+        });
+        SuggestionTrie trie = builder.build();
+        popularityLoadedAtMillis = loadedAt;
+        return trie;
+    }
+}
@@ -0,0 +1,219 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.config.CatalogCacheProperties;
+import com.waterballsa.backend.dto.ChapterDto;
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.dto.LessonDto;
+import com.waterballsa.backend.event.CatalogChangedEvent;
+import com.waterballsa.backend.util.BoundedExpiringCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache of curriculum trees (curriculum with chapters and lessons).
+ *
+ * Trees are read from an in-memory cache first, then from the Redis store when
+ * {@code catalog.cache.l2=redis}, and only then loaded from the database. Concurrent
+ * misses for the same curriculum share a single load. Entries are dropped when a
+ * {@link CatalogChangedEvent} is committed, on this instance and, through Redis, on
+ * every other instance; TTLs are a safety net for changes made outside JPA.
+ *
+ * Callers get their own deep copy of the tree, so a caller modifying it cannot change
+ * what later requests see.
+ */
+@Component
+@Slf4j
+public class CurriculumTreeCache {
+
+    private final CatalogCacheProperties properties;
+    private final BoundedExpiringCache<Long, CurriculumDto> cache;
+    private final ConcurrentHashMap<Long, CompletableFuture<CurriculumDto>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter sharedHits;
+    private final Counter sharedMisses;
+    private final Timer loadTimer;
+
+    private RedisCurriculumStore sharedStore;
+
+    public CurriculumTreeCache(CatalogCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = new BoundedExpiringCache<>(properties.getMaxEntries());
+        this.localHits = requestCounter(meterRegistry, "l1", "hit");
+        this.localMisses = requestCounter(meterRegistry, "l1", "miss");
+        this.sharedHits = requestCounter(meterRegistry, "l2", "hit");
+        this.sharedMisses = requestCounter(meterRegistry, "l2", "miss");
+        this.loadTimer = Timer.builder("catalog.curriculum.cache.load")
+                .description("Time to load a curriculum tree from the database on a cache miss")
+                .register(meterRegistry);
+        Gauge.builder("catalog.curriculum.cache.size", cache, BoundedExpiringCache::size)
+                .description("Curriculum trees currently cached in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sets the Redis store used as the second-level cache, when configured.
+     *
+     * @param sharedStore Redis curriculum store
+     */
+    @Autowired(required = false)
+    public void setSharedStore(RedisCurriculumStore sharedStore) {
+        this.sharedStore = sharedStore;
+        sharedStore.addInvalidationListener(this::evictLocal);
+        log.info("Curriculum cache uses Redis as second-level cache");
+    }
+
+    /**
+     * Gets a curriculum tree, loading it on a miss. Concurrent callers missing the same
+     * curriculum wait for one load instead of each querying the database.
+     *
+     * @param curriculumId the curriculum ID
+     * @param loader loads the tree from the database; its exceptions are rethrown to every waiting caller
+     * @return a copy of the curriculum tree
+     */
+    public CurriculumDto get(Long curriculumId, Supplier<CurriculumDto> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+
+        CurriculumDto cached = cache.get(curriculumId);
+        if (cached != null) {
+            localHits.increment();
+            return copyOf(cached);
+        }
+        localMisses.increment();
+
+        CompletableFuture<CurriculumDto> pending = new CompletableFuture<>();
+        CompletableFuture<CurriculumDto> inFlight = loading.putIfAbsent(curriculumId, pending);
+        if (inFlight != null) {
+            return copyOf(await(inFlight));
+        }
+        try {
+            CurriculumDto curriculum = load(curriculumId, loader);
+            pending.complete(curriculum);
+            return copyOf(curriculum);
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(curriculumId, pending);
+        }
+    }
+
+    /**
+     * Drops a curriculum tree from every tier.
+     *
+     * @param curriculumId the curriculum ID, or null for every curriculum
+     */
+    public void evict(Long curriculumId) {
+        evictLocal(curriculumId);
+        if (sharedStore != null) {
+            sharedStore.evict(curriculumId);
+        }
+    }
+
+    /**
+     * Drops the tree of a changed curriculum once the change is committed, or
+     * immediately when it was made outside a transaction.
+     *
+     * @param event the catalog change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        log.debug("Evicting curriculum tree {}", event.curriculumId() != null ? event.curriculumId() : "(all)");
+        evict(event.curriculumId());
+    }
+
+    private CurriculumDto load(Long curriculumId, Supplier<CurriculumDto> loader) {
+        // A load that overlaps an eviction may have read the old tree, so it is not cached
+        long loadGeneration = generation.get();
+
+        CurriculumDto curriculum = sharedStore != null ? sharedStore.get(curriculumId) : null;
+        if (curriculum != null) {
+            sharedHits.increment();
+        } else {
+            if (sharedStore != null) {
+                sharedMisses.increment();
+            }
+            curriculum = loadTimer.record(loader);
+            if (sharedStore != null && generation.get() == loadGeneration) {
+                sharedStore.put(curriculum);
+            }
+        }
+
+        if (generation.get() == loadGeneration) {
+            cache.put(curriculumId, curriculum, System.currentTimeMillis() + properties.getTtl().toMillis());
+        }
+        return curriculum;
+    }
+
+    private void evictLocal(Long curriculumId) {
+        generation.incrementAndGet();
+        if (curriculumId == null) {
+            loading.clear();
+            cache.invalidateAll();
+        } else {
+            loading.remove(curriculumId);
+            cache.invalidate(curriculumId);
+        }
+    }
+
+    private static CurriculumDto copyOf(CurriculumDto tree) {
+        if (tree.getChapters() == null) {
+            return tree.toBuilder().build();
+        }
+        List<ChapterDto> chapters = new ArrayList<>(tree.getChapters().size());
+        for (ChapterDto chapter : tree.getChapters()) {
+            chapters.add(chapter.getLessons() == null
+                    ? chapter.toBuilder().build()
+                    : chapter.toBuilder().lessons(copyOf(chapter.getLessons())).build());
+        }
+        return tree.toBuilder().chapters(chapters).build();
+    }
+
+    private static List<LessonDto> copyOf(List<LessonDto> lessons) {
+        List<LessonDto> copies = new ArrayList<>(lessons.size());
+        for (LessonDto lesson : lessons) {
+            Map<String, Object> metadata = lesson.getContentMetadata();
+            copies.add(lesson.toBuilder().contentMetadata(metadata != null ? new HashMap<>(metadata) : null).build());
+        }
+        return copies;
+    }
+
+    private static CurriculumDto await(CompletableFuture<CurriculumDto> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("catalog.curriculum.cache.requests")
+                .description("Curriculum tree cache lookups")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -1,31 +1,40 @@
 package com.waterballsa.backend.service;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
+import com.waterballsa.backend.config.GoogleJwksProperties;
 import com.waterballsa.backend.exception.UnauthorizedException;
+import com.waterballsa.backend.security.GoogleKeyRing;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.List;
 
 /**
  * Service for verifying Google OAuth ID tokens.
  *
- * Uses Google's API client library to validate ID tokens received from frontend.
+ * Tokens are checked against signing keys cached in {@link GoogleKeyRing}, so
+ * verification does not call Google once the key ring is warm.
  */
 @Service
 @Slf4j
 public class GoogleOAuthService {
 
-    private final GoogleIdTokenVerifier verifier;
+    private static final List<String> ISSUERS = List.of("accounts.google.com", "https://accounts.google.com");
 
-    public GoogleOAuthService(@Value("${spring.security.oauth2.client.registration.google.client-id}") String clientId) {
-        this.verifier = new GoogleIdTokenVerifier.Builder(new NetHttpTransport(), new GsonFactory())
-                .setAudience(Collections.singletonList(clientId))
-                .build();
+    private final List<String> audience;
+    private final GoogleKeyRing keyRing;
+    private final long allowedClockSkewSeconds;
+
+    public GoogleOAuthService(@Value("${spring.security.oauth2.client.registration.google.client-id}") String clientId,
+                              GoogleKeyRing keyRing,
+                              GoogleJwksProperties jwksProperties) {
+        this.audience = List.of(clientId);
+        this.keyRing = keyRing;
+        this.allowedClockSkewSeconds = jwksProperties.getAllowedClockSkew().toSeconds();
     }
 
     /**
@@ -37,7 +46,7 @@ public class GoogleOAuthService {
      */
     public GoogleUserInfo verifyToken(String idTokenString) {
         try {
-            GoogleIdToken idToken = verifier.verify(idTokenString);
+            GoogleIdToken idToken = verify(GoogleIdToken.parse(GsonFactory.getDefaultInstance(), idTokenString));
 
             if (idToken == null) {
                 log.error("Invalid Google ID token");
@@ -74,6 +83,24 @@ public class GoogleOAuthService {
         }
     }
 
+    /**
+     * Checks signature, issuer, audience and validity period of a parsed ID token.
+     *
+     * @param idToken the parsed ID token
+     * @return the token if valid, null otherwise
+     */
+    private GoogleIdToken verify(GoogleIdToken idToken) throws GeneralSecurityException {
+        PublicKey key = keyRing.getKey(idToken.getHeader().getKeyId());
+        if (key == null || !idToken.verifySignature(key)) {
+            return null;
+        }
+        if (!idToken.verifyIssuer(ISSUERS) || !idToken.verifyAudience(audience)
+                || !idToken.verifyTime(System.currentTimeMillis(), allowedClockSkewSeconds)) {
+            return null;
+        }
+        return idToken;
+    }
+
     /**
      * DTO for Google user information extracted from ID token.
      */
@@ -0,0 +1,108 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.event.UserChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers last-login timestamps and writes them in batches.
+ *
+ * Logins only record the timestamp in memory. A scheduled flush writes all pending
+ * timestamps with one multi-row UPDATE per batch, so repeated logins by the same
+ * user between flushes cost a single row update. Pending timestamps are flushed
+ * once more on shutdown.
+ */
+@Component
+@Slf4j
+public class LastLoginRecorder {
+
+    private static final String UPDATE_PREFIX = "UPDATE users AS u SET last_login_at = v.last_login_at FROM (VALUES ";
+    private static final String UPDATE_SUFFIX = ") AS v(id, last_login_at) "
+            + "WHERE u.id = v.id AND (u.last_login_at IS NULL OR u.last_login_at < v.last_login_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public LastLoginRecorder(JdbcTemplate jdbcTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${auth.last-login.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Records a login to be written on the next flush.
+     *
+     * @param userId the user ID
+     * @param loginAt the login time
+     */
+    public void record(Long userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    /**
+     * Writes all pending last-login timestamps.
+     */
+    @Scheduled(fixedDelayString = "${auth.last-login.flush-interval:PT10S}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, LocalDateTime>> drained = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginAt = pending.remove(userId);
+            if (loginAt != null) {
+                drained.add(Map.entry(userId, loginAt));
+            }
+        }
+
+        for (int from = 0; from < drained.size(); from += batchSize) {
+            List<Map.Entry<Long, LocalDateTime>> batch = drained.subList(from, Math.min(from + batchSize, drained.size()));
+            try {
+                writeBatch(batch);
+                batch.forEach(entry -> eventPublisher.publishEvent(new UserChangedEvent(entry.getKey())));
+            } catch (RuntimeException e) {
+                log.warn("Failed to write {} last-login timestamps, retrying on next flush: {}", batch.size(), e.getMessage());
+                batch.forEach(entry -> record(entry.getKey(), entry.getValue()));
+            }
+        }
+        log.debug("Flushed {} last-login timestamps", drained.size());
+    }
+
+    /**
+     * Flushes pending timestamps before the application stops.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void writeBatch(List<Map.Entry<Long, LocalDateTime>> batch) {
+        String sql = UPDATE_PREFIX + String.join(", ", Collections.nCopies(batch.size(), "(?::bigint, ?::timestamp)"))
+                + UPDATE_SUFFIX;
+        Object[] args = new Object[batch.size() * 2];
+        int i = 0;
+        for (Map.Entry<Long, LocalDateTime> entry : batch) {
+            args[i++] = entry.getKey();
+            args[i++] = Timestamp.valueOf(entry.getValue());
+        }
+        jdbcTemplate.update(sql, args);
+    }
+}
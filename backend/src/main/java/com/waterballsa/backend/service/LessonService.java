@@ -1,18 +1,22 @@
 package com.waterballsa.backend.service;
 
+import com.waterballsa.backend.dto.BatchResponse;
+import com.waterballsa.backend.dto.FieldSet;
 import com.waterballsa.backend.dto.LessonDto;
 import com.waterballsa.backend.entity.Lesson;
 import com.waterballsa.backend.entity.LessonType;
 import com.waterballsa.backend.exception.ResourceNotFoundException;
 import com.waterballsa.backend.repository.LessonRepository;
+import com.waterballsa.backend.repository.LessonRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -22,6 +26,13 @@ import java.util.stream.Collectors;
  * - Retrieving lessons by chapter
  * - Getting lesson details
  * - Filtering by lesson type
+ *
+ * Reads are served from the {@link CatalogSnapshot}; the repository is only queried while
+ * the snapshot is disabled or not built yet, in a {@link CatalogReadTransaction}, and
+ * listings are then read as {@link LessonRow} projections, not entities.
+ *
+ * Counts and durations come from the {@link CatalogStatsService} first, which keeps the
+ * maintained stats tables in memory.
  */
 @Service
 @RequiredArgsConstructor
@@ -29,20 +40,31 @@ import java.util.stream.Collectors;
 public class LessonService {
 
     private final LessonRepository lessonRepository;
+    private final CatalogSnapshot catalogSnapshot;
+    private final CatalogStatsService catalogStatsService;
+    private final CatalogReadTransaction catalogReadTransaction;
 
     /**
      * Retrieves all published lessons for a chapter.
      *
      * @param chapterId the chapter ID
+     * @param fields fields to return
      * @return list of lesson DTOs ordered by sequence
      */
-    @Transactional(readOnly = true)
-    public List<LessonDto> getLessonsByChapter(Long chapterId) {
-        log.debug("Fetching lessons for chapter ID: {}", chapterId);
-        return lessonRepository.findByChapterIdAndIsPublishedTrueOrderByOrderIndexAsc(chapterId)
+    public List<LessonDto> getLessonsByChapter(Long chapterId, FieldSet fields) {
+        log.debug("Fetching lessons for chapter ID: {}, fields: {}", chapterId, fields);
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            List<LessonDto> lessons = catalog.findPublishedLessons(chapterId);
+            lessons.forEach(fields::apply);
+            return lessons;
+        }
+        return catalogReadTransaction.read(() -> (fields == FieldSet.SUMMARY
+                ? lessonRepository.findPublishedSummariesByChapter(chapterId)
+                : lessonRepository.findByChapterIdAndIsPublishedTrueOrderByOrderIndexAsc(chapterId))
                 .stream()
-                .map(LessonDto::from)
-                .collect(Collectors.toList());
+                .map(LessonRow::toDto)
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -52,13 +74,41 @@ public class LessonService {
      * @return lesson DTO
      * @throws ResourceNotFoundException if lesson not found or not published
      */
-    @Transactional(readOnly = true)
     public LessonDto getLessonById(Long id) {
         log.debug("Fetching lesson with ID: {}", id);
-        Lesson lesson = lessonRepository.findByIdAndIsPublishedTrue(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Lesson", "id", id));
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.findPublishedLesson(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Lesson", "id", id));
+        }
+        return catalogReadTransaction.read(() -> {
+            Lesson lesson = lessonRepository.findByIdAndIsPublishedTrue(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Lesson", "id", id));
+            return LessonDto.from(lesson);
+        });
+    }
 
-        return LessonDto.from(lesson);
+    /**
+     * Retrieves several published lessons by ID.
+     *
+     * @param ids the lesson IDs, at most {@value BatchResponse#MAX_IDS}
+     * @return lesson DTOs in request order, with the IDs not found
+     * @throws com.waterballsa.backend.exception.BadRequestException if too many IDs are requested
+     */
+    public BatchResponse<LessonDto> getLessonsByIds(List<Long> ids) {
+        Set<Long> distinctIds = BatchResponse.distinctIds(ids);
+        log.debug("Fetching {} lessons by ID", distinctIds.size());
+        if (distinctIds.isEmpty()) {
+            return new BatchResponse<>();
+        }
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return BatchResponse.of(distinctIds, catalog.findPublishedLessonsById(distinctIds));
+        }
+        Map<Long, LessonDto> found = catalogReadTransaction.read(() ->
+                lessonRepository.findPublishedByIdIn(distinctIds).stream()
+                        .collect(Collectors.toMap(LessonRow::id, LessonRow::toDto)));
+        return BatchResponse.of(distinctIds, found);
     }
 
     /**
@@ -67,13 +117,16 @@ public class LessonService {
      * @param curriculumId the curriculum ID
      * @return list of free preview lesson DTOs
      */
-    @Transactional(readOnly = true)
     public List<LessonDto> getFreePreviewLessons(Long curriculumId) {
         log.debug("Fetching free preview lessons for curriculum ID: {}", curriculumId);
-        return lessonRepository.findFreePreviewLessonsByCurriculum(curriculumId)
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.findFreePreviewLessons(curriculumId);
+        }
+        return catalogReadTransaction.read(() -> lessonRepository.findFreePreviewLessonsByCurriculum(curriculumId)
                 .stream()
-                .map(LessonDto::from)
-                .collect(Collectors.toList());
+                .map(LessonRow::toDto)
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -82,13 +135,16 @@ public class LessonService {
      * @param curriculumId the curriculum ID
      * @return list of video lesson DTOs
      */
-    @Transactional(readOnly = true)
     public List<LessonDto> getVideoLessons(Long curriculumId) {
         log.debug("Fetching video lessons for curriculum ID: {}", curriculumId);
-        return lessonRepository.findVideoLessonsByCurriculum(curriculumId)
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.findVideoLessons(curriculumId);
+        }
+        return catalogReadTransaction.read(() -> lessonRepository.findVideoLessonsByCurriculum(curriculumId)
                 .stream()
-                .map(LessonDto::from)
-                .collect(Collectors.toList());
+                .map(LessonRow::toDto)
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -96,13 +152,19 @@ public class LessonService {
      *
      * @param lessonType the lesson type
      * @param pageable pagination information
+     * @param fields fields to return
      * @return page of lesson DTOs
      */
-    @Transactional(readOnly = true)
-    public Page<LessonDto> getLessonsByType(LessonType lessonType, Pageable pageable) {
-        log.debug("Fetching lessons of type: {}", lessonType);
-        return lessonRepository.findByLessonTypeAndIsPublishedTrue(lessonType, pageable)
-                .map(LessonDto::from);
+    public Page<LessonDto> getLessonsByType(LessonType lessonType, Pageable pageable, FieldSet fields) {
+        log.debug("Fetching lessons of type: {}, fields: {}", lessonType, fields);
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.findLessonsByType(lessonType, pageable).map(fields::apply);
+        }
+        return catalogReadTransaction.read(() -> (fields == FieldSet.SUMMARY
+                ? lessonRepository.findSummariesByType(lessonType, pageable)
+                : lessonRepository.findByLessonTypeAndIsPublishedTrue(lessonType, pageable))
+                .map(LessonRow::toDto));
     }
 
     /**
@@ -111,9 +173,16 @@ public class LessonService {
      * @param curriculumId the curriculum ID
      * @return total duration in minutes
      */
-    @Transactional(readOnly = true)
     public Long calculateTotalDuration(Long curriculumId) {
-        return lessonRepository.calculateTotalDurationByCurriculum(curriculumId);
+        CatalogStats stats = catalogStatsService.current();
+        if (stats != null) {
+            return stats.totalDurationMinutes(curriculumId);
+        }
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.totalDurationMinutes(curriculumId);
+        }
+        return catalogReadTransaction.read(() -> lessonRepository.calculateTotalDurationByCurriculum(curriculumId));
     }
 
     /**
@@ -122,8 +191,15 @@ public class LessonService {
      * @param chapterId the chapter ID
      * @return total count
      */
-    @Transactional(readOnly = true)
     public long countLessonsByChapter(Long chapterId) {
-        return lessonRepository.countByChapterIdAndIsPublishedTrue(chapterId);
+        CatalogStats stats = catalogStatsService.current();
+        if (stats != null) {
+            return stats.countPublishedLessons(chapterId);
+        }
+        CatalogGraph catalog = catalogSnapshot.current();
+        if (catalog != null) {
+            return catalog.countPublishedLessons(chapterId);
+        }
+        return catalogReadTransaction.read(() -> lessonRepository.countByChapterIdAndIsPublishedTrue(chapterId));
     }
 }
@@ -6,15 +6,17 @@ import com.waterballsa.backend.exception.DuplicatePurchaseException;
 import com.waterballsa.backend.exception.FreeCurriculumException;
 import com.waterballsa.backend.exception.InvalidCouponException;
 import com.waterballsa.backend.exception.ResourceNotFoundException;
-import com.waterballsa.backend.repository.ChapterRepository;
 import com.waterballsa.backend.repository.CouponRepository;
 import com.waterballsa.backend.repository.CurriculumRepository;
 import com.waterballsa.backend.repository.PurchaseRepository;
 import com.waterballsa.backend.repository.UserRepository;
+import com.waterballsa.backend.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,7 +31,7 @@ import java.util.stream.Collectors;
  * Handles business logic for:
  * - Creating purchases (simplified mock payment in Phase 2)
  * - Checking curriculum ownership
- * - Retrieving purchase history
+ * - Retrieving purchase history, by page or by cursor
  * - Preventing duplicate purchases
  */
 @Service
@@ -41,7 +43,6 @@ public class PurchaseService {
     private final CurriculumRepository curriculumRepository;
     private final UserRepository userRepository;
     private final CouponRepository couponRepository;
-    private final ChapterRepository chapterRepository;
 
     /**
      * Creates a purchase for a curriculum.
@@ -207,6 +208,49 @@ public class PurchaseService {
                 .map(PurchaseResponse::from);
     }
 
+    /**
+     * Retrieves a slice of a user's purchases, newest first.
+     *
+     * @param userId the user ID
+     * @param cursor cursor from the previous slice, blank for the first slice
+     * @param size slice size
+     * @return slice of purchase responses with the cursor of the next slice
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PurchaseResponse> getUserPurchasesAfter(Long userId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor).orElse(null);
+        log.debug("Fetching purchases for user {} after cursor {}", userId, after);
+
+        Pageable slice = PageRequest.ofSize(size);
+        Slice<Purchase> purchases = after == null
+                ? purchaseRepository.findSliceByUserIdWithCurriculum(userId, slice)
+                : purchaseRepository.findSliceByUserIdWithCurriculumBefore(userId, after.sortKey(), after.id(), slice);
+        return CursorPage.of(purchases.map(PurchaseResponse::from),
+                purchase -> new KeysetCursor(purchase.getCreatedAt(), purchase.getPurchaseId()));
+    }
+
+    /**
+     * Retrieves a slice of a user's completed purchases, most recently purchased first.
+     *
+     * @param userId the user ID
+     * @param cursor cursor from the previous slice, blank for the first slice
+     * @param size slice size
+     * @return slice of completed purchase responses with the cursor of the next slice
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PurchaseResponse> getCompletedPurchasesAfter(Long userId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor).orElse(null);
+        log.debug("Fetching completed purchases for user {} after cursor {}", userId, after);
+
+        Pageable slice = PageRequest.ofSize(size);
+        Slice<Purchase> purchases = after == null
+                ? purchaseRepository.findSliceByUserIdAndStatus(userId, PurchaseStatus.COMPLETED, slice)
+                : purchaseRepository.findSliceByUserIdAndStatusBefore(
+                        userId, PurchaseStatus.COMPLETED, after.sortKey(), after.id(), slice);
+        return CursorPage.of(purchases.map(PurchaseResponse::from),
+                purchase -> new KeysetCursor(purchase.getPurchasedAt(), purchase.getPurchaseId()));
+    }
+
     /**
      * Retrieves a purchase by ID.
      * Ensures the purchase belongs to the specified user.
@@ -281,9 +325,8 @@ public class PurchaseService {
 
     /**
      * Gets order preview for a curriculum (for order confirmation page).
-     * Uses two queries to avoid MultipleBagFetchException:
-     * 1. Fetch curriculum with chapters
-     * 2. Fetch lessons for all chapters
+     * The curriculum, its chapters and their lessons are loaded in a single query, then
+     * mapped to the fields the preview has always returned.
      *
      * @param curriculumId the curriculum ID
      * @param userId the user ID
@@ -295,8 +338,7 @@ public class PurchaseService {
     public OrderPreviewResponse getOrderPreview(Long curriculumId, Long userId) {
         log.debug("Getting order preview for curriculum {} and user {}", curriculumId, userId);
 
-        // Query 1: Fetch curriculum with chapters (but not lessons)
-        Curriculum curriculum = curriculumRepository.findPublishedByIdWithChapters(curriculumId)
+        CurriculumDto curriculum = curriculumRepository.findPublishedTreeById(curriculumId)
                 .orElseThrow(() -> new ResourceNotFoundException("Curriculum", "id", curriculumId));
 
         // Check if user already owns this curriculum
@@ -312,36 +354,26 @@ public class PurchaseService {
             );
         }
 
-        // Query 2: Fetch lessons for all chapters in a single query (avoids N+1)
-        List<Long> chapterIds = curriculum.getChapters().stream()
-                .map(Chapter::getId)
-                .collect(Collectors.toList());
-
-        if (!chapterIds.isEmpty()) {
-            // This will fetch all lessons for the chapters and populate the lessons collections
-            chapterRepository.findByIdInWithLessons(chapterIds);
-        }
-
-        // Convert to DTOs
+        // Chapters are returned next to the curriculum, not inside it
         CurriculumDto curriculumDto = convertToCurriculumDto(curriculum);
-        var chapterDtos = curriculum.getChapters().stream()
+        List<ChapterDto> chapters = curriculum.getChapters().stream()
                 .map(this::convertToChapterDto)
                 .collect(Collectors.toList());
 
-        int totalLessons = curriculum.getChapters().stream()
+        int totalLessons = chapters.stream()
                 .mapToInt(chapter -> chapter.getLessons().size())
                 .sum();
 
         return OrderPreviewResponse.builder()
                 .curriculum(curriculumDto)
-                .chapters(chapterDtos)
+                .chapters(chapters)
                 .originalPrice(curriculum.getPrice())
-                .totalChapters(curriculum.getChapters().size())
+                .totalChapters(chapters.size())
                 .totalLessons(totalLessons)
                 .build();
     }
 
-    private CurriculumDto convertToCurriculumDto(Curriculum curriculum) {
+    private CurriculumDto convertToCurriculumDto(CurriculumDto curriculum) {
         return CurriculumDto.builder()
                 .id(curriculum.getId())
                 .title(curriculum.getTitle())
@@ -358,14 +390,14 @@ public class PurchaseService {
                 .build();
     }
 
-    private ChapterDto convertToChapterDto(Chapter chapter) {
+    private ChapterDto convertToChapterDto(ChapterDto chapter) {
         var lessonDtos = chapter.getLessons().stream()
                 .map(this::convertToLessonDto)
                 .collect(Collectors.toList());
 
         return ChapterDto.builder()
                 .id(chapter.getId())
-                .curriculumId(chapter.getCurriculum().getId())
+                .curriculumId(chapter.getCurriculumId())
                 .title(chapter.getTitle())
                 .description(chapter.getDescription())
                 .orderIndex(chapter.getOrderIndex())
@@ -373,10 +405,10 @@ public class PurchaseService {
                 .build();
     }
 
-    private LessonDto convertToLessonDto(Lesson lesson) {
+    private LessonDto convertToLessonDto(LessonDto lesson) {
         return LessonDto.builder()
                 .id(lesson.getId())
-                .chapterId(lesson.getChapter().getId())
+                .chapterId(lesson.getChapterId())
                 .title(lesson.getTitle())
                 .description(lesson.getDescription())
                 .lessonType(lesson.getLessonType())
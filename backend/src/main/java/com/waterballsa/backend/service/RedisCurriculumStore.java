@@ -0,0 +1,121 @@
+package com.waterballsa.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waterballsa.backend.dto.CurriculumDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Second-level curriculum tree cache shared by all instances through Redis.
+ *
+ * Trees are stored as JSON under a key per curriculum. Evictions are also published on
+ * a channel so every instance can drop its in-memory copy. Redis failures are logged
+ * and treated as misses, so the catalog keeps working from the database.
+ */
+@Slf4j
+public class RedisCurriculumStore {
+
+    static final String KEY_PREFIX = "catalog:curriculum:";
+    static final String INVALIDATION_CHANNEL = "catalog:curriculum:invalidations";
+    static final String ALL = "*";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final List<Consumer<Long>> listeners = new CopyOnWriteArrayList<>();
+
+    public RedisCurriculumStore(StringRedisTemplate redisTemplate,
+                                RedisMessageListenerContainer listenerContainer,
+                                ObjectMapper objectMapper,
+                                Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            Long curriculumId = ALL.equals(body) ? null : Long.valueOf(body);
+            listeners.forEach(listener -> listener.accept(curriculumId));
+        }, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * Gets a curriculum tree.
+     *
+     * @param curriculumId the curriculum ID
+     * @return the tree, or null if it is not stored or Redis is unavailable
+     */
+    public CurriculumDto get(Long curriculumId) {
+        try {
+            String json = redisTemplate.opsForValue().get(KEY_PREFIX + curriculumId);
+            return json != null ? objectMapper.readValue(json, CurriculumDto.class) : null;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to read curriculum {} from Redis: {}", curriculumId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores a curriculum tree.
+     *
+     * @param curriculum the tree
+     */
+    public void put(CurriculumDto curriculum) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + curriculum.getId(),
+                    objectMapper.writeValueAsString(curriculum), ttl);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to write curriculum {} to Redis: {}", curriculum.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes a curriculum tree and tells every instance to drop its copy.
+     *
+     * @param curriculumId the curriculum ID, or null for every curriculum
+     */
+    public void evict(Long curriculumId) {
+        try {
+            if (curriculumId != null) {
+                redisTemplate.delete(KEY_PREFIX + curriculumId);
+            } else {
+                redisTemplate.delete(scanKeys());
+            }
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, curriculumId != null ? curriculumId.toString() : ALL);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict curriculum {} from Redis: {}", curriculumId, e.getMessage());
+        }
+    }
+
+    /**
+     * Registers a callback for evictions made by any instance.
+     *
+     * @param listener receives the evicted curriculum ID, or null for every curriculum
+     */
+    public void addInvalidationListener(Consumer<Long> listener) {
+        listeners.add(listener);
+    }
+
+    private List<String> scanKeys() {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(KEY_PREFIX + "[0-9]*")
+                .count(1000)
+                .build();
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,118 @@
+package com.waterballsa.backend.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Splits catalog text into search terms, the same way the catalog_search_document and
+ * catalog_search_query database functions do.
+ *
+ * Latin text is split into lowercased words of letters and digits. Chinese and Japanese
+ * text has no word boundaries, so each CJK run is indexed as its single characters and
+ * overlapping bigrams, and searched by bigram.
+ */
+final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * Emits the index terms of a text: Latin words, CJK characters and CJK bigrams.
+     *
+     * @param text the text, may be null
+     * @param terms receives each term once per occurrence
+     */
+    static void indexTerms(String text, Consumer<String> terms) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            int end = i + 1;
+            if (isCjk(c)) {
+                while (end < length && isCjk(text.charAt(end))) {
+                    end++;
+                }
+                for (int j = i; j < end; j++) {
+                    terms.accept(text.substring(j, j + 1));
+                    if (j + 1 < end) {
+                        terms.accept(text.substring(j, j + 2));
+                    }
+                }
+            } else if (isWordChar(c)) {
+                while (end < length && isWordChar(text.charAt(end))) {
+                    end++;
+                }
+                terms.accept(text.substring(i, end).toLowerCase(Locale.ROOT));
+            }
+            i = end;
+        }
+    }
+
+    /**
+     * Gets the terms a query must match: every Latin word as a prefix, and the bigrams of
+     * every CJK run, or the character itself when it stands alone.
+     *
+     * @param text the query text, may be null
+     * @return distinct query terms in query order, empty if there is nothing to search
+     */
+    static List<QueryTerm> queryTerms(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        Set<QueryTerm> terms = new LinkedHashSet<>();
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            int end = i + 1;
+            if (isCjk(c)) {
+                while (end < length && isCjk(text.charAt(end))) {
+                    end++;
+                }
+                if (end - i == 1) {
+                    terms.add(new QueryTerm(text.substring(i, end), false));
+                }
+                for (int j = i; j + 1 < end; j++) {
+                    terms.add(new QueryTerm(text.substring(j, j + 2), false));
+                }
+            } else if (isWordChar(c)) {
+                while (end < length && isWordChar(text.charAt(end))) {
+                    end++;
+                }
+                terms.add(new QueryTerm(text.substring(i, end).toLowerCase(Locale.ROOT), true));
+            }
+            i = end;
+        }
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * Kana, CJK unified ideographs (with extension A) and compatibility ideographs.
+     */
+    static boolean isCjk(char c) {
+        return (c >= '\u3040' && c <= '\u30ff')
+                || (c >= '\u3400' && c <= '\u4dbf')
+                || (c >= '\u4e00' && c <= '\u9fff')
+                || (c >= '\uf900' && c <= '\ufaff');
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) && !isCjk(c);
+    }
+
+    /**
+     * A term of a search query.
+     *
+     * @param text the term
+     * @param prefix whether index terms starting with the text match as well
+     */
+    record QueryTerm(String text, boolean prefix) {
+    }
+}
@@ -0,0 +1,333 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.dto.SuggestionDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix trie for typeahead suggestions over curriculum titles, instructor
+ * names and lesson titles.
+ *
+ * A suggestion is reachable from the start of its text and from the start of every later
+ * word, so "boot" finds "Spring Boot"; Chinese text is reachable from the start of each
+ * CJK run. Keys are lowercased, runs of whitespace count as one space, and only the first
+ * {@value #MAX_KEY_LENGTH} characters of a key are indexed.
+ *
+ * Suggestions are ranked by popularity once, at build time, and every node keeps the
+ * ranks of the best {@value #MAX_SUGGESTIONS} suggestions below it. A lookup walks down
+ * the prefix with a binary search per character and copies that list, allocating nothing
+ * but the results. Nodes are flattened into arrays in breadth-first order, so the children
+ * of a node sit next to each other, sorted by character.
+ */
+final class SuggestionTrie {
+
+    static final int MAX_SUGGESTIONS = 10;
+    static final int MAX_KEY_LENGTH = 32;
+
+    private static final Comparator<Suggestion> RANK_ORDER = Comparator
+            .comparingLong(Suggestion::popularity).reversed()
+            .thenComparing(Suggestion::type)
+            .thenComparingInt(suggestion -> suggestion.text().length())
+            .thenComparing(Suggestion::text)
+            .thenComparingLong(suggestion -> suggestion.curriculumId() != null ? suggestion.curriculumId() : -1)
+            .thenComparingLong(suggestion -> suggestion.lessonId() != null ? suggestion.lessonId() : -1);
+
+    private final long catalogVersion;
+    private final Suggestion[] suggestions;
+    private final char[] labels;
+    private final int[] childStart;
+    private final int[] topStart;
+    private final int[] tops;
+
+    private SuggestionTrie(long catalogVersion, Suggestion[] suggestions, char[] labels, int[] childStart,
+                           int[] topStart, int[] tops) {
+        this.catalogVersion = catalogVersion;
+        this.suggestions = suggestions;
+        this.labels = labels;
+        this.childStart = childStart;
+        this.topStart = topStart;
+        this.tops = tops;
+    }
+
+    /**
+     * Starts a new trie.
+     *
+     * @param catalogVersion catalog version the suggestions come from
+     * @return builder
+     */
+    static Builder builder(long catalogVersion) {
+        return new Builder(catalogVersion);
+    }
+
+    long catalogVersion() {
+        return catalogVersion;
+    }
+
+    int suggestionCount() {
+        return suggestions.length;
+    }
+
+    int nodeCount() {
+        return labels.length;
+    }
+
+    /**
+     * Gets the most popular suggestions with a word starting with the prefix, ignoring
+     * case.
+     *
+     * @param prefix text typed so far
+     * @param limit maximum number of suggestions, at most {@value #MAX_SUGGESTIONS}
+     * @return suggestions, most popular first
+     */
+    List<SuggestionDto> suggest(String prefix, int limit) {
+        int node = 0;
+        int depth = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < prefix.length() && depth < MAX_KEY_LENGTH; i++) {
+            char c = prefix.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = depth > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                node = child(node, ' ');
+                pendingSpace = false;
+                if (node < 0 || ++depth == MAX_KEY_LENGTH) {
+                    break;
+                }
+            }
+            node = child(node, Character.toLowerCase(c));
+            if (node < 0) {
+                break;
+            }
+            depth++;
+        }
+        if (node >= 0 && pendingSpace && depth < MAX_KEY_LENGTH) {
+            node = child(node, ' ');
+        }
+        if (node < 0 || depth == 0) {
+            return List.of();
+        }
+
+        int from = topStart[node];
+        int count = Math.min(Math.min(limit, MAX_SUGGESTIONS), topStart[node + 1] - from);
+        List<SuggestionDto> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(suggestions[tops[from + i]].toDto());
+        }
+        return results;
+    }
+
+    private int child(int node, char label) {
+        int low = childStart[node];
+        int high = childStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midLabel = labels[mid];
+            if (midLabel < label) {
+                low = mid + 1;
+            } else if (midLabel > label) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets a rough estimate of the heap held by this trie, excluding suggestion texts
+     * shared with the catalog snapshot.
+     *
+     * @return estimated size in bytes
+     */
+    long estimatedBytes() {
+        return 2L * labels.length + 4L * (childStart.length + topStart.length + tops.length)
+                + 48L * suggestions.length;
+    }
+
+    /**
+     * Lowercases a text and turns runs of whitespace into one space, trimming both ends.
+     */
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
+            }
+            normalized.append(Character.toLowerCase(c));
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Whether a key starts at the character: the first letter or digit of a Latin word,
+     * or the first character of a CJK run.
+     */
+    private static boolean isKeyStart(String normalized, int index) {
+        int type = charType(normalized.charAt(index));
+        return type != 0 && (index == 0 || charType(normalized.charAt(index - 1)) != type);
+    }
+
+    private static int charType(char c) {
+        if (SearchTokenizer.isCjk(c)) {
+            return 2;
+        }
+        return Character.isLetterOrDigit(c) ? 1 : 0;
+    }
+
+    /**
+     * A suggestion and the popularity it is ranked by.
+     */
+    private record Suggestion(String text, SuggestionDto.Type type, Long curriculumId, Long lessonId,
+                              long popularity) {
+
+        SuggestionDto toDto() {
+            return SuggestionDto.builder()
+                    .text(text)
+                    .type(type)
+                    .curriculumId(curriculumId)
+                    .lessonId(lessonId)
+                    .build();
+        }
+    }
+
+    /**
+     * Collects suggestions and builds the trie. Instructors are merged by name, summing
+     * the popularity of their curriculums; lessons with the same title are merged into
+     * the most popular one.
+     */
+    static final class Builder {
+
+        private final long catalogVersion;
+        private final List<Suggestion> curriculums = new ArrayList<>();
+        private final Map<String, Suggestion> instructors = new HashMap<>();
+        private final Map<String, Suggestion> lessons = new HashMap<>();
+
+        private Builder(long catalogVersion) {
+            this.catalogVersion = catalogVersion;
+        }
+
+        Builder addCurriculum(long id, String title, long popularity) {
+            if (title != null && !title.isBlank()) {
+                curriculums.add(new Suggestion(title.strip(), SuggestionDto.Type.CURRICULUM, id, null, popularity));
+            }
+            return this;
+        }
+
+        Builder addInstructor(String name, long popularity) {
+            if (name != null && !name.isBlank()) {
+                instructors.merge(normalize(name),
+                        new Suggestion(name.strip(), SuggestionDto.Type.INSTRUCTOR, null, null, popularity),
+                        (existing, added) -> new Suggestion(existing.text(), existing.type(), null, null,
+                                existing.popularity() + added.popularity()));
+            }
+            return this;
+        }
+
+        Builder addLesson(long id, long curriculumId, String title, long popularity) {
+            if (title != null && !title.isBlank()) {
+                lessons.merge(normalize(title),
+                        new Suggestion(title.strip(), SuggestionDto.Type.LESSON, curriculumId, id, popularity),
+                        (existing, added) -> RANK_ORDER.compare(existing, added) <= 0 ? existing : added);
+            }
+            return this;
+        }
+
+        SuggestionTrie build() {
+            List<Suggestion> ranked = new ArrayList<>(curriculums);
+            ranked.addAll(instructors.values());
+            ranked.addAll(lessons.values());
+            ranked.sort(RANK_ORDER);
+
+            // Inserting in rank order fills every node's list with its best suggestions first
+            BuildNode root = new BuildNode('\0');
+            for (int rank = 0; rank < ranked.size(); rank++) {
+                String key = normalize(ranked.get(rank).text());
+                for (int start = 0; start < key.length(); start++) {
+                    if (isKeyStart(key, start)) {
+                        insert(root, key, start, rank);
+                    }
+                }
+            }
+            return flatten(root, ranked.toArray(Suggestion[]::new));
+        }
+
+        private static void insert(BuildNode root, String key, int start, int rank) {
+            BuildNode node = root;
+            int end = Math.min(key.length(), start + MAX_KEY_LENGTH);
+            for (int i = start; i < end; i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), BuildNode::new);
+                node.offer(rank);
+            }
+        }
+
+        private SuggestionTrie flatten(BuildNode root, Suggestion[] suggestions) {
+            List<BuildNode> order = new ArrayList<>();
+            order.add(root);
+            List<Integer> childStarts = new ArrayList<>();
+            for (int i = 0; i < order.size(); i++) {
+                childStarts.add(order.size());
+                order.addAll(order.get(i).children.values());
+            }
+
+            int nodeCount = order.size();
+            char[] labels = new char[nodeCount];
+            int[] childStart = new int[nodeCount + 1];
+            int[] topStart = new int[nodeCount + 1];
+            int topCount = 0;
+            for (int i = 0; i < nodeCount; i++) {
+                BuildNode node = order.get(i);
+                labels[i] = node.label;
+                childStart[i] = childStarts.get(i);
+                topStart[i] = topCount;
+                topCount += node.topCount;
+            }
+            childStart[nodeCount] = nodeCount;
+            topStart[nodeCount] = topCount;
+
+            int[] tops = new int[topCount];
+            for (int i = 0; i < nodeCount; i++) {
+                BuildNode node = order.get(i);
+                System.arraycopy(node.top, 0, tops, topStart[i], node.topCount);
+            }
+            return new SuggestionTrie(catalogVersion, suggestions, labels, childStart, topStart, tops);
+        }
+    }
+
+    /**
+     * Trie node used while building.
+     */
+    private static final class BuildNode {
+
+        private final char label;
+        private final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        private final int[] top = new int[MAX_SUGGESTIONS];
+        private int topCount;
+
+        BuildNode(char label) {
+            this.label = label;
+        }
+
+        /**
+         * Adds a suggestion; ranks arrive in ascending order, so the first ones are kept.
+         */
+        void offer(int rank) {
+            if (topCount < MAX_SUGGESTIONS && (topCount == 0 || top[topCount - 1] != rank)) {
+                top[topCount++] = rank;
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.dto.UserDto;
+import com.waterballsa.backend.event.UserChangedEvent;
+import com.waterballsa.backend.repository.UserRepository;
+import com.waterballsa.backend.util.BoundedExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of user snapshots for the authentication endpoints.
+ *
+ * Token refresh and /api/auth/me only need a {@link UserDto}, so they read it from
+ * here instead of loading the User entity on every call. Entries are dropped when a
+ * {@link UserChangedEvent} is committed, and expire after a TTL as a safety net for
+ * changes made outside JPA. Callers get their own copy of the snapshot, so a caller
+ * that modifies it does not change what later callers see.
+ */
+@Component
+@Slf4j
+public class UserSnapshotCache {
+
+    private final UserRepository userRepository;
+    private final BoundedExpiringCache<Long, UserDto> cache;
+    private final long ttlMillis;
+
+    public UserSnapshotCache(UserRepository userRepository,
+                             @Value("${auth.user-cache.max-entries:10000}") int maxEntries,
+                             @Value("${auth.user-cache.ttl:PT5M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = new BoundedExpiringCache<>(maxEntries);
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /**
+     * Gets a user snapshot, loading it from the database on a miss.
+     *
+     * @param userId the user ID
+     * @return a copy of the user snapshot, or empty if the user does not exist
+     */
+    public Optional<UserDto> find(Long userId) {
+        UserDto cached = cache.get(userId);
+        if (cached != null) {
+            return Optional.of(cached.toBuilder().build());
+        }
+
+        Optional<UserDto> user = userRepository.findById(userId).map(UserDto::from);
+        user.ifPresent(snapshot -> cache.put(userId, snapshot, System.currentTimeMillis() + ttlMillis));
+        return user.map(snapshot -> snapshot.toBuilder().build());
+    }
+
+    /**
+     * Drops the cached snapshot of a user.
+     *
+     * @param userId the user ID
+     */
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Drops the snapshot of a changed user once the change is committed, or
+     * immediately when it was made outside a transaction.
+     *
+     * @param event the user change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("Invalidating user snapshot {}", event.userId());
+        invalidate(event.userId());
+    }
+}
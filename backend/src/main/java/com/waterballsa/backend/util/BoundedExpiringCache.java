@@ -0,0 +1,138 @@
+package com.waterballsa.backend.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded cache whose entries each carry their own expiry time.
+ *
+ * Reads and writes never take a lock: entries live in a {@link ConcurrentHashMap}
+ * and insertion order is tracked in a {@link ConcurrentLinkedQueue}. When more than
+ * {@code maxEntries} entries have been written, the oldest writes are evicted first.
+ * Expired entries are dropped when they are read.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class BoundedExpiringCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    /**
+     * Creates a cache bounded to the given number of entries.
+     *
+     * @param maxEntries maximum number of entries kept
+     */
+    public BoundedExpiringCache(int maxEntries) {
+        this(maxEntries, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a cache with a custom millisecond clock.
+     *
+     * @param maxEntries maximum number of entries kept
+     * @param clock supplier of the current time in epoch milliseconds
+     */
+    BoundedExpiringCache(int maxEntries, LongSupplier clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets a value if it is present and not expired.
+     *
+     * @param key the cache key
+     * @return cached value, or null on miss
+     */
+    public V get(K key) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis <= clock.getAsLong()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Stores a value until the given expiry time, evicting the oldest entries if the
+     * cache is full. Values that are already expired are not stored.
+     *
+     * @param key the cache key
+     * @param value the value to cache
+     * @param expiresAtMillis expiry time in epoch milliseconds
+     */
+    public void put(K key, V value, long expiresAtMillis) {
+        if (expiresAtMillis <= clock.getAsLong()) {
+            return;
+        }
+        Entry<K, V> entry = new Entry<>(key, value, expiresAtMillis);
+        entries.put(key, entry);
+        insertionOrder.offer(entry);
+        queued.incrementAndGet();
+        evictOverflow();
+    }
+
+    /**
+     * Removes a value from the cache.
+     *
+     * @param key the cache key
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes every value from the cache.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of entries currently held, including expired entries not yet read.
+     *
+     * @return entry count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictOverflow() {
+        while (queued.get() > maxEntries) {
+            Entry<K, V> eldest = insertionOrder.poll();
+            if (eldest == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            // Only removes the mapping if it was not overwritten by a newer put
+            entries.remove(eldest.key, eldest);
+        }
+    }
+
+    /**
+     * Cache entry compared by identity, so eviction never removes a newer write.
+     */
+    private static final class Entry<K, V> {
+        private final K key;
+        private final V value;
+        private final long expiresAtMillis;
+
+        private Entry(K key, V value, long expiresAtMillis) {
+            this.key = key;
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -2,18 +2,23 @@ package com.waterballsa.backend.util;
 
 import com.waterballsa.backend.config.JwtProperties;
 import com.waterballsa.backend.exception.UnauthorizedException;
+import com.waterballsa.backend.security.JwtKeyRing;
+import com.waterballsa.backend.security.JwtPrincipal;
+import com.waterballsa.backend.security.VerifiedTokenCache;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.SecurityException;
 import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 /**
  * Utility class for JWT token generation and validation.
@@ -22,6 +27,12 @@ import java.util.function.Function;
  * - Generate access and refresh tokens
  * - Validate and parse tokens
  * - Extract claims from tokens
+ *
+ * Tokens are signed with the active key of the {@link JwtKeyRing}: an Ed25519 or EC
+ * key with a "kid" header when asymmetric keys are configured, otherwise the HMAC
+ * secret. The key ring and the JWT parser are built once and reused, so a token can be
+ * verified with a single signature check via {@link #verify(String)}. When a
+ * {@link VerifiedTokenCache} is configured, repeated tokens skip that check entirely.
  */
 @Component
 @RequiredArgsConstructor
@@ -30,52 +41,140 @@ public class JwtUtil {
 
     private final JwtProperties jwtProperties;
 
+    private volatile JwtKeyRing keyRing;
+    private volatile JwtParser jwtParser;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * Validates the signing key configuration at startup.
+     */
+    @PostConstruct
+    public void init() {
+        JwtKeyRing ring = getKeyRing();
+        log.info("JWT signing key: {}", ring.getActiveKeyId() != null ? ring.getActiveKeyId() : "HMAC secret");
+    }
+
+    /**
+     * Gets the public keys that verify tokens issued by this service.
+     *
+     * @return JWK set, empty when tokens are signed with the HMAC secret
+     */
+    public JwkSet getPublicJwks() {
+        return getKeyRing().toJwkSet();
+    }
+
+    /**
+     * Enables caching of verified tokens when the cache bean is present.
+     *
+     * @param verifiedTokenCache the verified token cache
+     */
+    @Autowired(required = false)
+    public void setVerifiedTokenCache(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
     /**
-     * Generates an access token for a user.
+     * Generates an access token for a user in a new token family.
      *
      * @param userId the user ID
      * @param email the user email
      * @return JWT access token
      */
     public String generateAccessToken(Long userId, String email) {
+        return generateAccessToken(userId, email, newFamilyId());
+    }
+
+    /**
+     * Generates an access token for a user in the given token family.
+     *
+     * @param userId the user ID
+     * @param email the user email
+     * @param familyId the token family ID shared by all tokens of one login
+     * @return JWT access token
+     */
+    public String generateAccessToken(Long userId, String email, String familyId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("email", email);
-        claims.put("type", "access");
+        claims.put("type", JwtPrincipal.TYPE_ACCESS);
+        claims.put(JwtPrincipal.CLAIM_FAMILY_ID, familyId);
 
         return createToken(claims, email, jwtProperties.getAccessTokenExpiration());
     }
 
     /**
-     * Generates a refresh token for a user.
+     * Generates a refresh token for a user in a new token family.
      *
      * @param userId the user ID
      * @param email the user email
      * @return JWT refresh token
      */
     public String generateRefreshToken(Long userId, String email) {
+        return generateRefreshToken(userId, email, newFamilyId());
+    }
+
+    /**
+     * Generates a refresh token for a user in the given token family.
+     *
+     * @param userId the user ID
+     * @param email the user email
+     * @param familyId the token family ID shared by all tokens of one login
+     * @return JWT refresh token
+     */
+    public String generateRefreshToken(Long userId, String email, String familyId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("email", email);
-        claims.put("type", "refresh");
+        claims.put("type", JwtPrincipal.TYPE_REFRESH);
+        claims.put(JwtPrincipal.CLAIM_FAMILY_ID, familyId);
 
         return createToken(claims, email, jwtProperties.getRefreshTokenExpiration());
     }
 
     /**
-     * Validates a JWT token.
+     * Creates an ID for a new token family.
      *
-     * @param token the JWT token to validate
-     * @return true if token is valid
+     * @return random family ID
+     */
+    public String newFamilyId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Parses a JWT token and verifies its signature and expiration exactly once.
+     *
+     * @param token the JWT token to verify
+     * @return verified principal holding the token claims
      * @throws UnauthorizedException if token is invalid or expired
      */
-    public boolean validateToken(String token) {
+    public JwtPrincipal verify(String token) {
+        VerifiedTokenCache cache = verifiedTokenCache;
+        if (cache == null || token == null) {
+            return parse(token);
+        }
+
+        JwtPrincipal cached = cache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        JwtPrincipal principal = parse(token);
+        cache.put(token, principal);
+        return principal;
+    }
+
+    /**
+     * Parses a JWT token, checking its signature and expiration.
+     *
+     * @param token the JWT token to parse
+     * @return verified principal holding the token claims
+     * @throws UnauthorizedException if token is invalid or expired
+     */
+    private JwtPrincipal parse(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = getParser()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            return JwtPrincipal.from(claims);
         } catch (ExpiredJwtException e) {
             log.error("JWT token is expired: {}", e.getMessage());
             throw new UnauthorizedException("Token has expired");
@@ -88,12 +187,27 @@ public class JwtUtil {
         } catch (SecurityException e) {
             log.error("Invalid JWT signature: {}", e.getMessage());
             throw new UnauthorizedException("Invalid token signature");
+        } catch (JwtException e) {
+            log.error("JWT token is invalid: {}", e.getMessage());
+            throw new UnauthorizedException("Invalid token");
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
             throw new UnauthorizedException("Token is empty");
         }
     }
 
+    /**
+     * Validates a JWT token.
+     *
+     * @param token the JWT token to validate
+     * @return true if token is valid
+     * @throws UnauthorizedException if token is invalid or expired
+     */
+    public boolean validateToken(String token) {
+        verify(token);
+        return true;
+    }
+
     /**
      * Extracts user ID from token.
      *
@@ -101,7 +215,7 @@ public class JwtUtil {
      * @return user ID
      */
     public Long extractUserId(String token) {
-        return extractClaim(token, claims -> claims.get("userId", Long.class));
+        return verify(token).getUserId();
     }
 
     /**
@@ -111,7 +225,7 @@ public class JwtUtil {
      * @return user email
      */
     public String extractEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getEmail();
     }
 
     /**
@@ -121,7 +235,7 @@ public class JwtUtil {
      * @return token type (access or refresh)
      */
     public String extractTokenType(String token) {
-        return extractClaim(token, claims -> claims.get("type", String.class));
+        return verify(token).getTokenType();
     }
 
     /**
@@ -131,7 +245,7 @@ public class JwtUtil {
      * @return expiration date
      */
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return Date.from(verify(token).getExpiresAt());
     }
 
     /**
@@ -148,41 +262,15 @@ public class JwtUtil {
      * Validates that token is a refresh token.
      *
      * @param token the JWT token
+     * @return verified refresh token principal
      * @throws UnauthorizedException if token is not a refresh token
      */
-    public void validateRefreshToken(String token) {
-        validateToken(token);
-        String tokenType = extractTokenType(token);
-        if (!"refresh".equals(tokenType)) {
+    public JwtPrincipal validateRefreshToken(String token) {
+        JwtPrincipal principal = verify(token);
+        if (!principal.isRefreshToken()) {
             throw new UnauthorizedException("Token is not a refresh token");
         }
-    }
-
-    /**
-     * Extracts a specific claim from token.
-     *
-     * @param token the JWT token
-     * @param claimsResolver function to extract claim
-     * @param <T> claim type
-     * @return extracted claim
-     */
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    /**
-     * Extracts all claims from token.
-     *
-     * @param token the JWT token
-     * @return all claims
-     */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return principal;
     }
 
     /**
@@ -196,23 +284,55 @@ public class JwtUtil {
     private String createToken(Map<String, Object> claims, String subject, Long expirationTime) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationTime);
+        JwtKeyRing ring = getKeyRing();
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder();
+        if (ring.getActiveKeyId() != null) {
+            builder.header().keyId(ring.getActiveKeyId());
+        }
+        return builder
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(ring.getSigningKey())
                 .compact();
     }
 
     /**
-     * Gets the signing key for JWT tokens.
+     * Gets the signing and verification keys, building them on first use.
+     *
+     * @return key ring
+     */
+    private JwtKeyRing getKeyRing() {
+        JwtKeyRing ring = keyRing;
+        if (ring == null) {
+            ring = JwtKeyRing.from(jwtProperties);
+            keyRing = ring;
+        }
+        return ring;
+    }
+
+    /**
+     * Gets the thread-safe JWT parser, building it on first use.
      *
-     * @return signing key
+     * @return JWT parser resolving verification keys from the key ring
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private JwtParser getParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            JwtKeyRing ring = getKeyRing();
+            parser = Jwts.parser()
+                    .keyLocator(new LocatorAdapter<Key>() {
+                        @Override
+                        protected Key locate(JwsHeader header) {
+                            return ring.verificationKey(header.getKeyId());
+                        }
+                    })
+                    .build();
+            jwtParser = parser;
+        }
+        return parser;
     }
 }
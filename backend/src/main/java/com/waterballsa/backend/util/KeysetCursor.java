@@ -0,0 +1,64 @@
+package com.waterballsa.backend.util;
+
+import com.waterballsa.backend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Position in a listing ordered by a timestamp and then ID, both descending.
+ *
+ * The next slice starts strictly after the last row of the previous one, so the database
+ * seeks to it through an index instead of skipping OFFSET rows, and rows inserted in the
+ * meantime do not shift the slice. Clients get the cursor as an opaque URL-safe string.
+ *
+ * @param sortKey timestamp of the last row returned
+ * @param id ID of the last row returned, breaking ties between equal timestamps
+ */
+public record KeysetCursor(LocalDateTime sortKey, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public KeysetCursor {
+        if (sortKey == null) {
+            throw new IllegalArgumentException("sortKey must not be null");
+        }
+    }
+
+    /**
+     * Parses a cursor received from a client.
+     *
+     * @param cursor the cursor, blank for the first slice
+     * @return the position to continue after, empty for the first slice
+     * @throws BadRequestException if the cursor was not issued by {@link #encode()}
+     */
+    public static Optional<KeysetCursor> decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor.strip()), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+            return Optional.of(new KeysetCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1))));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Encodes the cursor for a client to send back.
+     *
+     * @return opaque URL-safe cursor
+     */
+    public String encode() {
+        String raw = sortKey.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,41 @@
+-- Create catalog_version table
+-- Single-row counter bumped by every statement that changes curriculums, chapters or lessons.
+-- Application instances poll it to notice catalog changes made by other instances or outside JPA.
+
+CREATE TABLE IF NOT EXISTS catalog_version (
+    id SMALLINT PRIMARY KEY DEFAULT 1,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- Constraints
+    CONSTRAINT catalog_version_single_row CHECK (id = 1)
+);
+
+INSERT INTO catalog_version (id, version) VALUES (1, 0) ON CONFLICT (id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_catalog_version()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE catalog_version SET version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE id = 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Statement-level triggers: a bulk change bumps the version once, not once per row
+CREATE TRIGGER bump_catalog_version_on_curriculums
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON curriculums
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION bump_catalog_version();
+
+CREATE TRIGGER bump_catalog_version_on_chapters
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON chapters
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION bump_catalog_version();
+
+CREATE TRIGGER bump_catalog_version_on_lessons
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON lessons
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION bump_catalog_version();
+
+COMMENT ON TABLE catalog_version IS 'Version of the published catalog, bumped on every curriculum, chapter or lesson change';
+COMMENT ON FUNCTION bump_catalog_version() IS 'Increments catalog_version.version; the row lock serializes concurrent catalog writes until commit';
@@ -0,0 +1,90 @@
+-- Full-text search over curriculums and lessons
+-- Postgres text search configurations do not segment Chinese, so CJK runs are indexed as
+-- single characters plus overlapping bigrams, and queries match CJK terms by bigram.
+-- CJK means kana, CJK unified ideographs (with extension A) and compatibility ideographs.
+-- Latin words go through the 'simple' configuration (lowercased, no stemming or stop words),
+-- which keeps mixed Chinese and English course titles searchable with one configuration.
+
+-- Expands CJK runs of a text into unigrams and bigrams for indexing:
+-- 'Spring 設計模式' -> 'Spring   設 設計 計 計模 模 模式 式'
+CREATE OR REPLACE FUNCTION catalog_search_document(input TEXT)
+RETURNS TEXT AS $$
+DECLARE
+    cjk_run TEXT;
+    tokens TEXT[] := ARRAY[]::TEXT[];
+    i INTEGER;
+BEGIN
+    IF input IS NULL THEN
+        RETURN '';
+    END IF;
+    FOR cjk_run IN
+        SELECT (regexp_matches(input, '[\u3040-\u30ff\u3400-\u4dbf\u4e00-\u9fff\uf900-\ufaff]+', 'g'))[1]
+    LOOP
+        FOR i IN 1 .. char_length(cjk_run) LOOP
+            tokens := tokens || substr(cjk_run, i, 1);
+            IF i < char_length(cjk_run) THEN
+                tokens := tokens || substr(cjk_run, i, 2);
+            END IF;
+        END LOOP;
+    END LOOP;
+    RETURN regexp_replace(input, '[\u3040-\u30ff\u3400-\u4dbf\u4e00-\u9fff\uf900-\ufaff]+', ' ', 'g')
+        || ' ' || array_to_string(tokens, ' ');
+END;
+$$ LANGUAGE plpgsql IMMUTABLE PARALLEL SAFE;
+
+-- Builds the query for a user search: every Latin word as a prefix, every CJK run as its
+-- bigrams (or the character itself when it stands alone), all of them required.
+-- Returns NULL when the input has nothing to search for.
+CREATE OR REPLACE FUNCTION catalog_search_query(input TEXT)
+RETURNS TSQUERY AS $$
+DECLARE
+    word TEXT;
+    cjk_run TEXT;
+    part TSQUERY;
+    result TSQUERY;
+    i INTEGER;
+BEGIN
+    IF input IS NULL THEN
+        RETURN NULL;
+    END IF;
+    FOR word IN
+        SELECT lexeme FROM unnest(to_tsvector('simple',
+            regexp_replace(input, '[\u3040-\u30ff\u3400-\u4dbf\u4e00-\u9fff\uf900-\ufaff]+', ' ', 'g')))
+    LOOP
+        part := (plainto_tsquery('simple', word)::TEXT || ':*')::TSQUERY;
+        result := CASE WHEN result IS NULL THEN part ELSE result && part END;
+    END LOOP;
+    FOR cjk_run IN
+        SELECT (regexp_matches(input, '[\u3040-\u30ff\u3400-\u4dbf\u4e00-\u9fff\uf900-\ufaff]+', 'g'))[1]
+    LOOP
+        IF char_length(cjk_run) = 1 THEN
+            part := plainto_tsquery('simple', cjk_run);
+            result := CASE WHEN result IS NULL THEN part ELSE result && part END;
+        END IF;
+        FOR i IN 1 .. char_length(cjk_run) - 1 LOOP
+            part := plainto_tsquery('simple', substr(cjk_run, i, 2));
+            result := CASE WHEN result IS NULL THEN part ELSE result && part END;
+        END LOOP;
+    END LOOP;
+    RETURN result;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE PARALLEL SAFE;
+
+ALTER TABLE curriculums ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', catalog_search_document(title)), 'A') ||
+    setweight(to_tsvector('simple', catalog_search_document(instructor_name)), 'C') ||
+    setweight(to_tsvector('simple', catalog_search_document(description)), 'B')
+) STORED;
+
+ALTER TABLE lessons ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', catalog_search_document(title)), 'A') ||
+    setweight(to_tsvector('simple', catalog_search_document(description)), 'B')
+) STORED;
+
+CREATE INDEX idx_curriculums_search_vector ON curriculums USING GIN(search_vector);
+CREATE INDEX idx_lessons_search_vector ON lessons USING GIN(search_vector);
+
+COMMENT ON COLUMN curriculums.search_vector IS 'Full-text search document: title (A), description (B), instructor (C)';
+COMMENT ON COLUMN lessons.search_vector IS 'Full-text search document: title (A), description (B)';
+COMMENT ON FUNCTION catalog_search_document(TEXT) IS 'Expands CJK runs into unigrams and bigrams for full-text indexing';
+COMMENT ON FUNCTION catalog_search_query(TEXT) IS 'Builds a full-text query matching Latin words by prefix and CJK text by bigram';
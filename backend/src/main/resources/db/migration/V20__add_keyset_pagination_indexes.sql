@@ -0,0 +1,28 @@
+-- Indexes for cursor-paged listings
+-- Each listing is ordered by a timestamp and then id, both descending, and the next slice
+-- starts with "sort_key <= :key AND (sort_key < :key OR id < :id)". With the filter columns
+-- first and the sort columns in the same order, Postgres seeks straight to the cursor and
+-- reads one slice of index entries, however deep the cursor is.
+
+-- Published curriculums, newest first
+CREATE INDEX idx_curriculums_published_created_at
+    ON curriculums(created_at DESC, id DESC)
+    WHERE is_published = true;
+
+-- Published curriculums of one difficulty level, newest first
+CREATE INDEX idx_curriculums_published_difficulty_created_at
+    ON curriculums(difficulty_level, created_at DESC, id DESC)
+    WHERE is_published = true;
+
+-- Free published curriculums, newest first
+CREATE INDEX idx_curriculums_free_created_at
+    ON curriculums(created_at DESC, id DESC)
+    WHERE is_published = true AND price = 0;
+
+-- A user's purchases, newest first
+CREATE INDEX idx_purchases_user_created_at
+    ON purchases(user_id, created_at DESC, id DESC);
+
+-- A user's completed purchases, most recently completed first
+CREATE INDEX idx_purchases_user_status_purchased_at
+    ON purchases(user_id, status, purchased_at DESC, id DESC);
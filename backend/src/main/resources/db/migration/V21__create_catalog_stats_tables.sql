@@ -0,0 +1,271 @@
+-- Create curriculum_stats and chapter_stats tables
+-- Denormalized counts and durations behind the count and duration endpoints, so they are
+-- read instead of aggregated per request. Triggers on curriculums, chapters and lessons
+-- keep them up to date in the same transaction as the change; rebuild_catalog_stats()
+-- recomputes everything and reports the rows that had drifted.
+-- Values match the repository aggregates they replace: published chapters of a curriculum,
+-- published lessons of a chapter, and minutes of published lessons, whether or not the
+-- curriculum or chapter itself is published.
+
+CREATE TABLE IF NOT EXISTS chapter_stats (
+    chapter_id BIGINT PRIMARY KEY,
+    curriculum_id BIGINT NOT NULL,
+    published_lesson_count INTEGER NOT NULL DEFAULT 0,
+    total_duration_minutes BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- Foreign keys
+    CONSTRAINT fk_chapter_stats_chapter FOREIGN KEY (chapter_id)
+        REFERENCES chapters(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS curriculum_stats (
+    curriculum_id BIGINT PRIMARY KEY,
+    is_published BOOLEAN NOT NULL DEFAULT false,
+    published_chapter_count INTEGER NOT NULL DEFAULT 0,
+    total_duration_minutes BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- Foreign keys
+    CONSTRAINT fk_curriculum_stats_curriculum FOREIGN KEY (curriculum_id)
+        REFERENCES curriculums(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_chapter_stats_curriculum_id ON chapter_stats(curriculum_id);
+
+-- Recomputes the stats of the given chapters from their lessons; rows whose values did not
+-- change are left alone. Chapters that no longer exist are skipped.
+CREATE OR REPLACE FUNCTION refresh_chapter_stats(chapter_ids BIGINT[])
+RETURNS VOID AS $$
+    INSERT INTO chapter_stats (chapter_id, curriculum_id, published_lesson_count, total_duration_minutes)
+    SELECT ch.id,
+           ch.curriculum_id,
+           COUNT(l.id) FILTER (WHERE l.is_published),
+           COALESCE(SUM(l.duration_minutes) FILTER (WHERE l.is_published), 0)
+    FROM chapters ch
+    LEFT JOIN lessons l ON l.chapter_id = ch.id
+    WHERE ch.id = ANY(chapter_ids)
+    GROUP BY ch.id, ch.curriculum_id
+    ON CONFLICT (chapter_id) DO UPDATE
+        SET curriculum_id = EXCLUDED.curriculum_id,
+            published_lesson_count = EXCLUDED.published_lesson_count,
+            total_duration_minutes = EXCLUDED.total_duration_minutes,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE (chapter_stats.curriculum_id, chapter_stats.published_lesson_count, chapter_stats.total_duration_minutes)
+              IS DISTINCT FROM
+              (EXCLUDED.curriculum_id, EXCLUDED.published_lesson_count, EXCLUDED.total_duration_minutes);
+$$ LANGUAGE sql;
+
+-- Recomputes the stats of the given curriculums from their chapters and chapter_stats,
+-- so refresh the chapter stats first. Curriculums that no longer exist are skipped.
+CREATE OR REPLACE FUNCTION refresh_curriculum_stats(curriculum_ids BIGINT[])
+RETURNS VOID AS $$
+    INSERT INTO curriculum_stats (curriculum_id, is_published, published_chapter_count, total_duration_minutes)
+    SELECT c.id,
+           c.is_published,
+           (SELECT COUNT(*) FROM chapters ch WHERE ch.curriculum_id = c.id AND ch.is_published),
+           (SELECT COALESCE(SUM(s.total_duration_minutes), 0) FROM chapter_stats s WHERE s.curriculum_id = c.id)
+    FROM curriculums c
+    WHERE c.id = ANY(curriculum_ids)
+    ON CONFLICT (curriculum_id) DO UPDATE
+        SET is_published = EXCLUDED.is_published,
+            published_chapter_count = EXCLUDED.published_chapter_count,
+            total_duration_minutes = EXCLUDED.total_duration_minutes,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE (curriculum_stats.is_published, curriculum_stats.published_chapter_count,
+               curriculum_stats.total_duration_minutes)
+              IS DISTINCT FROM
+              (EXCLUDED.is_published, EXCLUDED.published_chapter_count, EXCLUDED.total_duration_minutes);
+$$ LANGUAGE sql;
+
+-- Statement-level triggers with transition tables: a bulk change refreshes each affected
+-- chapter and curriculum once. Updates that do not touch a counted column are skipped.
+-- Deleted rows need no handling of their own; ON DELETE CASCADE removes their stats.
+-- TRUNCATE is not covered; rebuild_catalog_stats() repairs it.
+CREATE OR REPLACE FUNCTION maintain_catalog_stats_on_lessons()
+RETURNS TRIGGER AS $$
+DECLARE
+    chapter_ids BIGINT[];
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        SELECT array_agg(DISTINCT chapter_id) INTO chapter_ids FROM new_rows;
+    ELSIF TG_OP = 'DELETE' THEN
+        SELECT array_agg(DISTINCT chapter_id) INTO chapter_ids FROM old_rows;
+    ELSE
+        SELECT array_agg(DISTINCT changed.chapter_id) INTO chapter_ids
+        FROM new_rows n
+        JOIN old_rows o ON o.id = n.id
+        CROSS JOIN LATERAL (VALUES (n.chapter_id), (o.chapter_id)) AS changed(chapter_id)
+        WHERE (n.chapter_id, n.is_published, n.duration_minutes)
+              IS DISTINCT FROM (o.chapter_id, o.is_published, o.duration_minutes);
+    END IF;
+    IF chapter_ids IS NOT NULL THEN
+        PERFORM refresh_chapter_stats(chapter_ids);
+        PERFORM refresh_curriculum_stats(
+            ARRAY(SELECT DISTINCT curriculum_id FROM chapters WHERE id = ANY(chapter_ids)));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION maintain_catalog_stats_on_chapters()
+RETURNS TRIGGER AS $$
+DECLARE
+    chapter_ids BIGINT[];
+    curriculum_ids BIGINT[];
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        SELECT array_agg(id), array_agg(DISTINCT curriculum_id) INTO chapter_ids, curriculum_ids FROM new_rows;
+    ELSIF TG_OP = 'DELETE' THEN
+        SELECT array_agg(DISTINCT curriculum_id) INTO curriculum_ids FROM old_rows;
+    ELSE
+        SELECT array_agg(DISTINCT n.id) INTO chapter_ids
+        FROM new_rows n
+        JOIN old_rows o ON o.id = n.id
+        WHERE n.curriculum_id IS DISTINCT FROM o.curriculum_id;
+        SELECT array_agg(DISTINCT changed.curriculum_id) INTO curriculum_ids
+        FROM new_rows n
+        JOIN old_rows o ON o.id = n.id
+        CROSS JOIN LATERAL (VALUES (n.curriculum_id), (o.curriculum_id)) AS changed(curriculum_id)
+        WHERE (n.curriculum_id, n.is_published) IS DISTINCT FROM (o.curriculum_id, o.is_published);
+    END IF;
+    IF chapter_ids IS NOT NULL THEN
+        PERFORM refresh_chapter_stats(chapter_ids);
+    END IF;
+    IF curriculum_ids IS NOT NULL THEN
+        PERFORM refresh_curriculum_stats(curriculum_ids);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION maintain_catalog_stats_on_curriculums()
+RETURNS TRIGGER AS $$
+DECLARE
+    curriculum_ids BIGINT[];
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        SELECT array_agg(id) INTO curriculum_ids FROM new_rows;
+    ELSE
+        SELECT array_agg(n.id) INTO curriculum_ids
+        FROM new_rows n
+        JOIN old_rows o ON o.id = n.id
+        WHERE n.is_published IS DISTINCT FROM o.is_published;
+    END IF;
+    IF curriculum_ids IS NOT NULL THEN
+        PERFORM refresh_curriculum_stats(curriculum_ids);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- A trigger with transition tables handles a single event, hence one trigger per event
+CREATE TRIGGER maintain_catalog_stats_on_lesson_insert
+    AFTER INSERT ON lessons
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION maintain_catalog_stats_on_lessons();
+
+CREATE TRIGGER maintain_catalog_stats_on_lesson_update
+    AFTER UPDATE ON lessons
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION maintain_catalog_stats_on_lessons();
+
+CREATE TRIGGER maintain_catalog_stats_on_lesson_delete
+    AFTER DELETE ON lessons
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION maintain_catalog_stats_on_lessons();
+
+CREATE TRIGGER maintain_catalog_stats_on_chapter_insert
+    AFTER INSERT ON chapters
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION maintain_catalog_stats_on_chapters();
+
+CREATE TRIGGER maintain_catalog_stats_on_chapter_update
+    AFTER UPDATE ON chapters
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION maintain_catalog_stats_on_chapters();
+
+CREATE TRIGGER maintain_catalog_stats_on_chapter_delete
+    AFTER DELETE ON chapters
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION maintain_catalog_stats_on_chapters();
+
+CREATE TRIGGER maintain_catalog_stats_on_curriculum_insert
+    AFTER INSERT ON curriculums
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION maintain_catalog_stats_on_curriculums();
+
+CREATE TRIGGER maintain_catalog_stats_on_curriculum_update
+    AFTER UPDATE ON curriculums
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION maintain_catalog_stats_on_curriculums();
+
+-- Recomputes every stats row from the catalog tables and returns how many rows were
+-- missing or held wrong values. Healthy stats return (0, 0) and write nothing.
+CREATE OR REPLACE FUNCTION rebuild_catalog_stats(OUT chapter_drift INTEGER, OUT curriculum_drift INTEGER)
+AS $$
+BEGIN
+    WITH actual AS (
+        SELECT ch.id AS chapter_id,
+               ch.curriculum_id,
+               COUNT(l.id) FILTER (WHERE l.is_published) AS published_lesson_count,
+               COALESCE(SUM(l.duration_minutes) FILTER (WHERE l.is_published), 0) AS total_duration_minutes
+        FROM chapters ch
+        LEFT JOIN lessons l ON l.chapter_id = ch.id
+        GROUP BY ch.id, ch.curriculum_id
+    ), repaired AS (
+        INSERT INTO chapter_stats (chapter_id, curriculum_id, published_lesson_count, total_duration_minutes)
+        SELECT chapter_id, curriculum_id, published_lesson_count, total_duration_minutes FROM actual
+        ON CONFLICT (chapter_id) DO UPDATE
+            SET curriculum_id = EXCLUDED.curriculum_id,
+                published_lesson_count = EXCLUDED.published_lesson_count,
+                total_duration_minutes = EXCLUDED.total_duration_minutes,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE (chapter_stats.curriculum_id, chapter_stats.published_lesson_count, chapter_stats.total_duration_minutes)
+                  IS DISTINCT FROM
+                  (EXCLUDED.curriculum_id, EXCLUDED.published_lesson_count, EXCLUDED.total_duration_minutes)
+        RETURNING 1
+    )
+    SELECT COUNT(*) INTO chapter_drift FROM repaired;
+
+    WITH actual AS (
+        SELECT c.id AS curriculum_id,
+               c.is_published,
+               (SELECT COUNT(*) FROM chapters ch
+                WHERE ch.curriculum_id = c.id AND ch.is_published) AS published_chapter_count,
+               (SELECT COALESCE(SUM(l.duration_minutes), 0) FROM lessons l
+                JOIN chapters ch ON ch.id = l.chapter_id
+                WHERE ch.curriculum_id = c.id AND l.is_published) AS total_duration_minutes
+        FROM curriculums c
+    ), repaired AS (
+        INSERT INTO curriculum_stats (curriculum_id, is_published, published_chapter_count, total_duration_minutes)
+        SELECT curriculum_id, is_published, published_chapter_count, total_duration_minutes FROM actual
+        ON CONFLICT (curriculum_id) DO UPDATE
+            SET is_published = EXCLUDED.is_published,
+                published_chapter_count = EXCLUDED.published_chapter_count,
+                total_duration_minutes = EXCLUDED.total_duration_minutes,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE (curriculum_stats.is_published, curriculum_stats.published_chapter_count,
+                   curriculum_stats.total_duration_minutes)
+                  IS DISTINCT FROM
+                  (EXCLUDED.is_published, EXCLUDED.published_chapter_count, EXCLUDED.total_duration_minutes)
+        RETURNING 1
+    )
+    SELECT COUNT(*) INTO curriculum_drift FROM repaired;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Fill the tables for the existing catalog
+SELECT * FROM rebuild_catalog_stats();
+
+COMMENT ON TABLE chapter_stats IS 'Published lesson count and duration of each chapter, maintained by triggers';
+COMMENT ON TABLE curriculum_stats IS 'Published chapter count and lesson duration of each curriculum, maintained by triggers';
+COMMENT ON FUNCTION rebuild_catalog_stats() IS 'Recomputes chapter_stats and curriculum_stats; returns the number of drifted rows of each';
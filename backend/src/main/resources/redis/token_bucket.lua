@@ -0,0 +1,39 @@
+-- Token bucket rate limiter.
+-- KEYS[1]  bucket key
+-- ARGV[1]  capacity
+-- ARGV[2]  refill period in milliseconds
+-- Returns {allowed (0/1), remaining tokens, retry after in milliseconds}
+
+local capacity = tonumber(ARGV[1])
+local period = tonumber(ARGV[2])
+local tokens_per_ms = capacity / period
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+if now > ts then
+    tokens = math.min(capacity, tokens + (now - ts) * tokens_per_ms)
+    ts = now
+end
+
+local allowed = 0
+local retry_after = 0
+if tokens >= 1 then
+    tokens = tokens - 1
+    allowed = 1
+else
+    retry_after = math.ceil((1 - tokens) / tokens_per_ms)
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(ts))
+redis.call('PEXPIRE', KEYS[1], period)
+
+return {allowed, math.floor(tokens), retry_after}
@@ -0,0 +1,126 @@
+package com.waterballsa.backend.config;
+
+import com.waterballsa.backend.entity.Curriculum;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository;
+import com.waterballsa.backend.repository.CurriculumRepository;
+import com.waterballsa.backend.service.CatalogEntityCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the catalog second-level and query caches against the database, with the
+ * caches enabled. Starting the context also checks that every cached entity and collection
+ * has its region, as Hibernate is set to fail on a missing one.
+ *
+ * Runs outside a test transaction so each repository call gets its own session, as in
+ * production; only the seed catalog is read.
+ */
+@DataJpaTest(properties = "catalog.entity-cache.enabled=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CatalogEntityCacheConfig.class, CatalogEntityCacheProperties.class, CatalogEntityCache.class,
+        CatalogSnapshotRepository.class, CatalogEntityCacheConfigTest.Metrics.class})
+class CatalogEntityCacheConfigTest {
+
+    @Autowired
+    private CurriculumRepository curriculumRepository;
+
+    @Autowired
+    private CatalogEntityCache catalogEntityCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cache cache;
+    private Statistics statistics;
+    private Long curriculumId;
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        cache = sessionFactory.getCache();
+        statistics = sessionFactory.getStatistics();
+        curriculumId = curriculumRepository.findPublishedSummaries(PageRequest.of(0, 1))
+                .getContent().get(0).id();
+        catalogEntityCache.evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should serve a curriculum from the second-level cache on the second load")
+    void shouldCacheEntity() {
+        // When
+        Curriculum first = curriculumRepository.findById(curriculumId).orElseThrow();
+        Curriculum second = curriculumRepository.findById(curriculumId).orElseThrow();
+
+        // Then
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(cache.containsEntity(Curriculum.class, curriculumId)).isTrue();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated published listing from the query cache")
+    void shouldCacheListing() {
+        // When
+        curriculumRepository.findPublishedSummaries(PageRequest.of(0, 10));
+        long hitsAfterFirst = statistics.getQueryCacheHitCount();
+        curriculumRepository.findPublishedSummaries(PageRequest.of(0, 10));
+
+        // Then
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThan(hitsAfterFirst);
+    }
+
+    @Test
+    @DisplayName("Should empty every region when the catalog version changes")
+    void shouldEvictOnVersionChange() {
+        // Given
+        catalogEntityCache.checkVersion();
+        curriculumRepository.findById(curriculumId).orElseThrow();
+        curriculumRepository.findPublishedSummaries(PageRequest.of(0, 10));
+        assertThat(cache.containsEntity(Curriculum.class, curriculumId)).isTrue();
+
+        // When - another instance changes the catalog
+        jdbcTemplate.update("UPDATE catalog_version SET version = version + 1 WHERE id = 1");
+        catalogEntityCache.checkVersion();
+
+        // Then
+        assertThat(cache.containsEntity(Curriculum.class, curriculumId)).isFalse();
+        long missesBefore = statistics.getQueryCacheMissCount();
+        curriculumRepository.findPublishedSummaries(PageRequest.of(0, 10));
+        assertThat(statistics.getQueryCacheMissCount()).isGreaterThan(missesBefore);
+    }
+}
@@ -0,0 +1,213 @@
+package com.waterballsa.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests replica routing against two Postgres containers in streaming replication.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReadReplicaReplicationTest {
+
+    private static final String IMAGE = "bitnami/postgresql:14";
+    private static final String PASSWORD = "postgres";
+    private static final Duration MAX_LAG = Duration.ofMillis(500);
+
+    private static final Network NETWORK = Network.newNetwork();
+
+    @Container
+    private static final GenericContainer<?> PRIMARY = new GenericContainer<>(IMAGE)
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withEnv(Map.of(
+                    "POSTGRESQL_PASSWORD", PASSWORD,
+                    "POSTGRESQL_DATABASE", "waterballsa",
+                    "POSTGRESQL_REPLICATION_MODE", "master",
+                    "POSTGRESQL_REPLICATION_USER", "replicator",
+                    "POSTGRESQL_REPLICATION_PASSWORD", "replicator"))
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*", 1));
+
+    @Container
+    private static final GenericContainer<?> REPLICA = new GenericContainer<>(IMAGE)
+            .withNetwork(NETWORK)
+            .dependsOn(PRIMARY)
+            .withEnv(Map.of(
+                    "POSTGRESQL_PASSWORD", PASSWORD,
+                    "POSTGRESQL_MASTER_HOST", "primary",
+                    "POSTGRESQL_MASTER_PORT_NUMBER", "5432",
+                    "POSTGRESQL_REPLICATION_MODE", "slave",
+                    "POSTGRESQL_REPLICATION_USER", "replicator",
+                    "POSTGRESQL_REPLICATION_PASSWORD", "replicator"))
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept read.only connections.*", 1));
+
+    private static HikariDataSource primaryPool;
+    private static HikariDataSource replicaPool;
+    private static ReplicaLagMonitor lagMonitor;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate writeTransaction;
+    private static TransactionTemplate readOnlyTransaction;
+
+    @BeforeAll
+    static void setUp() throws InterruptedException {
+        primaryPool = pool(PRIMARY);
+        replicaPool = pool(REPLICA);
+        lagMonitor = new ReplicaLagMonitor(replicaPool, MAX_LAG, new SimpleMeterRegistry());
+
+        ReadReplicaProperties properties = new ReadReplicaProperties();
+        properties.setReadYourWritesWindow(Duration.ofMinutes(1));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primaryPool, replicaPool, lagMonitor, properties, new SimpleMeterRegistry());
+        routing.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        writeTransaction.executeWithoutResult(status ->
+                jdbcTemplate.execute("CREATE TABLE notes (id SERIAL PRIMARY KEY, body TEXT NOT NULL)"));
+        awaitReplication();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        primaryPool.close();
+        replicaPool.close();
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should read from the replica in read-only transactions and write to the primary")
+    void shouldRouteReadOnlyTransactionsToReplica() throws InterruptedException {
+        // When
+        Boolean writeOnReplica = writeTransaction.execute(status -> {
+            jdbcTemplate.update("INSERT INTO notes (body) VALUES ('routed')");
+            return inRecovery();
+        });
+        awaitReplication();
+        boolean readOnReplica = readOnlyTransactionOnReplica();
+        Integer replicated = readOnlyTransaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notes WHERE body = 'routed'", Integer.class));
+
+        // Then
+        assertThat(writeOnReplica).isFalse();
+        assertThat(readOnReplica).isTrue();
+        assertThat(replicated).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the writer's reads on the primary within the read-your-writes window")
+    void shouldReadYourWrites() throws InterruptedException {
+        // Given
+        awaitReplication();
+        authenticate(42L);
+        writeTransaction.executeWithoutResult(status ->
+                jdbcTemplate.update("INSERT INTO notes (body) VALUES ('mine')"));
+
+        // When & Then
+        assertThat(readOnlyTransactionOnReplica()).isFalse();
+        authenticate(7L);
+        assertThat(readOnlyTransactionOnReplica()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should read from the primary while the replica lags beyond the limit")
+    void shouldAvoidLaggingReplica() throws InterruptedException {
+        // Given - replay paused on the replica while the primary keeps writing
+        awaitReplication();
+        new JdbcTemplate(replicaPool).execute("SELECT pg_wal_replay_pause()");
+        try {
+            Thread.sleep(MAX_LAG.multipliedBy(2).toMillis());
+            writeTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.update("INSERT INTO notes (body) VALUES ('lagging')"));
+            Thread.sleep(MAX_LAG.toMillis());
+
+            // When
+            lagMonitor.checkLag();
+
+            // Then
+            assertThat(lagMonitor.isReplicaUsable()).isFalse();
+            assertThat(readOnlyTransactionOnReplica()).isFalse();
+        } finally {
+            new JdbcTemplate(replicaPool).execute("SELECT pg_wal_replay_resume()");
+        }
+
+        // When & Then - back to the replica once it catches up
+        awaitReplication();
+        assertThat(readOnlyTransactionOnReplica()).isTrue();
+    }
+
+    private static boolean readOnlyTransactionOnReplica() {
+        return Boolean.TRUE.equals(readOnlyTransaction.execute(status -> inRecovery()));
+    }
+
+    private static Boolean inRecovery() {
+        return jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class);
+    }
+
+    private static void authenticate(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+
+    /**
+     * Waits until the replica has replayed everything the primary wrote so far.
+     */
+    private static void awaitReplication() throws InterruptedException {
+        String lsn = new JdbcTemplate(primaryPool).queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+        JdbcTemplate replica = new JdbcTemplate(replicaPool);
+        long deadline = System.currentTimeMillis() + Duration.ofSeconds(30).toMillis();
+        while (!Boolean.TRUE.equals(replica.queryForObject(
+                "SELECT pg_last_wal_replay_lsn() >= ?::pg_lsn", Boolean.class, lsn))) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Replica did not reach " + lsn);
+            }
+            Thread.sleep(50);
+        }
+        lagMonitor.checkLag();
+        assertThat(lagMonitor.isReplicaUsable()).isTrue();
+    }
+
+    private static HikariDataSource pool(GenericContainer<?> container) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:postgresql://" + container.getHost() + ":" + container.getMappedPort(5432)
+                + "/waterballsa");
+        dataSource.setUsername("postgres");
+        dataSource.setPassword(PASSWORD);
+        dataSource.setMaximumPoolSize(2);
+        return dataSource;
+    }
+}
@@ -0,0 +1,201 @@
+package com.waterballsa.backend.controller;
+
+import com.waterballsa.backend.config.CatalogHttpCacheProperties;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository.PublishedCatalog;
+import com.waterballsa.backend.service.CatalogGraph;
+import com.waterballsa.backend.service.CatalogSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Unit tests for CatalogResponseCacheFilter.
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogResponseCacheFilterTest {
+
+    private static final String BODY = "{\"id\":1,\"title\":\"Spring Boot Mastery\"}";
+
+    @Mock
+    private CatalogSnapshot catalogSnapshot;
+
+    private CatalogHttpCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogResponseCacheFilter filter;
+    private AtomicInteger renders;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CatalogHttpCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new CatalogResponseCacheFilter(catalogSnapshot, properties, meterRegistry);
+        renders = new AtomicInteger();
+        lenient().when(catalogSnapshot.current()).thenReturn(graph(5L));
+    }
+
+    @Test
+    @DisplayName("Should render a catalog response once and serve later requests from bytes")
+    void shouldServeRepeatedRequestsFromCache() throws Exception {
+        // When
+        MockHttpServletResponse first = get("/api/curriculums/1", null, null);
+        MockHttpServletResponse second = get("/api/curriculums/1", null, null);
+
+        // Then
+        assertThat(renders).hasValue(1);
+        assertThat(second.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(second.getContentAsString()).isEqualTo(BODY);
+        assertThat(second.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(first.getContentAsString()).isEqualTo(BODY);
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo("\"catalog-5\"");
+        assertThat(second.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("public, max-age=60");
+        assertThat(second.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(responses("hit")).isEqualTo(1);
+        assertThat(responses("miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve pre-compressed gzip bytes to clients that accept gzip")
+    void shouldServeGzip() throws Exception {
+        // When
+        MockHttpServletResponse response = get("/api/curriculums/1", "gzip, deflate, br", null);
+
+        // Then
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"catalog-5-gzip\"");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+        }
+        assertThat(get("/api/curriculums/1", "gzip;q=0", null).getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should answer 304 while the ETag matches the catalog version")
+    void shouldAnswerNotModified() throws Exception {
+        // Given
+        get("/api/chapters/3", null, null);
+
+        // When
+        MockHttpServletResponse response = get("/api/chapters/3", null, "W/\"catalog-5-gzip\"");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"catalog-5\"");
+        assertThat(renders).hasValue(1);
+        assertThat(responses("not_modified")).isEqualTo(1);
+
+        // When - nothing cached for the URL yet
+        MockHttpServletResponse uncached = get("/api/chapters/4", null, "\"catalog-5\"");
+
+        // Then
+        assertThat(uncached.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+        assertThat(uncached.getContentAsByteArray()).isEmpty();
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should not answer 304 for a resource that does not exist")
+    void shouldNotAnswerNotModifiedForMissingResource() throws Exception {
+        // When
+        MockHttpServletResponse anyTag = get("/api/curriculums/404", null, "*");
+        MockHttpServletResponse versionTag = get("/api/curriculums/404", null, "\"catalog-5\"");
+
+        // Then
+        assertThat(anyTag.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_FOUND);
+        assertThat(versionTag.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_FOUND);
+        assertThat(renders).hasValue(2);
+        assertThat(responses("not_modified")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should render again once the catalog version changes")
+    void shouldRenderAgainAfterCatalogChange() throws Exception {
+        // Given
+        get("/api/lessons/7", null, null);
+        lenient().when(catalogSnapshot.current()).thenReturn(graph(6L));
+
+        // When
+        MockHttpServletResponse stale = get("/api/lessons/7", null, "\"catalog-5\"");
+
+        // Then
+        assertThat(stale.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(stale.getHeader(HttpHeaders.ETAG)).isEqualTo("\"catalog-6\"");
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should pass through per-user routes, suggestions, errors and requests without a snapshot")
+    void shouldNotCacheUncacheableResponses() throws Exception {
+        // When & Then
+        for (String path : List.of("/api/curriculums/1/order-preview", "/api/lessons/7/progress",
+                "/api/curriculums/1/outline", "/api/curriculums/suggest")) {
+            MockHttpServletResponse response = get(path, null, "\"catalog-5\"");
+            assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+            assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        }
+        assertThat(renders).hasValue(4);
+
+        // When
+        get("/api/curriculums/404", null, null);
+        MockHttpServletResponse notFound = get("/api/curriculums/404", null, null);
+
+        // Then
+        assertThat(notFound.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_FOUND);
+        assertThat(renders).hasValue(6);
+
+        // When
+        lenient().when(catalogSnapshot.current()).thenReturn(null);
+        MockHttpServletResponse withoutSnapshot = get("/api/curriculums/1", null, null);
+
+        // Then
+        assertThat(withoutSnapshot.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(renders).hasValue(7);
+    }
+
+    private MockHttpServletResponse get(String path, String acceptEncoding, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain controller = (req, res) -> {
+            renders.incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) res;
+            httpResponse.setStatus(path.endsWith("/404") ? HttpServletResponse.SC_NOT_FOUND : HttpServletResponse.SC_OK);
+            httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            httpResponse.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        };
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+
+    private double responses(String result) {
+        return meterRegistry.get("catalog.http.responses").tag("result", result).counter().count();
+    }
+
+    private static CatalogGraph graph(long version) {
+        return CatalogGraph.build(new PublishedCatalog(version, List.of(), List.of(), List.of()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.waterballsa.backend.dto;
+
+import com.waterballsa.backend.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for BatchResponse.
+ */
+class BatchResponseTest {
+
+    @Test
+    @DisplayName("Should remove duplicate and null ids, keeping request order")
+    void shouldDeduplicateIds() {
+        // When
+        Set<Long> ids = BatchResponse.distinctIds(Arrays.asList(3L, 1L, null, 3L, 2L, 1L));
+
+        // Then
+        assertThat(ids).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should reject more ids than a batch allows")
+    void shouldRejectTooManyIds() {
+        // Given
+        List<Long> ids = new ArrayList<>(Collections.nCopies(BatchResponse.MAX_IDS, 1L));
+        ids.add(2L);
+
+        // When / Then
+        assertThat(BatchResponse.distinctIds(ids.subList(0, BatchResponse.MAX_IDS))).containsExactly(1L);
+        assertThatThrownBy(() -> BatchResponse.distinctIds(ids))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining(String.valueOf(BatchResponse.MAX_IDS));
+    }
+
+    @Test
+    @DisplayName("Should list found items and missing ids in request order")
+    void shouldKeepRequestOrder() {
+        // Given
+        Set<Long> ids = BatchResponse.distinctIds(List.of(5L, 4L, 9L, 1L, 7L));
+        Map<Long, String> found = Map.of(1L, "one", 4L, "four", 5L, "five");
+
+        // When
+        BatchResponse<String> response = BatchResponse.of(ids, found);
+
+        // Then
+        assertThat(response.getItems()).containsExactly("five", "four", "one");
+        assertThat(response.getMissingIds()).containsExactly(9L, 7L);
+    }
+}
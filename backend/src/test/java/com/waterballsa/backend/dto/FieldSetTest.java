@@ -0,0 +1,57 @@
+package com.waterballsa.backend.dto;
+
+import com.waterballsa.backend.entity.LessonType;
+import com.waterballsa.backend.exception.BadRequestException;
+import com.waterballsa.backend.repository.LessonRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for FieldSet.
+ */
+class FieldSetTest {
+
+    @Test
+    @DisplayName("Should parse field sets case-insensitively, defaulting to full")
+    void shouldParseFieldSet() {
+        assertThat(FieldSet.parse(null)).isEqualTo(FieldSet.FULL);
+        assertThat(FieldSet.parse(" ")).isEqualTo(FieldSet.FULL);
+        assertThat(FieldSet.parse("full")).isEqualTo(FieldSet.FULL);
+        assertThat(FieldSet.parse(" Summary ")).isEqualTo(FieldSet.SUMMARY);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown field sets")
+    void shouldRejectUnknownFieldSet() {
+        assertThatThrownBy(() -> FieldSet.parse("minimal"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("minimal");
+    }
+
+    @Test
+    @DisplayName("Should give summary rows the same shape as stripped full rows")
+    void shouldMatchSummaryProjection() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30);
+        LessonRow full = new LessonRow(7L, 3L, "Lesson", "Long notes", LessonType.VIDEO, "https://example.com/v.mp4",
+                2, 15, true, true, createdAt, Map.of("resolution", "1080p"));
+        LessonRow summary = new LessonRow(7L, 3L, "Lesson", LessonType.VIDEO, "https://example.com/v.mp4",
+                2, 15, true, true, createdAt);
+
+        // When
+        LessonDto stripped = FieldSet.SUMMARY.apply(full.toDto());
+        LessonDto projected = summary.toDto();
+
+        // Then
+        assertThat(projected).isEqualTo(stripped);
+        assertThat(projected.getDescription()).isNull();
+        assertThat(projected.getContentMetadata()).isEmpty();
+        assertThat(FieldSet.FULL.apply(full.toDto()).getContentMetadata()).containsEntry("resolution", "1080p");
+    }
+}
@@ -0,0 +1,139 @@
+package com.waterballsa.backend.repository;
+
+import com.waterballsa.backend.dto.CatalogSearchResponse.LessonHit;
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.entity.Chapter;
+import com.waterballsa.backend.entity.Curriculum;
+import com.waterballsa.backend.entity.DifficultyLevel;
+import com.waterballsa.backend.entity.Lesson;
+import com.waterballsa.backend.entity.LessonType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for full-text catalog search against the generated search vectors.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(CatalogSearchRepository.class)
+class CatalogSearchRepositoryTest {
+
+    @Autowired
+    private CatalogSearchRepository catalogSearchRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Curriculum designPatterns;
+    private Curriculum springBoot;
+    private Curriculum draft;
+
+    @BeforeEach
+    void setUp() {
+        designPatterns = persistCurriculum("軟體設計模式精通之旅", "用 Java 實作 Design Patterns 的實戰課程", true);
+        springBoot = persistCurriculum("Spring Boot 微服務實戰", "從零打造可部署的微服務，包含設計與測試", true);
+        draft = persistCurriculum("設計模式 草稿", "Unpublished draft", false);
+        Chapter chapter = persistChapter(designPatterns);
+        persistLesson(chapter, 0, "Observer 觀察者模式", true);
+        persistLesson(chapter, 1, "Strategy 策略模式", true);
+        persistLesson(chapter, 2, "觀察者模式 草稿", false);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should find Chinese terms inside unsegmented titles and rank title matches first")
+    void shouldSearchChineseText() {
+        // When
+        List<CurriculumDto> results = catalogSearchRepository.searchCurriculums("設計", 10);
+
+        // Then - title match ranks above the description-only match; the draft is excluded.
+        // The seed data has matching curriculums too, so only the order of ours is checked
+        assertThat(results).extracting(CurriculumDto::getId)
+                .containsSubsequence(designPatterns.getId(), springBoot.getId())
+                .doesNotContain(draft.getId());
+    }
+
+    @Test
+    @DisplayName("Should match mixed Chinese and English queries with English words as prefixes")
+    void shouldSearchMixedText() {
+        // When & Then
+        assertThat(catalogSearchRepository.searchCurriculums("spring 微服務", 10))
+                .extracting(CurriculumDto::getId).containsExactly(springBoot.getId());
+        assertThat(catalogSearchRepository.searchCurriculums("PATTERN", 10))
+                .extracting(CurriculumDto::getId).containsExactly(designPatterns.getId());
+        assertThat(catalogSearchRepository.searchCurriculums("模式 spring", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match single Chinese characters and ignore queries without searchable text")
+    void shouldHandleShortAndEmptyQueries() {
+        // When & Then
+        assertThat(catalogSearchRepository.searchCurriculums("旅", 10))
+                .extracting(CurriculumDto::getId).contains(designPatterns.getId()).doesNotContain(springBoot.getId());
+        assertThat(catalogSearchRepository.searchCurriculums("!?", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find published lessons with their curriculum")
+    void shouldSearchLessons() {
+        // When
+        List<LessonHit> results = catalogSearchRepository.searchLessons("觀察者", 10);
+
+        // Then
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getTitle()).isEqualTo("Observer 觀察者模式");
+        assertThat(results.get(0).getCurriculumId()).isEqualTo(designPatterns.getId());
+        assertThat(results.get(0).getCurriculumTitle()).isEqualTo("軟體設計模式精通之旅");
+        assertThat(catalogSearchRepository.searchLessons("模式", 1)).hasSize(1);
+    }
+
+    private Curriculum persistCurriculum(String title, String description, boolean published) {
+        Curriculum curriculum = Curriculum.builder()
+                .title(title)
+                .description(description)
+                .instructorName("Tester")
+                .price(new BigDecimal("49.90"))
+                .difficultyLevel(DifficultyLevel.BEGINNER)
+                .build();
+        if (published) {
+            curriculum.publish();
+        }
+        return entityManager.persist(curriculum);
+    }
+
+    private Chapter persistChapter(Curriculum curriculum) {
+        Chapter chapter = Chapter.builder()
+                .curriculum(curriculum)
+                .title("Behavioral patterns")
+                .orderIndex(0)
+                .isPublished(true)
+                .build();
+        return entityManager.persist(chapter);
+    }
+
+    private void persistLesson(Chapter chapter, int orderIndex, String title, boolean published) {
+        Lesson lesson = Lesson.builder()
+                .chapter(chapter)
+                .title(title)
+                .lessonType(LessonType.VIDEO)
+                .orderIndex(orderIndex)
+                .durationMinutes(10)
+                .isPublished(published)
+                .build();
+        entityManager.persist(lesson);
+    }
+}
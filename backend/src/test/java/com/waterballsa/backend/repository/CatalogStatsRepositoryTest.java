@@ -0,0 +1,144 @@
+package com.waterballsa.backend.repository;
+
+import com.waterballsa.backend.entity.Chapter;
+import com.waterballsa.backend.entity.Curriculum;
+import com.waterballsa.backend.entity.DifficultyLevel;
+import com.waterballsa.backend.entity.Lesson;
+import com.waterballsa.backend.entity.LessonType;
+import com.waterballsa.backend.repository.CatalogStatsRepository.ChapterStats;
+import com.waterballsa.backend.repository.CatalogStatsRepository.CurriculumStats;
+import com.waterballsa.backend.repository.CatalogStatsRepository.Drift;
+import com.waterballsa.backend.repository.CatalogStatsRepository.LoadedStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the trigger-maintained curriculum_stats and chapter_stats tables.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(CatalogStatsRepository.class)
+class CatalogStatsRepositoryTest {
+
+    @Autowired
+    private CatalogStatsRepository catalogStatsRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Curriculum curriculum;
+    private Chapter chapter;
+    private Lesson draft;
+
+    @BeforeEach
+    void setUp() {
+        curriculum = Curriculum.builder()
+                .title("Stats Curriculum")
+                .description("Counts")
+                .instructorName("Tester")
+                .price(new BigDecimal("49.90"))
+                .difficultyLevel(DifficultyLevel.BEGINNER)
+                .build();
+        curriculum.publish();
+        entityManager.persist(curriculum);
+        chapter = entityManager.persist(chapter(0, true));
+        entityManager.persist(chapter(1, false));
+        entityManager.persist(lesson(0, 10, true));
+        entityManager.persist(lesson(1, 15, true));
+        draft = entityManager.persist(lesson(2, 30, false));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should keep counts and durations up to date as lessons change")
+    void shouldMaintainStats() {
+        // Then - the draft lesson and the unpublished chapter are not counted
+        assertThat(curriculumStats()).isEqualTo(new CurriculumStats(curriculum.getId(), true, 1, 25));
+        assertThat(chapterStats()).isEqualTo(new ChapterStats(chapter.getId(), 2));
+
+        // When
+        draft.setIsPublished(true);
+        entityManager.flush();
+
+        // Then
+        assertThat(curriculumStats().totalDurationMinutes()).isEqualTo(55);
+        assertThat(chapterStats().publishedLessonCount()).isEqualTo(3);
+
+        // When
+        jdbcTemplate.update("DELETE FROM lessons WHERE chapter_id = ?", chapter.getId());
+
+        // Then
+        assertThat(curriculumStats().totalDurationMinutes()).isZero();
+        assertThat(chapterStats().publishedLessonCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should repair and report stats that drifted from the catalog")
+    void shouldRepairDrift() {
+        // Given
+        jdbcTemplate.update("UPDATE curriculum_stats SET total_duration_minutes = 999 WHERE curriculum_id = ?",
+                curriculum.getId());
+        jdbcTemplate.update("DELETE FROM chapter_stats WHERE chapter_id = ?", chapter.getId());
+
+        // When
+        Drift drift = catalogStatsRepository.rebuild();
+
+        // Then
+        assertThat(drift).isEqualTo(new Drift(1, 1));
+        assertThat(curriculumStats().totalDurationMinutes()).isEqualTo(25);
+        assertThat(chapterStats().publishedLessonCount()).isEqualTo(2);
+        assertThat(catalogStatsRepository.rebuild().total()).isZero();
+    }
+
+    private CurriculumStats curriculumStats() {
+        LoadedStats stats = catalogStatsRepository.loadStats();
+        return stats.curriculums().stream()
+                .filter(row -> row.curriculumId() == curriculum.getId())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private ChapterStats chapterStats() {
+        LoadedStats stats = catalogStatsRepository.loadStats();
+        return stats.chapters().stream()
+                .filter(row -> row.chapterId() == chapter.getId())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Chapter chapter(int orderIndex, boolean published) {
+        return Chapter.builder()
+                .curriculum(curriculum)
+                .title("Chapter " + orderIndex)
+                .orderIndex(orderIndex)
+                .isPublished(published)
+                .build();
+    }
+
+    private Lesson lesson(int orderIndex, int durationMinutes, boolean published) {
+        return Lesson.builder()
+                .chapter(chapter)
+                .title("Lesson " + orderIndex)
+                .lessonType(LessonType.VIDEO)
+                .orderIndex(orderIndex)
+                .durationMinutes(durationMinutes)
+                .isPublished(published)
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.waterballsa.backend.repository;
+
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.dto.LessonDto;
+import com.waterballsa.backend.entity.Chapter;
+import com.waterballsa.backend.entity.Curriculum;
+import com.waterballsa.backend.entity.DifficultyLevel;
+import com.waterballsa.backend.entity.Lesson;
+import com.waterballsa.backend.entity.LessonType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the JSON aggregation curriculum tree loader.
+ * Compares its result with the entity-based conversion it replaces.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class CurriculumTreeLoaderTest {
+
+    @Autowired
+    private CurriculumRepository curriculumRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Should load the same tree as the entity conversion, ordered by order index")
+    void shouldMatchEntityConversion() {
+        // Given - chapters and lessons persisted out of order
+        Curriculum curriculum = persistCurriculum(true);
+        Chapter second = persistChapter(curriculum, 1, "Second chapter");
+        Chapter first = persistChapter(curriculum, 0, "First chapter");
+        persistLesson(second, 0, LessonType.ARTICLE);
+        persistLesson(first, 2, LessonType.SURVEY);
+        persistLesson(first, 0, LessonType.VIDEO);
+        persistLesson(first, 1, LessonType.VIDEO);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        Optional<CurriculumDto> tree = curriculumRepository.findPublishedTreeById(curriculum.getId());
+
+        // Then
+        CurriculumDto expected = CurriculumDto.fromWithChapters(
+                curriculumRepository.findPublishedByIdWithChapters(curriculum.getId()).orElseThrow());
+        assertThat(tree).isPresent();
+        assertThat(tree.get())
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(expected);
+        assertThat(tree.get().getChapters()).extracting("title")
+                .containsExactly("First chapter", "Second chapter");
+        assertThat(tree.get().getChapters().get(0).getLessons()).extracting(LessonDto::getOrderIndex)
+                .containsExactly(0, 1, 2);
+        assertThat(tree.get().getChapters().get(0).getLessons().get(0).getContentMetadata())
+                .containsEntry("resolution", "1080p");
+    }
+
+    @Test
+    @DisplayName("Should load a curriculum without chapters with an empty chapter list")
+    void shouldLoadCurriculumWithoutChapters() {
+        // Given
+        Curriculum curriculum = persistCurriculum(true);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        Optional<CurriculumDto> tree = curriculumRepository.findPublishedTreeById(curriculum.getId());
+
+        // Then
+        assertThat(tree).isPresent();
+        assertThat(tree.get().getChapters()).isEmpty();
+        assertThat(tree.get().getDifficultyLevel()).isEqualTo(DifficultyLevel.BEGINNER);
+    }
+
+    @Test
+    @DisplayName("Should not load unpublished curriculums")
+    void shouldNotLoadUnpublishedCurriculum() {
+        // Given
+        Curriculum curriculum = persistCurriculum(false);
+        entityManager.flush();
+
+        // When & Then
+        assertThat(curriculumRepository.findPublishedTreeById(curriculum.getId())).isEmpty();
+    }
+
+    private Curriculum persistCurriculum(boolean published) {
+        Curriculum curriculum = Curriculum.builder()
+                .title("Tree Loader Course")
+                .description("Course used by the tree loader tests")
+                .instructorName("Tester")
+                .price(new BigDecimal("49.90"))
+                .difficultyLevel(DifficultyLevel.BEGINNER)
+                .estimatedDurationHours(3)
+                .build();
+        if (published) {
+            curriculum.publish();
+        }
+        return entityManager.persist(curriculum);
+    }
+
+    private Chapter persistChapter(Curriculum curriculum, int orderIndex, String title) {
+        Chapter chapter = Chapter.builder()
+                .curriculum(curriculum)
+                .title(title)
+                .orderIndex(orderIndex)
+                .isPublished(true)
+                .build();
+        return entityManager.persist(chapter);
+    }
+
+    private void persistLesson(Chapter chapter, int orderIndex, LessonType lessonType) {
+        Lesson lesson = Lesson.builder()
+                .chapter(chapter)
+                .title(chapter.getTitle() + " lesson " + orderIndex)
+                .lessonType(lessonType)
+                .orderIndex(orderIndex)
+                .durationMinutes(10)
+                .isPublished(true)
+                .build();
+        lesson.addMetadata("resolution", "1080p");
+        entityManager.persist(lesson);
+    }
+}
@@ -0,0 +1,97 @@
+package com.waterballsa.backend.security;
+
+import com.waterballsa.backend.config.JwtProperties;
+import com.waterballsa.backend.exception.UnauthorizedException;
+import com.waterballsa.backend.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for AuthenticatedUserArgumentResolver.
+ */
+class AuthenticatedUserArgumentResolverTest {
+
+    private final AuthenticatedUserArgumentResolver resolver = new AuthenticatedUserArgumentResolver();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should resolve the user ID and the principal from the JWT principal")
+    void shouldResolveJwtPrincipal() throws Exception {
+        // Given
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("test-secret-key-with-at-least-256-bits-for-hmac-sha");
+        JwtUtil jwtUtil = new JwtUtil(jwtProperties);
+        JwtPrincipal principal = jwtUtil.verify(
+                jwtUtil.generateAccessToken(7L, "user@example.com", jwtUtil.newFamilyId()));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+
+        // When
+        Object userId = resolver.resolveArgument(parameter("requiredUserId"), null, null, null);
+        Object resolvedPrincipal = resolver.resolveArgument(parameter("principal"), null, null, null);
+
+        // Then
+        assertThat(resolver.supportsParameter(parameter("requiredUserId"))).isTrue();
+        assertThat(resolver.supportsParameter(parameter("unannotated"))).isFalse();
+        assertThat(userId).isEqualTo(7L);
+        assertThat(resolvedPrincipal).isSameAs(principal);
+    }
+
+    @Test
+    @DisplayName("Should reject an anonymous caller when the user is required")
+    void shouldRejectAnonymousWhenRequired() {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        // When & Then
+        assertThatThrownBy(() -> resolver.resolveArgument(parameter("requiredUserId"), null, null, null))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    @DisplayName("Should resolve to null for a caller without authentication when the user is optional")
+    void shouldResolveNullWhenOptional() throws Exception {
+        // When
+        Object userId = resolver.resolveArgument(parameter("optionalUserId"), null, null, null);
+
+        // Then
+        assertThat(userId).isNull();
+    }
+
+    private static MethodParameter parameter(String methodName) throws NoSuchMethodException {
+        Class<?> type = "principal".equals(methodName) ? JwtPrincipal.class : Long.class;
+        return new MethodParameter(Handlers.class.getDeclaredMethod(methodName, type), 0);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Handlers {
+
+        void requiredUserId(@AuthenticatedUser Long userId) {
+        }
+
+        void optionalUserId(@AuthenticatedUser(required = false) Long userId) {
+        }
+
+        void principal(@AuthenticatedUser JwtPrincipal principal) {
+        }
+
+        void unannotated(Long userId) {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.waterballsa.backend.security;
+
+import com.waterballsa.backend.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for InMemoryRateLimiter.
+ */
+class InMemoryRateLimiterTest {
+
+    private static final RateLimitProperties.Limit LIMIT = new RateLimitProperties.Limit(3, Duration.ofSeconds(3));
+
+    private AtomicLong now;
+    private InMemoryRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(0);
+        rateLimiter = new InMemoryRateLimiter(now::get);
+    }
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then reject")
+    void shouldRejectAfterCapacity() {
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryConsume("client", LIMIT).allowed()).isTrue();
+        }
+        RateLimiter.RateLimitResult rejected = rateLimiter.tryConsume("client", LIMIT);
+
+        // Then
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.remaining()).isZero();
+        assertThat(rejected.retryAfterMillis()).isBetween(1000L, 1001L);
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time")
+    void shouldRefill() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryConsume("client", LIMIT);
+        }
+
+        // When
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // Then
+        assertThat(rateLimiter.tryConsume("client", LIMIT).allowed()).isTrue();
+        assertThat(rateLimiter.tryConsume("client", LIMIT).allowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per key and evict full ones")
+    void shouldSeparateKeysAndEvictIdleBuckets() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryConsume("client-a", LIMIT);
+        }
+
+        // When & Then
+        assertThat(rateLimiter.tryConsume("client-b", LIMIT).allowed()).isTrue();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        rateLimiter.evictIdleBuckets();
+        assertThat(rateLimiter.size()).isZero();
+    }
+}
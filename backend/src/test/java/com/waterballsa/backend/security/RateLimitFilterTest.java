@@ -0,0 +1,99 @@
+package com.waterballsa.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.waterballsa.backend.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RateLimitFilter route grouping and 429 responses.
+ */
+class RateLimitFilterTest {
+
+    private RateLimitProperties properties;
+    private RateLimitFilter rateLimitFilter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.getGroups().put(RateLimitGroup.CHECKOUT, new RateLimitProperties.Limit(1, Duration.ofMinutes(1)));
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitFilter = new RateLimitFilter(new InMemoryRateLimiter(), properties, objectMapper, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should resolve route groups")
+    void shouldResolveRouteGroups() {
+        assertThat(RateLimitGroup.resolve("POST", "/api/auth/google")).isEqualTo(RateLimitGroup.AUTH);
+        assertThat(RateLimitGroup.resolve("POST", "/api/lessons/5/progress")).isEqualTo(RateLimitGroup.PROGRESS);
+        assertThat(RateLimitGroup.resolve("GET", "/api/lessons/chapters/2/progress")).isEqualTo(RateLimitGroup.PROGRESS);
+        assertThat(RateLimitGroup.resolve("GET", "/api/curriculums/1/outline")).isEqualTo(RateLimitGroup.PROGRESS);
+        assertThat(RateLimitGroup.resolve("POST", "/api/coupons/validate")).isEqualTo(RateLimitGroup.CHECKOUT);
+        assertThat(RateLimitGroup.resolve("GET", "/api/curriculums/1/order-preview")).isEqualTo(RateLimitGroup.CHECKOUT);
+        assertThat(RateLimitGroup.resolve("GET", "/api/curriculums/1")).isEqualTo(RateLimitGroup.CATALOG);
+        assertThat(RateLimitGroup.resolve("GET", "/api/search")).isEqualTo(RateLimitGroup.CATALOG);
+        assertThat(RateLimitGroup.resolve("GET", "/api/other")).isEqualTo(RateLimitGroup.DEFAULT);
+        assertThat(RateLimitGroup.resolve("GET", "/actuator/health")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After once a client exceeds its limit")
+    void shouldRejectWhenLimitExceeded() throws Exception {
+        // Given
+        MockHttpServletResponse first = filter("POST", "/api/coupons/validate", "10.0.0.1");
+
+        // When
+        MockHttpServletResponse second = filter("POST", "/api/coupons/validate", "10.0.0.1");
+        MockHttpServletResponse otherClient = filter("POST", "/api/coupons/validate", "10.0.0.2");
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(429);
+        assertThat(second.getHeader("Retry-After")).isEqualTo("60");
+        assertThat(second.getContentAsString()).contains("Too Many Requests");
+        assertThat(otherClient.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("ratelimit.rejections").tag("group", "checkout").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not limit requests when disabled")
+    void shouldPassThroughWhenDisabled() throws Exception {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        filter("POST", "/api/coupons/validate", "10.0.0.1");
+        MockHttpServletResponse response = filter("POST", "/api/coupons/validate", "10.0.0.1");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse filter(String method, String path, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,101 @@
+package com.waterballsa.backend.security;
+
+import com.waterballsa.backend.config.JwtProperties;
+import com.waterballsa.backend.config.RevocationProperties;
+import com.waterballsa.backend.exception.UnauthorizedException;
+import com.waterballsa.backend.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for TokenRevocationService with the in-memory store.
+ */
+class TokenRevocationServiceTest {
+
+    private JwtUtil jwtUtil;
+    private InMemoryRevocationStore revocationStore;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("test-secret-key-with-at-least-256-bits-for-hmac-sha");
+        jwtUtil = new JwtUtil(jwtProperties);
+        revocationStore = spy(new InMemoryRevocationStore());
+        tokenRevocationService = new TokenRevocationService(revocationStore, new RevocationProperties(), jwtProperties);
+    }
+
+    @Test
+    @DisplayName("Should accept a refresh token once and revoke its family on reuse")
+    void shouldDetectRefreshTokenReuse() {
+        // Given
+        String familyId = jwtUtil.newFamilyId();
+        JwtPrincipal refreshToken = jwtUtil.verify(jwtUtil.generateRefreshToken(7L, "user@example.com", familyId));
+        JwtPrincipal accessToken = jwtUtil.verify(jwtUtil.generateAccessToken(7L, "user@example.com", familyId));
+
+        // When
+        tokenRevocationService.consumeRefreshToken(refreshToken);
+
+        // Then
+        assertThatThrownBy(() -> tokenRevocationService.consumeRefreshToken(refreshToken))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage("Refresh token has already been used");
+        assertThat(tokenRevocationService.isRevoked(accessToken)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject every token of a revoked family")
+    void shouldRevokeFamily() {
+        // Given
+        String familyId = jwtUtil.newFamilyId();
+        JwtPrincipal accessToken = jwtUtil.verify(jwtUtil.generateAccessToken(7L, "user@example.com", familyId));
+        JwtPrincipal refreshToken = jwtUtil.verify(jwtUtil.generateRefreshToken(7L, "user@example.com", familyId));
+        JwtPrincipal otherLogin = jwtUtil.verify(jwtUtil.generateAccessToken(7L, "user@example.com"));
+
+        // When
+        tokenRevocationService.revoke(accessToken);
+
+        // Then
+        assertThat(tokenRevocationService.isRevoked(accessToken)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(otherLogin)).isFalse();
+        assertThatThrownBy(() -> tokenRevocationService.consumeRefreshToken(refreshToken))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage("Refresh token has been revoked");
+    }
+
+    @Test
+    @DisplayName("Should not consult the store for families missing from the Bloom filter")
+    void shouldSkipStoreForUnrevokedFamilies() {
+        // Given
+        JwtPrincipal accessToken = jwtUtil.verify(jwtUtil.generateAccessToken(7L, "user@example.com"));
+
+        // When
+        boolean revoked = tokenRevocationService.isRevoked(accessToken);
+
+        // Then
+        assertThat(revoked).isFalse();
+        verify(revocationStore, never()).isFamilyRevoked(anyString());
+    }
+
+    @Test
+    @DisplayName("Should keep revocations across a Bloom filter rebuild")
+    void shouldKeepRevocationsAfterRebuild() {
+        // Given
+        JwtPrincipal accessToken = jwtUtil.verify(jwtUtil.generateAccessToken(7L, "user@example.com"));
+        tokenRevocationService.revoke(accessToken);
+
+        // When
+        tokenRevocationService.rebuildFilter();
+
+        // Then
+        assertThat(tokenRevocationService.isRevoked(accessToken)).isTrue();
+    }
+}
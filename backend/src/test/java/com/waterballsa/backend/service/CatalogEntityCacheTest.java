@@ -0,0 +1,131 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.config.CatalogEntityCacheConfig;
+import com.waterballsa.backend.config.CatalogEntityCacheProperties;
+import com.waterballsa.backend.entity.CatalogCacheRegions;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.cache.CacheManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CatalogEntityCache.
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogEntityCacheTest {
+
+    @Mock
+    private CatalogSnapshotRepository catalogSnapshotRepository;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache hibernateCache;
+
+    private CatalogEntityCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogEntityCache entityCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CatalogEntityCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        lenient().when(sessionFactory.getCache()).thenReturn(hibernateCache);
+        entityCache = new CatalogEntityCache(properties, catalogSnapshotRepository, entityManagerFactory, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should empty every region only when the catalog version changes")
+    void shouldEvictOnVersionChange() {
+        // Given
+        when(catalogSnapshotRepository.findVersion()).thenReturn(3L, 3L, 4L, 4L);
+
+        // When
+        entityCache.start();
+        entityCache.checkVersion();
+        entityCache.checkVersion();
+        entityCache.checkVersion();
+
+        // Then
+        verify(hibernateCache, times(1)).evictAllRegions();
+        assertThat(meterRegistry.get("catalog.entity-cache.evictions").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should keep the cache when the version check fails")
+    void shouldKeepCacheWhenVersionCheckFails() {
+        // Given
+        when(catalogSnapshotRepository.findVersion())
+                .thenReturn(3L)
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(3L);
+
+        // When
+        entityCache.start();
+        entityCache.checkVersion();
+        entityCache.checkVersion();
+
+        // Then
+        verify(hibernateCache, never()).evictAllRegions();
+    }
+
+    @Test
+    @DisplayName("Should not check the version while disabled")
+    void shouldSkipWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        entityCache.start();
+        entityCache.checkVersion();
+
+        // Then
+        verifyNoInteractions(catalogSnapshotRepository, hibernateCache);
+    }
+
+    @Test
+    @DisplayName("Should create every catalog region, readable without key and value types")
+    void shouldCreateEveryRegion() {
+        // Given
+        CacheManager cacheManager = new CatalogEntityCacheConfig().catalogEntityCacheManager(properties);
+
+        try (cacheManager) {
+            // When
+            List<String> regions = List.of(CatalogCacheRegions.CURRICULUM, CatalogCacheRegions.CHAPTER,
+                    CatalogCacheRegions.LESSON, CatalogCacheRegions.CURRICULUM_CHAPTERS,
+                    CatalogCacheRegions.CHAPTER_LESSONS, CatalogCacheRegions.LISTINGS,
+                    CatalogCacheRegions.DEFAULT_QUERY_RESULTS, CatalogCacheRegions.UPDATE_TIMESTAMPS);
+
+            // Then
+            for (String region : regions) {
+                javax.cache.Cache<Object, Object> cache = cacheManager.getCache(region);
+                assertThat(cache).as(region).isNotNull();
+                cache.put(1L, "value");
+                assertThat(cache.get(1L)).isEqualTo("value");
+            }
+        }
+    }
+}
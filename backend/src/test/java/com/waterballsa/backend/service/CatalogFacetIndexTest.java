@@ -0,0 +1,165 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.entity.DifficultyLevel;
+import com.waterballsa.backend.entity.LessonType;
+import com.waterballsa.backend.exception.BadRequestException;
+import com.waterballsa.backend.service.CatalogFacetIndex.DurationBucket;
+import com.waterballsa.backend.service.CatalogFacetIndex.Facet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Unit tests for CatalogFacetIndex.
+ */
+class CatalogFacetIndexTest {
+
+    private static final List<String> TITLES = List.of("Go", "Java", "Kotlin", "Rust", "Scala");
+
+    private CatalogFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Positions 0-4, newest first
+        index = CatalogFacetIndex.builder()
+                .add(DifficultyLevel.BEGINNER, BigDecimal.ZERO, "Jane Doe", 4, List.of(LessonType.VIDEO))
+                .add(DifficultyLevel.BEGINNER, new BigDecimal("19.90"), "John Smith", 12,
+                        List.of(LessonType.VIDEO, LessonType.ARTICLE))
+                .add(DifficultyLevel.INTERMEDIATE, new BigDecimal("29.90"), "Jane Doe", 36, List.of(LessonType.ARTICLE))
+                .add(DifficultyLevel.ADVANCED, BigDecimal.ZERO, "Alex Chen", 40,
+                        List.of(LessonType.VIDEO, LessonType.SURVEY))
+                .add(null, null, null, null, List.of())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should count every value when nothing is selected")
+    void shouldCountWithoutSelection() {
+        // When
+        CatalogFacetIndex.Result result = index.filter(Map.of());
+
+        // Then
+        assertThat(result.count()).isEqualTo(5);
+        assertThat(result.facetCounts().get(Facet.DIFFICULTY)).containsExactly(
+                entry("BEGINNER", 2), entry("INTERMEDIATE", 1), entry("ADVANCED", 1));
+        assertThat(result.facetCounts().get(Facet.PRICE)).containsExactly(entry("FREE", 2), entry("PAID", 2));
+        assertThat(result.facetCounts().get(Facet.INSTRUCTOR)).containsExactly(
+                entry("Alex Chen", 1), entry("Jane Doe", 2), entry("John Smith", 1));
+        assertThat(result.facetCounts().get(Facet.LESSON_TYPE)).containsExactly(
+                entry("VIDEO", 3), entry("ARTICLE", 2), entry("SURVEY", 1));
+        assertThat(result.facetCounts().get(Facet.DURATION)).containsExactly(
+                entry("SHORT", 1), entry("MEDIUM", 1), entry("LONG", 2));
+    }
+
+    @Test
+    @DisplayName("Should OR values within a facet and AND facets together")
+    void shouldCombineFacets() {
+        // When
+        CatalogFacetIndex.Result beginnerOrAdvanced = index.filter(
+                Map.of(Facet.DIFFICULTY, Set.of("BEGINNER", "ADVANCED")));
+        CatalogFacetIndex.Result freeVideos = index.filter(Map.of(
+                Facet.PRICE, Set.of(CatalogFacetIndex.FREE),
+                Facet.LESSON_TYPE, Set.of("VIDEO"),
+                Facet.INSTRUCTOR, Set.of()));
+        CatalogFacetIndex.Result unknownInstructor = index.filter(Map.of(Facet.INSTRUCTOR, Set.of("Nobody")));
+
+        // Then
+        assertThat(positions(beginnerOrAdvanced)).containsExactly(0, 1, 3);
+        assertThat(positions(freeVideos)).containsExactly(0, 3);
+        assertThat(unknownInstructor.count()).isZero();
+        assertThat(unknownInstructor.facetCounts().get(Facet.INSTRUCTOR)).containsExactly(
+                entry("Alex Chen", 1), entry("Jane Doe", 2), entry("John Smith", 1), entry("Nobody", 0));
+    }
+
+    @Test
+    @DisplayName("Should count each facet against the selections of the other facets only")
+    void shouldCountDisjunctively() {
+        // When
+        CatalogFacetIndex.Result result = index.filter(Map.of(
+                Facet.DIFFICULTY, Set.of("BEGINNER"),
+                Facet.LESSON_TYPE, Set.of("ARTICLE")));
+
+        // Then
+        assertThat(positions(result)).containsExactly(1);
+        assertThat(result.facetCounts().get(Facet.DIFFICULTY)).containsExactly(
+                entry("BEGINNER", 1), entry("INTERMEDIATE", 1));
+        assertThat(result.facetCounts().get(Facet.LESSON_TYPE)).containsExactly(
+                entry("VIDEO", 2), entry("ARTICLE", 1));
+        assertThat(result.facetCounts().get(Facet.PRICE)).containsExactly(entry("PAID", 1));
+        assertThat(result.countsByParameter()).containsOnlyKeys(
+                "difficulty", "price", "instructor", "lessonType", "duration");
+    }
+
+    @Test
+    @DisplayName("Should page the matches in index order with the total count")
+    void shouldPageMatches() {
+        // Given
+        CatalogFacetIndex.Result all = index.filter(Map.of(Facet.DIFFICULTY, Set.of()));
+
+        // When
+        Page<String> first = all.page(PageRequest.of(0, 2), TITLES::get);
+        Page<String> last = all.page(PageRequest.of(2, 2), TITLES::get);
+        Page<String> beyond = all.page(PageRequest.of(5, 2), TITLES::get);
+        Page<String> huge = all.page(PageRequest.of(0, Integer.MAX_VALUE), TITLES::get);
+
+        // Then
+        assertThat(first.getContent()).containsExactly("Go", "Java");
+        assertThat(last.getContent()).containsExactly("Scala");
+        assertThat(last.getTotalElements()).isEqualTo(5);
+        assertThat(last.getTotalPages()).isEqualTo(3);
+        assertThat(beyond.getContent()).isEmpty();
+        assertThat(huge.getContent()).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Should parse request values case-insensitively and reject unknown ones")
+    void shouldParseSelections() {
+        // Given
+        Map<Facet, List<String>> parameters = new EnumMap<>(Facet.class);
+        parameters.put(Facet.DIFFICULTY, List.of("beginner", " Advanced ", ""));
+        parameters.put(Facet.INSTRUCTOR, List.of(" Jane Doe "));
+        parameters.put(Facet.DURATION, null);
+
+        // When
+        Map<Facet, Set<String>> selections = CatalogFacetIndex.parseSelections(parameters);
+
+        // Then
+        assertThat(selections.get(Facet.DIFFICULTY)).containsExactly("BEGINNER", "ADVANCED");
+        assertThat(selections.get(Facet.INSTRUCTOR)).containsExactly("Jane Doe");
+        assertThat(selections.get(Facet.DURATION)).isEmpty();
+        assertThatThrownBy(() -> CatalogFacetIndex.parseSelections(Map.of(Facet.PRICE, List.of("cheap"))))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("free, paid");
+        assertThatThrownBy(() -> CatalogFacetIndex.parseSelections(Map.of(Facet.LESSON_TYPE, List.of("PODCAST"))))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Should put estimated durations into buckets at their boundaries")
+    void shouldBucketDurations() {
+        // When & Then
+        assertThat(DurationBucket.of(null)).isNull();
+        assertThat(DurationBucket.of(0)).isEqualTo(DurationBucket.SHORT);
+        assertThat(DurationBucket.of(9)).isEqualTo(DurationBucket.SHORT);
+        assertThat(DurationBucket.of(10)).isEqualTo(DurationBucket.MEDIUM);
+        assertThat(DurationBucket.of(29)).isEqualTo(DurationBucket.MEDIUM);
+        assertThat(DurationBucket.of(30)).isEqualTo(DurationBucket.LONG);
+        assertThat(DurationBucket.of(-1)).isNull();
+    }
+
+    private static int[] positions(CatalogFacetIndex.Result result) {
+        return result.matches().stream().toArray();
+    }
+}
@@ -0,0 +1,312 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.dto.CatalogBrowseResponse;
+import com.waterballsa.backend.dto.CatalogSearchResponse;
+import com.waterballsa.backend.dto.CatalogSearchResponse.LessonHit;
+import com.waterballsa.backend.dto.ChapterDto;
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.dto.LessonDto;
+import com.waterballsa.backend.entity.DifficultyLevel;
+import com.waterballsa.backend.entity.LessonType;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository.PublishedCatalog;
+import com.waterballsa.backend.service.CatalogFacetIndex.Facet;
+import com.waterballsa.backend.util.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Unit tests for CatalogGraph.
+ */
+class CatalogGraphTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private CatalogGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        // Curriculum 1: two chapters given out of order, one unpublished chapter and lesson
+        // Curriculum 2: free, no chapters
+        List<CurriculumDto> curriculums = List.of(
+                curriculum(2L, "Free Java Basics", "Jane Doe", BigDecimal.ZERO, DifficultyLevel.BEGINNER, NOW),
+                curriculum(1L, "Spring Boot Mastery", "John Smith", new BigDecimal("49.90"),
+                        DifficultyLevel.ADVANCED, NOW.minusDays(1)));
+        List<ChapterDto> chapters = List.of(
+                chapter(11L, 1L, 1, true),
+                chapter(10L, 1L, 0, true),
+                chapter(12L, 1L, 2, false));
+        List<LessonDto> lessons = List.of(
+                lesson(102L, 10L, 1, LessonType.ARTICLE, 5, false, true),
+                lesson(101L, 10L, 0, LessonType.VIDEO, 10, true, true),
+                lesson(103L, 10L, 2, LessonType.VIDEO, 20, false, false),
+                lesson(111L, 11L, 0, LessonType.VIDEO, 15, false, true),
+                lesson(121L, 12L, 0, LessonType.SURVEY, null, false, true));
+
+        graph = CatalogGraph.build(new PublishedCatalog(7L, curriculums, chapters, lessons));
+    }
+
+    @Test
+    @DisplayName("Should build a curriculum tree with every chapter and lesson ordered by order index")
+    void shouldBuildCurriculumTree() {
+        // When
+        CurriculumDto tree = graph.findCurriculumTree(1L).orElseThrow();
+
+        // Then
+        assertThat(tree.getTitle()).isEqualTo("Spring Boot Mastery");
+        assertThat(tree.getIsPublished()).isTrue();
+        assertThat(tree.getChapters()).extracting(ChapterDto::getId).containsExactly(10L, 11L, 12L);
+        assertThat(tree.getChapters().get(0).getLessons()).extracting(LessonDto::getId)
+                .containsExactly(101L, 102L, 103L);
+        assertThat(tree.getChapters().get(0).getLessons().get(0).getContentMetadata())
+                .containsEntry("resolution", "1080p");
+        assertThat(graph.findCurriculumTree(3L)).isEmpty();
+        assertThat(graph.version()).isEqualTo(7L);
+        assertThat(graph.curriculumCount()).isEqualTo(2);
+        assertThat(graph.chapterCount()).isEqualTo(3);
+        assertThat(graph.lessonCount()).isEqualTo(5);
+        assertThat(graph.estimatedBytes()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should slice curriculums newest first after a cursor like the repository cursor queries")
+    void shouldSliceCurriculumsByCursor() {
+        // When
+        Slice<CurriculumDto> first = graph.findCurriculumsAfter(null, 1);
+        Slice<CurriculumDto> second = graph.findCurriculumsAfter(new KeysetCursor(NOW, 2L), 1);
+        // Same creation time, so only the lower ID comes after the cursor
+        Slice<CurriculumDto> tie = graph.findCurriculumsAfter(new KeysetCursor(NOW, 3L), 10);
+
+        // Then
+        assertThat(first.getContent()).extracting(CurriculumDto::getId).containsExactly(2L);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).extracting(CurriculumDto::getId).containsExactly(1L);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(tie.getContent()).extracting(CurriculumDto::getId).containsExactly(2L, 1L);
+        assertThat(graph.findCurriculumsByDifficultyAfter(DifficultyLevel.ADVANCED, null, 10).getContent())
+                .extracting(CurriculumDto::getId).containsExactly(1L);
+        assertThat(graph.findFreeCurriculumsAfter(new KeysetCursor(NOW, 2L), 10).getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return new DTOs so callers cannot modify the graph")
+    void shouldReturnIndependentCopies() {
+        // Given
+        CurriculumDto tree = graph.findCurriculumTree(1L).orElseThrow();
+
+        // When
+        tree.setTitle("Changed");
+        tree.getChapters().clear();
+        LessonDto lesson = graph.findPublishedLesson(101L).orElseThrow();
+        lesson.getContentMetadata().put("resolution", "480p");
+
+        // Then
+        CurriculumDto reread = graph.findCurriculumTree(1L).orElseThrow();
+        assertThat(reread.getTitle()).isEqualTo("Spring Boot Mastery");
+        assertThat(reread.getChapters()).hasSize(3);
+        assertThat(graph.findPublishedLesson(101L).orElseThrow().getContentMetadata())
+                .containsEntry("resolution", "1080p");
+    }
+
+    @Test
+    @DisplayName("Should page and sort curriculums like the repository queries")
+    void shouldPageAndSortCurriculums() {
+        // When
+        Page<CurriculumDto> newestFirst = graph.findCurriculums(
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "createdAt")));
+        Page<CurriculumDto> secondPage = graph.findCurriculums(
+                PageRequest.of(1, 1, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        // Then
+        assertThat(newestFirst.getContent()).extracting(CurriculumDto::getId).containsExactly(2L);
+        assertThat(newestFirst.getTotalElements()).isEqualTo(2);
+        assertThat(secondPage.getContent()).extracting(CurriculumDto::getId).containsExactly(1L);
+        assertThat(secondPage.getContent().get(0).getChapters()).isEmpty();
+        assertThatThrownBy(() -> graph.findCurriculums(PageRequest.of(0, 10, Sort.by("updatedAt"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should filter curriculums by search term, difficulty, instructor and price")
+    void shouldFilterCurriculums() {
+        // Given
+        PageRequest page = PageRequest.of(0, 10);
+
+        // When & Then
+        assertThat(graph.searchCurriculums("SPRING", page).getContent())
+                .extracting(CurriculumDto::getId).containsExactly(1L);
+        assertThat(graph.searchCurriculums("description of free", page).getContent())
+                .extracting(CurriculumDto::getId).containsExactly(2L);
+        assertThat(graph.findCurriculumsByDifficulty(DifficultyLevel.ADVANCED, page).getContent())
+                .extracting(CurriculumDto::getId).containsExactly(1L);
+        assertThat(graph.findCurriculumsByInstructor("jane", page).getContent())
+                .extracting(CurriculumDto::getId).containsExactly(2L);
+        assertThat(graph.findFreeCurriculums(page).getContent())
+                .extracting(CurriculumDto::getId).containsExactly(2L);
+        assertThat(graph.countCurriculums()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should only expose published chapters and lessons outside the curriculum tree")
+    void shouldFilterUnpublishedChaptersAndLessons() {
+        // When & Then
+        assertThat(graph.findPublishedChapters(1L)).extracting(ChapterDto::getId).containsExactly(10L, 11L);
+        assertThat(graph.findPublishedChapters(1L).get(0).getLessons()).isEmpty();
+        assertThat(graph.countPublishedChapters(1L)).isEqualTo(2);
+        assertThat(graph.findPublishedChapter(12L)).isEmpty();
+        assertThat(graph.findPublishedChapter(10L).orElseThrow().getLessons())
+                .extracting(LessonDto::getId).containsExactly(101L, 102L);
+
+        assertThat(graph.findPublishedLessons(10L)).extracting(LessonDto::getId).containsExactly(101L, 102L);
+        assertThat(graph.countPublishedLessons(10L)).isEqualTo(2);
+        assertThat(graph.findPublishedLesson(103L)).isEmpty();
+        assertThat(graph.findPublishedChapters(99L)).isEmpty();
+        assertThat(graph.findPublishedLessons(99L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should answer curriculum-wide lesson queries from published lessons")
+    void shouldQueryLessonsAcrossCurriculum() {
+        // When & Then
+        assertThat(graph.findVideoLessons(1L)).extracting(LessonDto::getId).containsExactly(101L, 111L);
+        assertThat(graph.findFreePreviewLessons(1L)).extracting(LessonDto::getId).containsExactly(101L);
+        assertThat(graph.totalDurationMinutes(1L)).isEqualTo(30L);
+        assertThat(graph.totalDurationMinutes(2L)).isZero();
+
+        Page<LessonDto> videos = graph.findLessonsByType(LessonType.VIDEO,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "orderIndex")));
+        assertThat(videos.getContent()).extracting(LessonDto::getId).containsExactly(101L, 111L);
+        assertThat(graph.findLessonsByType(LessonType.SURVEY, PageRequest.of(0, 10)).getContent())
+                .extracting(LessonDto::getId).containsExactly(121L);
+    }
+
+    @Test
+    @DisplayName("Should look up published curriculums and lessons by id")
+    void shouldFindById() {
+        // When
+        Map<Long, CurriculumDto> curriculums = graph.findCurriculumsById(List.of(1L, 3L, 2L));
+        Map<Long, LessonDto> lessons = graph.findPublishedLessonsById(List.of(101L, 103L, 111L, 999L));
+
+        // Then
+        assertThat(curriculums).containsOnlyKeys(1L, 2L);
+        assertThat(curriculums.get(1L).getTitle()).isEqualTo("Spring Boot Mastery");
+        assertThat(curriculums.get(1L).getChapters()).isEmpty();
+        assertThat(lessons).containsOnlyKeys(101L, 111L);
+        assertThat(lessons.get(101L).getContentMetadata()).containsEntry("resolution", "1080p");
+    }
+
+    @Test
+    @DisplayName("Should search published curriculums and published lessons of published chapters")
+    void shouldSearch() {
+        // When
+        CatalogSearchResponse spring = graph.search("spring", 10);
+        CatalogSearchResponse lessons = graph.search("lesson", 10);
+
+        // Then
+        assertThat(spring.getCurriculums()).extracting(CurriculumDto::getId).containsExactly(1L);
+        assertThat(spring.getLessons()).isEmpty();
+        assertThat(lessons.getCurriculums()).isEmpty();
+        assertThat(lessons.getLessons()).extracting(LessonHit::getId).containsExactly(101L, 102L, 111L);
+        assertThat(lessons.getLessons().get(2).getCurriculumTitle()).isEqualTo("Spring Boot Mastery");
+        assertThat(graph.search("lesson 111", 10).getLessons()).extracting(LessonHit::getChapterId)
+                .containsExactly(11L);
+    }
+
+    @Test
+    @DisplayName("Should browse by facets newest first, counting lesson types of published lessons only")
+    void shouldBrowseByFacets() {
+        // When
+        CatalogBrowseResponse all = graph.browse(Map.of(), PageRequest.of(0, 10));
+        CatalogBrowseResponse videos = graph.browse(
+                Map.of(Facet.LESSON_TYPE, Set.of(LessonType.VIDEO.name())), PageRequest.of(0, 10));
+
+        // Then
+        assertThat(all.getContent()).extracting(CurriculumDto::getId).containsExactly(2L, 1L);
+        assertThat(all.getTotalElements()).isEqualTo(2);
+        assertThat(all.getFacets().get("lessonType")).containsExactly(entry("VIDEO", 1), entry("ARTICLE", 1));
+        assertThat(all.getFacets().get("price")).containsExactly(entry("FREE", 1), entry("PAID", 1));
+        assertThat(all.getFacets().get("duration")).isEmpty();
+
+        assertThat(videos.getContent()).extracting(CurriculumDto::getId).containsExactly(1L);
+        assertThat(videos.getContent().get(0).getChapters()).isEmpty();
+        assertThat(videos.getFacets().get("price")).containsExactly(entry("PAID", 1));
+        assertThat(videos.getFacets().get("lessonType")).containsExactly(entry("VIDEO", 1), entry("ARTICLE", 1));
+    }
+
+    @Test
+    @DisplayName("Should look up nodes when IDs are far apart")
+    void shouldIndexSparseIds() {
+        // Given
+        List<CurriculumDto> curriculums = new ArrayList<>();
+        for (long id : new long[]{1L, 1_000_000L, 5_000_000_000L}) {
+            curriculums.add(curriculum(id, "Course " + id, "Tester", BigDecimal.ONE, null, NOW));
+        }
+
+        // When
+        CatalogGraph sparse = CatalogGraph.build(new PublishedCatalog(1L, curriculums, List.of(), List.of()));
+
+        // Then
+        assertThat(sparse.findCurriculumTree(5_000_000_000L)).isPresent();
+        assertThat(sparse.findCurriculumTree(1_000_000L)).isPresent();
+        assertThat(sparse.findCurriculumTree(2L)).isEmpty();
+    }
+
+    private static CurriculumDto curriculum(Long id, String title, String instructor, BigDecimal price,
+                                            DifficultyLevel difficultyLevel, LocalDateTime createdAt) {
+        return CurriculumDto.builder()
+                .id(id)
+                .title(title)
+                .description("Description of " + title.toLowerCase())
+                .instructorName(instructor)
+                .price(price)
+                .currency("USD")
+                .difficultyLevel(difficultyLevel)
+                .isPublished(true)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static ChapterDto chapter(Long id, Long curriculumId, int orderIndex, boolean published) {
+        return ChapterDto.builder()
+                .id(id)
+                .curriculumId(curriculumId)
+                .title("Chapter " + id)
+                .orderIndex(orderIndex)
+                .isPublished(published)
+                .createdAt(NOW)
+                .build();
+    }
+
+    private static LessonDto lesson(Long id, Long chapterId, int orderIndex, LessonType lessonType,
+                                    Integer durationMinutes, boolean freePreview, boolean published) {
+        return LessonDto.builder()
+                .id(id)
+                .chapterId(chapterId)
+                .title("Lesson " + id)
+                .lessonType(lessonType)
+                .contentUrl("https://example.com/" + id)
+                .orderIndex(orderIndex)
+                .durationMinutes(durationMinutes)
+                .isFreePreview(freePreview)
+                .isPublished(published)
+                .createdAt(NOW)
+                .contentMetadata(new HashMap<>(Map.of("resolution", "1080p")))
+                .build();
+    }
+}
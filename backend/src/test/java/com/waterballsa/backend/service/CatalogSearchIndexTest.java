@@ -0,0 +1,108 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.service.SearchTokenizer.QueryTerm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CatalogSearchIndex and SearchTokenizer.
+ */
+class CatalogSearchIndexTest {
+
+    private CatalogSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = CatalogSearchIndex.builder(null)
+                .addCurriculum(1L, false, "軟體設計模式精通之旅", "用 Java 實作 Design Patterns 的實戰課程", "水球")
+                .addCurriculum(2L, false, "Spring Boot 微服務實戰", "從零打造可部署的微服務，包含設計與測試", "Jane Doe")
+                .addLesson(10L, false, "Observer 觀察者模式", "When one object changes, notify the others")
+                .addLesson(11L, false, "Strategy 策略模式", null)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should split Latin words and index CJK runs as characters and bigrams")
+    void shouldTokenizeMixedText() {
+        // When
+        List<String> terms = new ArrayList<>();
+        SearchTokenizer.indexTerms("Spring 設計模式!", terms::add);
+
+        // Then
+        assertThat(terms).containsExactly("spring", "設", "設計", "計", "計模", "模", "模式", "式");
+        assertThat(SearchTokenizer.queryTerms("Spring 設計模式 旅 spring")).containsExactly(
+                new QueryTerm("spring", true), new QueryTerm("設計", false), new QueryTerm("計模", false),
+                new QueryTerm("模式", false), new QueryTerm("旅", false));
+        assertThat(SearchTokenizer.queryTerms(" !? ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match Chinese, English and mixed queries, title matches first")
+    void shouldSearchMixedText() {
+        // When & Then
+        assertThat(index.search("設計", 10).curriculumIds()).containsExactly(1L, 2L);
+        assertThat(index.search("spring 微服務", 10).curriculumIds()).containsExactly(2L);
+        assertThat(index.search("PATTERN", 10).curriculumIds()).containsExactly(1L);
+        assertThat(index.search("旅", 10).curriculumIds()).containsExactly(1L);
+        assertThat(index.search("jane", 10).curriculumIds()).containsExactly(2L);
+        assertThat(index.search("模式 spring", 10).curriculumIds()).isEmpty();
+        assertThat(index.search("!?", 10).curriculumIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return curriculums and lessons separately, each up to the limit")
+    void shouldLimitEachKind() {
+        // When
+        CatalogSearchIndex.Hits hits = index.search("模式", 1);
+
+        // Then
+        assertThat(hits.curriculumIds()).containsExactly(1L);
+        assertThat(hits.lessonIds()).containsExactly(11L);
+        assertThat(index.search("模式", 10).lessonIds()).containsExactly(11L, 10L);
+        assertThat(index.search("observer", 10).curriculumIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank rarer terms and shorter documents higher")
+    void shouldRankWithBm25() {
+        // Given
+        CatalogSearchIndex ranked = CatalogSearchIndex.builder(null)
+                .addCurriculum(1L, false, "Java", "Java collections, streams and generics in depth", null)
+                .addCurriculum(2L, false, "Java", "Java", null)
+                .addCurriculum(3L, false, "Kotlin", "Coroutines for Java developers", null)
+                .addCurriculum(4L, false, "Java", "Java collections, streams and generics in depth", null)
+                .build();
+
+        // When & Then
+        assertThat(ranked.search("java", 10).curriculumIds()).containsExactly(2L, 1L, 4L, 3L);
+        assertThat(ranked.search("java coroutines", 10).curriculumIds()).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Should reuse unchanged documents from the previous index and re-tokenize changed ones")
+    void shouldReuseUnchangedDocuments() {
+        // When
+        CatalogSearchIndex.Builder builder = CatalogSearchIndex.builder(index)
+                .addCurriculum(1L, true, "軟體設計模式精通之旅", "用 Java 實作 Design Patterns 的實戰課程", "水球")
+                .addCurriculum(2L, false, "Spring Boot 雲端部署", null, "Jane Doe")
+                .addCurriculum(3L, true, "Kubernetes 入門", null, null)
+                .addLesson(11L, true, "Strategy 策略模式", null);
+        CatalogSearchIndex rebuilt = builder.build();
+
+        // Then
+        assertThat(builder.reusedDocuments()).isEqualTo(2);
+        assertThat(rebuilt.documentCount()).isEqualTo(4);
+        assertThat(rebuilt.search("設計", 10).curriculumIds()).containsExactly(1L);
+        assertThat(rebuilt.search("雲端", 10).curriculumIds()).containsExactly(2L);
+        assertThat(rebuilt.search("kube", 10).curriculumIds()).containsExactly(3L);
+        assertThat(rebuilt.search("模式", 10).lessonIds()).containsExactly(11L);
+        assertThat(rebuilt.search("design patterns", 10).curriculumIds())
+                .containsExactly(index.search("design patterns", 10).curriculumIds()[0]);
+    }
+}
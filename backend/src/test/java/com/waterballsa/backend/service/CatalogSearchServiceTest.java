@@ -0,0 +1,83 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.dto.CatalogSearchResponse;
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.repository.CatalogSearchRepository;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository.PublishedCatalog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CatalogSearchService.
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogSearchServiceTest {
+
+    @Mock
+    private CatalogSearchRepository catalogSearchRepository;
+
+    @Mock
+    private CatalogSnapshot catalogSnapshot;
+
+    @InjectMocks
+    private CatalogSearchService catalogSearchService;
+
+    @Test
+    @DisplayName("Should search the snapshot index without querying the database")
+    void shouldSearchSnapshot() {
+        // Given
+        CurriculumDto curriculum = CurriculumDto.builder()
+                .id(1L).title("Spring Boot 微服務實戰").description("微服務入門").isPublished(true).build();
+        when(catalogSnapshot.current())
+                .thenReturn(CatalogGraph.build(new PublishedCatalog(3L, List.of(curriculum), List.of(), List.of())));
+
+        // When
+        CatalogSearchResponse response = catalogSearchService.search("微服務", 10);
+
+        // Then
+        assertThat(response.getQuery()).isEqualTo("微服務");
+        assertThat(response.getCurriculums()).extracting(CurriculumDto::getId).containsExactly(1L);
+        verifyNoInteractions(catalogSearchRepository);
+    }
+
+    @Test
+    @DisplayName("Should search the database with trimmed text and a capped limit without a snapshot")
+    void shouldSearchWithCappedLimit() {
+        // Given
+        CurriculumDto curriculum = CurriculumDto.builder().id(1L).title("Spring Boot 微服務實戰").build();
+        when(catalogSearchRepository.searchCurriculums("spring 微服務", CatalogSearchService.MAX_LIMIT))
+                .thenReturn(List.of(curriculum));
+
+        // When
+        CatalogSearchResponse response = catalogSearchService.search("  spring 微服務 ", 1000);
+
+        // Then
+        assertThat(response.getQuery()).isEqualTo("spring 微服務");
+        assertThat(response.getCurriculums()).containsExactly(curriculum);
+        assertThat(response.getLessons()).isEmpty();
+        verify(catalogSearchRepository).searchLessons("spring 微服務", CatalogSearchService.MAX_LIMIT);
+    }
+
+    @Test
+    @DisplayName("Should return no results for blank text without querying")
+    void shouldIgnoreBlankQuery() {
+        // When
+        CatalogSearchResponse response = catalogSearchService.search("   ", 10);
+
+        // Then
+        assertThat(response.getCurriculums()).isEmpty();
+        assertThat(response.getLessons()).isEmpty();
+        verifyNoInteractions(catalogSearchRepository, catalogSnapshot);
+    }
+}
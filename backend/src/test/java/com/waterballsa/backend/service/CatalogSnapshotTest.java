@@ -0,0 +1,170 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.config.CatalogSnapshotProperties;
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.event.CatalogChangedEvent;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository.PublishedCatalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CatalogSnapshot.
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotTest {
+
+    @Mock
+    private CatalogSnapshotRepository repository;
+
+    private CatalogSnapshotProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Runnable> queuedRebuilds;
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CatalogSnapshotProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        queuedRebuilds = new ArrayList<>();
+        snapshot = new CatalogSnapshot(properties, repository, meterRegistry, queuedRebuilds::add);
+    }
+
+    @Test
+    @DisplayName("Should build the snapshot at startup and expose its size as metrics")
+    void shouldBuildOnStartup() {
+        // Given
+        when(repository.loadPublishedCatalog()).thenReturn(catalog(3L, 1L, 2L));
+
+        // When
+        snapshot.start();
+
+        // Then
+        assertThat(snapshot.current().version()).isEqualTo(3L);
+        assertThat(snapshot.current().countCurriculums()).isEqualTo(2);
+        assertThat(meterRegistry.get("catalog.snapshot.rebuild").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("catalog.snapshot.version").gauge().value()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("catalog.snapshot.memory").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("catalog.snapshot.entities").tag("type", "curriculum").gauge().value())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should keep the previous snapshot when a rebuild fails")
+    void shouldKeepPreviousSnapshotOnFailure() {
+        // Given
+        when(repository.loadPublishedCatalog())
+                .thenReturn(catalog(1L, 1L))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+        snapshot.start();
+        CatalogGraph built = snapshot.current();
+
+        // When
+        boolean refreshed = snapshot.refresh();
+
+        // Then
+        assertThat(refreshed).isFalse();
+        assertThat(snapshot.current()).isSameAs(built);
+        assertThat(meterRegistry.get("catalog.snapshot.rebuild.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rebuild only when the catalog version in the database changed")
+    void shouldRebuildOnVersionChange() {
+        // Given
+        when(repository.loadPublishedCatalog())
+                .thenReturn(catalog(1L, 1L))
+                .thenReturn(catalog(2L, 1L, 2L));
+        snapshot.start();
+        when(repository.findVersion()).thenReturn(1L).thenReturn(2L);
+
+        // When
+        snapshot.checkVersion();
+
+        // Then
+        assertThat(snapshot.current().version()).isEqualTo(1L);
+
+        // When
+        snapshot.checkVersion();
+
+        // Then
+        assertThat(snapshot.current().version()).isEqualTo(2L);
+        assertThat(snapshot.current().countCurriculums()).isEqualTo(2);
+        verify(repository, times(2)).loadPublishedCatalog();
+    }
+
+    @Test
+    @DisplayName("Should share one queued rebuild between catalog changes committed together")
+    void shouldCoalesceRebuildsOnCatalogChange() {
+        // Given
+        when(repository.loadPublishedCatalog())
+                .thenReturn(catalog(1L, 1L))
+                .thenReturn(catalog(2L, 1L, 2L));
+        snapshot.start();
+
+        // When
+        snapshot.onCatalogChanged(new CatalogChangedEvent(1L));
+        snapshot.onCatalogChanged(new CatalogChangedEvent(2L));
+
+        // Then
+        assertThat(queuedRebuilds).hasSize(1);
+        assertThat(snapshot.current().version()).isEqualTo(1L);
+
+        // When
+        queuedRebuilds.remove(0).run();
+        snapshot.onCatalogChanged(CatalogChangedEvent.all());
+
+        // Then
+        assertThat(snapshot.current().version()).isEqualTo(2L);
+        assertThat(queuedRebuilds).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should not build or serve a snapshot when disabled")
+    void shouldStayEmptyWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        snapshot.start();
+        snapshot.checkVersion();
+        snapshot.onCatalogChanged(CatalogChangedEvent.all());
+
+        // Then
+        assertThat(snapshot.current()).isNull();
+        assertThat(queuedRebuilds).isEmpty();
+        verify(repository, never()).loadPublishedCatalog();
+    }
+
+    private static PublishedCatalog catalog(long version, Long... curriculumIds) {
+        List<CurriculumDto> curriculums = new ArrayList<>();
+        for (Long id : curriculumIds) {
+            curriculums.add(CurriculumDto.builder()
+                    .id(id)
+                    .title("Curriculum " + id)
+                    .description("Description " + id)
+                    .instructorName("Tester")
+                    .price(BigDecimal.TEN)
+                    .currency("USD")
+                    .isPublished(true)
+                    .build());
+        }
+        return new PublishedCatalog(version, curriculums, List.of(), List.of());
+    }
+}
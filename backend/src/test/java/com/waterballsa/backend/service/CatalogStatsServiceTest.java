@@ -0,0 +1,122 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.config.CatalogStatsProperties;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository;
+import com.waterballsa.backend.repository.CatalogStatsRepository;
+import com.waterballsa.backend.repository.CatalogStatsRepository.ChapterStats;
+import com.waterballsa.backend.repository.CatalogStatsRepository.CurriculumStats;
+import com.waterballsa.backend.repository.CatalogStatsRepository.Drift;
+import com.waterballsa.backend.repository.CatalogStatsRepository.LoadedStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CatalogStatsService.
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogStatsServiceTest {
+
+    @Mock
+    private CatalogStatsRepository repository;
+
+    @Mock
+    private CatalogSnapshotRepository catalogSnapshotRepository;
+
+    private CatalogStatsProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CatalogStatsProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        statsService = new CatalogStatsService(properties, repository, catalogSnapshotRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should answer counts and durations from the loaded stats, zero for unknown IDs")
+    void shouldServeCountsFromMemory() {
+        // Given
+        when(repository.loadStats()).thenReturn(stats(3L, 25));
+
+        // When
+        statsService.start();
+        CatalogStats stats = statsService.current();
+
+        // Then
+        assertThat(stats.countPublishedCurriculums()).isEqualTo(1);
+        assertThat(stats.countPublishedChapters(1L)).isEqualTo(2);
+        assertThat(stats.countPublishedChapters(2L)).isEqualTo(1);
+        assertThat(stats.totalDurationMinutes(1L)).isEqualTo(25);
+        assertThat(stats.countPublishedLessons(10L)).isEqualTo(4);
+        assertThat(stats.countPublishedLessons(99L)).isZero();
+        assertThat(stats.totalDurationMinutes(99L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reload only when the catalog version changes")
+    void shouldReloadOnVersionChange() {
+        // Given
+        when(repository.loadStats()).thenReturn(stats(3L, 25), stats(4L, 40));
+        statsService.start();
+
+        // When
+        when(catalogSnapshotRepository.findVersion()).thenReturn(3L);
+        statsService.checkVersion();
+        when(catalogSnapshotRepository.findVersion()).thenReturn(4L);
+        statsService.checkVersion();
+
+        // Then
+        verify(repository, times(2)).loadStats();
+        assertThat(statsService.current().totalDurationMinutes(1L)).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Should count drift found by the consistency check and reload the repaired stats")
+    void shouldReportDrift() {
+        // Given
+        when(repository.loadStats()).thenReturn(stats(3L, 999), stats(3L, 25));
+        when(repository.rebuild()).thenReturn(new Drift(0, 1));
+        statsService.start();
+
+        // When
+        Drift drift = statsService.checkConsistency();
+
+        // Then
+        assertThat(drift.total()).isEqualTo(1);
+        assertThat(meterRegistry.counter("catalog.stats.drift").count()).isEqualTo(1);
+        assertThat(statsService.current().totalDurationMinutes(1L)).isEqualTo(25);
+    }
+
+    @Test
+    @DisplayName("Should serve nothing when disabled so counts fall back to the catalog")
+    void shouldServeNothingWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        statsService.start();
+
+        // Then
+        assertThat(statsService.current()).isNull();
+        assertThat(statsService.checkConsistency()).isNull();
+    }
+
+    private static LoadedStats stats(long version, long durationMinutes) {
+        return new LoadedStats(version,
+                List.of(new CurriculumStats(1L, true, 2, durationMinutes), new CurriculumStats(2L, false, 1, 0)),
+                List.of(new ChapterStats(10L, 4), new ChapterStats(11L, 0)));
+    }
+}
@@ -0,0 +1,267 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.dto.ChapterOutlineDto;
+import com.waterballsa.backend.dto.CourseOutlineDto;
+import com.waterballsa.backend.dto.LessonOutlineDto;
+import com.waterballsa.backend.entity.Chapter;
+import com.waterballsa.backend.entity.Curriculum;
+import com.waterballsa.backend.entity.DifficultyLevel;
+import com.waterballsa.backend.entity.Lesson;
+import com.waterballsa.backend.entity.LessonType;
+import com.waterballsa.backend.entity.Purchase;
+import com.waterballsa.backend.entity.User;
+import com.waterballsa.backend.repository.CurriculumRepository;
+import com.waterballsa.backend.repository.VideoProgressRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Tests for CourseOutlineService against the database.
+ * Counts the JDBC statements an outline takes, including the tree query a cache miss runs.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(CourseOutlineService.class)
+class CourseOutlineServiceTest {
+
+    /**
+     * Tree, purchase and progress queries.
+     */
+    private static final int QUERY_BUDGET = 3;
+
+    private static final AtomicInteger STATEMENTS = new AtomicInteger();
+
+    @Autowired
+    private CourseOutlineService courseOutlineService;
+
+    @Autowired
+    private CurriculumRepository curriculumRepository;
+
+    @Autowired
+    private VideoProgressRepository videoProgressRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private CurriculumService curriculumService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // Tree cache miss: load the tree from the database
+        given(curriculumService.getCurriculumById(anyLong())).willAnswer(invocation ->
+                curriculumRepository.findPublishedTreeById(invocation.getArgument(0)).orElseThrow());
+
+        user = entityManager.persist(User.builder()
+                .googleId("outline-google-id")
+                .email("outline@example.com")
+                .name("Outline Learner")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should build an outline with the same number of queries whatever the number of chapters")
+    void shouldStayWithinQueryBudget() {
+        // Given
+        Curriculum small = persistCurriculum(new BigDecimal("49.90"), 2, 3);
+        Curriculum large = persistCurriculum(new BigDecimal("49.90"), 12, 3);
+        persistCompletedPurchase(small);
+        persistCompletedPurchase(large);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        int smallQueries = countStatements(() -> courseOutlineService.getOutline(user.getId(), small.getId()));
+        int largeQueries = countStatements(() -> courseOutlineService.getOutline(user.getId(), large.getId()));
+
+        // Then
+        assertThat(smallQueries).isLessThanOrEqualTo(QUERY_BUDGET);
+        assertThat(largeQueries).isEqualTo(smallQueries);
+    }
+
+    @Test
+    @DisplayName("Should combine ownership, lesson progress and chapter completion")
+    void shouldBuildOutline() {
+        // Given - first chapter fully watched, one lesson of the second chapter started
+        Curriculum curriculum = persistCurriculum(new BigDecimal("49.90"), 2, 2);
+        persistCompletedPurchase(curriculum);
+        List<Lesson> lessons = lessonsOf(curriculum);
+        videoProgressRepository.upsertProgress(user.getId(), lessons.get(0).getId(), 120.0, 120.0, 100, true, null);
+        videoProgressRepository.upsertProgress(user.getId(), lessons.get(1).getId(), 118.0, 120.0, 98, true, null);
+        videoProgressRepository.upsertProgress(user.getId(), lessons.get(2).getId(), 30.0, 120.0, 25, false, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        CourseOutlineDto outline = courseOutlineService.getOutline(user.getId(), curriculum.getId());
+
+        // Then
+        assertThat(outline.getOwnership().isOwns()).isTrue();
+        assertThat(outline.getOwnership().getPurchaseId()).isNotNull();
+        assertThat(outline.getCurriculum().getChapters()).isEmpty();
+        assertThat(outline.getTotalLessons()).isEqualTo(4);
+        assertThat(outline.getCompletedLessons()).isEqualTo(2);
+        assertThat(outline.getCompletionPercentage()).isEqualTo(50);
+        assertThat(outline.getChapters()).extracting(ChapterOutlineDto::getOrderIndex).containsExactly(0, 1);
+
+        ChapterOutlineDto first = outline.getChapters().get(0);
+        assertThat(first.getIsCompleted()).isTrue();
+        assertThat(first.getCompletionPercentage()).isEqualTo(100);
+
+        ChapterOutlineDto second = outline.getChapters().get(1);
+        assertThat(second.getIsCompleted()).isFalse();
+        assertThat(second.getCompletedLessons()).isZero();
+        assertThat(second.getLessons()).extracting(LessonOutlineDto::isAccessible).containsOnly(true);
+        assertThat(second.getLessons().get(0).getProgress().getCompletionPercentage()).isEqualTo(25);
+        assertThat(second.getLessons().get(1).getProgress()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should only open free previews of a curriculum the user does not own")
+    void shouldLimitAccessWithoutPurchase() {
+        // Given
+        Curriculum curriculum = persistCurriculum(new BigDecimal("49.90"), 1, 3);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        CourseOutlineDto outline = courseOutlineService.getOutline(user.getId(), curriculum.getId());
+
+        // Then
+        assertThat(outline.getOwnership().isOwns()).isFalse();
+        assertThat(outline.getChapters().get(0).getLessons())
+                .extracting(LessonOutlineDto::isAccessible)
+                .containsExactly(true, false, false);
+    }
+
+    private static int countStatements(Runnable action) {
+        STATEMENTS.set(0);
+        action.run();
+        return STATEMENTS.get();
+    }
+
+    private Curriculum persistCurriculum(BigDecimal price, int chapters, int lessonsPerChapter) {
+        Curriculum curriculum = Curriculum.builder()
+                .title("Outline Course")
+                .description("Course used by the outline tests")
+                .instructorName("Tester")
+                .price(price)
+                .difficultyLevel(DifficultyLevel.BEGINNER)
+                .estimatedDurationHours(3)
+                .build();
+        curriculum.publish();
+        entityManager.persist(curriculum);
+
+        for (int c = 0; c < chapters; c++) {
+            Chapter chapter = entityManager.persist(Chapter.builder()
+                    .curriculum(curriculum)
+                    .title("Chapter " + c)
+                    .orderIndex(c)
+                    .isPublished(true)
+                    .build());
+            for (int l = 0; l < lessonsPerChapter; l++) {
+                entityManager.persist(Lesson.builder()
+                        .chapter(chapter)
+                        .title("Chapter " + c + " lesson " + l)
+                        .lessonType(LessonType.VIDEO)
+                        .orderIndex(l)
+                        .durationMinutes(10)
+                        .isFreePreview(c == 0 && l == 0)
+                        .isPublished(true)
+                        .build());
+            }
+        }
+        return curriculum;
+    }
+
+    private void persistCompletedPurchase(Curriculum curriculum) {
+        Purchase purchase = Purchase.builder()
+                .user(user)
+                .curriculum(curriculum)
+                .originalPrice(curriculum.getPrice())
+                .finalPrice(curriculum.getPrice())
+                .build();
+        purchase.complete();
+        entityManager.persist(purchase);
+    }
+
+    private List<Lesson> lessonsOf(Curriculum curriculum) {
+        entityManager.flush();
+        return entityManager.getEntityManager()
+                .createQuery("SELECT l FROM Lesson l WHERE l.chapter.curriculum.id = :curriculumId "
+                        + "ORDER BY l.chapter.orderIndex, l.orderIndex", Lesson.class)
+                .setParameter("curriculumId", curriculum.getId())
+                .getResultList();
+    }
+
+    @TestConfiguration
+    static class StatementCountingConfig {
+
+        private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+        /**
+         * Wraps the data source so that every statement prepared on its connections is
+         * counted, whether by Hibernate or by a JdbcTemplate.
+         */
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return counting(super.getConnection());
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if (STATEMENT_METHODS.contains(method.getName())) {
+                            STATEMENTS.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.config.CatalogSuggestProperties;
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.dto.SuggestionDto;
+import com.waterballsa.backend.entity.PurchaseStatus;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository;
+import com.waterballsa.backend.repository.CatalogSnapshotRepository.PublishedCatalog;
+import com.waterballsa.backend.repository.PurchaseRepository;
+import com.waterballsa.backend.repository.PurchaseRepository.CurriculumPurchaseCount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CurriculumSuggestService.
+ */
+@ExtendWith(MockitoExtension.class)
+class CurriculumSuggestServiceTest {
+
+    @Mock
+    private CatalogSnapshot catalogSnapshot;
+
+    @Mock
+    private CatalogSnapshotRepository catalogSnapshotRepository;
+
+    @Mock
+    private PurchaseRepository purchaseRepository;
+
+    private CatalogSuggestProperties properties;
+    private CurriculumSuggestService suggestService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CatalogSuggestProperties();
+        suggestService = new CurriculumSuggestService(properties, catalogSnapshot, catalogSnapshotRepository,
+                purchaseRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should rank suggestions by completed purchases from the snapshot graph")
+    void shouldRankByPurchases() {
+        // Given
+        when(catalogSnapshot.current()).thenReturn(graph(1L));
+        when(purchaseRepository.countByStatusGroupByCurriculum(PurchaseStatus.COMPLETED))
+                .thenReturn(List.of(purchaseCount(2L, 7)));
+
+        // When
+        suggestService.refresh();
+
+        // Then
+        assertThat(suggestService.suggest("spring", 10)).extracting(SuggestionDto::getCurriculumId)
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should rebuild only when the catalog version changes or purchase counts expire")
+    void shouldRebuildOnChange() {
+        // Given
+        when(catalogSnapshot.current()).thenReturn(graph(1L));
+        suggestService.refresh();
+
+        // When
+        suggestService.refresh();
+
+        // Then
+        verify(purchaseRepository, times(1)).countByStatusGroupByCurriculum(PurchaseStatus.COMPLETED);
+
+        // When
+        when(catalogSnapshot.current()).thenReturn(graph(2L));
+        suggestService.refresh();
+        properties.setPopularityTtl(Duration.ZERO);
+        suggestService.refresh();
+
+        // Then
+        verify(purchaseRepository, times(3)).countByStatusGroupByCurriculum(PurchaseStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should load the catalog itself while the snapshot is disabled")
+    void shouldBuildWithoutSnapshot() {
+        // Given
+        when(catalogSnapshotRepository.loadPublishedCatalog()).thenReturn(catalog(3L));
+        suggestService.refresh();
+        when(catalogSnapshotRepository.findVersion()).thenReturn(3L);
+
+        // When
+        suggestService.refresh();
+
+        // Then
+        verify(catalogSnapshotRepository, times(1)).loadPublishedCatalog();
+        assertThat(suggestService.suggest("Sec", 10)).extracting(SuggestionDto::getText)
+                .containsExactly("Spring Security");
+    }
+
+    @Test
+    @DisplayName("Should return no suggestions when disabled or before the first build")
+    void shouldReturnNothingWithoutTrie() {
+        // When & Then
+        assertThat(suggestService.suggest("spring", 10)).isEmpty();
+
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        suggestService.refresh();
+
+        // Then
+        assertThat(suggestService.suggest("spring", 10)).isEmpty();
+        verify(catalogSnapshotRepository, never()).loadPublishedCatalog();
+    }
+
+    private static CatalogGraph graph(long version) {
+        return CatalogGraph.build(catalog(version));
+    }
+
+    private static PublishedCatalog catalog(long version) {
+        return new PublishedCatalog(version, List.of(
+                CurriculumDto.builder().id(1L).title("Spring Boot").instructorName("John Smith").build(),
+                CurriculumDto.builder().id(2L).title("Spring Security").instructorName("Jane Doe").build()),
+                List.of(), List.of());
+    }
+
+    private static CurriculumPurchaseCount purchaseCount(long curriculumId, long purchases) {
+        return new CurriculumPurchaseCount() {
+            @Override
+            public Long getCurriculumId() {
+                return curriculumId;
+            }
+
+            @Override
+            public long getPurchaseCount() {
+                return purchases;
+            }
+        };
+    }
+}
@@ -0,0 +1,249 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.config.CatalogCacheProperties;
+import com.waterballsa.backend.dto.ChapterDto;
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.dto.LessonDto;
+import com.waterballsa.backend.event.CatalogChangedEvent;
+import com.waterballsa.backend.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CurriculumTreeCache.
+ */
+@ExtendWith(MockitoExtension.class)
+class CurriculumTreeCacheTest {
+
+    @Mock
+    private RedisCurriculumStore sharedStore;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CurriculumTreeCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CurriculumTreeCache(new CatalogCacheProperties(), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should load a curriculum once and serve later reads from memory")
+    void shouldServeRepeatedReadsFromMemory() {
+        // When
+        CurriculumDto first = cache.get(1L, () -> load(1L));
+        CurriculumDto second = cache.get(1L, () -> load(1L));
+
+        // Then
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(requests("l1", "hit")).isEqualTo(1);
+        assertThat(requests("l1", "miss")).isEqualTo(1);
+        assertThat(meterRegistry.get("catalog.curriculum.cache.load").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should hand out copies that callers can modify without changing the cached tree")
+    void shouldReturnCopies() {
+        // Given
+        CurriculumDto tree = CurriculumDto.builder().id(1L).title("Curriculum 1")
+                .chapters(new ArrayList<>(List.of(ChapterDto.builder().id(10L).title("Chapter")
+                        .lessons(new ArrayList<>(List.of(LessonDto.builder().id(100L).title("Lesson")
+                                .contentMetadata(new HashMap<>(Map.of("resolution", "1080p")))
+                                .build())))
+                        .build())))
+                .build();
+        CurriculumDto first = cache.get(1L, () -> tree);
+
+        // When
+        first.setTitle("Changed");
+        first.getChapters().get(0).getLessons().get(0).getContentMetadata().clear();
+        first.getChapters().get(0).getLessons().clear();
+        first.getChapters().clear();
+        CurriculumDto second = cache.get(1L, () -> load(1L));
+
+        // Then
+        assertThat(second.getTitle()).isEqualTo("Curriculum 1");
+        assertThat(second.getChapters()).singleElement()
+                .satisfies(chapter -> assertThat(chapter.getLessons()).singleElement()
+                        .satisfies(lesson -> assertThat(lesson.getContentMetadata())
+                                .containsEntry("resolution", "1080p")));
+    }
+
+    @Test
+    @DisplayName("Should reload a curriculum after a catalog change is committed")
+    void shouldEvictOnCatalogChange() {
+        // Given
+        cache.get(1L, () -> load(1L));
+        cache.get(2L, () -> load(2L));
+
+        // When
+        cache.onCatalogChanged(new CatalogChangedEvent(1L));
+        cache.get(1L, () -> load(1L));
+        cache.get(2L, () -> load(2L));
+
+        // Then
+        assertThat(loads).hasValue(3);
+
+        // When
+        cache.onCatalogChanged(CatalogChangedEvent.all());
+        cache.get(1L, () -> load(1L));
+        cache.get(2L, () -> load(2L));
+
+        // Then
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    @DisplayName("Should share one load between concurrent misses for the same curriculum")
+    void shouldCoalesceConcurrentMisses() throws Exception {
+        // Given
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            // When
+            List<Future<CurriculumDto>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get(1L, () -> {
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return load(1L);
+            })));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> cache.get(1L, () -> load(1L))));
+            }
+            Thread.sleep(100);
+            releaseLoader.countDown();
+
+            // Then
+            CurriculumDto expected = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<CurriculumDto> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(expected);
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should rethrow loader failures without caching them")
+    void shouldNotCacheFailures() {
+        // When & Then
+        assertThatThrownBy(() -> cache.get(9L, () -> {
+            throw new ResourceNotFoundException("Curriculum", "id", 9L);
+        })).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(cache.get(9L, () -> load(9L)).getId()).isEqualTo(9L);
+    }
+
+    @Test
+    @DisplayName("Should not cache a tree loaded while the curriculum was being changed")
+    void shouldNotCacheLoadOverlappingEviction() {
+        // When
+        cache.get(1L, () -> {
+            cache.onCatalogChanged(new CatalogChangedEvent(1L));
+            return load(1L);
+        });
+        cache.get(1L, () -> load(1L));
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should read through the Redis store before the database")
+    void shouldUseSharedStore() {
+        // Given
+        cache.setSharedStore(sharedStore);
+        CurriculumDto shared = CurriculumDto.builder().id(1L).title("Shared").build();
+        when(sharedStore.get(1L)).thenReturn(shared);
+
+        // When
+        CurriculumDto first = cache.get(1L, () -> load(1L));
+        CurriculumDto second = cache.get(1L, () -> load(1L));
+        CurriculumDto other = cache.get(2L, () -> load(2L));
+
+        // Then
+        assertThat(first).isEqualTo(shared);
+        assertThat(second).isEqualTo(shared);
+        assertThat(other.getId()).isEqualTo(2L);
+        assertThat(loads).hasValue(1);
+        verify(sharedStore).put(other);
+        verify(sharedStore, never()).put(shared);
+        assertThat(requests("l2", "hit")).isEqualTo(1);
+        assertThat(requests("l2", "miss")).isEqualTo(1);
+
+        // When
+        cache.onCatalogChanged(new CatalogChangedEvent(2L));
+
+        // Then
+        verify(sharedStore).evict(2L);
+        verify(sharedStore, never()).evict(1L);
+    }
+
+    @Test
+    @DisplayName("Should call the loader every time when caching is disabled")
+    void shouldBypassWhenDisabled() {
+        // Given
+        CatalogCacheProperties properties = new CatalogCacheProperties();
+        properties.setEnabled(false);
+        cache = new CurriculumTreeCache(properties, meterRegistry);
+
+        // When
+        cache.get(1L, () -> load(1L));
+        cache.get(1L, () -> load(1L));
+
+        // Then
+        assertThat(loads).hasValue(2);
+        verify(sharedStore, never()).get(any());
+    }
+
+    private CurriculumDto load(Long id) {
+        loads.incrementAndGet();
+        return CurriculumDto.builder().id(id).title("Curriculum " + id).build();
+    }
+
+    private double requests(String tier, String result) {
+        return meterRegistry.get("catalog.curriculum.cache.requests")
+                .tag("tier", tier)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.waterballsa.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waterballsa.backend.config.GoogleJwksProperties;
+import com.waterballsa.backend.exception.UnauthorizedException;
+import com.waterballsa.backend.security.FileGoogleSigningKeySource;
+import com.waterballsa.backend.security.GoogleKeyRing;
+import com.waterballsa.backend.security.GoogleSigningKeys;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for GoogleOAuthService using in-process signing keys.
+ */
+class GoogleOAuthServiceTest {
+
+    private static final String CLIENT_ID = "test-client.apps.googleusercontent.com";
+    private static final String KEY_ID = "test-key";
+
+    private static KeyPair keyPair;
+
+    private GoogleJwksProperties properties;
+    private AtomicInteger loads;
+    private GoogleOAuthService googleOAuthService;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new GoogleJwksProperties();
+        loads = new AtomicInteger();
+        GoogleKeyRing keyRing = new GoogleKeyRing(() -> {
+            loads.incrementAndGet();
+            return new GoogleSigningKeys(Map.of(KEY_ID, keyPair.getPublic()), Instant.now().plus(Duration.ofHours(1)));
+        }, properties);
+        googleOAuthService = new GoogleOAuthService(CLIENT_ID, keyRing, properties);
+    }
+
+    @Test
+    @DisplayName("Should verify token signed with a cached key")
+    void shouldVerifyValidToken() {
+        // Given
+        String token = idToken(KEY_ID, CLIENT_ID, Instant.now().plus(Duration.ofHours(1)), true);
+
+        // When
+        GoogleOAuthService.GoogleUserInfo userInfo = googleOAuthService.verifyToken(token);
+        googleOAuthService.verifyToken(token);
+
+        // Then
+        assertThat(userInfo.getGoogleId()).isEqualTo("google-123");
+        assertThat(userInfo.getEmail()).isEqualTo("user@example.com");
+        assertThat(userInfo.getName()).isEqualTo("Test User");
+        assertThat(userInfo.isEmailVerified()).isTrue();
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject token for another audience")
+    void shouldRejectWrongAudience() {
+        String token = idToken(KEY_ID, "other-client", Instant.now().plus(Duration.ofHours(1)), true);
+
+        assertThatThrownBy(() -> googleOAuthService.verifyToken(token))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject expired token")
+    void shouldRejectExpiredToken() {
+        String token = idToken(KEY_ID, CLIENT_ID, Instant.now().minus(Duration.ofHours(1)), true);
+
+        assertThatThrownBy(() -> googleOAuthService.verifyToken(token))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject token signed with an unknown key")
+    void shouldRejectUnknownKey() {
+        String token = idToken("unknown-key", CLIENT_ID, Instant.now().plus(Duration.ofHours(1)), true);
+
+        assertThatThrownBy(() -> googleOAuthService.verifyToken(token))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject token with unverified email")
+    void shouldRejectUnverifiedEmail() {
+        String token = idToken(KEY_ID, CLIENT_ID, Instant.now().plus(Duration.ofHours(1)), false);
+
+        assertThatThrownBy(() -> googleOAuthService.verifyToken(token))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    @DisplayName("Should verify token with keys loaded from a JWKS file")
+    void shouldVerifyWithFileKeySource(@TempDir Path tempDir) throws Exception {
+        // Given
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        Path jwks = tempDir.resolve("jwks.json");
+        Files.writeString(jwks, """
+                {"keys": [{"kty": "RSA", "alg": "RS256", "use": "sig", "kid": "%s", "n": "%s", "e": "%s"}]}
+                """.formatted(KEY_ID, base64Url(publicKey.getModulus()), base64Url(publicKey.getPublicExponent())));
+        GoogleKeyRing keyRing = new GoogleKeyRing(
+                new FileGoogleSigningKeySource(jwks, Duration.ofHours(1), new ObjectMapper()), properties);
+        GoogleOAuthService service = new GoogleOAuthService(CLIENT_ID, keyRing, properties);
+        String token = idToken(KEY_ID, CLIENT_ID, Instant.now().plus(Duration.ofHours(1)), true);
+
+        // When
+        GoogleOAuthService.GoogleUserInfo userInfo = service.verifyToken(token);
+
+        // Then
+        assertThat(userInfo.getEmail()).isEqualTo("user@example.com");
+    }
+
+    private String idToken(String keyId, String audience, Instant expiresAt, boolean emailVerified) {
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .issuer("https://accounts.google.com")
+                .audience().add(audience).and()
+                .subject("google-123")
+                .claim("email", "user@example.com")
+                .claim("email_verified", emailVerified)
+                .claim("name", "Test User")
+                .claim("picture", "https://example.com/picture.png")
+                .issuedAt(Date.from(expiresAt.minus(Duration.ofHours(1))))
+                .expiration(Date.from(expiresAt))
+                .signWith(keyPair.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
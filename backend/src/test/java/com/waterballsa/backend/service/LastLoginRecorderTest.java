@@ -0,0 +1,93 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.event.UserChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LastLoginRecorder.
+ */
+@ExtendWith(MockitoExtension.class)
+class LastLoginRecorderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private LastLoginRecorder lastLoginRecorder;
+
+    @BeforeEach
+    void setUp() {
+        lastLoginRecorder = new LastLoginRecorder(jdbcTemplate, eventPublisher, 2);
+    }
+
+    @Test
+    @DisplayName("Should coalesce logins per user and write them in batches")
+    void shouldCoalesceAndBatch() {
+        // Given
+        LocalDateTime first = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime latest = first.plusMinutes(5);
+        lastLoginRecorder.record(1L, first);
+        lastLoginRecorder.record(1L, latest);
+        lastLoginRecorder.record(2L, first);
+        lastLoginRecorder.record(3L, first);
+
+        // When
+        lastLoginRecorder.flush();
+
+        // Then
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).update(anyString(), args.capture());
+        List<Object> rows = args.getAllValues().stream().flatMap(Arrays::stream).toList();
+        assertThat(rows).hasSize(6);
+        assertThat(rows.get(rows.indexOf(1L) + 1)).isEqualTo(Timestamp.valueOf(latest));
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L));
+        verify(eventPublisher, times(3)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when nothing is pending")
+    void shouldSkipEmptyFlush() {
+        lastLoginRecorder.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should keep timestamps for the next flush when a write fails")
+    void shouldRetryFailedBatch() {
+        // Given
+        lastLoginRecorder.record(1L, LocalDateTime.of(2024, 1, 1, 10, 0));
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(1);
+
+        // When
+        lastLoginRecorder.flush();
+        lastLoginRecorder.flush();
+
+        // Then
+        verify(jdbcTemplate, times(2)).update(anyString(), any(Object[].class));
+        verify(eventPublisher, times(1)).publishEvent(new UserChangedEvent(1L));
+    }
+}
@@ -1,5 +1,9 @@
 package com.waterballsa.backend.service;
 
+import com.waterballsa.backend.dto.ChapterDto;
+import com.waterballsa.backend.dto.CurriculumDto;
+import com.waterballsa.backend.dto.CursorPage;
+import com.waterballsa.backend.dto.LessonDto;
 import com.waterballsa.backend.dto.OrderPreviewResponse;
 import com.waterballsa.backend.dto.PurchaseRequest;
 import com.waterballsa.backend.dto.PurchaseResponse;
@@ -8,11 +12,11 @@ import com.waterballsa.backend.exception.DuplicatePurchaseException;
 import com.waterballsa.backend.exception.FreeCurriculumException;
 import com.waterballsa.backend.exception.InvalidCouponException;
 import com.waterballsa.backend.exception.ResourceNotFoundException;
-import com.waterballsa.backend.repository.ChapterRepository;
 import com.waterballsa.backend.repository.CouponRepository;
 import com.waterballsa.backend.repository.CurriculumRepository;
 import com.waterballsa.backend.repository.PurchaseRepository;
 import com.waterballsa.backend.repository.UserRepository;
+import com.waterballsa.backend.util.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,11 +27,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -49,9 +56,6 @@ class PurchaseServiceTest {
     @Mock
     private CouponRepository couponRepository;
 
-    @Mock
-    private ChapterRepository chapterRepository;
-
     @InjectMocks
     private PurchaseService purchaseService;
 
@@ -101,12 +105,29 @@ class PurchaseServiceTest {
     @Test
     void getOrderPreview_withValidCurriculum_shouldReturnPreview() {
         // Given
-        when(curriculumRepository.findPublishedByIdWithChapters(1L))
-                .thenReturn(Optional.of(paidCurriculum));
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LessonDto lesson = LessonDto.builder()
+                .id(100L)
+                .chapterId(10L)
+                .title("Introduction")
+                .isPublished(true)
+                .createdAt(createdAt)
+                .contentMetadata(new HashMap<>(Map.of("resolution", "1080p")))
+                .build();
+        ChapterDto chapter = ChapterDto.builder()
+                .id(10L)
+                .curriculumId(1L)
+                .isPublished(true)
+                .createdAt(createdAt)
+                .lessons(List.of(lesson, lesson.toBuilder().id(101L).build()))
+                .build();
+        CurriculumDto tree = CurriculumDto.from(paidCurriculum);
+        tree.setChapters(new ArrayList<>(List.of(chapter)));
+        when(curriculumRepository.findPublishedTreeById(1L))
+                .thenReturn(Optional.of(tree));
         when(purchaseRepository.existsByUserIdAndCurriculumIdAndStatus(
                 testUser.getId(), 1L, PurchaseStatus.COMPLETED))
                 .thenReturn(false);
-        // No need to mock chapterRepository since paidCurriculum has no chapters
 
         // When
         OrderPreviewResponse result = purchaseService.getOrderPreview(1L, testUser.getId());
@@ -115,6 +136,18 @@ class PurchaseServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getCurriculum()).isNotNull();
         assertThat(result.getOriginalPrice()).isEqualByComparingTo("49.99");
+        assertThat(result.getTotalChapters()).isEqualTo(1);
+        assertThat(result.getTotalLessons()).isEqualTo(2);
+        ChapterDto previewChapter = result.getChapters().get(0);
+        assertThat(previewChapter.getIsPublished()).isNull();
+        assertThat(previewChapter.getCreatedAt()).isNull();
+        assertThat(previewChapter.getLessons()).extracting(LessonDto::getTitle)
+                .containsExactly("Introduction", "Introduction");
+        assertThat(previewChapter.getLessons()).allSatisfy(previewLesson -> {
+            assertThat(previewLesson.getIsPublished()).isNull();
+            assertThat(previewLesson.getCreatedAt()).isNull();
+            assertThat(previewLesson.getContentMetadata()).isEmpty();
+        });
     }
 
     @Test
@@ -280,4 +313,33 @@ class PurchaseServiceTest {
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getCurriculumTitle()).isEqualTo("React Mastery");
     }
+
+    @Test
+    void getUserPurchasesAfter_shouldContinueAfterCursorWithoutCounting() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        Purchase purchase = Purchase.builder()
+                .id(7L)
+                .user(testUser)
+                .curriculum(paidCurriculum)
+                .originalPrice(new BigDecimal("49.99"))
+                .finalPrice(new BigDecimal("49.99"))
+                .status(PurchaseStatus.PENDING)
+                .createdAt(createdAt)
+                .build();
+        KeysetCursor cursor = new KeysetCursor(createdAt.plusDays(1), 9L);
+
+        when(purchaseRepository.findSliceByUserIdWithCurriculumBefore(
+                eq(1L), eq(cursor.sortKey()), eq(9L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(purchase), PageRequest.ofSize(1), true));
+
+        // When
+        CursorPage<PurchaseResponse> result = purchaseService.getUserPurchasesAfter(1L, cursor.encode(), 1);
+
+        // Then
+        assertThat(result.getContent()).extracting(PurchaseResponse::getPurchaseId).containsExactly(7L);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(KeysetCursor.decode(result.getNextCursor())).contains(new KeysetCursor(createdAt, 7L));
+        verify(purchaseRepository, never()).findByUserIdWithCurriculum(any(), any());
+    }
 }
@@ -0,0 +1,95 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.dto.SuggestionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SuggestionTrie.
+ */
+class SuggestionTrieTest {
+
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = SuggestionTrie.builder(4L)
+                .addCurriculum(1L, "Spring Boot Mastery", 5)
+                .addCurriculum(2L, "Spring Security 實戰", 20)
+                .addCurriculum(3L, "軟體設計模式精通之旅", 8)
+                .addInstructor("John Smith", 5)
+                .addInstructor("john  smith", 3)
+                .addInstructor("Jane Doe", 20)
+                .addLesson(10L, 1L, "Spring Boot 入門", 5)
+                .addLesson(20L, 2L, "Introduction", 20)
+                .addLesson(11L, 1L, "Introduction", 5)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should suggest by prefix of any word, most popular first, ignoring case")
+    void shouldSuggestByWordPrefix() {
+        // When & Then
+        assertThat(texts(trie.suggest("spr", 10)))
+                .containsExactly("Spring Security 實戰", "Spring Boot Mastery", "Spring Boot 入門");
+        assertThat(texts(trie.suggest("BOOT", 10))).containsExactly("Spring Boot Mastery", "Spring Boot 入門");
+        assertThat(texts(trie.suggest("  spring   boot m", 10))).containsExactly("Spring Boot Mastery");
+        assertThat(texts(trie.suggest("spring ", 10))).hasSize(3);
+        assertThat(texts(trie.suggest("springb", 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should suggest Chinese text from the start of each CJK run")
+    void shouldSuggestChineseText() {
+        // When & Then
+        assertThat(texts(trie.suggest("軟體", 10))).containsExactly("軟體設計模式精通之旅");
+        assertThat(texts(trie.suggest("實", 10))).containsExactly("Spring Security 實戰");
+        assertThat(texts(trie.suggest("入門", 10))).containsExactly("Spring Boot 入門");
+        assertThat(texts(trie.suggest("設計", 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should merge instructors by name and lessons by title")
+    void shouldMergeDuplicates() {
+        // When
+        List<SuggestionDto> john = trie.suggest("john", 10);
+        List<SuggestionDto> introduction = trie.suggest("intro", 10);
+
+        // Then
+        assertThat(john).hasSize(1);
+        assertThat(john.get(0).getText()).isEqualTo("John Smith");
+        assertThat(john.get(0).getType()).isEqualTo(SuggestionDto.Type.INSTRUCTOR);
+        assertThat(john.get(0).getCurriculumId()).isNull();
+        assertThat(introduction).hasSize(1);
+        assertThat(introduction.get(0).getLessonId()).isEqualTo(20L);
+        assertThat(introduction.get(0).getCurriculumId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should cap results and ignore empty prefixes")
+    void shouldCapResults() {
+        // Given
+        SuggestionTrie.Builder builder = SuggestionTrie.builder(1L);
+        for (long id = 1; id <= 25; id++) {
+            builder.addCurriculum(id, "Course " + id, id);
+        }
+        SuggestionTrie courses = builder.build();
+
+        // When & Then
+        assertThat(courses.suggest("course", 3)).extracting(SuggestionDto::getCurriculumId)
+                .containsExactly(25L, 24L, 23L);
+        assertThat(courses.suggest("c", 100)).hasSize(SuggestionTrie.MAX_SUGGESTIONS);
+        assertThat(courses.suggest("   ", 10)).isEmpty();
+        assertThat(courses.suggest("", 10)).isEmpty();
+        assertThat(courses.suggestionCount()).isEqualTo(25);
+    }
+
+    private static List<String> texts(List<SuggestionDto> suggestions) {
+        return suggestions.stream().map(SuggestionDto::getText).toList();
+    }
+}
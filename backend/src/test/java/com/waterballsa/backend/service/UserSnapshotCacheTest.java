@@ -0,0 +1,112 @@
+package com.waterballsa.backend.service;
+
+import com.waterballsa.backend.dto.UserDto;
+import com.waterballsa.backend.entity.User;
+import com.waterballsa.backend.event.UserChangedEvent;
+import com.waterballsa.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for UserSnapshotCache.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserSnapshotCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSnapshotCache userSnapshotCache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userSnapshotCache = new UserSnapshotCache(userRepository, 100, Duration.ofMinutes(5));
+        user = User.builder()
+                .id(1L)
+                .googleId("google-1")
+                .email("user@example.com")
+                .name("Test User")
+                .totalExp(100)
+                .currentLevel(2)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should load a user once and serve later reads from the cache")
+    void shouldReadThrough() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // When
+        Optional<UserDto> first = userSnapshotCache.find(1L);
+        Optional<UserDto> second = userSnapshotCache.find(1L);
+
+        // Then
+        assertThat(first).isPresent();
+        assertThat(first.get().getEmail()).isEqualTo("user@example.com");
+        assertThat(second.get()).isEqualTo(first.get());
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should give every caller its own copy of the snapshot")
+    void shouldReturnCopies() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        UserDto first = userSnapshotCache.find(1L).orElseThrow();
+
+        // When
+        first.setName("Changed by caller");
+        UserDto second = userSnapshotCache.find(1L).orElseThrow();
+
+        // Then
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("Test User");
+    }
+
+    @Test
+    @DisplayName("Should reload a user after a change event")
+    void shouldInvalidateOnUserChanged() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        userSnapshotCache.find(1L);
+        user.addExperience(300);
+
+        // When
+        userSnapshotCache.onUserChanged(new UserChangedEvent(1L));
+        Optional<UserDto> reloaded = userSnapshotCache.find(1L);
+
+        // Then
+        assertThat(reloaded.get().getTotalExp()).isEqualTo(400);
+        assertThat(reloaded.get().getCurrentLevel()).isEqualTo(3);
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should not cache missing users")
+    void shouldNotCacheMissingUsers() {
+        // Given
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+
+        // When
+        userSnapshotCache.find(2L);
+        Optional<UserDto> result = userSnapshotCache.find(2L);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(userRepository, times(2)).findById(2L);
+    }
+}
@@ -0,0 +1,78 @@
+package com.waterballsa.backend.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BoundedExpiringCache.
+ */
+class BoundedExpiringCacheTest {
+
+    private AtomicLong now;
+    private BoundedExpiringCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000L);
+        cache = new BoundedExpiringCache<>(2, now::get);
+    }
+
+    @Test
+    @DisplayName("Should return value until it expires")
+    void shouldExpireEntries() {
+        // Given
+        cache.put("a", "A", 2_000L);
+
+        // When & Then
+        assertThat(cache.get("a")).isEqualTo("A");
+        now.set(2_000L);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not store values that are already expired")
+    void shouldIgnoreExpiredPut() {
+        cache.put("a", "A", 1_000L);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest entry when full")
+    void shouldEvictOldestEntry() {
+        // Given
+        cache.put("a", "A", 5_000L);
+        cache.put("b", "B", 5_000L);
+
+        // When
+        cache.put("c", "C", 5_000L);
+
+        // Then
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo("B");
+        assertThat(cache.get("c")).isEqualTo("C");
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep an overwritten entry when its older write is evicted")
+    void shouldKeepOverwrittenEntry() {
+        // Given
+        cache.put("a", "A1", 5_000L);
+        cache.put("a", "A2", 5_000L);
+
+        // When
+        cache.put("b", "B", 5_000L);
+
+        // Then
+        assertThat(cache.get("a")).isEqualTo("A2");
+        assertThat(cache.get("b")).isEqualTo("B");
+    }
+}
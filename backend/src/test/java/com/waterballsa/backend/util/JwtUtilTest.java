@@ -0,0 +1,230 @@
+package com.waterballsa.backend.util;
+
+import com.waterballsa.backend.config.JwtProperties;
+import com.waterballsa.backend.exception.UnauthorizedException;
+import com.waterballsa.backend.security.JwtPrincipal;
+import com.waterballsa.backend.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for JwtUtil token generation and single-pass verification.
+ */
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-with-at-least-256-bits-for-hmac-sha";
+
+    private JwtProperties jwtProperties;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        jwtUtil = new JwtUtil(jwtProperties);
+    }
+
+    @Test
+    @DisplayName("Should verify access token and expose its claims")
+    void shouldVerifyAccessToken() {
+        // Given
+        String token = jwtUtil.generateAccessToken(7L, "user@example.com");
+
+        // When
+        JwtPrincipal principal = jwtUtil.verify(token);
+
+        // Then
+        assertThat(principal.getUserId()).isEqualTo(7L);
+        assertThat(principal.getEmail()).isEqualTo("user@example.com");
+        assertThat(principal.getName()).isEqualTo("user@example.com");
+        assertThat(principal.isAccessToken()).isTrue();
+        assertThat(principal.getExpiresAt()).isAfter(principal.getIssuedAt());
+        assertThat(principal.getTokenId()).isNotBlank();
+        assertThat(principal.getFamilyId()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Should reject token signed with another key")
+    void shouldRejectTokenWithInvalidSignature() {
+        // Given
+        JwtProperties otherProperties = new JwtProperties();
+        otherProperties.setSecret("another-secret-key-with-at-least-256-bits-for-hmac");
+        String token = new JwtUtil(otherProperties).generateAccessToken(7L, "user@example.com");
+
+        // When & Then
+        assertThatThrownBy(() -> jwtUtil.verify(token))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage("Invalid token signature");
+    }
+
+    @Test
+    @DisplayName("Should reject expired token")
+    void shouldRejectExpiredToken() {
+        // Given
+        jwtProperties.setAccessTokenExpiration(-1000L);
+        String token = jwtUtil.generateAccessToken(7L, "user@example.com");
+
+        // When & Then
+        assertThatThrownBy(() -> jwtUtil.verify(token))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage("Token has expired");
+    }
+
+    @Test
+    @DisplayName("Should reject malformed token")
+    void shouldRejectMalformedToken() {
+        assertThatThrownBy(() -> jwtUtil.verify("not-a-jwt"))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    @DisplayName("Should only accept refresh tokens as refresh tokens")
+    void shouldValidateRefreshTokenType() {
+        // Given
+        String accessToken = jwtUtil.generateAccessToken(7L, "user@example.com");
+        String refreshToken = jwtUtil.generateRefreshToken(7L, "user@example.com");
+
+        // When & Then
+        assertThat(jwtUtil.validateRefreshToken(refreshToken).getUserId()).isEqualTo(7L);
+        assertThatThrownBy(() -> jwtUtil.validateRefreshToken(accessToken))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage("Token is not a refresh token");
+    }
+
+    @Test
+    @DisplayName("Should serve repeated tokens from the verified token cache")
+    void shouldUseVerifiedTokenCache() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        jwtProperties.getVerifiedCache().setEnabled(true);
+        jwtUtil.setVerifiedTokenCache(new VerifiedTokenCache(jwtProperties, meterRegistry));
+        String token = jwtUtil.generateAccessToken(7L, "user@example.com");
+
+        // When
+        JwtPrincipal first = jwtUtil.verify(token);
+        JwtPrincipal second = jwtUtil.verify(token);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.counter("jwt.verified.cache.requests", "result", "miss").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("jwt.verified.cache.requests", "result", "hit").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens that fail verification")
+    void shouldNotCacheInvalidTokens() {
+        // Given
+        jwtUtil.setVerifiedTokenCache(new VerifiedTokenCache(jwtProperties, new SimpleMeterRegistry()));
+        jwtProperties.setAccessTokenExpiration(-1000L);
+        String token = jwtUtil.generateAccessToken(7L, "user@example.com");
+
+        // When & Then
+        assertThatThrownBy(() -> jwtUtil.verify(token)).isInstanceOf(UnauthorizedException.class);
+        assertThatThrownBy(() -> jwtUtil.verify(token))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage("Token has expired");
+    }
+
+    @Test
+    @DisplayName("Should sign with the active Ed25519 key and publish its kid")
+    void shouldSignWithEd25519Key() throws Exception {
+        // Given
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        jwtProperties.setKeys(List.of(signingKey("ed-1", keyPair, true)));
+        jwtProperties.setActiveKeyId("ed-1");
+
+        // When
+        String token = jwtUtil.generateAccessToken(7L, "user@example.com");
+
+        // Then
+        assertThat(headerOf(token)).contains("\"kid\":\"ed-1\"").contains("\"alg\":\"EdDSA\"");
+        assertThat(jwtUtil.verify(token).getUserId()).isEqualTo(7L);
+        assertThat(jwtUtil.getPublicJwks().getKeys()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should keep verifying tokens of a rotated-out key")
+    void shouldVerifyTokensAfterRotation() throws Exception {
+        // Given
+        KeyPairGenerator ec = KeyPairGenerator.getInstance("EC");
+        ec.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair oldKey = ec.generateKeyPair();
+        KeyPair newKey = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+
+        jwtProperties.setKeys(List.of(signingKey("ec-1", oldKey, true)));
+        jwtProperties.setActiveKeyId("ec-1");
+        String oldToken = jwtUtil.generateAccessToken(7L, "user@example.com");
+
+        // When
+        JwtProperties rotated = new JwtProperties();
+        rotated.setSecret(SECRET);
+        rotated.setKeys(List.of(signingKey("ed-2", newKey, true), signingKey("ec-1", oldKey, false)));
+        rotated.setActiveKeyId("ed-2");
+        JwtUtil rotatedJwtUtil = new JwtUtil(rotated);
+        String newToken = rotatedJwtUtil.generateAccessToken(8L, "other@example.com");
+
+        // Then
+        assertThat(headerOf(oldToken)).contains("\"alg\":\"ES256\"");
+        assertThat(rotatedJwtUtil.verify(oldToken).getUserId()).isEqualTo(7L);
+        assertThat(rotatedJwtUtil.verify(newToken).getUserId()).isEqualTo(8L);
+        assertThatThrownBy(() -> jwtUtil.verify(newToken))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage("Invalid token signature");
+    }
+
+    @Test
+    @DisplayName("Should accept HMAC tokens without kid after switching to asymmetric keys only when allowed")
+    void shouldAcceptLegacyHmacTokensOnlyWhenAllowed() throws Exception {
+        // Given
+        String legacyToken = new JwtUtil(jwtProperties).generateAccessToken(7L, "user@example.com");
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        jwtProperties.setKeys(List.of(signingKey("ed-1", keyPair, true)));
+        jwtProperties.setActiveKeyId("ed-1");
+
+        // When & Then - rejected by default
+        assertThatThrownBy(() -> new JwtUtil(jwtProperties).verify(legacyToken))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage("Invalid token signature");
+
+        // When & Then - accepted during the switch
+        jwtProperties.setAcceptLegacyHmac(true);
+        assertThat(new JwtUtil(jwtProperties).verify(legacyToken).getUserId()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Should reject an active key without a private key")
+    void shouldRejectMisconfiguredKeys() throws Exception {
+        // Given
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        jwtProperties.setKeys(List.of(signingKey("ed-1", keyPair, false)));
+        jwtProperties.setActiveKeyId("ed-1");
+
+        // When & Then
+        assertThatThrownBy(() -> jwtUtil.init()).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static JwtProperties.SigningKey signingKey(String id, KeyPair keyPair, boolean withPrivateKey) {
+        JwtProperties.SigningKey key = new JwtProperties.SigningKey();
+        key.setId(id);
+        key.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        if (withPrivateKey) {
+            key.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        }
+        return key;
+    }
+
+    private static String headerOf(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+    }
+}
@@ -0,0 +1,49 @@
+package com.waterballsa.backend.util;
+
+import com.waterballsa.backend.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for KeysetCursor.
+ */
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Should decode an encoded cursor to the same position")
+    void shouldRoundTrip() {
+        // Given
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_000), 42L);
+
+        // When
+        String encoded = cursor.encode();
+
+        // Then
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(KeysetCursor.decode(encoded)).contains(cursor);
+    }
+
+    @Test
+    @DisplayName("Should treat a missing or blank cursor as the first slice")
+    void shouldStartWithoutCursor() {
+        assertThat(KeysetCursor.decode(null)).isEmpty();
+        assertThat(KeysetCursor.decode("")).isEmpty();
+        assertThat(KeysetCursor.decode("  ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject cursors it did not issue")
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor!"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("MjAyNC0wMS0wMXxhYmM"))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -1,5 +1,15 @@
 import { apiClient } from '../api-client'
-import type { Curriculum, PaginatedResponse } from '@/types'
+import type {
+  BatchResponse,
+  CatalogBrowseResponse,
+  CourseOutline,
+  Curriculum,
+  DurationBucket,
+  Lesson,
+  PaginatedResponse,
+  PriceFacet,
+  Suggestion,
+} from '@/types'
 
 export interface GetCurriculumsParams {
   page?: number
@@ -7,6 +17,16 @@ export interface GetCurriculumsParams {
   sort?: string
 }
 
+export interface BrowseCurriculumsParams {
+  difficulty?: Array<'BEGINNER' | 'INTERMEDIATE' | 'ADVANCED'>
+  price?: PriceFacet[]
+  instructor?: string[]
+  lessonType?: Array<Lesson['lessonType']>
+  duration?: DurationBucket[]
+  page?: number
+  size?: number
+}
+
 export const curriculumsApi = {
   /**
    * Get paginated list of curriculums
@@ -30,6 +50,44 @@ export const curriculumsApi = {
     return data
   },
 
+  /**
+   * Get the course outline of a curriculum for the logged-in user: ownership, lesson
+   * progress and chapter completion in one request
+   */
+  async getOutline(id: number): Promise<CourseOutline> {
+    const { data } = await apiClient.get<CourseOutline>(`/curriculums/${id}/outline`)
+    return data
+  },
+
+  /**
+   * Get several curriculums (without chapters) in one request, in the order of `ids`
+   */
+  async getBatch(ids: number[]): Promise<BatchResponse<Curriculum>> {
+    const { data } = await apiClient.get<BatchResponse<Curriculum>>('/curriculums/batch', {
+      params: { ids: ids.join(',') },
+    })
+    return data
+  },
+
+  /**
+   * Browse curriculums by any combination of facets, newest first, with the count of
+   * every facet value for the current filter
+   */
+  async browse(params: BrowseCurriculumsParams = {}): Promise<CatalogBrowseResponse> {
+    const { data } = await apiClient.get<CatalogBrowseResponse>('/curriculums/browse', {
+      params: {
+        difficulty: params.difficulty?.join(','),
+        price: params.price?.join(','),
+        instructor: params.instructor?.join(','),
+        lessonType: params.lessonType?.join(','),
+        duration: params.duration?.join(','),
+        page: params.page || 0,
+        size: params.size || 10,
+      },
+    })
+    return data
+  },
+
   /**
    * Search curriculums by title or description
    */
@@ -45,6 +103,16 @@ export const curriculumsApi = {
     return data
   },
 
+  /**
+   * Get typeahead suggestions for the text typed so far, most purchased first
+   */
+  async suggest(query: string, limit = 10): Promise<Suggestion[]> {
+    const { data } = await apiClient.get<Suggestion[]>('/curriculums/suggest', {
+      params: { q: query, limit },
+    })
+    return data
+  },
+
   /**
    * Get curriculums by difficulty level
    */
@@ -1,5 +1,5 @@
 import { apiClient } from '../api-client'
-import type { Chapter, Lesson } from '@/types'
+import type { BatchResponse, Chapter, Lesson } from '@/types'
 
 export const chaptersApi = {
   /**
@@ -28,6 +28,16 @@ export const lessonsApi = {
     return data
   },
 
+  /**
+   * Get several lessons in one request, in the order of `ids`
+   */
+  async getBatch(ids: number[]): Promise<BatchResponse<Lesson>> {
+    const { data } = await apiClient.get<BatchResponse<Lesson>>('/lessons/batch', {
+      params: { ids: ids.join(',') },
+    })
+    return data
+  },
+
   /**
    * Get lessons by chapter ID
    */
@@ -1,5 +1,7 @@
 // API Response Types
 
+import type { VideoProgressDto } from './video-progress'
+
 export interface User {
   id: number
   googleId: string
@@ -26,6 +28,13 @@ export interface Curriculum {
   chapters: Chapter[]
 }
 
+export interface Suggestion {
+  text: string
+  type: 'CURRICULUM' | 'INSTRUCTOR' | 'LESSON'
+  curriculumId?: number
+  lessonId?: number
+}
+
 export interface Chapter {
   id: number
   curriculumId: number
@@ -104,6 +113,65 @@ export interface PaginatedResponse<T> {
   empty: boolean
 }
 
+export interface BatchResponse<T> {
+  items: T[]
+  missingIds: number[]
+}
+
+export interface LessonOutline {
+  id: number
+  title: string
+  lessonType: Lesson['lessonType']
+  orderIndex: number
+  durationMinutes?: number
+  isFreePreview?: boolean
+  accessible: boolean
+  progress: VideoProgressDto | null
+}
+
+export interface ChapterOutline {
+  id: number
+  title: string
+  description?: string
+  orderIndex: number
+  estimatedDurationHours?: number
+  totalLessons: number
+  completedLessons: number
+  completionPercentage: number
+  isCompleted: boolean
+  lessons: LessonOutline[]
+}
+
+export interface CourseOutline {
+  curriculum: Curriculum
+  ownership: {
+    owns: boolean
+    purchaseId?: number
+    purchaseDate?: string
+  }
+  totalLessons: number
+  completedLessons: number
+  completionPercentage: number
+  chapters: ChapterOutline[]
+}
+
+export type PriceFacet = 'FREE' | 'PAID'
+
+export type DurationBucket = 'SHORT' | 'MEDIUM' | 'LONG'
+
+/**
+ * One page of a faceted browse. `facets` maps each facet parameter (difficulty, price,
+ * instructor, lessonType, duration) to the number of curriculums of each of its values
+ */
+export interface CatalogBrowseResponse {
+  content: Curriculum[]
+  page: number
+  size: number
+  totalElements: number
+  totalPages: number
+  facets: Record<string, Record<string, number>>
+}
+
 export interface ApiError {
   timestamp: string
   status: number